@@ -0,0 +1,164 @@
+package dev.juliusabels.benchmarks;
+
+import dev.juliusabels.fish_fiesta.game.level.Level;
+import dev.juliusabels.fish_fiesta.util.DecisionStats;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the decision statistics of a catalog every fish was decided about a few times.
+ * <p>
+ * Counting a decision should take the same time regardless of the catalog size, the queries
+ * of the stats views and saving grow at most linearly with it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class AnalyticsBenchmark {
+    /** Decisions recorded per fish before measuring */
+    private static final int DECISIONS_PER_FISH = 8;
+
+    /** Number of fish returned by the misjudged query, as in the stats view */
+    private static final int MISJUDGED_FISH = 5;
+
+    /**
+     * Statistics of a catalog with recorded decisions.
+     */
+    @State(Scope.Thread)
+    public static class AnalyticsState {
+        /** The statistics */
+        private DecisionStats stats;
+
+        /** IDs of all fish */
+        private List<String> fishIds;
+
+        /** IDs of the sampled levels */
+        private final List<String> levelIds = new ArrayList<>();
+
+        /** The statistics as saved */
+        private byte[] saved;
+
+        /** Random source of the recorded decisions */
+        private final SplittableRandom random = new SplittableRandom(42);
+
+        /**
+         * Records {@link #DECISIONS_PER_FISH} random decisions per fish and saves them.
+         *
+         * @param catalog The catalog decided about
+         */
+        @Setup
+        public void setUp(CatalogState catalog) throws IOException {
+            fishIds = catalog.fishIds;
+            for (Level level : catalog.levels) {
+                levelIds.add(level.getId());
+            }
+            stats = new DecisionStats(fishIds, levelIds);
+            for (int i = 0; i < fishIds.size() * DECISIONS_PER_FISH; i++) {
+                recordRandomDecision();
+            }
+            saved = save();
+        }
+
+        /**
+         * Records a random decision about a random fish in a random level.
+         */
+        void recordRandomDecision() {
+            String levelId = levelIds.get(random.nextInt(levelIds.size()));
+            String fishId = fishIds.get(random.nextInt(fishIds.size()));
+            // Most fish are judged correctly, some fail a random condition
+            int mismatches = random.nextInt(4) == 0 ? 1 << random.nextInt(4) : 0;
+            stats.record(levelId, fishId, random.nextBoolean(), mismatches, random.nextInt(5000));
+        }
+
+        /**
+         * @return The statistics as written to the file
+         */
+        byte[] save() throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                stats.write(out);
+            }
+            return bytes.toByteArray();
+        }
+    }
+
+    /**
+     * Counts a decision, like the worker does for every decision of the player.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void record(AnalyticsState state) {
+        state.recordRandomDecision();
+    }
+
+    /**
+     * Finds the fish misjudged most, like opening the stats view.
+     */
+    @Benchmark
+    public List<DecisionStats.FishStats> mostMisjudged(AnalyticsState state) {
+        return state.stats.getMostMisjudged(MISJUDGED_FISH);
+    }
+
+    /**
+     * Sums up all levels, like opening the stats view.
+     */
+    @Benchmark
+    public DecisionStats.LevelStats totals(AnalyticsState state) {
+        return state.stats.getTotalStats();
+    }
+
+    /**
+     * Looks up the statistics of a fish, like opening its journal page.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public DecisionStats.FishStats fishStats(AnalyticsState state, CatalogState catalog) {
+        return state.stats.getFishStats(catalog.nextFishId());
+    }
+
+    /**
+     * Writes the statistics of the whole catalog, like saving after a level.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 10)
+    public byte[] save(AnalyticsState state) throws IOException {
+        return state.save();
+    }
+
+    /**
+     * Reads the saved statistics into fresh ones, like the start of the game.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 10)
+    public DecisionStats load(AnalyticsState state) throws IOException {
+        DecisionStats loaded = new DecisionStats(state.fishIds, state.levelIds);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(state.saved))) {
+            loaded.read(in);
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,164 @@
+package dev.juliusabels.benchmarks;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import dev.juliusabels.fish_fiesta.game.WaterCreature;
+import dev.juliusabels.fish_fiesta.game.level.Level;
+import dev.juliusabels.fish_fiesta.util.FishManager;
+import dev.juliusabels.fish_fiesta.util.JsonHelper;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A catalog loaded for benchmarking, either the shipped content or a {@link SyntheticCatalog}.
+ * <p>
+ * All fishes are loaded into the {@link FishManager}, so lookups measure the cached path the
+ * game uses while playing. Evenly spaced samples of the parsed JSON, fishes and levels are
+ * kept for the other benchmarks, which cycle through them to avoid measuring a single,
+ * perfectly predicted input.
+ * <p>
+ * The shipped content is read from {@value #CONTENT_DIR_PROPERTY}, synthetic catalogs are
+ * written to {@value #SYNTHETIC_DIR_PROPERTY}. Both are set by the {@code jmh} Gradle task.
+ */
+@State(Scope.Thread)
+public class CatalogState {
+    /** System property pointing to the shipped resource directory */
+    public static final String CONTENT_DIR_PROPERTY = "fishfiesta.benchmark.contentDir";
+
+    /** System property pointing to the directory synthetic catalogs are cached in */
+    public static final String SYNTHETIC_DIR_PROPERTY = "fishfiesta.benchmark.syntheticDir";
+
+    /** Maximum number of entries kept per sample */
+    private static final int SAMPLE_SIZE = 1024;
+
+    /** "shipped" for the shipped content, otherwise the number of synthetic fishes */
+    @Param({"shipped", "1000", "100000"})
+    public String catalog;
+
+    /** Manager holding every fish of the catalog */
+    FishManager fishManager;
+
+    /** IDs of all fishes */
+    List<String> fishIds;
+
+    /** Sampled fishes */
+    final List<WaterCreature> fishes = new ArrayList<>();
+
+    /** Sampled fish files */
+    final List<JsonValue> fishJson = new ArrayList<>();
+
+    /** Sampled level files */
+    final List<JsonValue> levelJson = new ArrayList<>();
+
+    /** Sampled levels */
+    final List<Level> levels = new ArrayList<>();
+
+    /** Position in the fish IDs */
+    private int fishIdIndex;
+
+    /** Position in the samples */
+    private int sampleIndex;
+
+    /**
+     * Loads the catalog, generating it first if it is synthetic.
+     */
+    @Setup
+    public void setup() {
+        Path root = resolveRoot();
+        Gdx.files = new ContentFiles(root);
+
+        fishManager = new FishManager();
+        fishIds = fishManager.getAllFishIds();
+        for (String fishId : fishIds) {
+            fishManager.loadFishForId(fishId);
+        }
+
+        JsonReader reader = new JsonReader();
+        int fishStep = Math.max(1, fishIds.size() / SAMPLE_SIZE);
+        for (int i = 0; i < fishIds.size(); i += fishStep) {
+            fishManager.loadFishForId(fishIds.get(i));
+            fishes.add(fishManager.getCurrentFish());
+            fishJson.add(reader.parse(Gdx.files.internal("fishes/" + fishIds.get(i) + ".json")));
+        }
+
+        List<String> levelFiles = new ArrayList<>();
+        for (var file : Gdx.files.internal("levels").list(".json")) {
+            levelFiles.add(file.nameWithoutExtension());
+        }
+        int levelStep = Math.max(1, levelFiles.size() / SAMPLE_SIZE);
+        for (int i = 0; i < levelFiles.size(); i += levelStep) {
+            JsonValue json = reader.parse(Gdx.files.internal("levels/" + levelFiles.get(i) + ".json"));
+            levelJson.add(json);
+            levels.add(new Level(levelFiles.get(i), JsonHelper.getConditions(json, "conditions"), JsonHelper.getList(json, "fishIDs")));
+        }
+    }
+
+    /**
+     * @return The directory containing {@code fishes/} and {@code levels/} of the selected catalog
+     */
+    private Path resolveRoot() {
+        if (catalog.equals("shipped")) {
+            String contentDir = System.getProperty(CONTENT_DIR_PROPERTY);
+            if (contentDir == null) {
+                throw new IllegalStateException("The shipped content needs the system property " + CONTENT_DIR_PROPERTY);
+            }
+            return Path.of(contentDir);
+        }
+
+        int fishCount = Integer.parseInt(catalog);
+        Path syntheticDir = Path.of(System.getProperty(SYNTHETIC_DIR_PROPERTY, System.getProperty("java.io.tmpdir")));
+        int levelCount = Math.max(1, fishCount / 10);
+        return SyntheticCatalog.generate(syntheticDir.resolve("fish-fiesta-" + fishCount + "-" + levelCount), fishCount, levelCount);
+    }
+
+    /**
+     * @return The next of all fish IDs
+     */
+    String nextFishId() {
+        fishIdIndex = fishIdIndex + 1 == fishIds.size() ? 0 : fishIdIndex + 1;
+        return fishIds.get(fishIdIndex);
+    }
+
+    /**
+     * Moves to the next sample. All sample getters return entries of the current position.
+     */
+    void nextSample() {
+        // Masked so long runs of fast benchmarks can't overflow into negative indices
+        sampleIndex = (sampleIndex + 1) & Integer.MAX_VALUE;
+    }
+
+    /**
+     * @return The sampled fish at the current position
+     */
+    WaterCreature fish() {
+        return fishes.get(sampleIndex % fishes.size());
+    }
+
+    /**
+     * @return The sampled fish file at the current position
+     */
+    JsonValue fishJson() {
+        return fishJson.get(sampleIndex % fishJson.size());
+    }
+
+    /**
+     * @return The sampled level at the current position
+     */
+    Level level() {
+        return levels.get(sampleIndex % levels.size());
+    }
+
+    /**
+     * @return The sampled level file at the current position
+     */
+    JsonValue levelJson() {
+        return levelJson.get(sampleIndex % levelJson.size());
+    }
+}
@@ -0,0 +1,76 @@
+package dev.juliusabels.benchmarks;
+
+import dev.juliusabels.fish_fiesta.game.WaterCreature;
+import dev.juliusabels.fish_fiesta.game.level.ConditionType;
+import dev.juliusabels.fish_fiesta.screens.journal.JournalDescGenerator;
+import dev.juliusabels.fish_fiesta.util.FishManager;
+import dev.juliusabels.fish_fiesta.util.JsonHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of loading and presenting the catalog content.
+ * <p>
+ * The JSON benchmarks start from already parsed trees, so they measure the extraction
+ * done by {@link JsonHelper} and not the file system or the JSON tokenizer.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class ContentBenchmark {
+
+    /**
+     * Looks up the next of all fishes, which the manager has already cached.
+     */
+    @Benchmark
+    public WaterCreature loadFishForId(CatalogState state) {
+        state.fishManager.loadFishForId(state.nextFishId());
+        return state.fishManager.getCurrentFish();
+    }
+
+    /**
+     * Extracts the conditions block of the next level file.
+     */
+    @Benchmark
+    public Map<ConditionType, List<String>> getConditions(CatalogState state) {
+        state.nextSample();
+        return JsonHelper.getConditions(state.levelJson(), "conditions");
+    }
+
+    /**
+     * Extracts the water subtypes of the next fish file, the longest list of a fish.
+     */
+    @Benchmark
+    public List<String> getList(CatalogState state) {
+        state.nextSample();
+        return JsonHelper.getList(state.fishJson(), "waterSubtypes");
+    }
+
+    /**
+     * Generates the journal description of the next fish.
+     */
+    @Benchmark
+    public String generateJournalDescription(CatalogState state) {
+        state.nextSample();
+        return JournalDescGenerator.generateFor(state.fish());
+    }
+
+    /**
+     * Formats the next fish ID into its display name.
+     */
+    @Benchmark
+    public String formatIdToName(CatalogState state) {
+        return FishManager.formatIdToName(state.nextFishId());
+    }
+}
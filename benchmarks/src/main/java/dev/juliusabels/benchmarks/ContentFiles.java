@@ -0,0 +1,99 @@
+package dev.juliusabels.benchmarks;
+
+import com.badlogic.gdx.Files;
+import com.badlogic.gdx.backends.headless.HeadlessFiles;
+import com.badlogic.gdx.files.FileHandle;
+
+import java.nio.file.Path;
+
+/**
+ * Headless file access resolving internal files against a content directory.
+ * <p>
+ * The managers read their catalog through {@code Gdx.files.internal}, which normally points
+ * to the game assets. Installed as {@code Gdx.files}, this redirects them to the shipped
+ * resources or to a {@link SyntheticCatalog}, without starting an application.
+ * <p>
+ * With a fallback directory, internal files missing in the content directory are taken from
+ * the fallback instead. This lays a synthetic catalog over the shipped resources, so the game
+ * finds its skins and fonts next to the synthetic fishes and levels.
+ */
+public class ContentFiles implements Files {
+    /** Handles all file types except internal files */
+    private final HeadlessFiles delegate = new HeadlessFiles();
+
+    /** The directory internal paths are resolved against */
+    private final Path root;
+
+    /** The directory missing internal files are taken from, or null */
+    private final Path fallback;
+
+    /**
+     * @param root The directory internal paths are resolved against
+     */
+    public ContentFiles(Path root) {
+        this(root, null);
+    }
+
+    /**
+     * @param root The directory internal paths are resolved against
+     * @param fallback The directory internal paths missing in the root are resolved against, or null
+     */
+    public ContentFiles(Path root, Path fallback) {
+        this.root = root;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public FileHandle getFileHandle(String path, FileType type) {
+        return type == FileType.Internal ? internal(path) : delegate.getFileHandle(path, type);
+    }
+
+    @Override
+    public FileHandle classpath(String path) {
+        return delegate.classpath(path);
+    }
+
+    @Override
+    public FileHandle internal(String path) {
+        Path file = root.resolve(path);
+        if (fallback != null && !java.nio.file.Files.exists(file)) {
+            file = fallback.resolve(path);
+        }
+        return delegate.absolute(file.toString());
+    }
+
+    @Override
+    public FileHandle external(String path) {
+        return delegate.external(path);
+    }
+
+    @Override
+    public FileHandle absolute(String path) {
+        return delegate.absolute(path);
+    }
+
+    @Override
+    public FileHandle local(String path) {
+        return delegate.local(path);
+    }
+
+    @Override
+    public String getExternalStoragePath() {
+        return delegate.getExternalStoragePath();
+    }
+
+    @Override
+    public boolean isExternalStorageAvailable() {
+        return delegate.isExternalStorageAvailable();
+    }
+
+    @Override
+    public String getLocalStoragePath() {
+        return delegate.getLocalStoragePath();
+    }
+
+    @Override
+    public boolean isLocalStorageAvailable() {
+        return delegate.isLocalStorageAvailable();
+    }
+}
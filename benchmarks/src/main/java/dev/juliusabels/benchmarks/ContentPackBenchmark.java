@@ -0,0 +1,161 @@
+package dev.juliusabels.benchmarks;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import dev.juliusabels.fish_fiesta.util.ContentPack;
+import dev.juliusabels.fish_fiesta.util.ContentPacks;
+import dev.juliusabels.fish_fiesta.util.FishManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of merging content packs into the shipped catalog.
+ * <p>
+ * Discovering the catalog only opens the packs, reading the central directory of each
+ * archive. {@link #inflateEverything(PackState)} is the cost this avoids: inflating and
+ * parsing every file of every pack up front. Packs are written by {@link SyntheticCatalog}
+ * into {@value CatalogState#SYNTHETIC_DIR_PROPERTY}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class ContentPackBenchmark {
+    /**
+     * A directory of generated content packs over the shipped content.
+     */
+    @State(Scope.Thread)
+    public static class PackState {
+        /** Number of content packs */
+        @Param({"10", "100", "500"})
+        public int packs;
+
+        /** The directory containing the packs */
+        private FileHandle directory;
+
+        /** Packs opened once, for the lookups */
+        private ContentPacks openedPacks;
+
+        /** IDs of all fishes of the packs */
+        private final List<String> packFishIds = new ArrayList<>();
+
+        /** The pack of each fish, in the order of the IDs */
+        private final List<ContentPack> packOfFish = new ArrayList<>();
+
+        /** Position in the fish IDs */
+        private int fishIndex;
+
+        /**
+         * Writes the packs if needed and opens them once.
+         */
+        @Setup(Level.Trial)
+        public void setUp() {
+            String contentDir = System.getProperty(CatalogState.CONTENT_DIR_PROPERTY);
+            if (contentDir == null) {
+                throw new IllegalStateException("The shipped content needs the system property " + CatalogState.CONTENT_DIR_PROPERTY);
+            }
+            Gdx.files = new ContentFiles(Path.of(contentDir));
+
+            Path syntheticDir = Path.of(System.getProperty(CatalogState.SYNTHETIC_DIR_PROPERTY, System.getProperty("java.io.tmpdir")));
+            Path packDir = SyntheticCatalog.generatePacks(syntheticDir.resolve("fish-fiesta-packs-" + packs), packs,
+                SyntheticCatalog.PACK_FISHES, SyntheticCatalog.PACK_LEVELS);
+            directory = Gdx.files.absolute(packDir.toString());
+
+            openedPacks = new ContentPacks(directory);
+            for (ContentPack pack : openedPacks.getPacks()) {
+                for (String fishId : pack.getFishIds()) {
+                    packFishIds.add(fishId);
+                    packOfFish.add(pack);
+                }
+            }
+        }
+
+        /**
+         * Closes the packs opened for the lookups.
+         */
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            openedPacks.dispose();
+        }
+
+        /**
+         * @return The position of the next fish of the packs
+         */
+        int nextFish() {
+            fishIndex = fishIndex + 1 == packFishIds.size() ? 0 : fishIndex + 1;
+            return fishIndex;
+        }
+    }
+
+    /**
+     * Discovers the shipped fishes and the fishes of all packs, like loading the game does.
+     */
+    @Benchmark
+    public int discover(PackState state) {
+        ContentPacks contentPacks = new ContentPacks(state.directory);
+        try {
+            return new FishManager(contentPacks).getAllFishIds().size();
+        } finally {
+            contentPacks.dispose();
+        }
+    }
+
+    /**
+     * Opens all packs and parses every fish, level and sprite entry, what loading them eagerly would cost.
+     */
+    @Benchmark
+    public int inflateEverything(PackState state) throws IOException {
+        ContentPacks contentPacks = new ContentPacks(state.directory);
+        JsonReader reader = new JsonReader();
+        int consumed = 0;
+        try {
+            for (ContentPack pack : contentPacks.getPacks()) {
+                for (String fishId : pack.getFishIds()) {
+                    consumed += reader.parse(pack.readFish(fishId)).size;
+                }
+                for (String levelId : pack.getLevelIds()) {
+                    consumed += reader.parse(pack.readLevel(levelId)).size;
+                }
+                for (String fishId : pack.getSpriteIds()) {
+                    consumed += pack.readSprite(fishId).length;
+                }
+            }
+        } finally {
+            contentPacks.dispose();
+        }
+        return consumed;
+    }
+
+    /**
+     * Inflates and parses the next fish of the packs, what showing a pack fish for the first time costs.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public JsonValue firstUse(PackState state) throws IOException {
+        int fish = state.nextFish();
+        return new JsonReader().parse(state.packOfFish.get(fish).readFish(state.packFishIds.get(fish)));
+    }
+}
@@ -0,0 +1,302 @@
+package dev.juliusabels.benchmarks;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontFormatException;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.color.ColorSpace;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.font.LineMetrics;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Converts a TrueType font into a signed-distance-field font in the BMFont text format,
+ * which {@link com.badlogic.gdx.graphics.g2d.DistanceFieldFont} loads.
+ * <p>
+ * Every glyph is rendered {@value #SUPERSAMPLING} times larger than {@value #FONT_SIZE}px
+ * without antialiasing. Each pixel of the atlas stores the distance from its center to the
+ * nearest outline of the glyph in the alpha channel: 0.5 on the outline, more inside and
+ * less outside, reaching 0 and 1 at {@value #SPREAD}px. The atlas is a luminance and alpha
+ * image with white luminance, so the text is tinted by the batch color and the page takes
+ * half the memory of an RGBA one.
+ * <p>
+ * Glyphs are padded by the spread on every side, which the font file declares as padding, so
+ * libGDX still lays out text by the real glyph bounds. The generated files are committed, so
+ * the game doesn't depend on the font being installed.
+ */
+public class DistanceFieldFontGenerator {
+    /** Size of the font in the atlas, in pixels */
+    static final int FONT_SIZE = 32;
+
+    /** Distance from the outline at which the field is clamped, in pixels of the atlas */
+    static final int SPREAD = 4;
+
+    /** Factor the glyphs are rendered larger by to measure the distances */
+    private static final int SUPERSAMPLING = 8;
+
+    /** Width of the atlas page, its height is the next power of two the glyphs fit into */
+    private static final int PAGE_WIDTH = 512;
+
+    /** Free pixels between two glyphs of the atlas, so linear filtering doesn't bleed */
+    private static final int GLYPH_SPACING = 1;
+
+    /** Characters of the font: ASCII, Latin-1 and the typographic quotes and dashes of fish descriptions */
+    private static final String CHARACTERS = characters();
+
+    /**
+     * A rendered glyph and its place in the atlas.
+     *
+     * @param codePoint The character
+     * @param field The distance field including the padding, null for glyphs without pixels
+     * @param xOffset Distance from the pen position to the left edge of the field
+     * @param yOffset Distance from the top of the line to the top edge of the field
+     * @param xAdvance Distance the pen moves after the glyph
+     */
+    private record Glyph(int codePoint, BufferedImage field, int xOffset, int yOffset, int xAdvance) {
+    }
+
+    private DistanceFieldFontGenerator() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Writes the distance-field font of a TrueType font.
+     * <p>
+     * Usage: {@code DistanceFieldFontGenerator <font.ttf> <directory> <name>}, which writes
+     * {@code <name>.fnt} and {@code <name>.png} to the directory.
+     *
+     * @param args The TrueType font, the output directory and the name of the font
+     */
+    public static void main(String[] args) {
+        if (args.length != 3) {
+            System.err.println("Usage: DistanceFieldFontGenerator <font.ttf> <directory> <name>");
+            System.exit(2);
+        }
+
+        long start = System.nanoTime();
+        generate(Path.of(args[0]), Path.of(args[1]), args[2]);
+        System.out.printf("Wrote %s.fnt to %s in %d ms%n", args[2], Path.of(args[1]).toAbsolutePath(),
+            (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Renders all glyphs of a font, packs them into one atlas page and writes the font file.
+     *
+     * @param ttf The TrueType font
+     * @param directory The directory to write the font to
+     * @param name The name of the font files, without extension
+     */
+    public static void generate(Path ttf, Path directory, String name) {
+        try {
+            Font font = Font.createFont(Font.TRUETYPE_FONT, ttf.toFile());
+            FontRenderContext context = new FontRenderContext(null, false, true);
+            LineMetrics metrics = font.deriveFont((float) FONT_SIZE).getLineMetrics(CHARACTERS, context);
+            int base = Math.round(metrics.getAscent());
+            int lineHeight = Math.round(metrics.getAscent() + metrics.getDescent() + metrics.getLeading());
+
+            Font large = font.deriveFont((float) FONT_SIZE * SUPERSAMPLING);
+            List<Glyph> glyphs = new ArrayList<>();
+            for (int i = 0; i < CHARACTERS.length(); i = CHARACTERS.offsetByCodePoints(i, 1)) {
+                int codePoint = CHARACTERS.codePointAt(i);
+                if (large.canDisplay(codePoint)) {
+                    glyphs.add(render(large, context, codePoint, base));
+                }
+            }
+
+            Files.createDirectories(directory);
+            write(glyphs, directory, name, ttf, lineHeight, base);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (FontFormatException e) {
+            throw new IllegalArgumentException("Not a TrueType font: " + ttf, e);
+        }
+    }
+
+    /**
+     * Renders a glyph and computes its distance field.
+     *
+     * @param large The font at the supersampled size
+     * @param context The context to render the font with
+     * @param codePoint The character
+     * @param base Distance from the top of the line to the baseline
+     * @return The glyph with its offsets in pixels of the atlas
+     */
+    private static Glyph render(Font large, FontRenderContext context, int codePoint, int base) {
+        GlyphVector vector = large.createGlyphVector(context, Character.toString(codePoint));
+        int xAdvance = Math.round(vector.getGlyphMetrics(0).getAdvanceX() / SUPERSAMPLING);
+        Rectangle bounds = vector.getPixelBounds(context, 0, 0);
+        if (bounds.isEmpty() || Character.isWhitespace(codePoint) || Character.isSpaceChar(codePoint)) {
+            return new Glyph(codePoint, null, 0, 0, xAdvance);
+        }
+
+        // Bounds of the glyph in pixels of the atlas, relative to the pen position on the baseline
+        int left = Math.floorDiv(bounds.x, SUPERSAMPLING) - SPREAD;
+        int top = Math.floorDiv(bounds.y, SUPERSAMPLING) - SPREAD;
+        int right = -Math.floorDiv(-(bounds.x + bounds.width), SUPERSAMPLING) + SPREAD;
+        int bottom = -Math.floorDiv(-(bounds.y + bounds.height), SUPERSAMPLING) + SPREAD;
+        int width = right - left;
+        int height = bottom - top;
+
+        BufferedImage shape = new BufferedImage(width * SUPERSAMPLING, height * SUPERSAMPLING, BufferedImage.TYPE_BYTE_BINARY);
+        Graphics2D graphics = shape.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+        graphics.setColor(Color.WHITE);
+        graphics.drawGlyphVector(vector, -left * SUPERSAMPLING, -top * SUPERSAMPLING);
+        graphics.dispose();
+
+        BufferedImage field = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                float distance = signedDistance(shape, x * SUPERSAMPLING + SUPERSAMPLING / 2, y * SUPERSAMPLING + SUPERSAMPLING / 2);
+                float alpha = Math.clamp(0.5F + distance / (2F * SPREAD), 0F, 1F);
+                field.setRGB(x, y, Math.round(alpha * 255) << 24 | 0xFFFFFF);
+            }
+        }
+        return new Glyph(codePoint, field, left, base + top, xAdvance);
+    }
+
+    /**
+     * Finds the distance from a pixel of the supersampled shape to the nearest pixel on the other side of the outline.
+     *
+     * @param shape The supersampled glyph, white inside
+     * @param centerX The x coordinate of the pixel
+     * @param centerY The y coordinate of the pixel
+     * @return The distance in pixels of the atlas, positive inside the glyph, clamped to the spread
+     */
+    private static float signedDistance(BufferedImage shape, int centerX, int centerY) {
+        boolean inside = isInside(shape, centerX, centerY);
+        int radius = SPREAD * SUPERSAMPLING;
+        int nearestSquared = radius * radius;
+        for (int dy = -radius; dy <= radius; dy++) {
+            for (int dx = -radius; dx <= radius; dx++) {
+                int squared = dx * dx + dy * dy;
+                if (squared < nearestSquared && isInside(shape, centerX + dx, centerY + dy) != inside) {
+                    nearestSquared = squared;
+                }
+            }
+        }
+        float distance = (float) Math.sqrt(nearestSquared) / SUPERSAMPLING;
+        return inside ? distance : -distance;
+    }
+
+    /**
+     * @param shape The supersampled glyph, white inside
+     * @param x The x coordinate of a pixel
+     * @param y The y coordinate of a pixel
+     * @return true if the pixel lies within the image and is covered by the glyph
+     */
+    private static boolean isInside(BufferedImage shape, int x, int y) {
+        return x >= 0 && y >= 0 && x < shape.getWidth() && y < shape.getHeight() && (shape.getRGB(x, y) & 0xFFFFFF) != 0;
+    }
+
+    /**
+     * Packs the glyphs into rows of one page and writes the page and the font file.
+     *
+     * @param glyphs The rendered glyphs
+     * @param directory The directory to write to
+     * @param name The name of the font files, without extension
+     * @param ttf The TrueType font the glyphs were rendered from
+     * @param lineHeight Distance between two lines
+     * @param base Distance from the top of the line to the baseline
+     */
+    private static void write(List<Glyph> glyphs, Path directory, String name, Path ttf, int lineHeight, int base) throws IOException {
+        int[] xs = new int[glyphs.size()];
+        int[] ys = new int[glyphs.size()];
+        int x = GLYPH_SPACING;
+        int y = GLYPH_SPACING;
+        int rowHeight = 0;
+        for (int i = 0; i < glyphs.size(); i++) {
+            BufferedImage field = glyphs.get(i).field();
+            if (field == null) continue;
+
+            if (x + field.getWidth() + GLYPH_SPACING > PAGE_WIDTH) {
+                x = GLYPH_SPACING;
+                y += rowHeight + GLYPH_SPACING;
+                rowHeight = 0;
+            }
+            xs[i] = x;
+            ys[i] = y;
+            x += field.getWidth() + GLYPH_SPACING;
+            rowHeight = Math.max(rowHeight, field.getHeight());
+        }
+        int pageHeight = Integer.highestOneBit(y + rowHeight + GLYPH_SPACING - 1) << 1;
+
+        // Luminance and alpha only, the luminance is always white, so the text is tinted by the batch color
+        ColorModel colorModel = new ComponentColorModel(ColorSpace.getInstance(ColorSpace.CS_GRAY), true, false,
+            Transparency.TRANSLUCENT, DataBuffer.TYPE_BYTE);
+        WritableRaster raster = Raster.createInterleavedRaster(DataBuffer.TYPE_BYTE, PAGE_WIDTH, pageHeight, 2, null);
+        int[] pixel = {255, 0};
+        for (int py = 0; py < pageHeight; py++) {
+            for (int px = 0; px < PAGE_WIDTH; px++) {
+                raster.setPixel(px, py, pixel);
+            }
+        }
+        for (int i = 0; i < glyphs.size(); i++) {
+            BufferedImage field = glyphs.get(i).field();
+            if (field == null) continue;
+
+            for (int fy = 0; fy < field.getHeight(); fy++) {
+                for (int fx = 0; fx < field.getWidth(); fx++) {
+                    pixel[1] = field.getRGB(fx, fy) >>> 24;
+                    raster.setPixel(xs[i] + fx, ys[i] + fy, pixel);
+                }
+            }
+        }
+        BufferedImage page = new BufferedImage(colorModel, raster, false, null);
+        ImageIO.write(page, "png", directory.resolve(name + ".png").toFile());
+
+        try (BufferedWriter out = Files.newBufferedWriter(directory.resolve(name + ".fnt"), StandardCharsets.UTF_8)) {
+            String face = Font.createFont(Font.TRUETYPE_FONT, ttf.toFile()).getFontName(Locale.ROOT);
+            out.write(String.format(Locale.ROOT, "info face=\"%s\" size=%d bold=0 italic=0 charset=\"\" unicode=1 stretchH=100 "
+                + "smooth=1 aa=1 padding=%d,%d,%d,%d spacing=%d,%d%n", face, FONT_SIZE, SPREAD, SPREAD, SPREAD, SPREAD,
+                GLYPH_SPACING, GLYPH_SPACING));
+            out.write(String.format(Locale.ROOT, "common lineHeight=%d base=%d scaleW=%d scaleH=%d pages=1 packed=0%n",
+                lineHeight, base, PAGE_WIDTH, pageHeight));
+            out.write(String.format(Locale.ROOT, "page id=0 file=\"%s.png\"%n", name));
+            out.write(String.format(Locale.ROOT, "chars count=%d%n", glyphs.size()));
+            for (int i = 0; i < glyphs.size(); i++) {
+                Glyph glyph = glyphs.get(i);
+                int width = glyph.field() == null ? 0 : glyph.field().getWidth();
+                int height = glyph.field() == null ? 0 : glyph.field().getHeight();
+                out.write(String.format(Locale.ROOT, "char id=%d x=%d y=%d width=%d height=%d xoffset=%d yoffset=%d "
+                        + "xadvance=%d page=0 chnl=15%n", glyph.codePoint(), xs[i], ys[i], width, height,
+                    glyph.xOffset(), glyph.yOffset(), glyph.xAdvance()));
+            }
+        } catch (FontFormatException e) {
+            throw new IllegalArgumentException("Not a TrueType font: " + ttf, e);
+        }
+    }
+
+    /**
+     * @return The characters the font is generated for
+     */
+    private static String characters() {
+        StringBuilder characters = new StringBuilder();
+        for (char c = ' '; c <= '~'; c++) {
+            characters.append(c);
+        }
+        for (char c = ' '; c <= 'ÿ'; c++) {
+            characters.append(c);
+        }
+        return characters.append("–—‘’“”…").toString();
+    }
+}
@@ -0,0 +1,156 @@
+package dev.juliusabels.benchmarks;
+
+import com.badlogic.gdx.files.FileHandle;
+import dev.juliusabels.fish_fiesta.util.Leaderboard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the local leaderboard with many recorded runs.
+ * <p>
+ * The queries should not depend on the number of runs. Neither should loading the file, as it
+ * is compacted to the kept runs of the {@value #LEVELS} levels while the runs are recorded.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class LeaderboardBenchmark {
+    /** Number of levels the runs are spread over */
+    private static final int LEVELS = 1000;
+
+    /** Number of runs returned by the top runs queries */
+    private static final int TOP_RUNS = 10;
+
+    /**
+     * A leaderboard file with recorded runs, and the leaderboard loaded from it.
+     */
+    @State(Scope.Benchmark)
+    public static class LeaderboardState {
+        /** Number of runs in the file */
+        @Param({"1000", "300000"})
+        public int runs;
+
+        /** Directory containing the leaderboard file */
+        private Path directory;
+
+        /** The leaderboard file */
+        private FileHandle file;
+
+        /** The leaderboard loaded from the file */
+        private Leaderboard leaderboard;
+
+        /** Random source of the queried levels and recorded runs */
+        private final SplittableRandom random = new SplittableRandom(42);
+
+        /**
+         * Records the runs, spread over {@link #LEVELS} levels with random scores, and loads them again.
+         */
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("fish-fiesta-leaderboard");
+            file = new FileHandle(directory.resolve(Leaderboard.FILE_NAME).toFile());
+
+            Leaderboard writer = new Leaderboard(file, "benchmark");
+            for (int i = 0; i < runs; i++) {
+                recordRandomRun(writer);
+            }
+            writer.awaitWritten();
+            writer.dispose();
+            leaderboard = new Leaderboard(file, "benchmark");
+            leaderboard.awaitWritten();
+        }
+
+        /**
+         * Stops the leaderboard and deletes its file.
+         */
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            leaderboard.dispose();
+            file.delete();
+            directory.toFile().delete();
+        }
+
+        /**
+         * @return The ID of a random level
+         */
+        String nextLevelId() {
+            return "level" + random.nextInt(LEVELS);
+        }
+
+        /**
+         * Records a run with random results on a random level.
+         *
+         * @param target The leaderboard to record the run in
+         */
+        void recordRandomRun(Leaderboard target) {
+            target.record(nextLevelId(), random.nextInt(40), random.nextInt(4), random.nextBoolean(), random.nextInt(600_000));
+        }
+    }
+
+    /**
+     * Reads the whole file and builds the rankings, like the first start of the game.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 10)
+    public int load(LeaderboardState state) {
+        Leaderboard loaded = new Leaderboard(state.file, "benchmark");
+        loaded.awaitWritten();
+        loaded.dispose();
+        return loaded.getRunCount();
+    }
+
+    /**
+     * Returns the best runs of a random level.
+     */
+    @Benchmark
+    public List<Leaderboard.Run> topRuns(LeaderboardState state) {
+        return state.leaderboard.getTopRuns(state.nextLevelId(), TOP_RUNS);
+    }
+
+    /**
+     * Returns the best runs of all levels.
+     */
+    @Benchmark
+    public List<Leaderboard.Run> globalTopRuns(LeaderboardState state) {
+        return state.leaderboard.getGlobalTopRuns(TOP_RUNS);
+    }
+
+    /**
+     * Returns the personal best on a random level.
+     */
+    @Benchmark
+    public Leaderboard.Run personalBest(LeaderboardState state) {
+        return state.leaderboard.getPersonalBest(state.nextLevelId());
+    }
+
+    /**
+     * Records a run and waits until the file thread ranked it and appended it to the file.
+     */
+    @Benchmark
+    public void record(LeaderboardState state) {
+        state.recordRandomRun(state.leaderboard);
+        state.leaderboard.awaitWritten();
+    }
+}
@@ -0,0 +1,69 @@
+package dev.juliusabels.benchmarks;
+
+import dev.juliusabels.fish_fiesta.game.level.ConditionType;
+import dev.juliusabels.fish_fiesta.game.level.Level;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the rules engine, which decides whether a fish may join a level.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class RulesBenchmark {
+
+    /**
+     * The condition type checked by {@link #conditionIsSatisfied(CatalogState, ConditionState)}.
+     */
+    @State(Scope.Thread)
+    public static class ConditionState {
+        /** The condition type to check */
+        @Param({"WATER_TYPE", "WATER_SUBTYPE", "SIZE", "TEMPERATURE"})
+        public ConditionType type;
+    }
+
+    /**
+     * Checks a single condition of the next level against the next fish.
+     */
+    @Benchmark
+    public boolean conditionIsSatisfied(CatalogState state, ConditionState condition) {
+        state.nextSample();
+        List<String> values = state.level().getConditions().getOrDefault(condition.type, Collections.emptyList());
+        return condition.type.isSatisfied(state.fish(), values);
+    }
+
+    /**
+     * Checks all conditions of the next level against the next fish, like a decision in the game.
+     */
+    @Benchmark
+    public boolean meetsConditions(CatalogState state) {
+        state.nextSample();
+        Level level = state.level();
+        return level.meetsConditions(state.fish());
+    }
+
+    /**
+     * Finds the failed conditions of the next level for the next fish, like a decision that is explained.
+     */
+    @Benchmark
+    public int evaluate(CatalogState state) {
+        state.nextSample();
+        Level level = state.level();
+        return level.evaluate(state.fish());
+    }
+}
@@ -0,0 +1,144 @@
+package dev.juliusabels.benchmarks;
+
+import dev.juliusabels.fish_fiesta.game.WaterCreature;
+import dev.juliusabels.fish_fiesta.game.level.ConditionType;
+import dev.juliusabels.fish_fiesta.util.FishSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the journal search and trait filters.
+ * <p>
+ * A keystroke or a changed filter should take microseconds regardless of the catalog size,
+ * building the index happens once on a worker thread while loading.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class SearchBenchmark {
+    /** Number of sampled fish the queries are typed from */
+    private static final int QUERY_FISHES = 64;
+
+    /** Number of random trait filter combinations */
+    private static final int FILTER_COMBINATIONS = 64;
+
+    /**
+     * The index of a catalog and the queries typed into the search box.
+     */
+    @State(Scope.Thread)
+    public static class SearchState {
+        /** The index of the catalog */
+        private FishSearchIndex index;
+
+        /** The matches of the last search */
+        private final BitSet matches = new BitSet();
+
+        /** Every intermediate query while typing names and description words of sampled fish */
+        private final List<String> queries = new ArrayList<>();
+
+        /** Random combinations of trait filters, each condition type filtered by one value or not at all */
+        private final List<int[]> traitFilters = new ArrayList<>();
+
+        /** Position in the queries */
+        private int queryIndex;
+
+        /** Position in the trait filters */
+        private int filterIndex;
+
+        /**
+         * Builds the index and types the queries.
+         *
+         * @param catalog The catalog to search
+         */
+        @Setup
+        public void setUp(CatalogState catalog) {
+            index = FishSearchIndex.build(catalog.fishIds, catalog.fishManager::getFish);
+
+            for (int i = 0; i < Math.min(QUERY_FISHES, catalog.fishes.size()); i++) {
+                WaterCreature fish = catalog.fishes.get(i);
+                addKeystrokes(fish.getName());
+                addKeystrokes(fish.getDescription().split(" ")[0]);
+            }
+
+            SplittableRandom random = new SplittableRandom(42);
+            for (int i = 0; i < FILTER_COMBINATIONS; i++) {
+                int[] filters = FishSearchIndex.createTraitFilters();
+                for (ConditionType type : ConditionType.values()) {
+                    int valueIndex = random.nextInt(-1, type.getPossibleValues().size());
+                    filters[type.ordinal()] = valueIndex < 0 ? 0 : 1 << valueIndex;
+                }
+                traitFilters.add(filters);
+            }
+        }
+
+        /**
+         * Adds the queries while typing a text, one per keystroke.
+         *
+         * @param text The typed text
+         */
+        private void addKeystrokes(String text) {
+            for (int length = 1; length <= text.length(); length++) {
+                queries.add(text.substring(0, length));
+            }
+        }
+
+        /**
+         * @return The next query
+         */
+        String nextQuery() {
+            queryIndex = queryIndex + 1 == queries.size() ? 0 : queryIndex + 1;
+            return queries.get(queryIndex);
+        }
+
+        /**
+         * @return The next trait filters
+         */
+        int[] nextTraitFilters() {
+            filterIndex = filterIndex + 1 == traitFilters.size() ? 0 : filterIndex + 1;
+            return traitFilters.get(filterIndex);
+        }
+    }
+
+    /**
+     * Searches the next query, like a keystroke in the search box.
+     */
+    @Benchmark
+    public int keystroke(SearchState state) {
+        return state.index.search(state.nextQuery(), state.matches);
+    }
+
+    /**
+     * Applies the next trait filters without a query, like clicking a filter in the journal.
+     */
+    @Benchmark
+    public int traitFilter(SearchState state) {
+        return state.index.search("", state.nextTraitFilters(), state.matches);
+    }
+
+    /**
+     * Builds the index of the whole catalog, like the loading of the game.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 5)
+    public FishSearchIndex build(CatalogState catalog) {
+        return FishSearchIndex.build(catalog.fishIds, catalog.fishManager::getFish);
+    }
+}
@@ -0,0 +1,475 @@
+package dev.juliusabels.benchmarks;
+
+import dev.juliusabels.fish_fiesta.game.CreatureSize;
+import dev.juliusabels.fish_fiesta.game.features.SizeCategory;
+import dev.juliusabels.fish_fiesta.game.features.WaterSubtype;
+import dev.juliusabels.fish_fiesta.game.features.WaterTemperature;
+import dev.juliusabels.fish_fiesta.game.features.WaterType;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes large, random but reproducible catalogs in the layout of the shipped content.
+ * <p>
+ * The catalog consists of {@code fishes/<id>.json} and {@code levels/<id>.json} with the
+ * same fields as the real files, and a dummy sprite atlas {@code assets/fishes/fishes.atlas}
+ * with a region for every fish. Fishes get lorem ipsum texts, sizes of every category and
+ * random habitats. Levels have random conditions and list 3 to 40 fishes, about half
+ * of them matching the conditions, so playing them takes both decisions.
+ * <p>
+ * All regions of the atlas point into a single 1024x1024 page, so the atlas has as many
+ * regions as a real one without needing hundreds of pages of video memory.
+ * <p>
+ * The same sizes always result in the same files, so benchmark runs stay comparable.
+ * A catalog directory can be laid over the shipped resources with {@link ContentFiles}.
+ * <p>
+ * {@link #generatePacks(Path, int, int, int)} writes content packs instead, zip archives in
+ * the layout the game loads from its pack directory, with a sprite per fish.
+ */
+public class SyntheticCatalog {
+    /** Name of the file marking a completely written catalog */
+    private static final String COMPLETE_MARKER = ".complete";
+
+    /** Version of the generated layout, catalogs written by other versions are written again */
+    private static final String FORMAT_VERSION = "2";
+
+    /** Words fish IDs are made of, so names have a realistic length */
+    private static final String[] WORDS = {
+        "spotted", "striped", "giant", "dwarf", "silver", "golden", "common", "pacific",
+        "atlantic", "reef", "deep", "river", "carp", "bass", "perch", "snapper", "grouper", "eel"
+    };
+
+    /** Words the descriptions are made of */
+    private static final String[] LOREM = (
+        "lorem ipsum dolor sit amet consectetur adipiscing elit sed do eiusmod tempor incididunt ut labore "
+            + "et dolore magna aliqua enim ad minim veniam quis nostrud exercitation ullamco laboris nisi aliquip "
+            + "ex ea commodo consequat duis aute irure in reprehenderit voluptate velit esse cillum fugiat nulla"
+    ).split(" ");
+
+    /** Valid size categories, without UNDEFINED */
+    private static final SizeCategory[] SIZES = {SizeCategory.SMALL, SizeCategory.MEDIUM, SizeCategory.BIG};
+
+    /** Fewest fishes in a level */
+    private static final int MIN_LEVEL_LENGTH = 3;
+
+    /** Most fishes in a level */
+    private static final int MAX_LEVEL_LENGTH = 40;
+
+    /** Random fishes tried per slot of a level to find one matching the conditions */
+    private static final int MATCH_ATTEMPTS = 100;
+
+    /** Side length of a sprite in the dummy atlas */
+    private static final int SPRITE_SIZE = 64;
+
+    /** Side length of the single page of the dummy atlas */
+    private static final int PAGE_SIZE = 1024;
+
+    /** Number of the first level of the content packs, so they follow the shipped levels */
+    private static final int FIRST_PACK_LEVEL = 1000;
+
+    /** Fishes in each content pack written by {@link #main(String[])} */
+    static final int PACK_FISHES = 20;
+
+    /** Levels in each content pack written by {@link #main(String[])} */
+    static final int PACK_LEVELS = 2;
+
+    private SyntheticCatalog() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Writes a catalog to a directory.
+     * <p>
+     * Usage: {@code SyntheticCatalog <directory> <fishes> <levels>}, or
+     * {@code SyntheticCatalog --packs <directory> <packs>} for content packs of 20 fishes and 2 levels each.
+     *
+     * @param args The directory, the number of fishes and the number of levels
+     */
+    public static void main(String[] args) {
+        if (args.length == 3 && args[0].equals("--packs")) {
+            long start = System.nanoTime();
+            Path directory = generatePacks(Path.of(args[1]), Integer.parseInt(args[2]), PACK_FISHES, PACK_LEVELS);
+            System.out.printf("Wrote %s content packs to %s in %d ms%n", args[2],
+                directory.toAbsolutePath(), (System.nanoTime() - start) / 1_000_000);
+            return;
+        }
+        if (args.length != 3) {
+            System.err.println("Usage: SyntheticCatalog <directory> <fishes> <levels>");
+            System.err.println("       SyntheticCatalog --packs <directory> <packs>");
+            System.exit(2);
+        }
+
+        long start = System.nanoTime();
+        Path directory = generate(Path.of(args[0]), Integer.parseInt(args[1]), Integer.parseInt(args[2]));
+        System.out.printf("Wrote %s fishes and %s levels to %s in %d ms%n", args[1], args[2],
+            directory.toAbsolutePath(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Writes a catalog unless it has been written completely before.
+     *
+     * @param directory The directory to write the catalog to, one per size
+     * @param fishCount The number of fishes to generate
+     * @param levelCount The number of levels to generate
+     * @return The directory containing {@code fishes/}, {@code levels/} and {@code assets/}
+     */
+    public static Path generate(Path directory, int fishCount, int levelCount) {
+        Path marker = directory.resolve(COMPLETE_MARKER);
+        try {
+            if (Files.exists(marker) && Files.readString(marker).equals(FORMAT_VERSION)) {
+                return directory;
+            }
+
+            Random random = new Random(31L * fishCount + levelCount);
+            Path fishDir = Files.createDirectories(directory.resolve("fishes"));
+            Path levelDir = Files.createDirectories(directory.resolve("levels"));
+
+            List<SyntheticFish> fishes = new ArrayList<>(fishCount);
+            for (int i = 0; i < fishCount; i++) {
+                SyntheticFish fish = randomFish(random, i);
+                fishes.add(fish);
+                Files.writeString(fishDir.resolve(fish.id + ".json"), fishJson(random, fish), StandardCharsets.UTF_8);
+            }
+
+            for (int i = 0; i < levelCount; i++) {
+                Files.writeString(levelDir.resolve("level" + (i + 1) + ".json"), levelJson(random, fishes), StandardCharsets.UTF_8);
+            }
+
+            writeAtlas(Files.createDirectories(directory.resolve("assets/fishes")), fishes);
+            Files.writeString(marker, FORMAT_VERSION);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the synthetic catalog to " + directory, e);
+        }
+        return directory;
+    }
+
+    /**
+     * Writes content packs unless they have been written completely before.
+     * <p>
+     * Fish IDs and level numbers are unique over all packs, so no pack hides the content of another.
+     * The levels of a pack only contain fishes of the same pack.
+     *
+     * @param directory The directory to write the packs to, one per size
+     * @param packCount The number of packs to generate
+     * @param fishesPerPack The number of fishes in each pack
+     * @param levelsPerPack The number of levels in each pack
+     * @return The directory containing the {@code .zip} files
+     */
+    public static Path generatePacks(Path directory, int packCount, int fishesPerPack, int levelsPerPack) {
+        Path marker = directory.resolve(COMPLETE_MARKER);
+        try {
+            if (Files.exists(marker) && Files.readString(marker).equals(FORMAT_VERSION)) {
+                return directory;
+            }
+
+            Files.createDirectories(directory);
+            Random random = new Random(31L * packCount + fishesPerPack);
+            for (int pack = 0; pack < packCount; pack++) {
+                Path file = directory.resolve(String.format(Locale.ROOT, "pack-%04d.zip", pack));
+                try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(file))) {
+                    List<SyntheticFish> fishes = new ArrayList<>(fishesPerPack);
+                    for (int i = 0; i < fishesPerPack; i++) {
+                        SyntheticFish fish = randomFish(random, pack * fishesPerPack + i);
+                        fishes.add(fish);
+                        writeEntry(zip, "fishes/" + fish.id + ".json", fishJson(random, fish).getBytes(StandardCharsets.UTF_8));
+                        writeEntry(zip, "sprites/" + fish.id + ".png", spritePng(random));
+                    }
+                    for (int i = 0; i < levelsPerPack; i++) {
+                        int number = FIRST_PACK_LEVEL + pack * levelsPerPack + i;
+                        writeEntry(zip, "levels/level" + number + ".json", levelJson(random, fishes).getBytes(StandardCharsets.UTF_8));
+                    }
+                }
+            }
+            Files.writeString(marker, FORMAT_VERSION);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the synthetic content packs to " + directory, e);
+        }
+        return directory;
+    }
+
+    /**
+     * @param zip The archive to write to
+     * @param name The name of the entry
+     * @param content The content of the entry
+     * @throws IOException If the entry can't be written
+     */
+    private static void writeEntry(ZipOutputStream zip, String name, byte[] content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content);
+        zip.closeEntry();
+    }
+
+    /**
+     * @param random The random source
+     * @return A PNG of a fish shaped oval in a random color
+     * @throws IOException If the image can't be encoded
+     */
+    private static byte[] spritePng(Random random) throws IOException {
+        BufferedImage sprite = new BufferedImage(SPRITE_SIZE, SPRITE_SIZE, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = sprite.createGraphics();
+        graphics.setColor(Color.getHSBColor(random.nextFloat(), 0.6F, 0.9F));
+        graphics.fillOval(4, 16, SPRITE_SIZE - 8, SPRITE_SIZE - 32);
+        graphics.dispose();
+
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(sprite, "png", png);
+        return png.toByteArray();
+    }
+
+    /**
+     * @param random The random source
+     * @param index The index of the fish, keeping the ID unique
+     * @return A fish with a random size of a random category and random habitats
+     */
+    private static SyntheticFish randomFish(Random random, int index) {
+        int average = switch (randomElement(random, SIZES)) {
+            case SMALL -> 2 + random.nextInt(28);
+            case MEDIUM -> 30 + random.nextInt(70);
+            default -> 100 + random.nextInt(1500);
+        };
+        int spread = random.nextInt(Math.max(1, average / 4));
+
+        return new SyntheticFish(
+            fishId(random, index),
+            new CreatureSize(Math.max(1, average - spread), average + spread),
+            randomSubset(random, WaterType.values()),
+            randomSubset(random, WaterSubtype.values()),
+            randomSubset(random, WaterTemperature.values())
+        );
+    }
+
+    /**
+     * @param random The random source
+     * @param index The index of the fish, keeping the ID unique
+     * @return A snake_case fish ID of two to three words
+     */
+    private static String fishId(Random random, int index) {
+        StringBuilder id = new StringBuilder();
+        int words = 2 + random.nextInt(2);
+        for (int i = 0; i < words; i++) {
+            id.append(WORDS[random.nextInt(WORDS.length)]).append('_');
+        }
+        return id.append(index).toString();
+    }
+
+    /**
+     * @param random The random source
+     * @param fish The fish to write
+     * @return The JSON of the fish with lorem ipsum texts
+     */
+    private static String fishJson(Random random, SyntheticFish fish) {
+        return "{\n"
+            + "  \"description\": \"" + lorem(random, 2 + random.nextInt(3)) + "\",\n"
+            + "  \"notableFeatures\": \"" + lorem(random, 1 + random.nextInt(5)) + "\",\n"
+            + "  \"minSize\": " + fish.size.rangeStart() + ",\n"
+            + "  \"maxSize\": " + fish.size.rangeEnd() + ",\n"
+            + "  \"waterTypes\": " + jsonArray(jsonNames(fish.waterTypes)) + ",\n"
+            + "  \"waterSubtypes\": " + jsonArray(jsonNames(fish.waterSubtypes)) + ",\n"
+            + "  \"waterTemperatures\": " + jsonArray(jsonNames(fish.waterTemperatures)) + "\n"
+            + "}\n";
+    }
+
+    /**
+     * Writes a level with random conditions.
+     * <p>
+     * Every slot is filled with a fish matching the conditions with a chance of one half,
+     * otherwise with any fish.
+     *
+     * @param random The random source
+     * @param fishes All generated fishes
+     * @return The JSON of the level
+     */
+    private static String levelJson(Random random, List<SyntheticFish> fishes) {
+        WaterType waterType = randomElement(random, WaterType.values());
+        WaterSubtype waterSubtype = randomElement(random, WaterSubtype.values());
+        WaterTemperature temperature = randomElement(random, WaterTemperature.values());
+        List<SizeCategory> sizes = randomSubset(random, SIZES);
+
+        List<String> levelFishIds = new ArrayList<>();
+        int fishAmount = MIN_LEVEL_LENGTH + random.nextInt(MAX_LEVEL_LENGTH - MIN_LEVEL_LENGTH + 1);
+        for (int i = 0; i < fishAmount; i++) {
+            SyntheticFish fish = randomElement(random, fishes);
+            if (random.nextBoolean()) {
+                for (int attempt = 0; attempt < MATCH_ATTEMPTS && !fish.matches(waterType, waterSubtype, temperature, sizes); attempt++) {
+                    fish = randomElement(random, fishes);
+                }
+            }
+            levelFishIds.add(fish.id);
+        }
+
+        return "{\n"
+            + "  \"conditions\": {\n"
+            + "    \"water_type\": \"" + jsonName(waterType) + "\",\n"
+            + "    \"water_subtype\": \"" + jsonName(waterSubtype) + "\",\n"
+            + "    \"temperature\": \"" + jsonName(temperature) + "\",\n"
+            + "    \"size\": " + jsonArray(jsonNames(sizes)) + "\n"
+            + "  },\n"
+            + "  \"fishIDs\": " + jsonArray(levelFishIds) + "\n"
+            + "}\n";
+    }
+
+    /**
+     * Writes the dummy atlas with a region named after every fish and its single page.
+     *
+     * @param directory The directory to write {@code fishes.atlas} and {@code fishes.png} to
+     * @param fishes All generated fishes
+     * @throws IOException If the files can't be written
+     */
+    private static void writeAtlas(Path directory, List<SyntheticFish> fishes) throws IOException {
+        int columns = PAGE_SIZE / SPRITE_SIZE;
+        BufferedImage page = new BufferedImage(PAGE_SIZE, PAGE_SIZE, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = page.createGraphics();
+        for (int cell = 0; cell < columns * columns; cell++) {
+            graphics.setColor(Color.getHSBColor(cell / (float) (columns * columns), 0.6F, 0.9F));
+            graphics.fillOval(cell % columns * SPRITE_SIZE + 4, cell / columns * SPRITE_SIZE + 16, SPRITE_SIZE - 8, SPRITE_SIZE - 32);
+        }
+        graphics.dispose();
+        ImageIO.write(page, "png", directory.resolve("fishes.png").toFile());
+
+        try (BufferedWriter atlas = Files.newBufferedWriter(directory.resolve("fishes.atlas"), StandardCharsets.UTF_8)) {
+            atlas.write("fishes.png\nsize: " + PAGE_SIZE + ", " + PAGE_SIZE + "\nrepeat: none\n");
+            for (int i = 0; i < fishes.size(); i++) {
+                int cell = i % (columns * columns);
+                atlas.write(fishes.get(i).id + "\n"
+                    + "    xy: " + cell % columns * SPRITE_SIZE + ", " + cell / columns * SPRITE_SIZE + "\n"
+                    + "    size: " + SPRITE_SIZE + ", " + SPRITE_SIZE + "\n");
+            }
+        }
+    }
+
+    /**
+     * @param random The random source
+     * @param sentences The number of sentences
+     * @return Lorem ipsum sentences of 6 to 14 words each
+     */
+    private static String lorem(Random random, int sentences) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < sentences; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            int words = 6 + random.nextInt(9);
+            for (int j = 0; j < words; j++) {
+                String word = LOREM[random.nextInt(LOREM.length)];
+                text.append(j == 0 ? Character.toUpperCase(word.charAt(0)) + word.substring(1) : " " + word);
+            }
+            text.append('.');
+        }
+        return text.toString();
+    }
+
+    /**
+     * @param random The random source
+     * @param values The values to choose from
+     * @return A non-empty random subset of the values in declaration order
+     */
+    private static <E> List<E> randomSubset(Random random, E[] values) {
+        List<E> subset = new ArrayList<>();
+        for (E value : values) {
+            if (random.nextInt(3) == 0) {
+                subset.add(value);
+            }
+        }
+        if (subset.isEmpty()) {
+            subset.add(randomElement(random, values));
+        }
+        return subset;
+    }
+
+    /**
+     * @param random The random source
+     * @param values The values to choose from
+     * @return A random value
+     */
+    private static <E> E randomElement(Random random, E[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * @param random The random source
+     * @param values The values to choose from
+     * @return A random value
+     */
+    private static <E> E randomElement(Random random, List<E> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    /**
+     * @param values Enum constants
+     * @return The constants as written in the content files
+     */
+    private static List<String> jsonNames(List<? extends Enum<?>> values) {
+        List<String> names = new ArrayList<>(values.size());
+        for (Enum<?> value : values) {
+            names.add(jsonName(value));
+        }
+        return names;
+    }
+
+    /**
+     * @param value An enum constant
+     * @return The constant as written in the content files
+     */
+    private static String jsonName(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @param values The strings to write
+     * @return A JSON array of the strings
+     */
+    private static String jsonArray(List<String> values) {
+        StringBuilder array = new StringBuilder("[");
+        for (String value : values) {
+            if (array.length() > 1) {
+                array.append(", ");
+            }
+            array.append('"').append(value).append('"');
+        }
+        return array.append(']').toString();
+    }
+
+    /**
+     * A generated fish, kept to fill levels with fishes matching their conditions.
+     *
+     * @param id The ID of the fish
+     * @param size The size range of the fish
+     * @param waterTypes The water types the fish lives in
+     * @param waterSubtypes The water subtypes the fish lives in
+     * @param waterTemperatures The water temperatures the fish lives in
+     */
+    private record SyntheticFish(String id, CreatureSize size, List<WaterType> waterTypes,
+                                 List<WaterSubtype> waterSubtypes, List<WaterTemperature> waterTemperatures) {
+        /**
+         * Checks the fish against the conditions of a level, like {@code ConditionType} does.
+         *
+         * @param waterType The required water type
+         * @param waterSubtype The required water subtype
+         * @param temperature The required temperature
+         * @param sizes The allowed size categories
+         * @return true if the fish meets all conditions
+         */
+        boolean matches(WaterType waterType, WaterSubtype waterSubtype, WaterTemperature temperature, List<SizeCategory> sizes) {
+            return waterTypes.contains(waterType)
+                && waterSubtypes.contains(waterSubtype)
+                && waterTemperatures.contains(temperature)
+                && sizes.contains(size.getCategory());
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package dev.juliusabels.benchmarks.headless;
+
+import com.badlogic.gdx.Input;
+import dev.juliusabels.fish_fiesta.screens.MainMenuScreen;
+import dev.juliusabels.fish_fiesta.screens.level.LevelScreen;
+import dev.juliusabels.fish_fiesta.screens.level.LevelSelectionScreen;
+import dev.juliusabels.fish_fiesta.util.LevelManager;
+
+/**
+ * Fails if an idle screen allocates more per frame than its budget.
+ * <p>
+ * Every screen is brought into a steady state, warmed up and then rendered for a number of
+ * frames without any input. The bytes allocated by the rendering thread during those frames
+ * are compared with the budget of the screen. All budgets are zero: a screen the player is
+ * just looking at must not produce garbage, or the GC pauses it causes sooner or later show
+ * up as dropped frames.
+ * <p>
+ * The frames are measured in {@value #ROUNDS} rounds and the round with the fewest
+ * allocations counts. Garbage produced by the frame loop shows up in every round, while
+ * one-off allocations of the JVM on the rendering thread, e.g. when compiled code is
+ * deoptimized, only hit a single round.
+ * <p>
+ * The guarded screens are the main menu, the level selection, a started level with the
+ * animated fish cam and the same level with the journal open.
+ * <p>
+ * Besides the properties of {@link HeadlessRunner}, it is configured with the system properties:
+ * <ul>
+ *   <li>{@value #FRAMES_PROPERTY}: frames measured per round, {@value #DEFAULT_FRAMES} by default</li>
+ *   <li>{@value #WARMUP_PROPERTY}: frames rendered before measuring, {@value #DEFAULT_WARMUP} by default</li>
+ *   <li>{@code fishfiesta.allocationGuard.budget.<screen>}: the budget of a screen in bytes per frame</li>
+ * </ul>
+ */
+public class AllocationGuard extends HeadlessRunner {
+    /** System property setting the number of measured frames per round */
+    public static final String FRAMES_PROPERTY = "fishfiesta.allocationGuard.frames";
+
+    /** System property setting the number of warm-up frames per screen */
+    public static final String WARMUP_PROPERTY = "fishfiesta.allocationGuard.warmup";
+
+    /** Prefix of the system properties overriding the budget of a screen */
+    public static final String BUDGET_PROPERTY_PREFIX = "fishfiesta.allocationGuard.budget.";
+
+    /** Number of rounds the frames of a screen are measured in */
+    private static final int ROUNDS = 5;
+
+    /** Frames measured per round by default */
+    private static final int DEFAULT_FRAMES = 600;
+
+    /** Warm-up frames per screen by default, enough for the JIT to compile the frame loop */
+    private static final int DEFAULT_WARMUP = 5000;
+
+    /** Frames measured per round */
+    private final int frames = Integer.getInteger(FRAMES_PROPERTY, DEFAULT_FRAMES);
+
+    /** Warm-up frames per screen */
+    private final int warmup = Integer.getInteger(WARMUP_PROPERTY, DEFAULT_WARMUP);
+
+    /** Whether all screens stayed within their budget so far */
+    private boolean withinBudgets = true;
+
+    public static void main(String[] args) {
+        launch(new AllocationGuard());
+    }
+
+    @Override
+    protected boolean run(HeadlessSession session) {
+        System.out.printf("%-16s %10s %14s %14s %8s%n", "Screen", "Frames", "Bytes/frame", "Budget", "Result");
+
+        session.getGame().create();
+        session.renderUntil(MainMenuScreen.class);
+        // The rest of the game keeps loading in the background, which isn't idle yet
+        session.renderUntil(() -> session.getGame().getResourceHandler().updateLoading(), "loading finished");
+        guard(session, "mainMenu");
+
+        session.click("play");
+        session.renderUntil(LevelSelectionScreen.class);
+        guard(session, "levelSelection");
+
+        LevelManager levelManager = session.getGame().getResourceHandler().getLevelManager();
+        session.click(levelManager.getAllLevelIds().getFirst());
+        session.renderUntil(LevelScreen.class);
+        session.click("start");
+        session.frame();
+        guard(session, "level");
+
+        session.pressKey(Input.Keys.J);
+        session.frame();
+        guard(session, "journal");
+
+        return withinBudgets;
+    }
+
+    /**
+     * Warms up the current screen, measures its allocations and compares them with its budget.
+     *
+     * @param session The session driving the game
+     * @param screen The name of the screen, used for the budget property and the report
+     */
+    private void guard(HeadlessSession session, String screen) {
+        long budget = Long.getLong(BUDGET_PROPERTY_PREFIX + screen, 0);
+
+        for (int i = 0; i < warmup; i++) {
+            session.frame();
+        }
+
+        long allocated = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = HeadlessSession.allocatedBytes();
+            for (int i = 0; i < frames; i++) {
+                session.frame();
+            }
+            allocated = Math.min(allocated, HeadlessSession.allocatedBytes() - start);
+        }
+
+        // Compared in total, so a few bytes every couple of frames don't round down to zero
+        boolean passed = allocated <= budget * frames;
+        withinBudgets &= passed;
+        System.out.printf("%-16s %10d %14.1f %14d %8s%n", screen, frames, allocated / (double) frames, budget, passed ? "OK" : "FAILED");
+    }
+}
@@ -0,0 +1,208 @@
+package dev.juliusabels.benchmarks.headless;
+
+import com.badlogic.gdx.Gdx;
+import dev.juliusabels.benchmarks.SyntheticCatalog;
+import dev.juliusabels.fish_fiesta.game.WaterCreature;
+import dev.juliusabels.fish_fiesta.game.level.ConditionType;
+import dev.juliusabels.fish_fiesta.game.level.DailyChallenge;
+import dev.juliusabels.fish_fiesta.game.level.Level;
+import dev.juliusabels.fish_fiesta.util.ContentPacks;
+import dev.juliusabels.fish_fiesta.util.FishManager;
+import dev.juliusabels.fish_fiesta.util.LevelManager;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates the daily challenges of a whole year and fails if one of them isn't fit to play.
+ * <p>
+ * Every challenge is checked to
+ * <ul>
+ *   <li>be generated the same way twice,</li>
+ *   <li>only contain fish of the catalog,</li>
+ *   <li>need at least one fish accepted and one denied,</li>
+ *   <li>differ from the challenge of the day before,</li>
+ *   <li>stay the same with {@value #PACKS} content packs installed.</li>
+ * </ul>
+ * Over the year, at least {@value #MIN_DISTINCT_PERCENT}% of the fish lists must be distinct, and
+ * no set of conditions may come up on more than {@value #MAX_REPEAT_PERCENT}% of the days, so
+ * players don't get the same room every other week. The small shipped catalog only allows a few
+ * dozen sets of conditions, so they can't all be distinct.
+ * <p>
+ * Generating is timed after a few warm-up years. As the level selection generates the challenge on
+ * the rendering thread, {@value #TIMED_PERCENTILE}% of the challenges must take less than
+ * {@value #MAX_MILLIS} ms. The slowest ones aren't used, as a GC pause or the OS scheduling
+ * another process in between hits single generations on any machine.
+ * <p>
+ * Besides the properties of {@link HeadlessRunner}, it is configured with the system property
+ * {@value #START_PROPERTY}, the ISO date of the first day, by default {@value #DEFAULT_START}.
+ */
+public class DailyChallengeCheck extends HeadlessRunner {
+    /** System property setting the first day of the checked year */
+    public static final String START_PROPERTY = "fishfiesta.dailyChallenge.start";
+
+    /** First day of the checked year by default */
+    private static final String DEFAULT_START = "2025-01-01";
+
+    /** Number of checked days */
+    private static final int DAYS = 365;
+
+    /** Number of years generated before the checked one to warm up */
+    private static final int WARMUP_YEARS = 30;
+
+    /** Minimum share of distinct fish lists in percent */
+    private static final int MIN_DISTINCT_PERCENT = 90;
+
+    /** Maximum share of the days with the same conditions in percent */
+    private static final int MAX_REPEAT_PERCENT = 10;
+
+    /** Percentile of the generation times that has to be within the budget */
+    private static final int TIMED_PERCENTILE = 95;
+
+    /** Maximum time generating a challenge may take in milliseconds */
+    private static final int MAX_MILLIS = 1;
+
+    /** Number of content packs installed to check that they don't change the challenges */
+    private static final int PACKS = 5;
+
+    /** Number of fishes of every installed content pack */
+    private static final int PACK_FISHES = 20;
+
+    /** Number of levels of every installed content pack */
+    private static final int PACK_LEVELS = 2;
+
+    /** Whether all checks passed so far */
+    private boolean passed = true;
+
+    public static void main(String[] args) {
+        launch(new DailyChallengeCheck());
+    }
+
+    @Override
+    protected boolean run(HeadlessSession session) {
+        FishManager fishManager = new FishManager();
+        List<String> catalog = fishManager.getPreloadFishIds();
+        catalog.forEach(fishManager::preloadFish);
+        LocalDate start = LocalDate.parse(System.getProperty(START_PROPERTY, DEFAULT_START));
+
+        // Warm-up years before the checked one, so the timed generations run compiled code
+        for (int day = -WARMUP_YEARS * DAYS; day < 0; day++) {
+            DailyChallenge.generate(start.plusDays(day), catalog, fishManager::getFish);
+        }
+        long[] nanos = new long[DAYS];
+        for (int day = 0; day < DAYS; day++) {
+            long startTime = System.nanoTime();
+            DailyChallenge.generate(start.plusDays(day), catalog, fishManager::getFish);
+            nanos[day] = System.nanoTime() - startTime;
+        }
+
+        Map<Map<ConditionType, List<String>>, Integer> conditionDays = new HashMap<>();
+        Set<List<String>> distinctFish = new HashSet<>();
+        Level previous = null;
+        for (int day = 0; day < DAYS; day++) {
+            LocalDate date = start.plusDays(day);
+            Level level = DailyChallenge.generate(date, catalog, fishManager::getFish);
+            Level again = DailyChallenge.generate(date, catalog, fishManager::getFish);
+            check(level.getConditions().equals(again.getConditions()) && level.getFishIDs().equals(again.getFishIDs()),
+                date, "is generated differently the second time");
+            checkDecisions(level, date, fishManager);
+            if (previous != null) {
+                check(!level.getConditions().equals(previous.getConditions()) || !level.getFishIDs().equals(previous.getFishIDs()),
+                    date, "is the same as the day before");
+            }
+            conditionDays.merge(level.getConditions(), 1, Integer::sum);
+            distinctFish.add(level.getFishIDs());
+            previous = level;
+        }
+        checkWithPacks(start, catalog, fishManager);
+
+        Arrays.sort(nanos);
+        long percentile = nanos[DAYS * TIMED_PERCENTILE / 100];
+        int mostRepeated = Collections.max(conditionDays.values());
+        System.out.printf("%-12s %12s %12s %12s %12s%n", "Challenges", "Median (us)", "p" + TIMED_PERCENTILE + " (us)", "Max (us)", "Budget (us)");
+        System.out.printf("%-12d %12.1f %12.1f %12.1f %12d%n", DAYS, nanos[DAYS / 2] / 1000.0, percentile / 1000.0, nanos[DAYS - 1] / 1000.0, MAX_MILLIS * 1000);
+        System.out.printf("Distinct fish lists: %d, distinct conditions: %d, most days with the same conditions: %d%n",
+            distinctFish.size(), conditionDays.size(), mostRepeated);
+
+        check(percentile < MAX_MILLIS * 1_000_000L, start, "year took longer than the budget to generate challenges");
+        check(distinctFish.size() * 100 >= DAYS * MIN_DISTINCT_PERCENT, start, "year has too few distinct fish lists");
+        check(mostRepeated * 100 <= DAYS * MAX_REPEAT_PERCENT, start, "year repeats the same conditions too often");
+        System.out.println(passed ? "OK" : "FAILED");
+        return passed;
+    }
+
+    /**
+     * Checks that installed content packs don't change the challenges of the year, generating them
+     * through the level manager like the level selection does.
+     * <p>
+     * The packs are written to the temporary directory, or reused if they have been written before.
+     *
+     * @param start The first day of the year
+     * @param catalog The IDs of the shipped fish
+     * @param fishManager Looks up the shipped fish
+     */
+    private void checkWithPacks(LocalDate start, List<String> catalog, FishManager fishManager) {
+        Path packDir = SyntheticCatalog.generatePacks(Path.of(System.getProperty("java.io.tmpdir"), "fish-fiesta-daily-packs"),
+            PACKS, PACK_FISHES, PACK_LEVELS);
+        ContentPacks contentPacks = new ContentPacks(Gdx.files.absolute(packDir.toString()));
+        try {
+            FishManager packedFishManager = new FishManager(contentPacks);
+            LevelManager levelManager = new LevelManager(contentPacks);
+            check(packedFishManager.getAllFishIds().size() > catalog.size(), start, "has no pack fish installed");
+            for (int day = 0; day < DAYS; day++) {
+                LocalDate date = start.plusDays(day);
+                Level expected = DailyChallenge.generate(date, catalog, fishManager::getFish);
+                Level level = levelManager.createDailyLevel(packedFishManager, date);
+                check(level != null && level.getConditions().equals(expected.getConditions())
+                    && level.getFishIDs().equals(expected.getFishIDs()), date, "changes with content packs installed");
+            }
+        } finally {
+            contentPacks.dispose();
+        }
+    }
+
+    /**
+     * Checks that all fish of a challenge exist and that it needs both decisions.
+     *
+     * @param level The challenge
+     * @param date The date of the challenge
+     * @param fishManager Looks up the fish
+     */
+    private void checkDecisions(Level level, LocalDate date, FishManager fishManager) {
+        boolean accepted = false;
+        boolean denied = false;
+        for (String fishId : level.getFishIDs()) {
+            WaterCreature fish = fishManager.getFish(fishId);
+            check(fish != null, date, "contains the unknown fish " + fishId);
+            if (fish == null) continue;
+            if (level.meetsConditions(fish)) {
+                accepted = true;
+            } else {
+                denied = true;
+            }
+        }
+        check(level.getFishIDs().size() == DailyChallenge.FISH_AMOUNT, date, "has the wrong number of fish");
+        check(accepted && denied, date, "doesn't need both decisions");
+    }
+
+    /**
+     * Reports a failed check.
+     *
+     * @param condition Whether the check passed
+     * @param date The date the check is about
+     * @param failure What is wrong if it didn't pass
+     */
+    private void check(boolean condition, LocalDate date, String failure) {
+        if (!condition) {
+            System.out.printf("FAILED: %s %s%n", date, failure);
+            passed = false;
+        }
+    }
+}
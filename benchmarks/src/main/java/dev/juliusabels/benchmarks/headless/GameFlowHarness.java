@@ -0,0 +1,172 @@
+package dev.juliusabels.benchmarks.headless;
+
+import dev.juliusabels.fish_fiesta.game.level.Level;
+import dev.juliusabels.fish_fiesta.screens.MainMenuScreen;
+import dev.juliusabels.fish_fiesta.screens.level.LevelScreen;
+import dev.juliusabels.fish_fiesta.screens.level.LevelSelectionScreen;
+import dev.juliusabels.fish_fiesta.util.FishManager;
+import dev.juliusabels.fish_fiesta.util.LevelManager;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plays through the game without a display and measures every step of the way.
+ * <p>
+ * It goes through:
+ * <ol>
+ *   <li>{@code LoadingScreen} until the main menu is shown</li>
+ *   <li>{@code MainMenuScreen}, clicking "Play"</li>
+ *   <li>{@code LevelSelectionScreen}, clicking the folder of a level</li>
+ *   <li>{@code LevelScreen}, clicking "Start" and then accept or deny for every fish,
+ *       always deciding correctly, until the level is complete</li>
+ *   <li>Idle frames on the level selection</li>
+ * </ol>
+ * For every step, the rendered frames, the wall time and the bytes allocated by the
+ * rendering thread are reported. Allocations of the catalog worker threads aren't included.
+ * <p>
+ * Besides the properties of {@link HeadlessRunner}, it is configured with the system properties:
+ * <ul>
+ *   <li>{@value #LEVEL_PROPERTY}: the level to play, the first level by default</li>
+ *   <li>{@value #REPORT_PROPERTY}: a CSV file to write the steps to</li>
+ * </ul>
+ */
+public class GameFlowHarness extends HeadlessRunner {
+    /** System property selecting the level to play */
+    public static final String LEVEL_PROPERTY = "fishfiesta.harness.level";
+
+    /** System property naming the CSV file the steps are written to */
+    public static final String REPORT_PROPERTY = "fishfiesta.harness.report";
+
+    /** Idle frames rendered at the end */
+    private static final int IDLE_FRAMES = 120;
+
+    /** The measured steps in order */
+    private final List<FlowStep> steps = new ArrayList<>();
+
+    /** The session driving the game */
+    private HeadlessSession session;
+
+    public static void main(String[] args) {
+        launch(new GameFlowHarness());
+    }
+
+    @Override
+    protected boolean run(HeadlessSession session) {
+        this.session = session;
+        try {
+            runFlow();
+        } finally {
+            report();
+        }
+        return true;
+    }
+
+    /**
+     * Plays through the game from loading to a completed level.
+     */
+    private void runFlow() {
+        step("create", () -> session.getGame().create());
+        step("loading -> main menu", () -> session.renderUntil(MainMenuScreen.class));
+
+        step("main menu -> level selection", () -> {
+            session.click("play");
+            session.renderUntil(LevelSelectionScreen.class);
+        });
+
+        LevelManager levelManager = session.getGame().getResourceHandler().getLevelManager();
+        FishManager fishManager = session.getGame().getResourceHandler().getFishManager();
+        String levelId = System.getProperty(LEVEL_PROPERTY, levelManager.getAllLevelIds().getFirst());
+        step("level selection -> " + levelId, () -> {
+            session.click(levelId);
+            session.renderUntil(LevelScreen.class);
+        });
+
+        step("start level", () -> {
+            session.click("start");
+            session.frame();
+        });
+
+        int decisions = 0;
+        while (session.getScreen() instanceof LevelScreen) {
+            Level level = levelManager.getActiveLevel();
+            if (level == null || decisions > level.getFishIDs().size()) {
+                throw new IllegalStateException("Level " + levelId + " didn't end after " + decisions + " decisions");
+            }
+
+            boolean accept = level.meetsConditions(fishManager.getCurrentFish());
+            step("fish " + (++decisions) + ": " + (accept ? "accept" : "deny"), () -> {
+                session.click(accept ? "accept" : "deny");
+                session.frame();
+            });
+        }
+
+        step("level complete -> level selection", () -> session.renderUntil(LevelSelectionScreen.class));
+        step("idle (" + IDLE_FRAMES + " frames)", () -> {
+            for (int i = 0; i < IDLE_FRAMES; i++) {
+                session.frame();
+            }
+        });
+    }
+
+    /**
+     * Runs a step and records its frames, wall time and allocations.
+     *
+     * @param name The name of the step in the report
+     * @param action The step
+     */
+    private void step(String name, Runnable action) {
+        long startFrames = session.getFrames();
+        long startBytes = HeadlessSession.allocatedBytes();
+        long start = System.nanoTime();
+
+        action.run();
+
+        long nanos = System.nanoTime() - start;
+        steps.add(new FlowStep(name, session.getFrames() - startFrames, nanos, HeadlessSession.allocatedBytes() - startBytes));
+    }
+
+    /**
+     * Prints the steps and writes them to the report file, if one was requested.
+     */
+    private void report() {
+        System.out.printf("%-40s %8s %12s %14s%n", "Step", "Frames", "Time (ms)", "Alloc (KB)");
+        for (FlowStep step : steps) {
+            System.out.printf("%-40s %8d %12.2f %14.1f%n", step.name(), step.frames(), step.nanos() / 1e6, step.allocatedBytes() / 1024.0);
+        }
+
+        String reportFile = System.getProperty(REPORT_PROPERTY);
+        if (reportFile == null) return;
+
+        Path path = Path.of(reportFile);
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(path))) {
+                writer.println("step,frames,nanos,allocatedBytes");
+                for (FlowStep step : steps) {
+                    writer.printf("\"%s\",%d,%d,%d%n", step.name(), step.frames(), step.nanos(), step.allocatedBytes());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the report to " + path, e);
+        }
+    }
+
+    /**
+     * A measured step of the flow.
+     *
+     * @param name The name of the step
+     * @param frames The number of frames rendered during the step
+     * @param nanos The wall time of the step in nanoseconds
+     * @param allocatedBytes The bytes allocated by the rendering thread during the step
+     */
+    private record FlowStep(String name, long frames, long nanos, long allocatedBytes) {
+    }
+}
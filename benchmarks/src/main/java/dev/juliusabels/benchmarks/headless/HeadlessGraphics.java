@@ -0,0 +1,72 @@
+package dev.juliusabels.benchmarks.headless;
+
+import com.badlogic.gdx.backends.headless.mock.graphics.MockGraphics;
+import com.badlogic.gdx.graphics.GL20;
+
+/**
+ * Graphics of a virtual window with a fixed size and a fixed frame time.
+ * <p>
+ * The mock graphics of the headless backend report a window of 0x0 pixels, which leaves
+ * the viewports of the game empty and skips most of the layout. This window has a real size,
+ * and every frame advances the game by exactly {@link #FRAME_TIME}, so runs are repeatable
+ * no matter how fast the machine is.
+ */
+public class HeadlessGraphics extends MockGraphics {
+    /** Simulated time between two frames in seconds */
+    public static final float FRAME_TIME = 1F / 60F;
+
+    /** Width of the virtual window in pixels */
+    private final int width;
+
+    /** Height of the virtual window in pixels */
+    private final int height;
+
+    /** The GL implementation handed to the game */
+    private GL20 gl;
+
+    /**
+     * @param width Width of the virtual window in pixels
+     * @param height Height of the virtual window in pixels
+     * @param gl The GL implementation handed to the game
+     */
+    public HeadlessGraphics(int width, int height, GL20 gl) {
+        this.width = width;
+        this.height = height;
+        this.gl = gl;
+    }
+
+    @Override
+    public GL20 getGL20() {
+        return gl;
+    }
+
+    @Override
+    public void setGL20(GL20 gl) {
+        this.gl = gl;
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public int getBackBufferWidth() {
+        return width;
+    }
+
+    @Override
+    public int getBackBufferHeight() {
+        return height;
+    }
+
+    @Override
+    public float getDeltaTime() {
+        return FRAME_TIME;
+    }
+}
@@ -0,0 +1,52 @@
+package dev.juliusabels.benchmarks.headless;
+
+import com.badlogic.gdx.InputProcessor;
+import com.badlogic.gdx.backends.headless.mock.input.MockInput;
+import com.badlogic.gdx.utils.IntSet;
+
+/**
+ * Input without any devices that keeps the input processor set by the game.
+ * <p>
+ * The mock input of the headless backend drops the processor, so events sent to
+ * {@link #getInputProcessor()} would never reach the screens. Keys pressed through
+ * {@link #press(int)} are also reported by {@link #isKeyJustPressed(int)} for one frame,
+ * for screens polling keys instead of handling events.
+ */
+public class HeadlessInput extends MockInput {
+    /** The processor set by the current screen */
+    private InputProcessor processor;
+
+    /** Keys pressed since the last frame */
+    private final IntSet justPressed = new IntSet();
+
+    @Override
+    public void setInputProcessor(InputProcessor processor) {
+        this.processor = processor;
+    }
+
+    @Override
+    public InputProcessor getInputProcessor() {
+        return processor;
+    }
+
+    @Override
+    public boolean isKeyJustPressed(int key) {
+        return justPressed.contains(key);
+    }
+
+    /**
+     * Records a key press for the next frame.
+     *
+     * @param keycode The pressed key
+     */
+    public void press(int keycode) {
+        justPressed.add(keycode);
+    }
+
+    /**
+     * Forgets the keys pressed during the last frame.
+     */
+    public void endFrame() {
+        justPressed.clear();
+    }
+}
@@ -0,0 +1,139 @@
+package dev.juliusabels.benchmarks.headless;
+
+import com.badlogic.gdx.ApplicationListener;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import dev.juliusabels.benchmarks.CatalogState;
+import dev.juliusabels.benchmarks.ContentFiles;
+import dev.juliusabels.benchmarks.SyntheticCatalog;
+import dev.juliusabels.fish_fiesta.util.ResourceHandler;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Runs a program against the game on the headless backend and exits with its result.
+ * <p>
+ * Sets up {@link HeadlessGL20}, a virtual window of {@link HeadlessGraphics} and
+ * {@link HeadlessInput}, so the game needs neither a display nor a GPU. Internal files are
+ * read from the resource directory in {@value CatalogState#CONTENT_DIR_PROPERTY}, and
+ * progress, the leaderboard and the analytics are saved to a temporary directory, so every run starts fresh.
+ * <p>
+ * To play a {@link SyntheticCatalog} instead of the shipped fishes and levels, point
+ * {@value #SYNTHETIC_CONTENT_PROPERTY} to its directory. It is laid over the resource
+ * directory, which still provides the skins and fonts.
+ * <p>
+ * The program runs on the rendering thread and renders all frames itself through its
+ * {@link HeadlessSession}. The process exits with status 1 if it fails or throws.
+ */
+@Slf4j
+public abstract class HeadlessRunner implements ApplicationListener {
+    /** System property pointing to a synthetic catalog played instead of the shipped content */
+    public static final String SYNTHETIC_CONTENT_PROPERTY = "fishfiesta.benchmark.syntheticContent";
+
+    /** Size of the virtual window, the default window size of the desktop launcher */
+    private static final int WIDTH = 1280;
+    private static final int HEIGHT = 720;
+
+    /** Released once the application has been disposed */
+    private final CountDownLatch disposed = new CountDownLatch(1);
+
+    /** The session driving the game, null until the application was created */
+    private HeadlessSession session;
+
+    /** Whether the program succeeded */
+    private volatile boolean succeeded;
+
+    /**
+     * Starts the headless application, runs the program and exits the process.
+     *
+     * @param runner The program to run
+     */
+    public static void launch(HeadlessRunner runner) {
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        try {
+            Path storage = Files.createTempDirectory("fish-fiesta-headless");
+            config.preferencesDirectory = storage + "/";
+            System.setProperty(ResourceHandler.STORAGE_DIRECTORY_PROPERTY, storage.toString());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create the storage directory", e);
+        }
+
+        new HeadlessApplication(runner, config);
+        try {
+            runner.disposed.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        System.exit(runner.succeeded ? 0 : 1);
+    }
+
+    /**
+     * Runs the program against the game.
+     *
+     * @param session The session driving a game that hasn't been created yet
+     * @return true if the program succeeded
+     */
+    protected abstract boolean run(HeadlessSession session);
+
+    @Override
+    public void create() {
+        HeadlessGraphics graphics = new HeadlessGraphics(WIDTH, HEIGHT, new HeadlessGL20());
+        Gdx.graphics = graphics;
+        Gdx.gl = Gdx.gl20 = graphics.getGL20();
+        Gdx.input = new HeadlessInput();
+
+        String contentDir = System.getProperty(CatalogState.CONTENT_DIR_PROPERTY);
+        if (contentDir == null) {
+            log.error("Running headless needs the system property {}", CatalogState.CONTENT_DIR_PROPERTY);
+        } else {
+            String syntheticContent = System.getProperty(SYNTHETIC_CONTENT_PROPERTY);
+            Gdx.files = syntheticContent == null
+                ? new ContentFiles(Path.of(contentDir))
+                : new ContentFiles(Path.of(syntheticContent), Path.of(contentDir));
+            session = new HeadlessSession();
+            try {
+                succeeded = run(session);
+            } catch (RuntimeException e) {
+                log.error("Failed after {} frames", session.getFrames(), e);
+            }
+        }
+        Gdx.app.exit();
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        // The virtual window never changes its size
+    }
+
+    @Override
+    public void render() {
+        // The program renders its own frames in create()
+    }
+
+    @Override
+    public void pause() {
+        // Never paused without a window
+    }
+
+    @Override
+    public void resume() {
+        // Never paused without a window
+    }
+
+    @Override
+    public void dispose() {
+        try {
+            if (session != null && session.getGame().getScreen() != null) {
+                session.getGame().dispose();
+            }
+        } finally {
+            disposed.countDown();
+        }
+    }
+}
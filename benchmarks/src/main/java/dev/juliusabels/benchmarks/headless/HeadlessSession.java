@@ -0,0 +1,143 @@
+package dev.juliusabels.benchmarks.headless;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.InputProcessor;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.ui.ScrollPane;
+import dev.juliusabels.fish_fiesta.FishFiestaGame;
+import dev.juliusabels.fish_fiesta.screens.FFBaseScreen;
+import lombok.Getter;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Drives a {@link FishFiestaGame} running on the headless backend.
+ * <p>
+ * Frames are rendered only when requested, and input is sent as events to the input
+ * processor of the current screen, exactly where real input arrives.
+ */
+public class HeadlessSession {
+    /** Frames to wait for a condition before giving up */
+    public static final int MAX_FRAMES = 10_000;
+
+    /** Measures the allocations of the rendering thread */
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /** The game being driven */
+    @Getter
+    private final FishFiestaGame game = new FishFiestaGame();
+
+    /** Reused for the click positions, so clicking doesn't add to the measured allocations */
+    private final Vector2 clickPosition = new Vector2();
+
+    /** Number of frames rendered so far */
+    @Getter
+    private long frames;
+
+    /**
+     * @return The bytes allocated by the calling thread since it was started
+     */
+    public static long allocatedBytes() {
+        return THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * @return The current screen of the game
+     */
+    public FFBaseScreen getScreen() {
+        return (FFBaseScreen) game.getScreen();
+    }
+
+    /**
+     * Renders a single frame of the game.
+     */
+    public void frame() {
+        ((HeadlessGraphics) Gdx.graphics).incrementFrameId();
+        game.render();
+        ((HeadlessInput) Gdx.input).endFrame();
+        frames++;
+    }
+
+    /**
+     * Renders frames until a screen is shown, plus one frame to lay it out and draw it.
+     *
+     * @param screenType The type of the screen to wait for
+     */
+    public void renderUntil(Class<? extends FFBaseScreen> screenType) {
+        renderUntil(() -> screenType.isInstance(game.getScreen()), screenType.getSimpleName());
+        frame();
+    }
+
+    /**
+     * Renders frames until a condition is met.
+     *
+     * @param condition The condition to wait for
+     * @param description What is waited for, used in the error message
+     * @throws IllegalStateException If the condition isn't met after {@link #MAX_FRAMES} frames
+     */
+    public void renderUntil(BooleanSupplier condition, String description) {
+        for (int i = 0; i < MAX_FRAMES; i++) {
+            if (condition.getAsBoolean()) return;
+            frame();
+        }
+        throw new IllegalStateException(description + " wasn't reached after " + MAX_FRAMES + " frames");
+    }
+
+    /**
+     * @param name The name of an actor
+     * @return Whether the current screen has an actor with that name
+     */
+    public boolean hasActor(String name) {
+        return getScreen().getStage().getRoot().findActor(name) != null;
+    }
+
+    /**
+     * Clicks the center of a named actor of the current screen with the left mouse button.
+     * <p>
+     * Actors inside a scroll pane are scrolled into view first.
+     *
+     * @param name The name of the actor
+     * @throws IllegalStateException If the current screen has no such actor
+     */
+    public void click(String name) {
+        FFBaseScreen screen = getScreen();
+        Actor actor = screen.getStage().getRoot().findActor(name);
+        if (actor == null) {
+            throw new IllegalStateException("No actor named " + name + " on " + screen.getClass().getSimpleName());
+        }
+
+        ScrollPane scrollPane = actor.firstAscendant(ScrollPane.class);
+        if (scrollPane != null) {
+            actor.localToAscendantCoordinates(scrollPane.getActor(), clickPosition.set(0, 0));
+            scrollPane.scrollTo(clickPosition.x, clickPosition.y, actor.getWidth(), actor.getHeight());
+            scrollPane.updateVisualScroll();
+            scrollPane.invalidate();
+            scrollPane.validate();
+        }
+
+        actor.localToStageCoordinates(clickPosition.set(actor.getWidth() / 2, actor.getHeight() / 2));
+        screen.getStage().stageToScreenCoordinates(clickPosition);
+
+        InputProcessor input = Gdx.input.getInputProcessor();
+        input.touchDown((int) clickPosition.x, (int) clickPosition.y, 0, Input.Buttons.LEFT);
+        input.touchUp((int) clickPosition.x, (int) clickPosition.y, 0, Input.Buttons.LEFT);
+    }
+
+    /**
+     * Presses and releases a key.
+     * <p>
+     * The key is sent as events and reported as just pressed during the next frame.
+     *
+     * @param keycode The key, one of {@link Input.Keys}
+     */
+    public void pressKey(int keycode) {
+        ((HeadlessInput) Gdx.input).press(keycode);
+        InputProcessor input = Gdx.input.getInputProcessor();
+        input.keyDown(keycode);
+        input.keyUp(keycode);
+    }
+}
@@ -0,0 +1,282 @@
+package dev.juliusabels.benchmarks.headless;
+
+import com.badlogic.gdx.Input;
+import dev.juliusabels.fish_fiesta.game.level.Level;
+import dev.juliusabels.fish_fiesta.screens.MainMenuScreen;
+import dev.juliusabels.fish_fiesta.screens.level.LevelScreen;
+import dev.juliusabels.fish_fiesta.screens.level.LevelSelectionScreen;
+import dev.juliusabels.fish_fiesta.util.FishManager;
+import dev.juliusabels.fish_fiesta.util.LevelManager;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plays every level over and over for a long time to put sustained load on the game.
+ * <p>
+ * The bot clicks through the real screens, so every decision takes the same way through
+ * {@code LevelScreen}, {@link Level} and {@link FishManager} as a player's, and every level
+ * ends by being completed or failed after three mistakes. Levels are played in turn, completed
+ * ones are replayed. Every few decisions the progress is saved through the exit dialog, the
+ * level is left and resumed from the saved progress, which writes the preferences again and again.
+ * <p>
+ * The bot decides as fast as the screens allow, one frame per decision. Each decision is
+ * correct with the configured accuracy, so levels are failed as well.
+ * <p>
+ * At every interval it reports the decisions per second, the finished levels, the used heap
+ * after a full GC and, on Unix, the open file descriptors. Growing heap or descriptors over
+ * hours point to leaks. The process exits with status 1 only if the game throws.
+ * <p>
+ * Besides the properties of {@link HeadlessRunner}, it is configured with the system properties:
+ * <ul>
+ *   <li>{@value #MINUTES_PROPERTY}: how long to play, {@value #DEFAULT_MINUTES} minutes by default</li>
+ *   <li>{@value #ACCURACY_PROPERTY}: the share of correct decisions, {@value #DEFAULT_ACCURACY} by default</li>
+ *   <li>{@value #SAVE_EVERY_PROPERTY}: decisions between saving and resuming, {@value #DEFAULT_SAVE_EVERY} by default, 0 to never save</li>
+ *   <li>{@value #INTERVAL_PROPERTY}: seconds between reports, {@value #DEFAULT_INTERVAL} by default</li>
+ *   <li>{@value #SEED_PROPERTY}: the seed of the decisions, 0 by default</li>
+ *   <li>{@value #REPORT_PROPERTY}: a CSV file to write the reports to</li>
+ * </ul>
+ */
+public class SoakBot extends HeadlessRunner {
+    /** System property setting how long to play in minutes, fractions allowed */
+    public static final String MINUTES_PROPERTY = "fishfiesta.soak.minutes";
+
+    /** System property setting the share of correct decisions between 0 and 1 */
+    public static final String ACCURACY_PROPERTY = "fishfiesta.soak.accuracy";
+
+    /** System property setting the decisions between saving and resuming */
+    public static final String SAVE_EVERY_PROPERTY = "fishfiesta.soak.saveEvery";
+
+    /** System property setting the seconds between reports */
+    public static final String INTERVAL_PROPERTY = "fishfiesta.soak.interval";
+
+    /** System property setting the seed of the decisions */
+    public static final String SEED_PROPERTY = "fishfiesta.soak.seed";
+
+    /** System property naming the CSV file the reports are written to */
+    public static final String REPORT_PROPERTY = "fishfiesta.soak.report";
+
+    /** Minutes played by default */
+    private static final int DEFAULT_MINUTES = 60;
+
+    /** Share of correct decisions by default */
+    private static final double DEFAULT_ACCURACY = 0.9;
+
+    /** Decisions between saving and resuming by default */
+    private static final int DEFAULT_SAVE_EVERY = 25;
+
+    /** Seconds between reports by default */
+    private static final int DEFAULT_INTERVAL = 10;
+
+    /** Measures the used heap */
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    /** Counts the open file descriptors */
+    private static final OperatingSystemMXBean OS = ManagementFactory.getOperatingSystemMXBean();
+
+    /** Share of correct decisions */
+    private final double accuracy = Double.parseDouble(System.getProperty(ACCURACY_PROPERTY, String.valueOf(DEFAULT_ACCURACY)));
+
+    /** Decisions between saving and resuming, 0 to never save */
+    private final int saveEvery = Integer.getInteger(SAVE_EVERY_PROPERTY, DEFAULT_SAVE_EVERY);
+
+    /** Source of the decisions and their mistakes */
+    private final Random random = new Random(Long.getLong(SEED_PROPERTY, 0));
+
+    /** The session driving the game */
+    private HeadlessSession session;
+
+    /** Decisions made so far */
+    private long decisions;
+
+    /** Levels completed so far */
+    private long completed;
+
+    /** Levels failed so far */
+    private long failed;
+
+    /** Times the progress was saved and resumed so far */
+    private long saves;
+
+    public static void main(String[] args) {
+        launch(new SoakBot());
+    }
+
+    @Override
+    protected boolean run(HeadlessSession session) {
+        this.session = session;
+        double minutes = Double.parseDouble(System.getProperty(MINUTES_PROPERTY, String.valueOf(DEFAULT_MINUTES)));
+        long duration = (long) (minutes * TimeUnit.MINUTES.toNanos(1));
+        long interval = TimeUnit.SECONDS.toNanos(Integer.getInteger(INTERVAL_PROPERTY, DEFAULT_INTERVAL));
+
+        session.getGame().create();
+        session.renderUntil(MainMenuScreen.class);
+        session.click("play");
+        session.renderUntil(LevelSelectionScreen.class);
+
+        LevelManager levelManager = session.getGame().getResourceHandler().getLevelManager();
+        List<String> levelIds = levelManager.getAllLevelIds();
+
+        try (PrintWriter csv = openReport()) {
+            System.out.printf("%10s %12s %14s %10s %8s %8s %12s %10s%n",
+                "Minutes", "Decisions", "Decisions/s", "Completed", "Failed", "Saves", "Heap (MB)", "Open files");
+            if (csv != null) {
+                csv.println("seconds,decisions,decisionsPerSecond,completed,failed,saves,heapBytes,openFiles");
+            }
+
+            long start = System.nanoTime();
+            long lastReport = start;
+            long lastDecisions = 0;
+            long firstHeap = report(csv, 0, 0, 0);
+            long lastHeap = firstHeap;
+
+            for (int level = 0; System.nanoTime() - start < duration; level++) {
+                playLevel(levelIds.get(level % levelIds.size()));
+
+                long now = System.nanoTime();
+                if (now - lastReport >= interval) {
+                    lastHeap = report(csv, now - start, decisions - lastDecisions, now - lastReport);
+                    lastReport = now;
+                    lastDecisions = decisions;
+                }
+            }
+
+            double hours = (System.nanoTime() - start) / (double) TimeUnit.HOURS.toNanos(1);
+            System.out.printf("%d decisions at %.0f per second, heap grew by %.1f MB (%.1f MB per hour)%n",
+                decisions, decisions / (hours * 3600), (lastHeap - firstHeap) / 1e6, (lastHeap - firstHeap) / 1e6 / hours);
+        }
+        return true;
+    }
+
+    /**
+     * Plays a level from the level selection until it is completed or failed.
+     *
+     * @param levelId The level to play
+     */
+    private void playLevel(String levelId) {
+        LevelManager levelManager = session.getGame().getResourceHandler().getLevelManager();
+        FishManager fishManager = session.getGame().getResourceHandler().getFishManager();
+
+        enterLevel(levelId);
+        while (session.getScreen() instanceof LevelScreen) {
+            Level level = levelManager.getActiveLevel();
+            boolean matches = level.meetsConditions(fishManager.getCurrentFish());
+            boolean decideCorrectly = random.nextDouble() < accuracy;
+            boolean accept = decideCorrectly == matches;
+
+            session.click(accept ? "accept" : "deny");
+            session.frame();
+            decisions++;
+
+            if (session.getScreen() instanceof LevelSelectionScreen) {
+                if (levelManager.isLevelCompleted(levelId)) {
+                    completed++;
+                } else {
+                    failed++;
+                }
+            } else if (saveEvery > 0 && decisions % saveEvery == 0) {
+                saveAndResume(levelId);
+            }
+        }
+        // Lays out the level selection, which was only shown during the last frame
+        session.frame();
+    }
+
+    /**
+     * Opens a level from the level selection and starts it, replaying it if it was completed before.
+     *
+     * @param levelId The level to open
+     */
+    private void enterLevel(String levelId) {
+        session.click(levelId);
+        if (session.hasActor("Replay")) {
+            layOutDialog();
+            session.click("Replay");
+        }
+        session.renderUntil(LevelScreen.class);
+
+        // Levels resumed from saved progress start right away
+        if (session.hasActor("start")) {
+            session.click("start");
+            session.frame();
+        }
+    }
+
+    /**
+     * Saves the progress of the current level through the exit dialog, leaves it and resumes it.
+     *
+     * @param levelId The current level
+     */
+    private void saveAndResume(String levelId) {
+        session.pressKey(Input.Keys.ESCAPE);
+        session.frame();
+        layOutDialog();
+        session.click("Save");
+        // Saving shows the dialog again
+        layOutDialog();
+        session.click("Exit");
+        session.renderUntil(LevelSelectionScreen.class);
+        saves++;
+
+        enterLevel(levelId);
+    }
+
+    /**
+     * Renders the frame laying out a dialog that was just shown, so its buttons can be clicked.
+     */
+    private void layOutDialog() {
+        session.frame();
+    }
+
+    /**
+     * Prints the state of the soak test and writes it to the report file, if one was requested.
+     *
+     * @param csv The report file, or null
+     * @param elapsed Nanoseconds since the start
+     * @param intervalDecisions Decisions made since the last report
+     * @param intervalNanos Nanoseconds since the last report
+     * @return The used heap after a full GC in bytes
+     */
+    private long report(PrintWriter csv, long elapsed, long intervalDecisions, long intervalNanos) {
+        System.gc();
+        long heap = MEMORY.getHeapMemoryUsage().getUsed();
+        long openFiles = OS instanceof com.sun.management.UnixOperatingSystemMXBean unix ? unix.getOpenFileDescriptorCount() : -1;
+        double perSecond = intervalNanos == 0 ? 0 : intervalDecisions / (intervalNanos / 1e9);
+
+        System.out.printf("%10.1f %12d %14.0f %10d %8d %8d %12.1f %10d%n",
+            elapsed / 6e10, decisions, perSecond, completed, failed, saves, heap / 1e6, openFiles);
+        if (csv != null) {
+            csv.printf("%d,%d,%.1f,%d,%d,%d,%d,%d%n",
+                TimeUnit.NANOSECONDS.toSeconds(elapsed), decisions, perSecond, completed, failed, saves, heap, openFiles);
+            csv.flush();
+        }
+        return heap;
+    }
+
+    /**
+     * @return A writer for the report file, or null if none was requested
+     */
+    private static PrintWriter openReport() {
+        String reportFile = System.getProperty(REPORT_PROPERTY);
+        if (reportFile == null) return null;
+
+        Path path = Path.of(reportFile);
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            return new PrintWriter(Files.newBufferedWriter(path));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the report to " + path, e);
+        }
+    }
+}
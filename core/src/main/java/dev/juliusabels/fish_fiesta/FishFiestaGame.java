@@ -1,32 +1,179 @@
 package dev.juliusabels.fish_fiesta;
 
 import com.badlogic.gdx.Game;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.utils.Array;
+import dev.juliusabels.fish_fiesta.debug.DebugOverlay;
+import dev.juliusabels.fish_fiesta.debug.FramePhase;
+import dev.juliusabels.fish_fiesta.debug.FrameProfiler;
+import dev.juliusabels.fish_fiesta.screens.FFBaseScreen;
 import dev.juliusabels.fish_fiesta.screens.LoadingScreen;
+import dev.juliusabels.fish_fiesta.screens.MainMenuScreen;
+import dev.juliusabels.fish_fiesta.util.RenderScheduler;
 import dev.juliusabels.fish_fiesta.util.ResourceHandler;
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
 
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.logging.Level;
 
 /**
  * Main game class for Fish Fiesta.
  * Manages screens and provides access to shared resources.
+ * <p>
+ * The time from process start to the first main menu is logged, so cold starts can be compared.
+ * If the system property {@value #EXIT_ON_MAIN_MENU_PROPERTY} is set to true, the game exits
+ * right after reaching the main menu, e.g. for class data sharing training runs or startup measurements.
  */
+@Slf4j
 @Getter
 public class FishFiestaGame extends Game {
+    /** System property making the game exit as soon as the main menu is shown */
+    public static final String EXIT_ON_MAIN_MENU_PROPERTY = "fishfiesta.exitOnMainMenu";
+
     private ResourceHandler resourceHandler;
 
+    /** Decides when a new frame has to be rendered */
+    private RenderScheduler renderScheduler;
+
+    /** Records the timings of the render loop phases */
+    private FrameProfiler frameProfiler;
+
+    /** Debug HUD with render statistics, shared by all screens */
+    private DebugOverlay debugOverlay;
+
+    /** Screens that were replaced and are disposed at the start of the next frame */
+    @Getter(AccessLevel.NONE)
+    private final Array<Screen> replacedScreens = new Array<>();
+
+    /** Whether all assets and the catalog have been loaded */
+    @Getter(AccessLevel.NONE)
+    private boolean loadingFinished;
+
+    /** Whether the main menu has been shown since the game started */
+    @Getter(AccessLevel.NONE)
+    private boolean mainMenuReached;
+
     @Override
     public void create() {
         // Initialize resource handler
         resourceHandler = new ResourceHandler();
 
+        // Initialize on-demand rendering
+        renderScheduler = new RenderScheduler();
+
+        // Initialize profiling (overlay stays hidden until toggled)
+        frameProfiler = new FrameProfiler();
+        debugOverlay = new DebugOverlay(frameProfiler);
+
         // Start with loading screen
         setScreen(new LoadingScreen(this));
     }
 
+    /**
+     * Advances the background loading and renders the current screen.
+     * <p>
+     * Screens replaced during the last frame are disposed first, which releases their assets.
+     * <p>
+     * Assets of later screens keep streaming in while the player is already in the menu.
+     * Frames are requested until loading is done, and loading is never throttled, so it also
+     * finishes quickly while the window is in the background.
+     */
+    @Override
+    public void render() {
+        disposeReplacedScreens();
+
+        if (!loadingFinished) {
+            loadingFinished = resourceHandler.updateLoading();
+            if (!loadingFinished) {
+                renderScheduler.requestFrame();
+            }
+        }
+        super.render();
+    }
+
+    /**
+     * Switches to another screen and records how long the switch took.
+     * <p>
+     * For screens extending {@link FFBaseScreen} the measurement starts when the screen
+     * was created, so building its batch and stage is included.
+     * A frame is requested so the new screen is drawn even if nothing else changes.
+     *
+     * @param screen The screen to switch to
+     */
+    @Override
+    public void setScreen(Screen screen) {
+        if (this.screen != null && this.screen != screen) {
+            // Screens are usually replaced from their own input listeners, so they can't be disposed right away
+            replacedScreens.add(this.screen);
+        }
+
+        long start = screen instanceof FFBaseScreen baseScreen ? baseScreen.getCreatedAtNanos() : System.nanoTime();
+        super.setScreen(screen);
+        if (frameProfiler != null) {
+            frameProfiler.record(FramePhase.SCREEN_TRANSITION, start);
+        }
+        if (renderScheduler != null) {
+            renderScheduler.requestFrame();
+        }
+        if (screen instanceof MainMenuScreen && !mainMenuReached) {
+            mainMenuReached = true;
+            onMainMenuReached();
+        }
+    }
+
+    /**
+     * Logs the startup time and exits if requested by {@value #EXIT_ON_MAIN_MENU_PROPERTY}.
+     * <p>
+     * The time is measured from the start of the process, so it includes starting the JVM.
+     */
+    private void onMainMenuReached() {
+        boolean sharedArchive = ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+            .anyMatch(argument -> argument.startsWith("-XX:SharedArchiveFile"));
+
+        ProcessHandle.current().info().startInstant().ifPresent(start ->
+            log.info("Reached main menu {} ms after process start (CDS archive: {})",
+                Duration.between(start, Instant.now()).toMillis(), sharedArchive ? "used" : "not used"));
+
+        if (Boolean.getBoolean(EXIT_ON_MAIN_MENU_PROPERTY)) {
+            log.info("Exiting after reaching the main menu");
+            Gdx.app.exit();
+        }
+    }
+
+    /**
+     * Disposes all screens that were replaced since the last frame, unless one became the current screen again.
+     */
+    private void disposeReplacedScreens() {
+        for (Screen replaced : replacedScreens) {
+            if (replaced != screen) {
+                replaced.dispose();
+            }
+        }
+        replacedScreens.clear();
+    }
+
+    /**
+     * Informs the game whether its window has focus, so rendering can be throttled in the background.
+     * <p>
+     * Called by the platform launcher; minimized windows count as unfocused.
+     *
+     * @param focused Whether the window has focus and is not minimized
+     */
+    public void setWindowFocused(boolean focused) {
+        if (renderScheduler != null) {
+            renderScheduler.setFocused(focused);
+        }
+    }
+
     @Override
     public void dispose() {
-        // Dispose current screen
+        // Dispose replaced and current screen
+        disposeReplacedScreens();
         if (screen != null) {
             screen.dispose();
         }
@@ -35,5 +182,15 @@ public class FishFiestaGame extends Game {
         if (resourceHandler != null) {
             resourceHandler.dispose();
         }
+
+        // Export frame timings if requested
+        if (frameProfiler != null) {
+            frameProfiler.exportIfRequested();
+        }
+
+        // Dispose debug overlay
+        if (debugOverlay != null) {
+            debugOverlay.dispose();
+        }
     }
 }
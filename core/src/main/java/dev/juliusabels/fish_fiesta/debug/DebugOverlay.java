@@ -0,0 +1,248 @@
+package dev.juliusabels.fish_fiesta.debug;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.math.WindowedMean;
+import com.badlogic.gdx.utils.viewport.Viewport;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Toggleable debug HUD showing the rendering cost of the current screen.
+ * <p>
+ * The overlay wraps libGDX's {@link GLProfiler} and the {@link SpriteBatch} counters
+ * to display for each frame:
+ * <ul>
+ *   <li>Draw calls, texture binds and shader switches issued to OpenGL</li>
+ *   <li>Vertices submitted through draw calls</li>
+ *   <li>Batch flushes (render calls) and the maximum number of sprites in one batch</li>
+ * </ul>
+ * Each value is shown for the last frame and as a rolling average over {@link #WINDOW_SIZE} frames.
+ * Below that, the p50, p99 and maximum durations recorded by the {@link FrameProfiler}
+ * are listed for every {@link FramePhase}.
+ * <p>
+ * The profiler is only enabled while the overlay is visible, so it costs nothing when hidden.
+ * Press F3 on any screen extending {@code FFBaseScreen} to toggle it.
+ */
+@Slf4j
+public class DebugOverlay {
+    /** Key that toggles the overlay */
+    public static final int TOGGLE_KEY = Input.Keys.F3;
+
+    /** Number of frames the rolling averages are computed over */
+    private static final int WINDOW_SIZE = 60;
+
+    /** Distance of the text from the top left corner of the window in pixels */
+    private static final float MARGIN = 10F;
+
+    /** Intercepts GL calls to count draw calls, bindings and shader switches */
+    private final GLProfiler profiler;
+
+    /** Profiler whose phase timings are listed in the overlay */
+    private final FrameProfiler frameProfiler;
+
+    /** Font used to draw the overlay text */
+    private final BitmapFont font;
+
+    /** Reusable buffer for the overlay text, so drawing doesn't allocate a new string each frame */
+    private final StringBuilder text = new StringBuilder(512);
+
+    /** Rolling averages of the metrics shown in the overlay */
+    private final WindowedMean drawCalls = new WindowedMean(WINDOW_SIZE);
+    private final WindowedMean textureBindings = new WindowedMean(WINDOW_SIZE);
+    private final WindowedMean shaderSwitches = new WindowedMean(WINDOW_SIZE);
+    private final WindowedMean vertices = new WindowedMean(WINDOW_SIZE);
+    private final WindowedMean renderCalls = new WindowedMean(WINDOW_SIZE);
+    private final WindowedMean maxSprites = new WindowedMean(WINDOW_SIZE);
+
+    /** Batch flushes counted so far in the current frame */
+    private int frameRenderCalls;
+
+    /** Whether the overlay is currently shown */
+    @Getter
+    private boolean visible;
+
+    /**
+     * Creates a new, hidden debug overlay.
+     * <p>
+     * Must be called after the GL context has been created.
+     *
+     * @param frameProfiler Profiler whose phase timings are listed in the overlay
+     */
+    public DebugOverlay(FrameProfiler frameProfiler) {
+        this.frameProfiler = frameProfiler;
+        this.profiler = new GLProfiler(Gdx.graphics);
+        this.font = new BitmapFont();
+        this.font.setColor(Color.YELLOW);
+    }
+
+    /**
+     * Shows or hides the overlay and enables or disables the GL profiler accordingly.
+     */
+    public void toggle() {
+        visible = !visible;
+        if (visible) {
+            clearAverages();
+            profiler.enable();
+        } else {
+            profiler.disable();
+        }
+        log.info("Debug overlay {}", visible ? "enabled" : "disabled");
+    }
+
+    /**
+     * Starts profiling a new frame.
+     * <p>
+     * Handles the toggle key and resets the per-frame counters of the profiler and the batch.
+     *
+     * @param batch The batch the screen renders with
+     */
+    public void beginFrame(SpriteBatch batch) {
+        if (Gdx.input.isKeyJustPressed(TOGGLE_KEY)) {
+            toggle();
+        }
+
+        if (!visible) return;
+
+        profiler.reset();
+        batch.maxSpritesInBatch = 0;
+        frameRenderCalls = 0;
+    }
+
+    /**
+     * Records the batch flushes of the pass that just ended.
+     * <p>
+     * {@link SpriteBatch#renderCalls} is reset on every {@code begin()}, so this has to be
+     * called after each {@code begin()}/{@code end()} pair rendered with the batch.
+     *
+     * @param batch The batch that just finished a pass
+     */
+    public void recordBatch(SpriteBatch batch) {
+        if (!visible) return;
+
+        frameRenderCalls += batch.renderCalls;
+    }
+
+    /**
+     * Finishes the frame and draws the overlay on top of everything else.
+     * <p>
+     * The counters are sampled before the overlay itself is drawn, so its own
+     * draw calls are not included in the numbers.
+     *
+     * @param batch The batch used to draw the overlay text
+     * @param viewport A viewport whose world units map to screen pixels
+     */
+    public void endFrame(SpriteBatch batch, Viewport viewport) {
+        if (!visible) return;
+
+        int frameDrawCalls = profiler.getDrawCalls();
+        int frameTextureBindings = profiler.getTextureBindings();
+        int frameShaderSwitches = profiler.getShaderSwitches();
+        int frameVertices = (int) profiler.getVertexCount().total;
+        int frameMaxSprites = batch.maxSpritesInBatch;
+
+        drawCalls.addValue(frameDrawCalls);
+        textureBindings.addValue(frameTextureBindings);
+        shaderSwitches.addValue(frameShaderSwitches);
+        vertices.addValue(frameVertices);
+        renderCalls.addValue(frameRenderCalls);
+        maxSprites.addValue(frameMaxSprites);
+
+        text.setLength(0);
+        text.append("FPS: ").append(Gdx.graphics.getFramesPerSecond()).append('\n');
+        appendLine("Draw calls", frameDrawCalls, drawCalls);
+        appendLine("Texture binds", frameTextureBindings, textureBindings);
+        appendLine("Shader switches", frameShaderSwitches, shaderSwitches);
+        appendLine("Vertices", frameVertices, vertices);
+        appendLine("Batch flushes", frameRenderCalls, renderCalls);
+        appendLine("Max sprites/batch", frameMaxSprites, maxSprites);
+        appendPhaseTimes();
+
+        viewport.apply();
+        batch.setProjectionMatrix(viewport.getCamera().combined);
+        batch.begin();
+        font.draw(batch, text, MARGIN, viewport.getWorldHeight() - MARGIN);
+        batch.end();
+    }
+
+    /**
+     * Appends one metric line in the form {@code "name: frame (avg average)"}.
+     *
+     * @param name The display name of the metric
+     * @param frameValue The value measured in the current frame
+     * @param mean The rolling average of the metric
+     */
+    private void appendLine(String name, int frameValue, WindowedMean mean) {
+        text.append(name).append(": ").append(frameValue).append(" (avg ");
+        appendOneDecimal(mean.getMean());
+        text.append(")\n");
+    }
+
+    /**
+     * Appends the p50, p99 and maximum duration of every frame phase in milliseconds.
+     */
+    private void appendPhaseTimes() {
+        text.append("\nms (p50 / p99 / max)\n");
+        for (FramePhase phase : FramePhase.VALUES) {
+            PhaseHistogram histogram = frameProfiler.getHistogram(phase);
+            text.append(phase.getDisplayName()).append(": ");
+            appendMillis(histogram.getPercentileNanos(50));
+            text.append(" / ");
+            appendMillis(histogram.getPercentileNanos(99));
+            text.append(" / ");
+            appendMillis(histogram.getMaxNanos());
+            text.append('\n');
+        }
+    }
+
+    /**
+     * Appends a duration in milliseconds with two decimal places.
+     *
+     * @param nanos The duration in nanoseconds
+     */
+    private void appendMillis(long nanos) {
+        long hundredths = nanos / 10_000;
+        long fraction = hundredths % 100;
+        text.append(hundredths / 100).append('.');
+        if (fraction < 10) {
+            text.append('0');
+        }
+        text.append(fraction);
+    }
+
+    /**
+     * Appends a non-negative value with one decimal place without going through string formatting.
+     *
+     * @param value The value to append
+     */
+    private void appendOneDecimal(float value) {
+        int tenths = Math.round(value * 10F);
+        text.append(tenths / 10).append('.').append(tenths % 10);
+    }
+
+    /**
+     * Drops all samples collected for the rolling averages.
+     */
+    private void clearAverages() {
+        drawCalls.clear();
+        textureBindings.clear();
+        shaderSwitches.clear();
+        vertices.clear();
+        renderCalls.clear();
+        maxSprites.clear();
+    }
+
+    /**
+     * Releases the font and restores the original GL instance.
+     */
+    public void dispose() {
+        if (profiler.isEnabled()) {
+            profiler.disable();
+        }
+        font.dispose();
+    }
+}
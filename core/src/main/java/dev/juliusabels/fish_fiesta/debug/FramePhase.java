@@ -0,0 +1,42 @@
+package dev.juliusabels.fish_fiesta.debug;
+
+import lombok.Getter;
+
+/**
+ * The parts of a frame that are timed separately by the {@link FrameProfiler}.
+ */
+public enum FramePhase {
+    /** The complete render call of a screen */
+    FRAME("frame"),
+
+    /** Drawing the tiled background */
+    BACKGROUND("background"),
+
+    /** Updating the actors of the monitor UI stage */
+    STAGE_ACT("stage act"),
+
+    /** Drawing the monitor UI stage */
+    STAGE_DRAW("stage draw"),
+
+    /** Handling a single input event, measured per event */
+    INPUT("input"),
+
+    /** Switching to a new screen, from creating it until it has been shown */
+    SCREEN_TRANSITION("screen switch");
+
+    /** Cached copy of {@link #values()}, so iterating the phases doesn't allocate */
+    static final FramePhase[] VALUES = values();
+
+    /** Name of the phase used in the debug overlay and in exports */
+    @Getter
+    private final String displayName;
+
+    /**
+     * Creates a new frame phase.
+     *
+     * @param displayName Name of the phase used in the debug overlay and in exports
+     */
+    FramePhase(String displayName) {
+        this.displayName = displayName;
+    }
+}
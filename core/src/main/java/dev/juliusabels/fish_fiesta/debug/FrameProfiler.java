@@ -0,0 +1,132 @@
+package dev.juliusabels.fish_fiesta.debug;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Low-overhead profiler timing the phases of the render loop.
+ * <p>
+ * Each {@link FramePhase} gets its own {@link PhaseHistogram}. Timing a phase only costs
+ * a call to {@link System#nanoTime()} and an array increment, so the profiler stays
+ * enabled for the whole session and captures tail latencies of long play sessions:
+ * <pre>
+ * {@code
+ *    long start = System.nanoTime();
+ *    renderBackground();
+ *    long next = profiler.record(FramePhase.BACKGROUND, start);
+ *    stage.act(delta);
+ *    profiler.record(FramePhase.STAGE_ACT, next);
+ * }
+ * </pre>
+ * Percentiles are shown in the debug overlay. If the system property
+ * {@value #EXPORT_DIR_PROPERTY} is set, the histograms are written to that directory
+ * as CSV files when the game exits.
+ */
+@Slf4j
+public class FrameProfiler {
+    /** System property naming the directory the histograms are exported to on exit */
+    public static final String EXPORT_DIR_PROPERTY = "fishfiesta.profiler.dir";
+
+    /** One histogram per frame phase, indexed by ordinal */
+    private final PhaseHistogram[] histograms = new PhaseHistogram[FramePhase.VALUES.length];
+
+    /**
+     * Creates a new profiler with empty histograms.
+     */
+    public FrameProfiler() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new PhaseHistogram();
+        }
+    }
+
+    /**
+     * Records the time elapsed since {@code startNanos} for a phase.
+     *
+     * @param phase The phase that just finished
+     * @param startNanos The value of {@link System#nanoTime()} when the phase started
+     * @return The current value of {@link System#nanoTime()}, usable as the start of the next phase
+     */
+    public long record(FramePhase phase, long startNanos) {
+        long now = System.nanoTime();
+        histograms[phase.ordinal()].record(now - startNanos);
+        return now;
+    }
+
+    /**
+     * @param phase The phase to get the histogram for
+     * @return The histogram recorded for the phase
+     */
+    public PhaseHistogram getHistogram(FramePhase phase) {
+        return histograms[phase.ordinal()];
+    }
+
+    /**
+     * Clears the histograms of all phases.
+     */
+    public void reset() {
+        for (PhaseHistogram histogram : histograms) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Exports the histograms if {@value #EXPORT_DIR_PROPERTY} is set.
+     * <p>
+     * Meant to be called once when the game exits.
+     */
+    public void exportIfRequested() {
+        String dir = System.getProperty(EXPORT_DIR_PROPERTY);
+        if (dir == null || dir.isBlank()) return;
+
+        try {
+            export(Gdx.files.absolute(dir));
+        } catch (GdxRuntimeException e) {
+            log.error("Could not export frame profile to {}", dir, e);
+        }
+    }
+
+    /**
+     * Writes the recorded data into two CSV files in the given directory:
+     * <ul>
+     *   <li>{@code frame_profile_summary.csv}: count, mean, p50, p90, p99 and max per phase</li>
+     *   <li>{@code frame_profile_histogram.csv}: every non-empty bucket per phase</li>
+     * </ul>
+     * All durations are in microseconds.
+     *
+     * @param dir The directory to write the files to
+     */
+    public void export(FileHandle dir) {
+        StringBuilder summary = new StringBuilder("phase,count,mean_us,p50_us,p90_us,p99_us,max_us\n");
+        StringBuilder buckets = new StringBuilder("phase,lower_us,upper_us,count\n");
+
+        for (FramePhase phase : FramePhase.VALUES) {
+            PhaseHistogram histogram = getHistogram(phase);
+            String name = phase.name().toLowerCase();
+
+            summary.append(name).append(',')
+                .append(histogram.getCount()).append(',')
+                .append(histogram.getMeanNanos() / 1000).append(',')
+                .append(histogram.getPercentileNanos(50) / 1000).append(',')
+                .append(histogram.getPercentileNanos(90) / 1000).append(',')
+                .append(histogram.getPercentileNanos(99) / 1000).append(',')
+                .append(histogram.getMaxNanos() / 1000).append('\n');
+
+            for (int i = 0; i < PhaseHistogram.BUCKET_COUNT; i++) {
+                long count = histogram.getBucketCount(i);
+                if (count == 0) continue;
+
+                buckets.append(name).append(',')
+                    .append(PhaseHistogram.lowerBoundMicros(i)).append(',')
+                    .append(PhaseHistogram.upperBoundMicros(i)).append(',')
+                    .append(count).append('\n');
+            }
+        }
+
+        dir.mkdirs();
+        dir.child("frame_profile_summary.csv").writeString(summary.toString(), false);
+        dir.child("frame_profile_histogram.csv").writeString(buckets.toString(), false);
+        log.info("Exported frame profile to {}", dir.path());
+    }
+}
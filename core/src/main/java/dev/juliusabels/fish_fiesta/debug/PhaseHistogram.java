@@ -0,0 +1,166 @@
+package dev.juliusabels.fish_fiesta.debug;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-bucket histogram of durations, used to record the timings of one {@link FramePhase}.
+ * <p>
+ * Durations are bucketed in microseconds on a log-linear scale:
+ * <ul>
+ *   <li>0-99µs: one bucket per microsecond</li>
+ *   <li>From 100µs on: 90 buckets per decade (100-109µs, 110-119µs, ..., 1.0-1.1ms, ...)</li>
+ * </ul>
+ * This keeps the relative error of a bucket below 10% over the whole range while the
+ * bucket array never grows. Values above the last bucket (100s) are clamped into it,
+ * the exact maximum is tracked separately.
+ * <p>
+ * Recording a value is O(1) and does not allocate.
+ */
+public class PhaseHistogram {
+    /** Number of buckets with a width of one microsecond */
+    private static final int LINEAR_BUCKETS = 100;
+
+    /** Number of buckets per decade above the linear range */
+    private static final int BUCKETS_PER_DECADE = 90;
+
+    /** Number of decades covered above the linear range (100µs up to 100s) */
+    private static final int DECADES = 6;
+
+    /** Total number of buckets */
+    static final int BUCKET_COUNT = LINEAR_BUCKETS + BUCKETS_PER_DECADE * DECADES;
+
+    /** Number of recorded values per bucket */
+    private final long[] counts = new long[BUCKET_COUNT];
+
+    /** Number of recorded values */
+    @Getter
+    private long count;
+
+    /** Sum of all recorded durations in nanoseconds */
+    @Getter
+    private long totalNanos;
+
+    /** Largest recorded duration in nanoseconds */
+    @Getter
+    private long maxNanos;
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos The duration in nanoseconds
+     */
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+
+        counts[bucketFor(nanos / 1000)]++;
+        count++;
+        totalNanos += nanos;
+        if (nanos > maxNanos) {
+            maxNanos = nanos;
+        }
+    }
+
+    /**
+     * @return The mean of all recorded durations in nanoseconds, or 0 if nothing was recorded
+     */
+    public long getMeanNanos() {
+        return count == 0 ? 0 : totalNanos / count;
+    }
+
+    /**
+     * Estimates a percentile of the recorded durations.
+     * <p>
+     * The result is the upper bound of the bucket containing the percentile,
+     * capped at the recorded maximum.
+     *
+     * @param percentile The percentile between 0 and 100
+     * @return The estimated duration in nanoseconds, or 0 if nothing was recorded
+     */
+    public long getPercentileNanos(double percentile) {
+        if (count == 0) return 0;
+
+        long rank = (long) Math.ceil(count * percentile / 100D);
+        if (rank < 1) rank = 1;
+
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundMicros(i) * 1000, maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+
+    /**
+     * @param bucket The bucket index
+     * @return The number of values recorded in the bucket
+     */
+    public long getBucketCount(int bucket) {
+        return counts[bucket];
+    }
+
+    /**
+     * Clears all recorded values.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        totalNanos = 0;
+        maxNanos = 0;
+    }
+
+    /**
+     * Finds the bucket index for a duration.
+     *
+     * @param micros The duration in microseconds
+     * @return The index of the bucket the duration belongs to
+     */
+    static int bucketFor(long micros) {
+        if (micros < LINEAR_BUCKETS) {
+            return (int) micros;
+        }
+
+        // Reduce to two significant digits (10-99) and count the decades removed
+        int decade = 0;
+        while (micros >= LINEAR_BUCKETS) {
+            micros /= 10;
+            decade++;
+        }
+
+        if (decade > DECADES) {
+            return BUCKET_COUNT - 1;
+        }
+        return LINEAR_BUCKETS + (decade - 1) * BUCKETS_PER_DECADE + (int) micros - 10;
+    }
+
+    /**
+     * @param bucket The bucket index
+     * @return The smallest duration in microseconds that falls into the bucket
+     */
+    static long lowerBoundMicros(int bucket) {
+        if (bucket < LINEAR_BUCKETS) {
+            return bucket;
+        }
+
+        int decade = (bucket - LINEAR_BUCKETS) / BUCKETS_PER_DECADE + 1;
+        long mantissa = (bucket - LINEAR_BUCKETS) % BUCKETS_PER_DECADE + 10;
+        for (int i = 0; i < decade; i++) {
+            mantissa *= 10;
+        }
+        return mantissa;
+    }
+
+    /**
+     * @param bucket The bucket index
+     * @return The first duration in microseconds that no longer falls into the bucket
+     */
+    static long upperBoundMicros(int bucket) {
+        if (bucket == BUCKET_COUNT - 1) {
+            return Long.MAX_VALUE / 1000;
+        }
+        return lowerBoundMicros(bucket + 1);
+    }
+}
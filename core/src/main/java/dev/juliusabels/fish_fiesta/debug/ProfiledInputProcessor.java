@@ -0,0 +1,98 @@
+package dev.juliusabels.fish_fiesta.debug;
+
+import com.badlogic.gdx.InputProcessor;
+
+/**
+ * Input processor that forwards every event to a delegate and records how long
+ * handling it took as {@link FramePhase#INPUT}.
+ */
+public class ProfiledInputProcessor implements InputProcessor {
+    /** The processor actually handling the events */
+    private final InputProcessor delegate;
+
+    /** Profiler the handling times are recorded into */
+    private final FrameProfiler profiler;
+
+    /**
+     * Creates a new profiled input processor.
+     *
+     * @param delegate The processor actually handling the events
+     * @param profiler Profiler the handling times are recorded into
+     */
+    public ProfiledInputProcessor(InputProcessor delegate, FrameProfiler profiler) {
+        this.delegate = delegate;
+        this.profiler = profiler;
+    }
+
+    @Override
+    public boolean keyDown(int keycode) {
+        long start = System.nanoTime();
+        boolean handled = delegate.keyDown(keycode);
+        profiler.record(FramePhase.INPUT, start);
+        return handled;
+    }
+
+    @Override
+    public boolean keyUp(int keycode) {
+        long start = System.nanoTime();
+        boolean handled = delegate.keyUp(keycode);
+        profiler.record(FramePhase.INPUT, start);
+        return handled;
+    }
+
+    @Override
+    public boolean keyTyped(char character) {
+        long start = System.nanoTime();
+        boolean handled = delegate.keyTyped(character);
+        profiler.record(FramePhase.INPUT, start);
+        return handled;
+    }
+
+    @Override
+    public boolean touchDown(int screenX, int screenY, int pointer, int button) {
+        long start = System.nanoTime();
+        boolean handled = delegate.touchDown(screenX, screenY, pointer, button);
+        profiler.record(FramePhase.INPUT, start);
+        return handled;
+    }
+
+    @Override
+    public boolean touchUp(int screenX, int screenY, int pointer, int button) {
+        long start = System.nanoTime();
+        boolean handled = delegate.touchUp(screenX, screenY, pointer, button);
+        profiler.record(FramePhase.INPUT, start);
+        return handled;
+    }
+
+    @Override
+    public boolean touchCancelled(int screenX, int screenY, int pointer, int button) {
+        long start = System.nanoTime();
+        boolean handled = delegate.touchCancelled(screenX, screenY, pointer, button);
+        profiler.record(FramePhase.INPUT, start);
+        return handled;
+    }
+
+    @Override
+    public boolean touchDragged(int screenX, int screenY, int pointer) {
+        long start = System.nanoTime();
+        boolean handled = delegate.touchDragged(screenX, screenY, pointer);
+        profiler.record(FramePhase.INPUT, start);
+        return handled;
+    }
+
+    @Override
+    public boolean mouseMoved(int screenX, int screenY) {
+        long start = System.nanoTime();
+        boolean handled = delegate.mouseMoved(screenX, screenY);
+        profiler.record(FramePhase.INPUT, start);
+        return handled;
+    }
+
+    @Override
+    public boolean scrolled(float amountX, float amountY) {
+        long start = System.nanoTime();
+        boolean handled = delegate.scrolled(amountX, amountY);
+        profiler.record(FramePhase.INPUT, start);
+        return handled;
+    }
+}
@@ -9,6 +9,7 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Enumerates the types of conditions that can be applied to filter water creatures in a level.
@@ -19,6 +20,10 @@ import java.util.List;
  * <p>
  * Conditions can be configured to allow multiple values (like SIZE) or require just one match
  * from multiple possible values (like WATER_TYPE, WATER_SUBTYPE, TEMPERATURE).
+ * <p>
+ * The conditions a fish fails are reported as a bitmask with the {@link #getMismatchBit()} of
+ * each failed type, so a decision can be graded and explained from a single pass that doesn't
+ * allocate.
  */
 @Slf4j
 public enum ConditionType {
@@ -28,7 +33,7 @@ public enum ConditionType {
      * A creature satisfies this condition if at least one of its compatible water types
      * matches any of the allowed types specified in the condition values.
      */
-    WATER_TYPE(false) {
+    WATER_TYPE(false, List.of(WaterType.values())) {
         @Override
         public boolean isSatisfied(WaterCreature creature, List<String> values) {
             if (log.isDebugEnabled()) {
@@ -36,9 +41,16 @@ public enum ConditionType {
                 values.forEach(v -> log.debug("Level allows water type: {}", v));
             }
 
-            return values.stream()
-                .map(WaterType::valueOf)
-                .anyMatch(type -> creature.getWaterTypes().contains(type));
+            List<WaterType> waterTypes = creature.getWaterTypes();
+            for (int i = 0; i < values.size(); i++) {
+                if (waterTypes.contains(WaterType.valueOf(values.get(i)))) return true;
+            }
+            return false;
+        }
+
+        @Override
+        public List<WaterType> getCreatureValues(WaterCreature creature) {
+            return creature.getWaterTypes();
         }
     },
 
@@ -48,7 +60,7 @@ public enum ConditionType {
      * A creature satisfies this condition if at least one of its compatible water subtypes
      * matches any of the allowed subtypes specified in the condition values.
      */
-    WATER_SUBTYPE(false) {
+    WATER_SUBTYPE(false, List.of(WaterSubtype.values())) {
         @Override
         public boolean isSatisfied(WaterCreature creature, List<String> values) {
             if (log.isDebugEnabled()) {
@@ -56,9 +68,16 @@ public enum ConditionType {
                 values.forEach(v -> log.debug("Level allows water subtype: {}", v));
             }
 
-            return values.stream()
-                .map(WaterSubtype::valueOf)
-                .anyMatch(subtype -> creature.getWaterSubtypes().contains(subtype));
+            List<WaterSubtype> waterSubtypes = creature.getWaterSubtypes();
+            for (int i = 0; i < values.size(); i++) {
+                if (waterSubtypes.contains(WaterSubtype.valueOf(values.get(i)))) return true;
+            }
+            return false;
+        }
+
+        @Override
+        public List<WaterSubtype> getCreatureValues(WaterCreature creature) {
+            return creature.getWaterSubtypes();
         }
     },
 
@@ -68,7 +87,7 @@ public enum ConditionType {
      * A creature satisfies this condition if its size category matches any of the
      * allowed size categories specified in the condition values.
      */
-    SIZE(true) {
+    SIZE(true, List.of(SizeCategory.SMALL, SizeCategory.MEDIUM, SizeCategory.BIG)) {
         @Override
         public boolean isSatisfied(WaterCreature creature, List<String> values) {
             SizeCategory creatureSize = creature.getSize().getCategory();
@@ -78,9 +97,15 @@ public enum ConditionType {
                 values.forEach(v -> log.debug("Level allows size: {}", v));
             }
 
-            return values.stream()
-                .map(SizeCategory::valueOf)
-                .anyMatch(size -> creatureSize == size);
+            for (int i = 0; i < values.size(); i++) {
+                if (creatureSize == SizeCategory.valueOf(values.get(i))) return true;
+            }
+            return false;
+        }
+
+        @Override
+        public List<SizeCategory> getCreatureValues(WaterCreature creature) {
+            return List.of(creature.getSize().getCategory());
         }
     },
 
@@ -90,7 +115,7 @@ public enum ConditionType {
      * A creature satisfies this condition if at least one of its compatible water temperatures
      * matches any of the allowed temperatures specified in the condition values.
      */
-    TEMPERATURE(false) {
+    TEMPERATURE(false, List.of(WaterTemperature.values())) {
         @Override
         public boolean isSatisfied(WaterCreature creature, List<String> values) {
             if (log.isDebugEnabled()) {
@@ -98,23 +123,39 @@ public enum ConditionType {
                 values.forEach(v -> log.debug("Level allows temperature: {}", v));
             }
 
-            return values.stream()
-                .map(WaterTemperature::valueOf)
-                .anyMatch(temp -> creature.getWaterTemperatures().contains(temp));
+            List<WaterTemperature> waterTemperatures = creature.getWaterTemperatures();
+            for (int i = 0; i < values.size(); i++) {
+                if (waterTemperatures.contains(WaterTemperature.valueOf(values.get(i)))) return true;
+            }
+            return false;
+        }
+
+        @Override
+        public List<WaterTemperature> getCreatureValues(WaterCreature creature) {
+            return creature.getWaterTemperatures();
         }
     };
 
+    /** All condition types, cached as {@link #values()} copies the array on every call */
+    private static final ConditionType[] TYPES = values();
+
     /** Indicates whether multiple instances of this condition type are allowed in a level */
     @Getter
     private final boolean allowMultiple;
 
+    /** Values a level can require for this condition type, in a fixed order */
+    @Getter
+    private final List<? extends Enum<?>> possibleValues;
+
     /**
      * Creates a new condition type.
      *
      * @param allowMultiple if true, multiple instances of this condition type can be used in a level
+     * @param possibleValues Values a level can require for this condition type
      */
-    ConditionType(boolean allowMultiple) {
+    ConditionType(boolean allowMultiple, List<? extends Enum<?>> possibleValues) {
         this.allowMultiple = allowMultiple;
+        this.possibleValues = possibleValues;
     }
 
     /**
@@ -125,4 +166,49 @@ public enum ConditionType {
      * @return true if the creature satisfies the condition, false otherwise
      */
     public abstract boolean isSatisfied(WaterCreature creature, List<String> values);
+
+    /**
+     * Returns the values of the attribute of a water creature this condition checks, to
+     * explain why the creature failed it.
+     *
+     * @param creature The water creature
+     * @return The values of the creature, e.g. its water types
+     */
+    public abstract List<? extends Enum<?>> getCreatureValues(WaterCreature creature);
+
+    /**
+     * @return The bit representing this condition type in a mismatch bitmask
+     */
+    public int getMismatchBit() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * @param mismatches A mismatch bitmask, see {@link #findMismatches(Map, WaterCreature)}
+     * @return true if the bitmask contains this condition type
+     */
+    public boolean isIn(int mismatches) {
+        return (mismatches & getMismatchBit()) != 0;
+    }
+
+    /**
+     * Checks a water creature against every condition of a level.
+     * <p>
+     * Unlike stopping at the first failed condition, all conditions are checked, so the result
+     * also tells which of them the creature failed.
+     *
+     * @param conditions The conditions of a level
+     * @param creature The water creature to check
+     * @return A bitmask with the {@link #getMismatchBit()} of every failed condition, 0 if the creature meets them all
+     */
+    public static int findMismatches(Map<ConditionType, List<String>> conditions, WaterCreature creature) {
+        int mismatches = 0;
+        for (ConditionType type : TYPES) {
+            List<String> values = conditions.get(type);
+            if (values != null && !type.isSatisfied(creature, values)) {
+                mismatches |= type.getMismatchBit();
+            }
+        }
+        return mismatches;
+    }
 }
@@ -0,0 +1,141 @@
+package dev.juliusabels.fish_fiesta.game.level;
+
+import dev.juliusabels.fish_fiesta.game.WaterCreature;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Generates the daily challenge, a level that is the same on every client for the same date.
+ * <p>
+ * The level is cut from an {@link EndlessFishStream} seeded with the date: its conditions are
+ * those of the first rotation and its fish the first {@link #FISH_AMOUNT} of the stream. As the
+ * stream only uses integer arithmetic on the seed, every JVM generates the same level from the
+ * same catalog, without any network involved. The catalog has to be in a stable order, which
+ * {@link dev.juliusabels.fish_fiesta.util.FishManager} ensures by sorting the fish IDs.
+ * <p>
+ * A room where every fish has to be accepted, or every fish denied, is no challenge. Such a
+ * seed is skipped for the next one derived from the date, so the level always needs both
+ * decisions, if the catalog allows it.
+ * <p>
+ * Generating a level only computes a few hashes and checks a few hundred fish at most, so it is
+ * fast enough to run on the rendering thread when the level selection opens.
+ */
+public final class DailyChallenge {
+    /** Prefix of the level IDs of daily challenges, followed by the ISO date */
+    public static final String ID_PREFIX = "daily-";
+
+    /** Number of fish in a daily challenge */
+    public static final int FISH_AMOUNT = 12;
+
+    /** Number of seeds tried for a room that needs both decisions */
+    private static final int SEED_ATTEMPTS = 16;
+
+    /** Salt telling the seeds of daily challenges apart from other seeds derived from a date */
+    private static final long DAILY_SALT = 0x6461696C79L;
+
+    /** Odd constant spreading the day numbers before mixing them */
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    static {
+        // The fish of a daily challenge must all be judged by the conditions of the first rotation
+        if (FISH_AMOUNT > EndlessFishStream.ROTATION_LENGTH) {
+            throw new IllegalStateException("A daily challenge can't be longer than a rotation");
+        }
+    }
+
+    /**
+     * Utility class, not meant to be instantiated.
+     */
+    private DailyChallenge() {
+    }
+
+    /**
+     * Generates the daily challenge of a date.
+     *
+     * @param date The date of the challenge
+     * @param catalog IDs of all fish in a stable order, must not be empty
+     * @param fishLookup Looks up a fish of the catalog by ID, returning null for unknown fish
+     * @return The level of the date, with fresh progress
+     */
+    public static Level generate(LocalDate date, List<String> catalog, Function<String, WaterCreature> fishLookup) {
+        EndlessFishStream stream = null;
+        for (int attempt = 0; attempt < SEED_ATTEMPTS; attempt++) {
+            stream = new EndlessFishStream(seedFor(date, attempt), catalog, fishLookup);
+            if (needsBothDecisions(stream, fishLookup)) break;
+        }
+
+        List<String> fishIds = new ArrayList<>(FISH_AMOUNT);
+        for (int i = 0; i < FISH_AMOUNT; i++) {
+            fishIds.add(stream.get(i));
+        }
+        return new Level(idFor(date), stream.getConditions(0), List.copyOf(fishIds));
+    }
+
+    /**
+     * @param date The date of the challenge
+     * @return The level ID of the daily challenge of the date
+     */
+    public static String idFor(LocalDate date) {
+        return ID_PREFIX + date;
+    }
+
+    /**
+     * @param levelId A level ID
+     * @return true if the ID belongs to a daily challenge
+     */
+    public static boolean isDailyId(String levelId) {
+        return levelId.startsWith(ID_PREFIX);
+    }
+
+    /**
+     * Derives a seed from a date. Only the day number is used, so the time zone of the client
+     * only matters for when the next challenge starts.
+     * <p>
+     * The day number is mixed, as the stream hashes its seed plus the position, and seeds of
+     * consecutive days that are a plain multiple apart would make one day a shifted copy of another.
+     *
+     * @param date The date of the challenge
+     * @param attempt The number of the attempt to find a room needing both decisions
+     * @return The seed of the stream
+     */
+    static long seedFor(LocalDate date, int attempt) {
+        return mix(mix(date.toEpochDay() ^ DAILY_SALT) + attempt);
+    }
+
+    /**
+     * Mixes a value into a well distributed hash (SplitMix64 finalizer).
+     *
+     * @param value The value to mix
+     * @return The mixed hash
+     */
+    private static long mix(long value) {
+        long z = value * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * @param stream The stream to check
+     * @param fishLookup Looks up a fish by ID
+     * @return true if the first fish of the stream contain at least one fish to accept and one to deny
+     */
+    private static boolean needsBothDecisions(EndlessFishStream stream, Function<String, WaterCreature> fishLookup) {
+        Map<ConditionType, List<String>> conditions = stream.getConditions(0);
+        boolean accepted = false;
+        boolean denied = false;
+        for (int i = 0; i < FISH_AMOUNT && !(accepted && denied); i++) {
+            WaterCreature fish = fishLookup.apply(stream.get(i));
+            if (fish != null && ConditionType.findMismatches(conditions, fish) == 0) {
+                accepted = true;
+            } else {
+                denied = true;
+            }
+        }
+        return accepted && denied;
+    }
+}
@@ -0,0 +1,270 @@
+package dev.juliusabels.fish_fiesta.game.level;
+
+import com.badlogic.gdx.utils.Null;
+import dev.juliusabels.fish_fiesta.game.WaterCreature;
+import dev.juliusabels.fish_fiesta.game.features.SizeCategory;
+import dev.juliusabels.fish_fiesta.game.features.WaterSubtype;
+import dev.juliusabels.fish_fiesta.game.features.WaterTemperature;
+import dev.juliusabels.fish_fiesta.game.features.WaterType;
+import lombok.Getter;
+
+import java.util.AbstractList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.function.Function;
+
+/**
+ * Endless sequence of fish IDs drawn from the catalog, together with conditions that rotate every few fish.
+ * <p>
+ * The stream is a pure function of its seed: the fish at a position and the conditions of a
+ * rotation are derived by hashing the seed with the position, so any position can be computed
+ * directly without generating the ones before it. Nothing about past fish is kept, so memory
+ * stays constant however long a run lasts, and a run is resumed from its seed and position alone.
+ * <p>
+ * The conditions of a rotation are built around a random fish of the catalog, so at least that
+ * fish meets them. Every other position prefers a fish meeting the conditions, so roughly half
+ * of the fish have to be accepted, like in the hand-made levels.
+ * <p>
+ * As a {@link List} the stream has {@link Integer#MAX_VALUE} elements, which is as endless as
+ * the fish index of a {@link Level} gets. Only {@link #get(int)} and {@link #size()} are meant
+ * to be used, iterating the stream never ends.
+ */
+public class EndlessFishStream extends AbstractList<String> implements RandomAccess {
+    /** Number of fish after which the conditions change */
+    public static final int ROTATION_LENGTH = 20;
+
+    /** Number of fish tried to find one meeting the conditions */
+    private static final int MATCH_ATTEMPTS = 50;
+
+    /** Odd constant spreading consecutive positions across the hash space */
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /** Salts keeping the hashes of different decisions at the same position apart */
+    private static final long FISH_SALT = 0x1L;
+    private static final long MATCH_SALT = 0x2L;
+    private static final long PIVOT_SALT = 0x3L;
+    private static final long VALUE_SALT = 0x4L;
+
+    /** Seed the whole stream is derived from */
+    @Getter
+    private final long seed;
+
+    /** IDs of all fish the stream draws from */
+    private final List<String> catalog;
+
+    /** Looks up a fish of the catalog by ID, without changing the current fish */
+    private final Function<String, WaterCreature> fishLookup;
+
+    /** Rotation whose conditions are cached, -1 before the first lookup */
+    private int cachedRotation = -1;
+
+    /** Conditions of the cached rotation */
+    private Map<ConditionType, List<String>> cachedConditions;
+
+    /** Position of the cached fish, -1 before the first lookup */
+    private int cachedPosition = -1;
+
+    /** ID of the fish at the cached position */
+    private String cachedFishId;
+
+    /**
+     * Creates a new stream.
+     *
+     * @param seed Seed the whole stream is derived from
+     * @param catalog IDs of all fish the stream draws from, must not be empty
+     * @param fishLookup Looks up a fish of the catalog by ID, returning null for unknown fish
+     */
+    public EndlessFishStream(long seed, List<String> catalog, Function<String, WaterCreature> fishLookup) {
+        if (catalog.isEmpty()) {
+            throw new IllegalArgumentException("The catalog of an endless stream must not be empty");
+        }
+        this.seed = seed;
+        this.catalog = catalog;
+        this.fishLookup = fishLookup;
+    }
+
+    /**
+     * Returns the ID of the fish at a position of the stream.
+     * <p>
+     * The last position is cached, as the level screen asks for the current fish repeatedly.
+     *
+     * @param position The position in the stream
+     * @return The ID of the fish at that position
+     */
+    @Override
+    public String get(int position) {
+        if (position < 0) {
+            throw new IndexOutOfBoundsException("Negative position " + position);
+        }
+        if (position != cachedPosition) {
+            cachedFishId = computeFish(position);
+            cachedPosition = position;
+        }
+        return cachedFishId;
+    }
+
+    /**
+     * @return {@link Integer#MAX_VALUE}, as the stream never ends
+     */
+    @Override
+    public int size() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Returns the conditions active at a position of the stream.
+     * <p>
+     * Only the conditions of the last requested rotation are kept.
+     *
+     * @param position The position in the stream
+     * @return The conditions every fish of the rotation is judged by
+     */
+    public Map<ConditionType, List<String>> getConditions(int position) {
+        int rotation = position / ROTATION_LENGTH;
+        if (rotation != cachedRotation) {
+            cachedConditions = computeConditions(rotation);
+            cachedRotation = rotation;
+        }
+        return cachedConditions;
+    }
+
+    /**
+     * Draws the fish at a position.
+     * <p>
+     * Every other position, decided by the hash, tries a few candidates for one meeting the
+     * conditions and falls back to the first candidate that could be looked up if none does.
+     * The other positions take the first candidate that could be looked up. Candidates that
+     * can't be looked up, like broken fish of content packs, are never drawn, as they can't be
+     * shown. Should all candidates be broken, the catalog is searched for a fish that isn't.
+     *
+     * @param position The position in the stream
+     * @return The ID of the drawn fish
+     */
+    private String computeFish(int position) {
+        boolean matchWanted = (hash(position, MATCH_SALT) & 1) != 0;
+        Map<ConditionType, List<String>> conditions = matchWanted ? getConditions(position) : null;
+
+        String fallback = null;
+        for (int attempt = 0; attempt < MATCH_ATTEMPTS; attempt++) {
+            String fishId = candidate(position, attempt);
+            WaterCreature fish = fishLookup.apply(fishId);
+            if (fish == null) {
+                continue;
+            }
+            if (!matchWanted || meets(fish, conditions)) {
+                return fishId;
+            }
+            if (fallback == null) {
+                fallback = fishId;
+            }
+        }
+        return fallback != null ? fallback : firstKnownFish(position);
+    }
+
+    /**
+     * Searches the catalog for a fish that can be looked up, starting at the first candidate of a position.
+     *
+     * @param position The position in the stream
+     * @return The ID of the found fish, or the first candidate if no fish of the catalog can be looked up
+     */
+    private String firstKnownFish(int position) {
+        int start = (int) Math.floorMod(hash(position, FISH_SALT), (long) catalog.size());
+        for (int offset = 0; offset < catalog.size(); offset++) {
+            String fishId = catalog.get((start + offset) % catalog.size());
+            if (fishLookup.apply(fishId) != null) {
+                return fishId;
+            }
+        }
+        return catalog.get(start);
+    }
+
+    /**
+     * @param position The position in the stream
+     * @param attempt The number of the candidate at that position
+     * @return The ID of a candidate fish for the position
+     */
+    private String candidate(int position, int attempt) {
+        long hash = hash(position, FISH_SALT + ((long) attempt << 8));
+        return catalog.get((int) Math.floorMod(hash, (long) catalog.size()));
+    }
+
+    /**
+     * Builds the conditions of a rotation around a random fish of the catalog.
+     * <p>
+     * The fish lends one of its water types, subtypes and temperatures and its size category,
+     * and the size condition sometimes allows a second category.
+     *
+     * @param rotation The number of the rotation
+     * @return The conditions of the rotation
+     */
+    private Map<ConditionType, List<String>> computeConditions(int rotation) {
+        long pivotHash = hash(rotation, PIVOT_SALT);
+        WaterCreature pivot = fishLookup.apply(catalog.get((int) Math.floorMod(pivotHash, (long) catalog.size())));
+        long valueHash = hash(rotation, VALUE_SALT);
+
+        WaterType waterType = pick(pivot == null ? null : pivot.getWaterTypes(), WaterType.values(), valueHash);
+        WaterSubtype subtype = pick(pivot == null ? null : pivot.getWaterSubtypes(), WaterSubtype.values(), valueHash >>> 8);
+        WaterTemperature temperature = pick(pivot == null ? null : pivot.getWaterTemperatures(), WaterTemperature.values(), valueHash >>> 16);
+
+        SizeCategory[] sizes = {SizeCategory.SMALL, SizeCategory.MEDIUM, SizeCategory.BIG};
+        SizeCategory size = pivot == null || pivot.getSize().getCategory() == SizeCategory.UNDEFINED
+            ? sizes[(int) Math.floorMod(valueHash >>> 24, (long) sizes.length)]
+            : pivot.getSize().getCategory();
+
+        Map<ConditionType, List<String>> conditions = new EnumMap<>(ConditionType.class);
+        conditions.put(ConditionType.WATER_TYPE, List.of(waterType.name()));
+        conditions.put(ConditionType.WATER_SUBTYPE, List.of(subtype.name()));
+        conditions.put(ConditionType.TEMPERATURE, List.of(temperature.name()));
+        if (((valueHash >>> 32) & 1) == 0) {
+            conditions.put(ConditionType.SIZE, List.of(size.name()));
+        } else {
+            SizeCategory second = sizes[(size.ordinal() + 1 + (int) ((valueHash >>> 33) & 1)) % sizes.length];
+            conditions.put(ConditionType.SIZE, size.ordinal() < second.ordinal()
+                ? List.of(size.name(), second.name())
+                : List.of(second.name(), size.name()));
+        }
+        return conditions;
+    }
+
+    /**
+     * Picks a value the pivot fish has, or any value if it has none.
+     *
+     * @param own The values of the pivot fish, may be null or empty
+     * @param all All values of the feature
+     * @param hash Hash deciding which value is picked
+     * @return The picked value
+     */
+    private static <T> T pick(@Null List<T> own, T[] all, long hash) {
+        if (own != null && !own.isEmpty()) {
+            return own.get((int) Math.floorMod(hash & 0xFF, (long) own.size()));
+        }
+        return all[(int) Math.floorMod(hash & 0xFF, (long) all.length)];
+    }
+
+    /**
+     * Checks a fish against conditions like {@link Level#meetsConditions(WaterCreature)}.
+     *
+     * @param fish The fish to check
+     * @param conditions The conditions to check against
+     * @return true if the fish satisfies every condition
+     */
+    private static boolean meets(WaterCreature fish, Map<ConditionType, List<String>> conditions) {
+        return ConditionType.findMismatches(conditions, fish) == 0;
+    }
+
+    /**
+     * Hashes the seed with a position and a salt into a well mixed value (SplitMix64 finalizer).
+     *
+     * @param position The position or rotation
+     * @param salt Salt telling apart different decisions for the same position
+     * @return The mixed hash
+     */
+    private long hash(long position, long salt) {
+        long z = seed + (position + 1) * GOLDEN_GAMMA + salt * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
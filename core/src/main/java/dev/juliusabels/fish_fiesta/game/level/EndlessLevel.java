@@ -0,0 +1,52 @@
+package dev.juliusabels.fish_fiesta.game.level;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A level without an end, whose fish come from an {@link EndlessFishStream}.
+ * <p>
+ * The conditions change every {@link EndlessFishStream#ROTATION_LENGTH} fish and always
+ * follow the fish index of the level. A run ends with the third mistake, and the number of
+ * fish decided until then is its score.
+ */
+public class EndlessLevel extends Level {
+    /** ID under which the progress of the endless run is stored */
+    public static final String ID = "endless";
+
+    /** Stream producing the fish and conditions of the run */
+    private final EndlessFishStream stream;
+
+    /**
+     * Creates a new endless level.
+     *
+     * @param stream Stream producing the fish and conditions of the run
+     */
+    public EndlessLevel(EndlessFishStream stream) {
+        super(ID, stream.getConditions(0), stream);
+        this.stream = stream;
+    }
+
+    /**
+     * @return The conditions at the current fish index
+     */
+    @Override
+    public Map<ConditionType, List<String>> getConditions() {
+        return stream.getConditions(getFishIndex());
+    }
+
+    /**
+     * @return The seed the run is derived from, stored to resume it
+     */
+    public long getSeed() {
+        return stream.getSeed();
+    }
+
+    /**
+     * @return true, as the level has no fixed list of fish
+     */
+    @Override
+    public boolean isEndless() {
+        return true;
+    }
+}
@@ -45,6 +45,10 @@ public class Level {
     @Setter
     private int fishIndex;
 
+    /** Time played in this level in milliseconds, across saved sessions */
+    @Setter
+    private long playTimeMillis;
+
     /**
      * Creates a new level with the specified parameters.
      *
@@ -61,6 +65,7 @@ public class Level {
         this.inProgress = false;
         this.mistakes = 0;
         this.fishIndex = 0;
+        this.playTimeMillis = 0;
     }
 
     /**
@@ -73,9 +78,26 @@ public class Level {
      * @return true if the creature meets all conditions, false otherwise
      */
     public boolean meetsConditions(WaterCreature creature) {
-        return conditions.entrySet().stream()
-            .allMatch(entry -> entry.getKey()
-                .isSatisfied(creature, entry.getValue()));
+        return evaluate(creature) == 0;
+    }
+
+    /**
+     * Checks a water creature against all conditions of this level and reports the failed ones.
+     * <p>
+     * This grades a decision and explains a mistake in the same pass.
+     *
+     * @param creature The water creature to check against the level's conditions
+     * @return A bitmask of the failed condition types, see {@link ConditionType#findMismatches(Map, WaterCreature)}
+     */
+    public int evaluate(WaterCreature creature) {
+        return ConditionType.findMismatches(getConditions(), creature);
+    }
+
+    /**
+     * @return true if the fish of this level never end, see {@link EndlessLevel}
+     */
+    public boolean isEndless() {
+        return false;
     }
 
     /**
@@ -0,0 +1,265 @@
+package dev.juliusabels.fish_fiesta.game.level;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * Logic of the rush mode, where the fish of a level arrive on a conveyor one after another.
+ * <p>
+ * A fish is put on the conveyor every spawn interval and leaves it after the travel time,
+ * so several fish are queued at once. The player always decides about the fish at the front,
+ * the one that arrived first. A wrong decision is a mistake, and so is a fish leaving the
+ * conveyor undecided. The rush is failed after {@link #MAX_MISTAKES} mistakes and finished
+ * once every fish of the level was decided or missed.
+ * <p>
+ * Time is counted in steps of a fixed timestep clock, so the conveyor moves at the same speed
+ * at any frame rate. The conveyor is a ring buffer of preallocated parallel arrays, like the
+ * bubbles of the fish cam, so stepping, spawning, deciding and despawning never allocate.
+ * <p>
+ * Reaction times are measured from the first frame showing a fish to the input event deciding
+ * about it, both as {@link System#nanoTime()}.
+ */
+@Getter
+public class RushConveyor {
+    /** Number of mistakes failing the rush */
+    public static final int MAX_MISTAKES = 3;
+
+    /** Whether each fish of the level meets its conditions, by position in the level */
+    @Getter(AccessLevel.NONE)
+    private final boolean[] matches;
+
+    /** Steps between two fish being put on the conveyor */
+    private final int spawnInterval;
+
+    /** Steps a fish stays on the conveyor before it leaves undecided */
+    private final int travelSteps;
+
+    /** Level position of the fish in each slot */
+    @Getter(AccessLevel.NONE)
+    private final int[] slotFish;
+
+    /** Step at which the fish in each slot was put on the conveyor */
+    @Getter(AccessLevel.NONE)
+    private final long[] slotSpawnStep;
+
+    /** Time the fish in each slot was shown first, 0 while it hasn't been drawn yet */
+    @Getter(AccessLevel.NONE)
+    private final long[] slotShownNanos;
+
+    /** Reaction times of all decisions in order */
+    @Getter(AccessLevel.NONE)
+    private final long[] reactionNanos;
+
+    /** Slot of the fish at the front */
+    @Getter(AccessLevel.NONE)
+    private int head;
+
+    /** Number of fish on the conveyor */
+    private int count;
+
+    /** Level position of the next fish to put on the conveyor */
+    private int nextFish;
+
+    /** Steps run so far */
+    private long step;
+
+    /** Step at which the next fish is put on the conveyor */
+    @Getter(AccessLevel.NONE)
+    private long nextSpawnStep;
+
+    /** Number of correct decisions */
+    private int correct;
+
+    /** Number of wrong decisions and missed fish */
+    private int mistakes;
+
+    /** Number of fish that left the conveyor undecided */
+    private int missed;
+
+    /** Number of recorded reaction times */
+    private int reactions;
+
+    /** Reaction time of the last decision in nanoseconds, -1 if its fish hadn't been drawn yet */
+    private long lastReactionNanos = -1;
+
+    /**
+     * Creates an empty conveyor for the fish of a level.
+     *
+     * @param matches Whether each fish of the level meets its conditions, in the order of the level
+     * @param spawnInterval Steps between two fish being put on the conveyor
+     * @param travelSteps Steps a fish stays on the conveyor
+     */
+    public RushConveyor(boolean[] matches, int spawnInterval, int travelSteps) {
+        this.matches = matches;
+        this.spawnInterval = spawnInterval;
+        this.travelSteps = travelSteps;
+
+        int capacity = travelSteps / spawnInterval + 1;
+        slotFish = new int[capacity];
+        slotSpawnStep = new long[capacity];
+        slotShownNanos = new long[capacity];
+        reactionNanos = new long[matches.length];
+    }
+
+    /**
+     * Advances the conveyor by one step of the clock.
+     * <p>
+     * The fish at the front leaves as a mistake once its travel time is over. A new fish is
+     * put on the conveyor when the spawn interval has passed, or right away if the conveyor
+     * became empty.
+     */
+    public void step() {
+        if (isFinished()) return;
+        step++;
+
+        while (count > 0 && step - slotSpawnStep[head] >= travelSteps) {
+            missed++;
+            mistakes++;
+            removeFront();
+        }
+
+        if (count == 0) {
+            nextSpawnStep = Math.min(nextSpawnStep, step);
+        }
+        if (!isFailed() && nextFish < matches.length && step >= nextSpawnStep) {
+            int slot = (head + count) % slotFish.length;
+            slotFish[slot] = nextFish++;
+            slotSpawnStep[slot] = step;
+            slotShownNanos[slot] = 0;
+            count++;
+            nextSpawnStep = step + spawnInterval;
+        }
+    }
+
+    /**
+     * Decides about the fish at the front and removes it from the conveyor.
+     *
+     * @param accept Whether the fish is accepted
+     * @param eventNanos The time of the input event as {@link System#nanoTime()}
+     * @return true if the decision was correct
+     * @throws IllegalStateException If the conveyor is empty
+     */
+    public boolean decide(boolean accept, long eventNanos) {
+        if (count == 0) {
+            throw new IllegalStateException("No fish on the conveyor");
+        }
+
+        boolean decidedCorrectly = accept == matches[slotFish[head]];
+        if (decidedCorrectly) {
+            correct++;
+        } else {
+            mistakes++;
+        }
+
+        lastReactionNanos = -1;
+        if (slotShownNanos[head] != 0) {
+            lastReactionNanos = Math.max(0, eventNanos - slotShownNanos[head]);
+            reactionNanos[reactions++] = lastReactionNanos;
+        }
+        removeFront();
+        return decidedCorrectly;
+    }
+
+    /**
+     * Records the time at which the fish on the conveyor were drawn for the first time.
+     *
+     * @param frameNanos The time of the frame as {@link System#nanoTime()}
+     */
+    public void markShown(long frameNanos) {
+        for (int i = 0; i < count; i++) {
+            int slot = (head + i) % slotFish.length;
+            if (slotShownNanos[slot] == 0) {
+                slotShownNanos[slot] = frameNanos;
+            }
+        }
+    }
+
+    /**
+     * Moves the shown times of all fish on the conveyor forward, so time spent paused doesn't count as reaction time.
+     *
+     * @param pausedNanos The time the game was paused in nanoseconds
+     */
+    public void delayShownTimes(long pausedNanos) {
+        for (int i = 0; i < count; i++) {
+            int slot = (head + i) % slotFish.length;
+            if (slotShownNanos[slot] != 0) {
+                slotShownNanos[slot] += pausedNanos;
+            }
+        }
+    }
+
+    /**
+     * @param position The position on the conveyor, 0 for the front
+     * @return The position in the level of the fish at that position
+     */
+    public int getFish(int position) {
+        return slotFish[(head + position) % slotFish.length];
+    }
+
+    /**
+     * @param position The position on the conveyor, 0 for the front
+     * @param alpha How far the clock is into the next step
+     * @return How far the fish at that position has travelled, from 0 when it arrived to 1 when it leaves
+     */
+    public float getProgress(int position, float alpha) {
+        long spawnStep = slotSpawnStep[(head + position) % slotFish.length];
+        return Math.min(1F, (step - spawnStep + alpha) / travelSteps);
+    }
+
+    /**
+     * @return The number of fish in the level
+     */
+    public int getFishAmount() {
+        return matches.length;
+    }
+
+    /**
+     * @return true once the player made {@link #MAX_MISTAKES} mistakes
+     */
+    public boolean isFailed() {
+        return mistakes >= MAX_MISTAKES;
+    }
+
+    /**
+     * @return true once the rush is failed or every fish was decided or missed
+     */
+    public boolean isFinished() {
+        return isFailed() || (nextFish == matches.length && count == 0);
+    }
+
+    /**
+     * @return The mean of all reaction times in nanoseconds, 0 without decisions
+     */
+    public long getAverageReactionNanos() {
+        long sum = 0;
+        for (int i = 0; i < reactions; i++) {
+            sum += reactionNanos[i];
+        }
+        return reactions == 0 ? 0 : sum / reactions;
+    }
+
+    /**
+     * Sorts a copy of the reaction times, so this is meant for the results, not while playing.
+     *
+     * @param percentile The percentile between 0 and 100, e.g. 0 for the fastest reaction
+     * @return The reaction time at the percentile in nanoseconds, 0 without decisions
+     */
+    public long getReactionPercentileNanos(double percentile) {
+        if (reactions == 0) return 0;
+
+        long[] sorted = Arrays.copyOf(reactionNanos, reactions);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100 * reactions) - 1;
+        return sorted[Math.clamp(index, 0, reactions - 1)];
+    }
+
+    /**
+     * Removes the fish at the front from the conveyor.
+     */
+    private void removeFront() {
+        head = (head + 1) % slotFish.length;
+        count--;
+    }
+}
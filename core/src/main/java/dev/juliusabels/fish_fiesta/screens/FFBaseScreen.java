@@ -1,6 +1,7 @@
 package dev.juliusabels.fish_fiesta.screens;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.InputProcessor;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Texture;
@@ -14,6 +15,11 @@ import com.badlogic.gdx.utils.ScreenUtils;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
 import dev.juliusabels.fish_fiesta.FishFiestaGame;
+import dev.juliusabels.fish_fiesta.debug.DebugOverlay;
+import dev.juliusabels.fish_fiesta.debug.FramePhase;
+import dev.juliusabels.fish_fiesta.debug.FrameProfiler;
+import dev.juliusabels.fish_fiesta.debug.ProfiledInputProcessor;
+import dev.juliusabels.fish_fiesta.util.AssetStage;
 import dev.juliusabels.fish_fiesta.util.ResourceHandler;
 
 /**
@@ -24,6 +30,7 @@ import dev.juliusabels.fish_fiesta.util.ResourceHandler;
  *   <li>A repeating background texture that fills the entire screen</li>
  *   <li>A monitor-styled UI overlay with a content area for screen-specific elements</li>
  *   <li>Basic screen lifecycle management</li>
+ *   <li>A debug overlay with render statistics, toggled with F3</li>
  * </ul>
  * <p>
  * The screen uses two separate viewports:
@@ -45,7 +52,20 @@ public class  FFBaseScreen implements Screen {
     /** Reference to the main game instance for accessing shared resources */
     protected final FishFiestaGame game;
 
-    /** Sprite batch used for rendering the background and UI */
+    /** Value of {@link System#nanoTime()} when this screen was created, used to time screen switches */
+    private final long createdAtNanos;
+
+    /** Number of sprites the batch buffers before drawing them, the default of {@link SpriteBatch} */
+    private static final int BATCH_SIZE = 1000;
+
+    /**
+     * Owner the assets of this screen are retained under, also by child classes retaining
+     * further assets. Not the screen itself, which isn't fully constructed yet when its
+     * assets are retained.
+     */
+    protected final Object assetOwner = new Object();
+
+    /** Sprite batch used for rendering the background and UI, with the shared distance-field shader of the body font */
     protected final SpriteBatch batch;
 
     /** Texture for the repeating background pattern */
@@ -66,20 +86,36 @@ public class  FFBaseScreen implements Screen {
     /** Skin containing styles for the monitor UI elements */
     protected Skin monitorSkin;
 
+    /** Processor receiving the input events while this screen is shown, created when it is first shown */
+    private InputProcessor inputProcessor;
+
     /** Table for screen-specific content that appears inside the monitor frame */
     protected Table contentTable;
 
+    /**
+     * Creates a new base screen with background and monitor UI, using the assets of the main menu.
+     *
+     * @param game The main game instance containing shared resources
+     */
+    public FFBaseScreen(FishFiestaGame game) {
+        this(game, AssetStage.MAIN_MENU);
+    }
+
     /**
      * Creates a new base screen with background and monitor UI.
      * <p>
+     * Waits for the assets of the stage and retains them until the screen is disposed.
      * Initializes the background texture and monitor UI components.
      * Sets up the scene2d stage and input processing.
      *
      * @param game The main game instance containing shared resources
+     * @param assetStage The stage whose assets the screen uses, including those of the stages before it
      */
-    public FFBaseScreen(FishFiestaGame game) {
+    protected FFBaseScreen(FishFiestaGame game, AssetStage assetStage) {
+        this.createdAtNanos = System.nanoTime();
         this.game = game;
-        this.batch = new SpriteBatch();
+        this.batch = new SpriteBatch(BATCH_SIZE, game.getResourceHandler().getDistanceFieldShader());
+        game.getResourceHandler().retain(assetOwner, assetStage);
 
         initializeBackground();
         initializeMonitorUI();
@@ -92,7 +128,7 @@ public class  FFBaseScreen implements Screen {
      * configures it for repeating in both directions, and creates
      * a TextureRegion and viewport for rendering.
      */
-    protected void initializeBackground() {
+    private void initializeBackground() {
         // Get background texture from resource handler
         background = game.getResourceHandler().getBackgroundTexture();
         background.setWrap(Texture.TextureWrap.Repeat, Texture.TextureWrap.Repeat);
@@ -108,9 +144,8 @@ public class  FFBaseScreen implements Screen {
      * Sets up the scene2d stage with a fixed aspect ratio viewport,
      * creates a root table with the monitor frame background,
      * and adds a content table for child screens to populate.
-     * Also configures the input processor to handle UI interactions.
      */
-    protected void initializeMonitorUI() {
+    private void initializeMonitorUI() {
         // Get monitor skin from resource handler
         monitorSkin = game.getResourceHandler().getMonitorSkin();
 
@@ -128,9 +163,30 @@ public class  FFBaseScreen implements Screen {
         // Add content table for child screens to populate
         contentTable = new Table();
         root.add(contentTable).expand().fill().padBottom(50).padLeft(45).padRight(45).padTop(40);
+    }
 
-        // Set the input processor to the stage
-        Gdx.input.setInputProcessor(stage);
+    /**
+     * Creates the processor receiving the input events while this screen is shown.
+     * <p>
+     * Child classes handling more than the UI should override this method.
+     *
+     * @return The stage of the monitor UI
+     */
+    protected InputProcessor createInputProcessor() {
+        return stage;
+    }
+
+    /**
+     * Routes the input events to this screen.
+     * <p>
+     * The processor is created on the first call and wrapped so the time spent
+     * handling input events is recorded by the frame profiler.
+     */
+    protected void activateInput() {
+        if (inputProcessor == null) {
+            inputProcessor = new ProfiledInputProcessor(createInputProcessor(), game.getFrameProfiler());
+        }
+        Gdx.input.setInputProcessor(inputProcessor);
     }
 
     /**
@@ -174,34 +230,67 @@ public class  FFBaseScreen implements Screen {
      * Main render method called every frame.
      * <p>
      * Clears the screen, renders the tiled background,
-     * and then draws the monitor UI on top.
+     * and then draws the monitor UI on top. If the debug overlay
+     * is toggled on, it is drawn last with the statistics of this frame.
      *
      * @param delta Time in seconds since the last frame
      */
     @Override
     public void render(float delta) {
+        FrameProfiler profiler = game.getFrameProfiler();
+        DebugOverlay debugOverlay = game.getDebugOverlay();
+        long frameStart = System.nanoTime();
+        debugOverlay.beginFrame(batch);
+
         // Clear screen
         ScreenUtils.clear(Color.BLACK);
 
         // Render repeating background
+        long backgroundStart = System.nanoTime();
         renderBackground();
+        profiler.record(FramePhase.BACKGROUND, backgroundStart);
+        debugOverlay.recordBatch(batch);
 
         //Render Monitor UI
-        renderMonitorUI(delta);
+        renderMonitorUI(delta, profiler);
+        debugOverlay.recordBatch(batch);
+        profiler.record(FramePhase.FRAME, frameStart);
+
+        // Render debug statistics on top
+        debugOverlay.endFrame(batch, backgroundViewport);
+
+        game.getRenderScheduler().frameRendered(isAnimating());
+    }
+
+    /**
+     * Determines whether this screen needs new frames even without input.
+     * <p>
+     * Scene2d actions request their frames themselves, so this is only needed for
+     * content that changes on its own. Child classes with animations should override
+     * this method and include the result of {@code super.isAnimating()}.
+     *
+     * @return true if another frame should be rendered after the current one
+     */
+    protected boolean isAnimating() {
+        return game.getDebugOverlay().isVisible();
     }
 
     /**
      * Renders the monitor UI overlay.
      * <p>
      * Applies the monitor viewport, updates the stage actors,
-     * and draws the stage.
+     * and draws the stage. Acting and drawing are timed separately.
      *
      * @param delta Time in seconds since the last frame
+     * @param profiler The profiler to record the timings into
      */
-    private void renderMonitorUI(float delta) {
+    private void renderMonitorUI(float delta, FrameProfiler profiler) {
         monitorViewport.apply();
+        long actStart = System.nanoTime();
         stage.act(delta);
+        long drawStart = profiler.record(FramePhase.STAGE_ACT, actStart);
         stage.draw();
+        profiler.record(FramePhase.STAGE_DRAW, drawStart);
     }
 
     /**
@@ -209,7 +298,8 @@ public class  FFBaseScreen implements Screen {
      * <p>
      * Updates both viewports when the screen size changes.
      * The background viewport adapts to fill the screen, while
-     * the monitor viewport maintains its aspect ratio.
+     * the monitor viewport maintains its aspect ratio. The edges
+     * of the body font are smoothed for the new pixel size.
      *
      * @param width The new screen width
      * @param height The new screen height
@@ -218,12 +308,14 @@ public class  FFBaseScreen implements Screen {
     public void resize(int width, int height) {
         backgroundViewport.update(width, height);
         monitorViewport.update(width, height, true);
+        game.getResourceHandler().setBodyFontPixelScale((float) monitorViewport.getScreenWidth() / MONITOR_WIDTH);
     }
 
     /**
      * Disposes of resources when the screen is no longer needed.
      * <p>
-     * Releases the SpriteBatch and Stage to prevent memory leaks.
+     * Releases the SpriteBatch and Stage to prevent memory leaks, and the
+     * assets retained by this screen, so they can be evicted if memory is low.
      * Child classes should override this method to dispose of
      * additional resources, making sure to call super.dispose().
      */
@@ -231,15 +323,36 @@ public class  FFBaseScreen implements Screen {
     public void dispose() {
         batch.dispose();
         stage.dispose();
+        game.getResourceHandler().release(assetOwner);
+    }
+
+    /**
+     * Buttons are named, so they can be found with {@code getStage().getRoot().findActor(name)},
+     * e.g. to drive the screen without a display.
+     *
+     * @return The stage for the monitor UI components
+     */
+    public Stage getStage() {
+        return stage;
     }
 
     /**
+     * @return The value of {@link System#nanoTime()} when this screen was created
+     */
+    public long getCreatedAtNanos() {
+        return createdAtNanos;
+    }
+
+    /**
+     * Clears the content table and routes the input events to this screen.
+     * <p>
      * Child classes should override this method to initialize
      * any screen-specific resources or state.
      */
     @Override
     public void show() {
         contentTable.clear();
+        activateInput();
     }
 
     /**
@@ -7,6 +7,7 @@ import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.utils.ScreenUtils;
 import dev.juliusabels.fish_fiesta.FishFiestaGame;
+import dev.juliusabels.fish_fiesta.util.AssetStage;
 import dev.juliusabels.fish_fiesta.util.ResourceHandler;
 import lombok.extern.slf4j.Slf4j;
 
@@ -16,7 +17,8 @@ import lombok.extern.slf4j.Slf4j;
  * This screen is shown when the game first starts and is responsible for:
  * <ul>
  *   <li>Loading its own minimal assets immediately (progress bar visuals)</li>
- *   <li>Initiating and monitoring the loading of all other game assets</li>
+ *   <li>Initiating the loading of all other game assets and the fish and level catalog</li>
+ *   <li>Monitoring the loading of the assets needed by the main menu</li>
  *   <li>Displaying a visual progress indicator to the user</li>
  *   <li>Transitioning to the main menu once loading completes</li>
  * </ul>
@@ -89,8 +91,9 @@ public class LoadingScreen implements Screen {
     /**
      * Renders the loading screen and updates the loading progress.
      * <p>
-     * Displays the loading bar with a fill level representing current progress.
-     * When loading completes, transitions to the main menu screen.
+     * Displays the loading bar with a fill level representing the progress of the main menu
+     * assets, and transitions to the main menu screen once they are loaded. The remaining
+     * assets keep loading in the background.
      *
      * @param delta Time in seconds since the last frame
      */
@@ -99,9 +102,9 @@ public class LoadingScreen implements Screen {
         // Clear the screen
         ScreenUtils.clear(Color.BLACK);
 
-        // Update loading progress
-        boolean finished = this.game.getResourceHandler().updateLoading();
-        float progress = this.game.getResourceHandler().getLoadingProgress();
+        // Loading itself is advanced by the game every frame, only the main menu has to be waited for
+        boolean finished = this.game.getResourceHandler().isLoaded(AssetStage.MAIN_MENU);
+        float progress = this.game.getResourceHandler().getLoadingProgress(AssetStage.MAIN_MENU);
 
         // Render loading bar
         batch.begin();
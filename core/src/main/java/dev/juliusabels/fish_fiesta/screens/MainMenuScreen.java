@@ -59,6 +59,7 @@ public class MainMenuScreen extends FFBaseScreen {
 
         // Create and configure Play button
         TextButton playButton = font.createButton("Play", style);
+        playButton.setName("play");
         playButton.getLabelCell().padBottom(5F);
         playButton.addListener(new ClickListener() {
             @Override
@@ -84,13 +85,4 @@ public class MainMenuScreen extends FFBaseScreen {
 
         this.contentTable.add(buttons).center().padBottom(40F).expand();
     }
-
-    /**
-     * Disposes of resources when the screen is no longer needed.
-     */
-    @Override
-    public void dispose() {
-        super.dispose();
-        font.dispose();
-    }
 }
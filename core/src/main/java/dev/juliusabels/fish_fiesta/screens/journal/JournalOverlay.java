@@ -3,21 +3,30 @@ package dev.juliusabels.fish_fiesta.screens.journal;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.InputAdapter;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.Touchable;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
+import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
+import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.Null;
 import dev.juliusabels.fish_fiesta.FishFiestaGame;
 import dev.juliusabels.fish_fiesta.game.WaterCreature;
+import dev.juliusabels.fish_fiesta.game.level.ConditionType;
+import dev.juliusabels.fish_fiesta.util.DecisionAnalytics;
+import dev.juliusabels.fish_fiesta.util.DecisionStats;
 import dev.juliusabels.fish_fiesta.util.FishFontBig;
 import dev.juliusabels.fish_fiesta.util.FishManager;
+import dev.juliusabels.fish_fiesta.util.FishSearchIndex;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -29,11 +38,21 @@ import java.util.Map;
  * browse through to learn about different water creatures. It features:
  * <ul>
  *   <li>An index page with paginated fish listings</li>
- *   <li>Individual fish detail pages with images and descriptions</li>
+ *   <li>A search box on the index page, filtering the fish by name, description and notable features</li>
+ *   <li>Trait filters on the index page for water type, subtype, temperature and size</li>
+ *   <li>Individual fish detail pages with images, descriptions and how the player judged the fish so far</li>
  * </ul>
  * <p>
  * The journal can be toggled with the 'J' key during gameplay, temporarily disabling
- * interaction with the main game screen. Fish pages are cached for performance.
+ * interaction with the main game screen. Fish pages and index entries are cached for performance.
+ * <p>
+ * Searching uses the {@link FishSearchIndex} built while the game loaded. Every change of the
+ * query only rebuilds the listing of the current index page, the search box itself stays, so
+ * it keeps the keyboard focus. Enter or Escape release the focus, so J closes the journal again.
+ * <p>
+ * Each trait filter is a button cycling through the values of its condition type, e.g. "Temp: Warm".
+ * The filters combine with the query like the conditions of a room, and the listing is
+ * rebuilt in the same frame a filter changes.
  */
 @Slf4j
 public class JournalOverlay {
@@ -43,13 +62,19 @@ public class JournalOverlay {
     /** Custom font for titles and labels */
     private final FishFontBig fishFont;
 
+    /** Owner the sprites of the fish shown in the journal are retained under */
+    private final Object spriteOwner = new Object();
+
     /** Provides access to fish data and management */
     private final FishManager fishManager;
 
+    /** Statistics of the decisions about each fish */
+    private final DecisionAnalytics decisionAnalytics;
+
     /** Reference to the active screen's table to manage interaction state */
     private final Table activeScreenTable;
 
-    /** Standard font for descriptive text */
+    /** Shared standard font for descriptive text */
     private final BitmapFont regularFont;
 
     /** Skin containing journal UI elements and styles */
@@ -61,6 +86,34 @@ public class JournalOverlay {
     /** Cache of created fish detail pages to avoid rebuilding them */
     private final Map<String, Table> fishPages = new HashMap<>();
 
+    /** Label of the decision statistics on each cached fish page, updated whenever the page is shown */
+    private final Map<String, Label> fishStatsLabels = new HashMap<>();
+
+    /** Cache of created index entries to avoid rebuilding them when paging or searching */
+    private final Map<String, Table> fishEntries = new HashMap<>();
+
+    /** Search box of the index page, kept across pages so it keeps its text and focus */
+    private final TextField searchField;
+
+    /** Part of the index page with the fish listings and pagination controls, rebuilt on paging and searching */
+    private final Table listing = new Table();
+
+    /** Positions of the fish matching the search query in the catalog */
+    private final BitSet matches = new BitSet();
+
+    /** Selected values of the trait filters, see {@link FishSearchIndex#createTraitFilters()} */
+    private final int[] traitFilters = FishSearchIndex.createTraitFilters();
+
+    /** Row of the trait filter buttons, kept across pages like the search box */
+    private final Table filterBar = new Table();
+
+    /** Number of fish matching the search query and trait filters */
+    private int matchCount;
+
+    /** The index the matches were searched in, or null if the catalog isn't indexed yet and all fish are listed */
+    @Null
+    private FishSearchIndex searchedIndex;
+
     /** Flag indicating if the journal is currently visible */
     @Getter
     private boolean isVisible = false;
@@ -68,11 +121,14 @@ public class JournalOverlay {
     /** Current page index in the fish index listing */
     private int currentPage = 0;
 
+    /** Scale of the page texts relative to the regular size of the standard font */
+    private static final float PAGE_TEXT_SCALE = 0.8F;
+
     /** Number of fish to display per index page */
-    private static final int FISH_PER_PAGE = 14;
+    private static final int FISH_PER_PAGE = 12;
 
     /** Number of fish to display per column in the index */
-    private static final int FISH_PER_COLUMN = 7;
+    private static final int FISH_PER_COLUMN = 6;
 
     /** Width of the journal overlay in pixels */
     private static final int JOURNAL_WIDTH = 582;
@@ -83,6 +139,15 @@ public class JournalOverlay {
     /** Width of each column in the fish index */
     private static final float COLUMN_WIDTH = 230F;
 
+    /** Color of the search box */
+    private static final Color SEARCH_BACKGROUND_COLOR = new Color(0F, 0F, 0F, 0.1F);
+
+    /** Color of selected text in the search box */
+    private static final Color SEARCH_SELECTION_COLOR = new Color(0.2F, 0.4F, 0.8F, 0.4F);
+
+    /** Color of the trait filters that filter something */
+    private static final Color FILTER_ACTIVE_COLOR = new Color(0.1F, 0.3F, 0.7F, 1F);
+
     /**
      * Creates a new journal overlay.
      *
@@ -93,11 +158,14 @@ public class JournalOverlay {
     public JournalOverlay(FishFiestaGame game, Table activeScreenTable, Stage mainStage) {
         this.game = game;
         this.fishManager = game.getResourceHandler().getFishManager();
+        this.decisionAnalytics = game.getResourceHandler().getDecisionAnalytics();
         this.fishFont = new FishFontBig(game);
-        this.regularFont = new BitmapFont();
-        this.regularFont.getData().setScale(0.8F);
+        this.regularFont = game.getResourceHandler().getBodyFont();
         this.activeScreenTable = activeScreenTable;
         this.journalSkin = game.getResourceHandler().getJournalSkin();
+        this.searchField = createSearchField(game.getResourceHandler().getMonitorSkin());
+        listing.setSize(JOURNAL_WIDTH, JOURNAL_HEIGHT);
+        createFilterBar();
 
         // Create journal container
         journalTable = new Table();
@@ -132,11 +200,119 @@ public class JournalOverlay {
             // Disable interaction with main screen
             activeScreenTable.setTouchable(Touchable.disabled);
         } else {
+            // Release the search box, so the keys go to the game again
+            releaseSearchField();
             // Re-enable interaction with main screen
             activeScreenTable.setTouchable(Touchable.enabled);
         }
     }
 
+    /**
+     * Creates the search box of the index page.
+     * <p>
+     * The journal skin has no text field style, so it is made of tinted drawables of the monitor skin.
+     *
+     * @param monitorSkin The skin to take the drawables from
+     * @return The search box, searching on every change
+     */
+    private TextField createSearchField(Skin monitorSkin) {
+        Drawable cursor = monitorSkin.newDrawable("white", Color.BLACK);
+        cursor.setMinWidth(2);
+        TextField.TextFieldStyle style = new TextField.TextFieldStyle(regularFont, Color.BLACK, cursor,
+            monitorSkin.newDrawable("white", SEARCH_SELECTION_COLOR), monitorSkin.newDrawable("white", SEARCH_BACKGROUND_COLOR));
+        style.messageFont = regularFont;
+        style.messageFontColor = Color.DARK_GRAY;
+
+        TextField field = new TextField("", style);
+        field.setName("journal-search");
+        field.setMessageText("Search...");
+        field.setSize(200, 28);
+        field.setPosition(330, 362);
+        field.addListener(new ChangeListener() {
+            @Override
+            public void changed(ChangeEvent event, Actor actor) {
+                currentPage = 0;
+                refreshListing();
+            }
+        });
+        field.setTextFieldListener((textField, c) -> {
+            if (c == '\r' || c == '\n' || c == 27) {
+                releaseSearchField();
+            }
+        });
+        return field;
+    }
+
+    /**
+     * Creates the trait filter buttons, one per condition type, all set to any value.
+     */
+    private void createFilterBar() {
+        filterBar.setPosition(45, 330);
+        filterBar.setSize(492, 24);
+
+        TextButton.TextButtonStyle style = fishFont.createButtonStyle(null, null, null, 0.8F);
+        for (ConditionType type : ConditionType.values()) {
+            TextButton button = fishFont.createButton(getFilterText(type, -1), style);
+            button.setName("journal-filter-" + type.name().toLowerCase());
+            button.getLabel().setColor(Color.BLACK);
+            button.addListener(new ClickListener() {
+                @Override
+                public void clicked(InputEvent event, float x, float y) {
+                    cycleTraitFilter(type, button);
+                }
+            });
+            filterBar.add(button).expandX();
+        }
+    }
+
+    /**
+     * Selects the next value of a trait filter, or any value after the last one,
+     * and updates the listing.
+     *
+     * @param type The condition type of the filter
+     * @param button The button of the filter
+     */
+    private void cycleTraitFilter(ConditionType type, TextButton button) {
+        int selected = traitFilters[type.ordinal()];
+        int valueIndex = selected == 0 ? 0 : Integer.numberOfTrailingZeros(selected) + 1;
+        if (valueIndex >= type.getPossibleValues().size()) {
+            valueIndex = -1;
+        }
+
+        traitFilters[type.ordinal()] = valueIndex < 0 ? 0 : 1 << valueIndex;
+        button.setText(getFilterText(type, valueIndex).toUpperCase());
+        button.getLabel().setColor(valueIndex < 0 ? Color.BLACK : FILTER_ACTIVE_COLOR);
+
+        currentPage = 0;
+        refreshListing();
+    }
+
+    /**
+     * @param type The condition type of the filter
+     * @param valueIndex The position of the selected value in the possible values, -1 for any value
+     * @return The text of the filter button, e.g. "Temp: Warm"
+     */
+    private static String getFilterText(ConditionType type, int valueIndex) {
+        String name = switch (type) {
+            case WATER_TYPE -> "Water";
+            case WATER_SUBTYPE -> "Habitat";
+            case TEMPERATURE -> "Temp";
+            case SIZE -> "Size";
+        };
+        String value = valueIndex < 0 ? "Any" : FishManager.formatIdToName(type.getPossibleValues().get(valueIndex).name().toLowerCase());
+        return name + ": " + value;
+    }
+
+    /**
+     * Takes the keyboard focus from the search box.
+     */
+    private void releaseSearchField() {
+        Stage stage = searchField.getStage();
+        if (stage != null) {
+            stage.unfocus(searchField);
+        }
+    }
+
     /**
      * Creates the index page displaying all available fish in a paginated list.
      *
@@ -150,16 +326,38 @@ public class JournalOverlay {
         // Add title
         addIndexPageTitle(fixedContainer);
 
-        // Add fish listings in two columns
-        addFishListings(fixedContainer);
+        // Add the search box and trait filters
+        fixedContainer.addActor(searchField);
+        fixedContainer.addActor(filterBar);
 
-        // Add pagination controls if needed
-        addPaginationControls(fixedContainer);
+        // Add fish listings in two columns and pagination controls
+        fixedContainer.addActor(listing);
+        refreshListing();
 
         content.add(fixedContainer).size(JOURNAL_WIDTH, JOURNAL_HEIGHT);
         return content;
     }
 
+    /**
+     * Searches the fish matching the query and trait filters and rebuilds the listing of the current page.
+     * <p>
+     * Until the search index is built, all fish are listed.
+     */
+    private void refreshListing() {
+        searchedIndex = fishManager.getSearchIndex();
+        if (searchedIndex != null) {
+            matchCount = searchedIndex.search(searchField.getText(), traitFilters, matches);
+        } else {
+            matchCount = fishManager.getAllFishIds().size();
+        }
+        // Fewer matches may leave the current page empty
+        currentPage = Math.min(currentPage, Math.max(0, (matchCount - 1) / FISH_PER_PAGE));
+
+        listing.clearChildren();
+        addFishListings(listing);
+        addPaginationControls(listing);
+    }
+
     /**
      * Adds the title to the index page.
      *
@@ -179,19 +377,20 @@ public class JournalOverlay {
      */
     private void addFishListings(Table container) {
         Table columnsTable = new Table();
-        columnsTable.setPosition(45, 70);
-        columnsTable.setSize(492, 260);
+        columnsTable.setPosition(45, 66);
+        columnsTable.setSize(492, 256);
 
         Table leftColumn = new Table();
         Table rightColumn = new Table();
 
         List<String> fishIds = fishManager.getAllFishIds();
         int startIdx = currentPage * FISH_PER_PAGE;
-        int endIdx = Math.min(startIdx + FISH_PER_PAGE, fishIds.size());
+        int endIdx = Math.min(startIdx + FISH_PER_PAGE, matchCount);
 
+        int position = firstPositionOfPage(startIdx);
         for (int i = startIdx; i < endIdx; i++) {
-            String fishId = fishIds.get(i);
-            Table fishEntry = createFishEntry(fishId);
+            String fishId = fishIds.get(position);
+            Table fishEntry = fishEntries.computeIfAbsent(fishId, this::createFishEntry);
 
             // Add to left or right column based on index
             int relativeIndex = i - startIdx;
@@ -200,6 +399,13 @@ public class JournalOverlay {
             } else {
                 rightColumn.add(fishEntry).expandX().fillX().padBottom(10).row();
             }
+            position = nextPosition(position + 1);
+        }
+
+        if (matchCount == 0) {
+            Label noMatchesLabel = fishFont.createLabel("No fish found", 0.9f);
+            noMatchesLabel.setColor(Color.BLACK);
+            leftColumn.add(noMatchesLabel).left();
         }
 
         columnsTable.add(leftColumn).width(COLUMN_WIDTH);
@@ -208,6 +414,31 @@ public class JournalOverlay {
         container.addActor(columnsTable);
     }
 
+    /**
+     * Finds the position in the catalog of the first fish listed on a page.
+     *
+     * @param startIdx The number of listed fish before the page
+     * @return The position of the first fish of the page
+     */
+    private int firstPositionOfPage(int startIdx) {
+        int position = nextPosition(0);
+        for (int i = 0; i < startIdx && position >= 0; i++) {
+            position = nextPosition(position + 1);
+        }
+        return position;
+    }
+
+    /**
+     * @param from The position in the catalog to start at
+     * @return The position of the next listed fish at or after the given one, -1 if there is none
+     */
+    private int nextPosition(int from) {
+        if (searchedIndex == null) {
+            return from < matchCount ? from : -1;
+        }
+        return matches.nextSetBit(from);
+    }
+
     /**
      * Creates a fish entry for the index listing.
      *
@@ -218,7 +449,7 @@ public class JournalOverlay {
         Table fishEntry = new Table();
 
         // Fish icon
-        TextureRegion fishIcon = game.getResourceHandler().getFishTexture(fishId);
+        TextureRegion fishIcon = game.getResourceHandler().getFishTexture(spriteOwner, fishId);
         if (fishIcon != null) {
             Image icon = new Image(fishIcon);
             icon.setSize(32, 32);
@@ -248,8 +479,7 @@ public class JournalOverlay {
      * @param container The container to add the controls to
      */
     private void addPaginationControls(Table container) {
-        List<String> fishIds = fishManager.getAllFishIds();
-        int totalPages = (int)Math.ceil(fishIds.size() / (float)FISH_PER_PAGE);
+        int totalPages = (int)Math.ceil(matchCount / (float)FISH_PER_PAGE);
 
         if (totalPages <= 1) {
             return;
@@ -259,7 +489,7 @@ public class JournalOverlay {
         if (currentPage > 0) {
             Button prevButton = createNavigationButton("button_left", 50, 30, () -> {
                 currentPage--;
-                showIndexPage();
+                refreshListing();
             });
             container.addActor(prevButton);
         }
@@ -274,7 +504,7 @@ public class JournalOverlay {
         if (currentPage < totalPages - 1) {
             Button nextButton = createNavigationButton("button_right", 500, 30, () -> {
                 currentPage++;
-                showIndexPage();
+                refreshListing();
             });
             container.addActor(nextButton);
         }
@@ -364,6 +594,13 @@ public class JournalOverlay {
         // Add fish image with frame
         addFishImageWithFrame(leftPage, fishId);
 
+        // Add the statistics below the frame, filled in when the page is shown
+        Label statsLabel = new Label("", new Label.LabelStyle(regularFont, Color.BLACK));
+        statsLabel.setFontScale(regularFont.getScaleX() * PAGE_TEXT_SCALE);
+        statsLabel.setAlignment(Align.topLeft);
+        leftPage.addActor(statsLabel);
+        fishStatsLabels.put(fishId, statsLabel);
+
         return leftPage;
     }
 
@@ -374,7 +611,7 @@ public class JournalOverlay {
      * @param fishId The ID of the fish for image lookup
      */
     private void addFishImageWithFrame(Table container, String fishId) {
-        TextureRegion fishTexture = game.getResourceHandler().getFishTexture(fishId);
+        TextureRegion fishTexture = game.getResourceHandler().getFishTexture(spriteOwner, fishId);
         if (fishTexture == null) {
             return;
         }
@@ -420,6 +657,7 @@ public class JournalOverlay {
 
         Label descLabel = new Label(JournalDescGenerator.generateFor(fish),
             new Label.LabelStyle(regularFont, Color.BLACK));
+        descLabel.setFontScale(regularFont.getScaleX() * PAGE_TEXT_SCALE);
         descLabel.setWrap(true);
         rightPage.add(descLabel).width(240).top().left().padLeft(30);
 
@@ -475,22 +713,55 @@ public class JournalOverlay {
             fishPages.put(fishId, createFishPage(fishId));
         }
 
+        updateFishStats(fishId);
+
         // Clear current content and show the fish page
         Table backgroundTable = (Table)journalTable.getChild(0);
         backgroundTable.clearChildren();
         backgroundTable.add(fishPages.get(fishId)).expand().fill();
     }
 
+    /**
+     * Shows the current decision statistics of a fish on its page.
+     *
+     * @param fishId The ID of the fish
+     */
+    private void updateFishStats(String fishId) {
+        Label statsLabel = fishStatsLabels.get(fishId);
+        if (statsLabel == null) return;
+
+        DecisionStats.FishStats stats = decisionAnalytics.getFishStats(fishId);
+        if (stats == null || stats.getDecisions() == 0) {
+            statsLabel.setText("You haven't judged this fish yet");
+        } else {
+            statsLabel.setText(String.format("Judged %s, %d%% correct%nWrongly accepted %s%nDecided in %.1fs on average",
+                formatTimes(stats.getDecisions()), Math.round(stats.getAccuracy() * 100), formatTimes(stats.getWrongAccepts()),
+                stats.getMeanReactionMillis() / 1000F));
+        }
+        statsLabel.pack();
+        // Grows downwards from below the frame
+        statsLabel.setY(70 - statsLabel.getHeight());
+    }
+
+    /**
+     * @param count How often something happened
+     * @return The count as text, e.g. "once" or "3 times"
+     */
+    private static String formatTimes(int count) {
+        return count == 1 ? "once" : count + " times";
+    }
+
     /**
      * Disposes of resources when the overlay is no longer needed.
      * <p>
      * This method should be called when the screen containing this overlay
-     * is disposed to prevent memory leaks.
+     * is disposed to prevent memory leaks. The sprites of the fish shown can be evicted afterwards.
      */
     public void dispose() {
-        fishFont.dispose();
-        regularFont.dispose();
         fishPages.clear();
+        fishStatsLabels.clear();
+        fishEntries.clear();
+        game.getResourceHandler().release(spriteOwner);
     }
 
     /**
@@ -0,0 +1,170 @@
+package dev.juliusabels.fish_fiesta.screens.level;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import lombok.Getter;
+
+/**
+ * Pooled particle system for the bubbles rising behind the fish in the fish cam.
+ * <p>
+ * All particle state lives in preallocated parallel arrays sized for {@link #MAX_BUBBLES}.
+ * Bubbles that leave the top of the area are recycled at the bottom. Surplus bubbles above
+ * the limit are removed once they leave the top, by swapping them with the last active one,
+ * so updating and drawing the layer never allocates, no matter how many bubbles are active.
+ */
+public class BubbleLayer {
+    /** Capacity of the particle pool, also the upper limit of the stress test */
+    public static final int MAX_BUBBLES = 16384;
+
+    /** Minimum rising speed in pixels per second */
+    private static final float MIN_SPEED = 12F;
+
+    /** Maximum rising speed in pixels per second */
+    private static final float MAX_SPEED = 30F;
+
+    /** Maximum horizontal wobble in pixels */
+    private static final float WOBBLE = 1.5F;
+
+    /** Bubbles spawned per second until the limit is reached */
+    private static final float SPAWN_RATE = 6F;
+
+    /** Horizontal spawn position, relative to the width of the area */
+    private final float[] x = new float[MAX_BUBBLES];
+
+    /** Vertical position in pixels, relative to the bottom of the area */
+    private final float[] y = new float[MAX_BUBBLES];
+
+    /** Rising speed in pixels per second */
+    private final float[] speed = new float[MAX_BUBBLES];
+
+    /** Phase offset of the wobble in radians */
+    private final float[] phase = new float[MAX_BUBBLES];
+
+    /** Edge length in pixels */
+    private final float[] size = new float[MAX_BUBBLES];
+
+    /** Number of active bubbles, stored at the start of the arrays */
+    @Getter
+    private int count;
+
+    /** Number of bubbles the layer fills up to */
+    @Getter
+    private int limit;
+
+    /** Bubbles that are due to spawn but haven't yet, accumulated between updates */
+    private float spawnBudget;
+
+    /** Time the layer has been running, drives the wobble */
+    private float time;
+
+    /**
+     * Creates a new bubble layer.
+     *
+     * @param limit Number of bubbles the layer fills up to, clamped to {@link #MAX_BUBBLES}
+     */
+    public BubbleLayer(int limit) {
+        this.limit = clampLimit(limit);
+    }
+
+    /**
+     * Sets the number of bubbles the layer fills up to.
+     * <p>
+     * Missing bubbles spawn over time, surplus ones rise out of the area and aren't recycled.
+     *
+     * @param limit The new limit, clamped to {@link #MAX_BUBBLES}
+     */
+    public void setLimit(int limit) {
+        this.limit = clampLimit(limit);
+    }
+
+    /**
+     * @param limit A number of bubbles
+     * @return The number clamped to the capacity of the pool
+     */
+    private static int clampLimit(int limit) {
+        return MathUtils.clamp(limit, 0, MAX_BUBBLES);
+    }
+
+    /**
+     * Moves all bubbles, removes surplus ones that left the area and spawns new ones until the limit is reached.
+     *
+     * @param delta Time in seconds since the last update
+     * @param height Height of the area the bubbles rise through
+     */
+    public void update(float delta, float height) {
+        time += delta;
+
+        int i = 0;
+        while (i < count) {
+            y[i] += speed[i] * delta;
+            if (y[i] > height && count > limit) {
+                // The last bubble takes this slot and is updated in the next iteration
+                remove(i);
+                continue;
+            }
+            if (y[i] > height) {
+                spawn(i, 0);
+            }
+            i++;
+        }
+
+        if (count < limit) {
+            // Fill large stress limits quickly, but trickle in the few regular bubbles
+            spawnBudget += Math.max(SPAWN_RATE, limit - count) * delta;
+            while (spawnBudget >= 1F && count < limit) {
+                spawn(count++, MathUtils.random(height));
+                spawnBudget -= 1F;
+            }
+        } else {
+            spawnBudget = 0F;
+        }
+    }
+
+    /**
+     * Removes the bubble at the given slot by moving the last active bubble into it.
+     *
+     * @param index The slot in the arrays
+     */
+    private void remove(int index) {
+        count--;
+        x[index] = x[count];
+        y[index] = y[count];
+        speed[index] = speed[count];
+        phase[index] = phase[count];
+        size[index] = size[count];
+    }
+
+    /**
+     * Initializes the bubble at the given slot with random values.
+     *
+     * @param index The slot in the arrays
+     * @param startY The vertical start position
+     */
+    private void spawn(int index, float startY) {
+        x[index] = MathUtils.random();
+        y[index] = startY;
+        speed[index] = MathUtils.random(MIN_SPEED, MAX_SPEED);
+        phase[index] = MathUtils.random(MathUtils.PI2);
+        size[index] = MathUtils.random(2, 4);
+    }
+
+    /**
+     * Draws all bubbles.
+     * <p>
+     * The batch color has to be set to the bubble tint by the caller.
+     *
+     * @param batch The batch to draw with
+     * @param region The region each bubble is drawn with
+     * @param originX Left edge of the area in stage coordinates
+     * @param originY Bottom edge of the area in stage coordinates
+     * @param width Width of the area
+     */
+    public void draw(Batch batch, TextureRegion region, float originX, float originY, float width) {
+        for (int i = 0; i < count; i++) {
+            float wobble = MathUtils.sin(time * 2F + phase[i]) * WOBBLE;
+            float bubbleX = originX + x[i] * (width - size[i]) + wobble;
+            batch.draw(region, bubbleX, originY + y[i], size[i], size[i]);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package dev.juliusabels.fish_fiesta.screens.level;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.scenes.scene2d.ui.Widget;
+import dev.juliusabels.fish_fiesta.game.level.RushConveyor;
+import dev.juliusabels.fish_fiesta.util.FixedTimestep;
+
+/**
+ * Draws the fish of a {@link RushConveyor} moving from right to left across a belt.
+ * <p>
+ * Positions are interpolated between two steps of the clock, so the fish move smoothly at
+ * any frame rate. The fish at the front is drawn in full color, the queued ones dimmed.
+ * All frames are resolved when the rush starts, so drawing never allocates.
+ */
+public class ConveyorView extends Widget {
+    /** Seconds each animation frame is shown */
+    private static final float FRAME_DURATION = 0.2F;
+
+    /** Height of the belt in pixels */
+    private static final float BELT_HEIGHT = 6F;
+
+    /** Preferred size of the view in pixels */
+    private static final float PREF_WIDTH = 260F;
+    private static final float PREF_HEIGHT = 96F;
+
+    /** Tint of the belt */
+    private static final Color BELT_COLOR = new Color(0.25F, 0.25F, 0.3F, 1F);
+
+    /** Transparency of the queued fish behind the front */
+    private static final float QUEUED_ALPHA = 0.55F;
+
+    /** The conveyor to draw */
+    private final RushConveyor conveyor;
+
+    /** The clock the conveyor is stepped with, used for interpolation */
+    private final FixedTimestep clock;
+
+    /** Animation frames of every fish of the level, by position in the level */
+    private final TextureRegion[][] fishFrames;
+
+    /** Plain white region tinted to draw the belt */
+    private final TextureRegion beltRegion;
+
+    /** Time since the view was created, drives the animation */
+    private float stateTime;
+
+    /**
+     * Creates a new view of a conveyor.
+     *
+     * @param conveyor The conveyor to draw
+     * @param clock The clock the conveyor is stepped with
+     * @param fishFrames Animation frames of every fish of the level, in the order of the level
+     * @param beltRegion Plain white region tinted to draw the belt
+     */
+    public ConveyorView(RushConveyor conveyor, FixedTimestep clock, TextureRegion[][] fishFrames, TextureRegion beltRegion) {
+        this.conveyor = conveyor;
+        this.clock = clock;
+        this.fishFrames = fishFrames;
+        this.beltRegion = beltRegion;
+    }
+
+    @Override
+    public void act(float delta) {
+        super.act(delta);
+        stateTime += delta;
+    }
+
+    @Override
+    public void draw(Batch batch, float parentAlpha) {
+        validate();
+
+        float red = batch.getColor().r;
+        float green = batch.getColor().g;
+        float blue = batch.getColor().b;
+        float alpha = batch.getColor().a;
+
+        batch.setColor(BELT_COLOR.r, BELT_COLOR.g, BELT_COLOR.b, BELT_COLOR.a * parentAlpha);
+        batch.draw(beltRegion, getX(), getY(), getWidth(), BELT_HEIGHT);
+
+        // Fish slide in and out at the edges, so they are clipped to the view
+        batch.flush();
+        if (clipBegin()) {
+            drawFish(batch, parentAlpha);
+            batch.flush();
+            clipEnd();
+        }
+
+        batch.setColor(red, green, blue, alpha);
+        conveyor.markShown(System.nanoTime());
+    }
+
+    /**
+     * Draws the fish on the conveyor from back to front, so the fish at the front is on top where they overlap.
+     *
+     * @param batch The batch to draw with
+     * @param parentAlpha The alpha of the parent actors
+     */
+    private void drawFish(Batch batch, float parentAlpha) {
+        Color color = getColor();
+        float clockAlpha = clock.getAlpha();
+        for (int position = conveyor.getCount() - 1; position >= 0; position--) {
+            TextureRegion[] frames = fishFrames[conveyor.getFish(position)];
+            if (frames.length == 0) continue;
+
+            TextureRegion frame = frames[(int) (stateTime / FRAME_DURATION) % frames.length];
+            float travel = getWidth() + frame.getRegionWidth();
+            float fishX = getX() + getWidth() - conveyor.getProgress(position, clockAlpha) * travel;
+            float fishAlpha = position == 0 ? 1F : QUEUED_ALPHA;
+
+            batch.setColor(color.r, color.g, color.b, color.a * fishAlpha * parentAlpha);
+            batch.draw(frame, Math.round(fishX), Math.round(getY() + BELT_HEIGHT));
+        }
+    }
+
+    @Override
+    public float getPrefWidth() {
+        return PREF_WIDTH;
+    }
+
+    @Override
+    public float getPrefHeight() {
+        return PREF_HEIGHT;
+    }
+}
@@ -0,0 +1,176 @@
+package dev.juliusabels.fish_fiesta.screens.level;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.scenes.scene2d.ui.Widget;
+import com.badlogic.gdx.utils.Array;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Animated view of the fish currently shown in the fish cam.
+ * <p>
+ * The fish cycles through all atlas regions sharing its id (e.g. {@code clownfish_0},
+ * {@code clownfish_1}, ... packed with indices), bobs up and down while idling, and
+ * rises in front of a {@link BubbleLayer}. A single view is reused for every fish of a
+ * level, so acting and drawing it never allocates.
+ * <p>
+ * After {@link #SETTLE_TIME} the fish comes to rest and the bubbles rise out without new
+ * ones spawning, so the screen can stop rendering until the next fish is shown.
+ * <p>
+ * The stress test ramps the number of bubbles up to {@link BubbleLayer#MAX_BUBBLES}
+ * and logs the frame rate at each step, to find where frame time breaks down.
+ */
+@Slf4j
+public class FishCamView extends Widget {
+    /** Number of bubbles shown during normal play */
+    private static final int DEFAULT_BUBBLES = 12;
+
+    /** Bubbles added per second while the stress test is running */
+    private static final int STRESS_RAMP_PER_SECOND = 512;
+
+    /** Number of bubbles between two stress test log entries */
+    private static final int STRESS_LOG_STEP = 1024;
+
+    /** Seconds each animation frame is shown */
+    private static final float FRAME_DURATION = 0.2F;
+
+    /** Maximum distance the fish bobs up and down in pixels */
+    private static final float BOB_AMPLITUDE = 3F;
+
+    /** Speed of the bobbing in radians per second */
+    private static final float BOB_SPEED = 2.5F;
+
+    /** Seconds the fish animates after it was shown, a whole number of bobs so it rests at its center */
+    private static final float SETTLE_TIME = 8 * MathUtils.PI2 / BOB_SPEED;
+
+    /** Tint of the bubbles */
+    private static final Color BUBBLE_COLOR = new Color(0.75F, 0.9F, 1F, 0.6F);
+
+    /** Bubbles rising behind the fish */
+    private final BubbleLayer bubbles = new BubbleLayer(DEFAULT_BUBBLES);
+
+    /** Plain white region tinted to draw the bubbles */
+    private final TextureRegion bubbleRegion;
+
+    /** Animation frames of the current fish, reused for every fish */
+    private final Array<TextureRegion> frames = new Array<>(8);
+
+    /** Time since the current fish was shown */
+    private float stateTime;
+
+    /** Whether the bubble stress test is running */
+    @Getter
+    private boolean stressTest;
+
+    /** Bubble limit at which the stress test logs next */
+    private int nextStressLog;
+
+    /**
+     * Creates a new fish cam view without a fish.
+     *
+     * @param bubbleRegion Plain white region tinted to draw the bubbles
+     */
+    public FishCamView(TextureRegion bubbleRegion) {
+        this.bubbleRegion = bubbleRegion;
+    }
+
+    /**
+     * Shows a new fish and restarts its animation.
+     *
+     * @param fishFrames The animation frames of the fish in playback order, at least one
+     */
+    public void setFish(Array<? extends TextureRegion> fishFrames) {
+        frames.clear();
+        frames.addAll(fishFrames);
+        stateTime = 0F;
+        if (!stressTest) {
+            bubbles.setLimit(DEFAULT_BUBBLES);
+        }
+        invalidateHierarchy();
+    }
+
+    /**
+     * Checks whether anything in the view still moves.
+     *
+     * @return true until the fish has settled and the last bubble has risen out, or while the stress test is running
+     */
+    public boolean isAnimating() {
+        return stressTest || stateTime < SETTLE_TIME || bubbles.getCount() > 0;
+    }
+
+    /**
+     * Starts or stops the bubble stress test.
+     * <p>
+     * The view keeps animating while the test is running. Stopping it lets all bubbles
+     * above the regular amount rise out of the view.
+     */
+    public void toggleStressTest() {
+        stressTest = !stressTest;
+        if (stressTest) {
+            nextStressLog = STRESS_LOG_STEP;
+            log.info("Fish cam stress test started");
+        } else {
+            bubbles.setLimit(DEFAULT_BUBBLES);
+            log.info("Fish cam stress test stopped");
+        }
+    }
+
+    @Override
+    public void act(float delta) {
+        super.act(delta);
+        stateTime += delta;
+
+        if (stressTest && bubbles.getLimit() < BubbleLayer.MAX_BUBBLES) {
+            bubbles.setLimit(bubbles.getLimit() + MathUtils.ceil(STRESS_RAMP_PER_SECOND * delta));
+        } else if (!stressTest && stateTime >= SETTLE_TIME) {
+            bubbles.setLimit(0);
+        }
+        bubbles.update(delta, getHeight());
+
+        if (stressTest && bubbles.getCount() >= nextStressLog) {
+            log.info("Fish cam stress test: {} bubbles at {} FPS", bubbles.getCount(),
+                Gdx.graphics.getFramesPerSecond());
+            nextStressLog += STRESS_LOG_STEP;
+        }
+    }
+
+    @Override
+    public void draw(Batch batch, float parentAlpha) {
+        validate();
+
+        float red = batch.getColor().r;
+        float green = batch.getColor().g;
+        float blue = batch.getColor().b;
+        float alpha = batch.getColor().a;
+
+        batch.setColor(BUBBLE_COLOR.r, BUBBLE_COLOR.g, BUBBLE_COLOR.b, BUBBLE_COLOR.a * parentAlpha);
+        bubbles.draw(batch, bubbleRegion, getX(), getY(), getWidth());
+
+        Color color = getColor();
+        batch.setColor(color.r, color.g, color.b, color.a * parentAlpha);
+        if (frames.notEmpty()) {
+            float poseTime = stressTest ? stateTime : Math.min(stateTime, SETTLE_TIME);
+            TextureRegion frame = frames.get((int) (poseTime / FRAME_DURATION) % frames.size);
+            float bob = MathUtils.sin(poseTime * BOB_SPEED) * BOB_AMPLITUDE;
+            float fishX = getX() + (getWidth() - frame.getRegionWidth()) / 2F;
+            float fishY = getY() + (getHeight() - frame.getRegionHeight()) / 2F + bob;
+            batch.draw(frame, Math.round(fishX), Math.round(fishY));
+        }
+
+        batch.setColor(red, green, blue, alpha);
+    }
+
+    @Override
+    public float getPrefWidth() {
+        return frames.isEmpty() ? 0 : frames.first().getRegionWidth();
+    }
+
+    @Override
+    public float getPrefHeight() {
+        return frames.isEmpty() ? 0 : frames.first().getRegionHeight() + BOB_AMPLITUDE * 2;
+    }
+}
@@ -2,20 +2,24 @@ package dev.juliusabels.fish_fiesta.screens.level;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
+import com.badlogic.gdx.InputAdapter;
 import com.badlogic.gdx.InputMultiplexer;
+import com.badlogic.gdx.InputProcessor;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
+import com.badlogic.gdx.utils.Null;
 import dev.juliusabels.fish_fiesta.FishFiestaGame;
+import dev.juliusabels.fish_fiesta.game.WaterCreature;
 import dev.juliusabels.fish_fiesta.game.level.ConditionType;
 import dev.juliusabels.fish_fiesta.game.level.Level;
 import dev.juliusabels.fish_fiesta.screens.FFBaseScreen;
 import dev.juliusabels.fish_fiesta.screens.journal.JournalOverlay;
 import dev.juliusabels.fish_fiesta.screens.overlay.DialogButton;
 import dev.juliusabels.fish_fiesta.screens.overlay.DialogOverlay;
+import dev.juliusabels.fish_fiesta.screens.overlay.LeaderboardOverlay;
 import dev.juliusabels.fish_fiesta.util.*;
 import lombok.extern.slf4j.Slf4j;
 
@@ -29,10 +33,32 @@ import java.util.List;
  * mistake counters, and provides navigation options.
  * <p>
  * Players fail the level if they make 3 mistakes, and complete it by correctly evaluating
- * all fish with fewer than 3 mistakes.
+ * all fish with fewer than 3 mistakes. Either way the run is recorded in the {@link Leaderboard},
+ * scored by its correct decisions. Every single decision is counted in the {@link DecisionAnalytics},
+ * with the time played from showing the fish to the decision as reaction time.
+ * <p>
+ * After a mistake, the conditions window highlights the conditions the fish failed and lists
+ * what the fish has instead, until the next decision.
+ * <p>
+ * Besides the buttons, fish can be accepted with A or the left arrow key and denied with D
+ * or the right arrow key. {@link RushLevelScreen} builds the timed rush mode on top of this screen.
  */
 @Slf4j
 public class LevelScreen extends FFBaseScreen {
+    /** Key that toggles the fish cam stress test */
+    private static final int STRESS_TEST_KEY = Input.Keys.F5;
+
+    /** Keys accepting the current fish, matching the position of the accept button */
+    private static final int ACCEPT_KEY = Input.Keys.A;
+    private static final int ACCEPT_ARROW_KEY = Input.Keys.LEFT;
+
+    /** Keys denying the current fish, matching the position of the deny button */
+    private static final int DENY_KEY = Input.Keys.D;
+    private static final int DENY_ARROW_KEY = Input.Keys.RIGHT;
+
+    /** Color of the conditions the fish of the last mistake failed, and of the explanation */
+    private static final Color MISMATCH_COLOR = Color.RED;
+
     /** Handles showing tooltips when hovering over UI elements */
     private final TooltipHandler tooltipHandler;
 
@@ -45,20 +71,35 @@ public class LevelScreen extends FFBaseScreen {
     /** Manages level progression, completion status, and game flow */
     private final LevelManager levelManager;
 
+    /** Records the finished runs */
+    private final Leaderboard leaderboard;
+
+    /** Counts every decision */
+    protected final DecisionAnalytics decisionAnalytics;
+
     /** Dialog shown when the player tries to exit the level */
-    private final DialogOverlay exitDialog;
+    protected final DialogOverlay exitDialog;
 
     /** Journal for fish information, can be toggled with J key */
     private final JournalOverlay journal;
 
-    /** The current level being played */
-    private final Level currentLevel;
+    /** Overlay showing the best runs of the level, opened before the level is started */
+    private final LeaderboardOverlay leaderboardOverlay;
 
-    /** Font used for basic text elements */
-    private final BitmapFont basicTextFont;
+    /** The current level being played */
+    protected final Level currentLevel;
 
     /** Custom fish font */
-    private final FishFontBig fishFontBig;
+    protected final FishFontBig fishFontBig;
+
+    /** Animated view of the current fish, reused for every fish of the level */
+    private final FishCamView fishCam;
+
+    /** Owner the sprite of the fish in the fish cam is retained under, released once another fish is shown */
+    private final Object fishCamOwner = new Object();
+
+    /** ID of the fish whose sprite is retained for the fish cam, or null if none is */
+    private String fishCamFishId;
 
     /** List of fish IDs that will appear in this level */
     private final List<String> fishes;
@@ -72,6 +113,19 @@ public class LevelScreen extends FFBaseScreen {
     /** Whether the player has started the level */
     private boolean levelStarted;
 
+    /** Seconds played since this screen was shown, on top of the play time of the level */
+    private double playedSeconds;
+
+    /** Value of {@link #playedSeconds} when the current fish was shown */
+    private double fishShownSeconds;
+
+    /** The fish of the last decision if it was a mistake, explained in the conditions window */
+    @Null
+    private WaterCreature mistakeFish;
+
+    /** Conditions the fish of the last mistake failed, see {@link Level#evaluate(WaterCreature)} */
+    private int mistakeMismatches;
+
     /**
      * Creates a new level screen for the specified level.
      *
@@ -79,35 +133,77 @@ public class LevelScreen extends FFBaseScreen {
      * @param currentLevel The level to be played
      */
     public LevelScreen(FishFiestaGame game, Level currentLevel) {
-        super(game);
+        super(game, AssetStage.LEVEL);
         this.currentLevel = currentLevel;
         resourceHandler = game.getResourceHandler();
         exitDialog = new DialogOverlay(game, stage, contentTable);
-        tooltipHandler = new TooltipHandler();
-        basicTextFont = new BitmapFont();
-        basicTextFont.getData().setScale(0.5F);
+        tooltipHandler = new TooltipHandler(resourceHandler.getBodyFont());
         fishFontBig = new FishFontBig(game);
         levelStarted = false;
         fishManager = resourceHandler.getFishManager();
         fishes = currentLevel.getFishIDs();
         fishAmount = fishes.size();
         levelManager = resourceHandler.getLevelManager();
+        leaderboard = resourceHandler.getLeaderboard();
+        decisionAnalytics = resourceHandler.getDecisionAnalytics();
         fishIndex = currentLevel.getFishIndex();
         journal = new JournalOverlay(game, contentTable, stage);
-
-        setupInputProcessing();
+        leaderboardOverlay = new LeaderboardOverlay(game, stage, contentTable);
+        fishCam = new FishCamView(monitorSkin.getRegion("white"));
     }
 
     /**
      * Configures input processing for this screen.
      * <p>
-     * Sets up an InputMultiplexer to handle input for both the stage and journal toggle.
+     * Sets up an InputMultiplexer to handle input for the stage, the journal toggle and the decision keys.
+     *
+     * @return The multiplexer passing the input events on
      */
-    private void setupInputProcessing() {
+    @Override
+    protected InputProcessor createInputProcessor() {
         InputMultiplexer inputMultiplexer = new InputMultiplexer();
         inputMultiplexer.addProcessor(stage);
         inputMultiplexer.addProcessor(journal.getJournalInputProcessor());
-        Gdx.input.setInputProcessor(inputMultiplexer);
+        inputMultiplexer.addProcessor(new InputAdapter() {
+            @Override
+            public boolean keyDown(int keycode) {
+                if (keycode == ACCEPT_KEY || keycode == ACCEPT_ARROW_KEY) {
+                    return decide(true);
+                } else if (keycode == DENY_KEY || keycode == DENY_ARROW_KEY) {
+                    return decide(false);
+                }
+                return false;
+            }
+        });
+        return inputMultiplexer;
+    }
+
+    /**
+     * Accepts or denies the current fish in response to a decision key.
+     * <p>
+     * Keys are ignored while no fish is shown, or while the exit dialog or the journal is open.
+     *
+     * @param accept Whether the fish is accepted
+     * @return true if the key was used for a decision
+     */
+    protected boolean decide(boolean accept) {
+        boolean fishShown = (levelStarted || currentLevel.isInProgress()) && fishIndex < fishAmount
+            && fishManager.getCurrentFish() != null;
+        if (!fishShown || isOverlayVisible()) return false;
+
+        if (accept) {
+            handleFishAccepted(fishes.get(fishIndex));
+        } else {
+            handleFishDenied(fishes.get(fishIndex));
+        }
+        return true;
+    }
+
+    /**
+     * @return true while the exit dialog, the journal or the best runs cover the screen
+     */
+    protected boolean isOverlayVisible() {
+        return exitDialog.isVisible() || journal.isVisible() || leaderboardOverlay.isVisible();
     }
 
     /**
@@ -121,6 +217,7 @@ public class LevelScreen extends FFBaseScreen {
         super.show();
 
         if (isLevelComplete()) {
+            recordRun(fishIndex - currentLevel.getMistakes(), true);
             levelManager.markLevelCompleted(currentLevel.getId(), currentLevel.getMistakes());
             game.setScreen(new LevelSelectionScreen(game));
             return;
@@ -182,7 +279,8 @@ public class LevelScreen extends FFBaseScreen {
         Table fishCamWindow = new Table();
         fishCamWindow.background(this.monitorSkin.getDrawable("fishcam-window"));
 
-        Label fishcamTitle = fishFontBig.createLabel("Fish Cam", 1.1f);
+        String title = currentLevel.isEndless() ? "Fish Cam #" + (fishIndex + 1) : "Fish Cam";
+        Label fishcamTitle = fishFontBig.createLabel(title, 1.1f);
         fishCamWindow.add(fishcamTitle).top().padTop(5).padLeft(4).left().row();
 
         Table fishcamContent = new Table();
@@ -198,9 +296,11 @@ public class LevelScreen extends FFBaseScreen {
     }
 
     /**
-     * Adds the level start button to the container.
+     * Adds the level start button, the button starting the rush mode and the button showing
+     * the best runs of the level to the container.
      * <p>
-     * When clicked, this button starts the level and rebuilds the UI.
+     * When clicked, the start button starts the level and rebuilds the UI.
+     * Endless levels can't be played as a rush.
      *
      * @param container The table to add the start button to
      */
@@ -209,20 +309,64 @@ public class LevelScreen extends FFBaseScreen {
             this.monitorSkin.getDrawable("start_button"),
             this.monitorSkin.getDrawable("start_button-down")
         );
+        startButton.setName("start");
         startButton.addListener(new ClickListener() {
             @Override
             public void clicked(InputEvent event, float x, float y) {
                 levelStarted = true;
+                fishShownSeconds = playedSeconds;
                 show();
             }
         });
-        container.add(startButton).expand().center();
+        container.add(startButton).expand().center().row();
+
+        Leaderboard.Run best = leaderboard.getPersonalBest(currentLevel.getId());
+        if (best != null && best != Leaderboard.NOT_LOADED) {
+            long seconds = best.getDurationMillis() / 1000;
+            String text = String.format("Best: %d correct, %d mistakes, %d:%02d",
+                best.getScore(), best.getMistakes(), seconds / 60, seconds % 60);
+            container.add(fishFontBig.createLabel(text, 0.7F)).center().padBottom(5).row();
+        }
+
+        TextButton.TextButtonStyle buttonStyle = fishFontBig.createButtonStyle(
+            monitorSkin.getDrawable("menu_button"),
+            monitorSkin.getDrawable("menu_button-pressed"),
+            monitorSkin.getDrawable("menu_button-hovered"),
+            1.2F
+        );
+        Table buttons = new Table();
+
+        // A rush needs all fish of the level up front
+        if (!currentLevel.isEndless()) {
+            TextButton rushButton = fishFontBig.createButton("Rush", buttonStyle);
+            rushButton.setName("rush");
+            rushButton.addListener(new ClickListener() {
+                @Override
+                public void clicked(InputEvent event, float x, float y) {
+                    // The rush gets a fresh copy of the level, so it neither touches nor resumes its progress
+                    Level rushLevel = new Level(currentLevel.getId(), currentLevel.getConditions(), currentLevel.getFishIDs());
+                    game.setScreen(new RushLevelScreen(game, rushLevel));
+                }
+            });
+            buttons.add(rushButton).padRight(20);
+        }
+
+        TextButton bestButton = fishFontBig.createButton("Best", buttonStyle);
+        bestButton.setName("leaderboard");
+        bestButton.addListener(new ClickListener() {
+            @Override
+            public void clicked(InputEvent event, float x, float y) {
+                leaderboardOverlay.show(currentLevel.getId());
+            }
+        });
+        buttons.add(bestButton);
+        container.add(buttons).center().padBottom(10);
     }
 
     /**
      * Sets up the display for the current fish being evaluated.
      * <p>
-     * Loads the current fish image and adds decision buttons below it.
+     * Shows the current fish in the animated fish cam and adds decision buttons below it.
      *
      * @param fishcamContent The table to add the fish image to
      * @param fishCamWindow The parent window container
@@ -231,12 +375,16 @@ public class LevelScreen extends FFBaseScreen {
         String currentFishId = fishes.get(fishIndex);
         log.debug("Get Fish: {}", currentFishId);
 
-        if (!fishManager.loadFishForId(currentFishId) || fishManager.getCurrentFish() == null) {
+        if (!fishManager.loadFishForId(currentFishId)) {
             return;
         }
 
-        Image fishImage = new Image(resourceHandler.getFishTexture(currentFishId));
-        fishcamContent.add(fishImage).expand().center().padTop(40);
+        if (!currentFishId.equals(fishCamFishId)) {
+            resourceHandler.release(fishCamOwner);
+            fishCamFishId = currentFishId;
+        }
+        fishCam.setFish(resourceHandler.getFishFrames(fishCamOwner, currentFishId));
+        fishcamContent.add(fishCam).expand().fill().padTop(40);
         fishCamWindow.add(fishcamContent).expand().fill().row();
 
         Table buttonContainer = createFishDecisionButtons(currentFishId);
@@ -258,6 +406,7 @@ public class LevelScreen extends FFBaseScreen {
             this.monitorSkin.getDrawable("fishcam-accept"),
             this.monitorSkin.getDrawable("fishcam-accept-down")
         );
+        acceptButton.setName("accept");
         acceptButton.addListener(new ClickListener() {
             @Override
             public void clicked(InputEvent event, float x, float y) {
@@ -269,6 +418,7 @@ public class LevelScreen extends FFBaseScreen {
             this.monitorSkin.getDrawable("fishcam-deny"),
             this.monitorSkin.getDrawable("fishcam-deny-down")
         );
+        denyButton.setName("deny");
         denyButton.addListener(new ClickListener() {
             @Override
             public void clicked(InputEvent event, float x, float y) {
@@ -291,9 +441,12 @@ public class LevelScreen extends FFBaseScreen {
      * @param fishId The ID of the fish being accepted
      */
     private void handleFishAccepted(String fishId) {
-        boolean matchesConditions = currentLevel.meetsConditions(fishManager.getCurrentFish());
+        WaterCreature fish = fishManager.getCurrentFish();
+        int mismatches = currentLevel.evaluate(fish);
+        rememberDecision(fish, mismatches, mismatches != 0);
+        decisionAnalytics.record(currentLevel.getId(), fishId, true, mismatches, getReactionMillis());
 
-        if (matchesConditions) {
+        if (mismatches == 0) {
             log.info("Accepted fish: <{}> matches the level conditions. Correct!", fishId);
         } else {
             log.info("Accepted fish: <{}> does not match the level conditions. Wrong!", fishId);
@@ -302,8 +455,7 @@ public class LevelScreen extends FFBaseScreen {
         }
 
         if (!currentLevel.isFailed()) {
-            fishIndex++;
-            show();
+            nextFish();
         }
     }
 
@@ -316,9 +468,12 @@ public class LevelScreen extends FFBaseScreen {
      * @param fishId The ID of the fish being denied
      */
     private void handleFishDenied(String fishId) {
-        boolean matchesConditions = currentLevel.meetsConditions(fishManager.getCurrentFish());
+        WaterCreature fish = fishManager.getCurrentFish();
+        int mismatches = currentLevel.evaluate(fish);
+        rememberDecision(fish, mismatches, mismatches == 0);
+        decisionAnalytics.record(currentLevel.getId(), fishId, false, mismatches, getReactionMillis());
 
-        if (!matchesConditions) {
+        if (mismatches != 0) {
             log.info("Declined fish: <{}> doesn't match the level conditions. Correct!", fishId);
         } else {
             log.info("Declined fish: <{}> does match the level conditions. Wrong!", fishId);
@@ -327,17 +482,42 @@ public class LevelScreen extends FFBaseScreen {
         }
 
         if (!currentLevel.isFailed()) {
-            fishIndex++;
-            show();
+            nextFish();
         }
     }
 
+    /**
+     * Remembers a decision for the explanation in the conditions window.
+     * <p>
+     * A correct decision clears the explanation of the previous mistake.
+     *
+     * @param fish The decided fish
+     * @param mismatches The conditions the fish failed, as evaluated for grading the decision
+     * @param mistake Whether the decision was wrong
+     */
+    private void rememberDecision(WaterCreature fish, int mismatches, boolean mistake) {
+        mistakeFish = mistake ? fish : null;
+        mistakeMismatches = mistake ? mismatches : 0;
+    }
+
+    /**
+     * Moves on to the next fish and rebuilds the UI.
+     * <p>
+     * The level follows the fish index, as the conditions of an endless level depend on it.
+     */
+    private void nextFish() {
+        fishIndex++;
+        fishShownSeconds = playedSeconds;
+        currentLevel.setFishIndex(fishIndex);
+        show();
+    }
+
     /**
      * Creates the conditions window showing the required criteria for fish selection.
      *
      * @return A table containing the conditions window UI
      */
-    private Table createConditionsWindow() {
+    protected Table createConditionsWindow() {
         Table guestListWindow = new Table();
         guestListWindow.background(this.monitorSkin.getDrawable("guestlist-window"));
 
@@ -352,6 +532,8 @@ public class LevelScreen extends FFBaseScreen {
 
     /**
      * Creates a table displaying all level conditions.
+     * <p>
+     * After a mistake, the explanation of the mistake follows the conditions.
      *
      * @return A table containing text and visual condition indicators
      */
@@ -365,9 +547,45 @@ public class LevelScreen extends FFBaseScreen {
         // Add visual conditions (size and temperature)
         addVisualConditions(conditions);
 
+        if (mistakeFish != null) {
+            addMistakeExplanation(conditions, mistakeFish);
+        }
+
         return conditions;
     }
 
+    /**
+     * Adds the explanation of the last mistake to the conditions table.
+     * <p>
+     * For a wrongly accepted fish, these are the values the fish has for every condition it failed.
+     * A wrongly denied fish met all conditions, which is all there is to say.
+     *
+     * @param container The table to add the explanation to
+     * @param fish The fish of the last mistake
+     */
+    private void addMistakeExplanation(Table container, WaterCreature fish) {
+        if (mistakeMismatches == 0) {
+            container.add(fishFontBig.createLabel(fish.getName() + " met all conditions", 0.6F, MISMATCH_COLOR))
+                .left().padTop(20).row();
+            return;
+        }
+
+        container.add(fishFontBig.createLabel(fish.getName() + " has:", 0.6F, MISMATCH_COLOR)).left().padTop(20).row();
+        for (ConditionType type : ConditionType.values()) {
+            if (!type.isIn(mistakeMismatches)) continue;
+
+            StringBuilder builder = new StringBuilder(FishManager.formatIdToName(type.name().toLowerCase())).append(": ");
+            List<? extends Enum<?>> values = type.getCreatureValues(fish);
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    builder.append(", ");
+                }
+                builder.append(FishManager.formatIdToName(values.get(i).name().toLowerCase()));
+            }
+            container.add(fishFontBig.createLabel(builder.toString(), 0.6F, MISMATCH_COLOR)).left().padTop(5).row();
+        }
+    }
+
     /**
      * Adds text-based conditions to the conditions table.
      * <p>
@@ -391,7 +609,8 @@ public class LevelScreen extends FFBaseScreen {
                 }
 
                 String formattedValues = FishManager.formatIdToName(builder.toString());
-                Label label = fishFontBig.createLabel(typeName + formattedValues, 0.7F, Color.BLACK);
+                Color color = type.isIn(mistakeMismatches) ? MISMATCH_COLOR : Color.BLACK;
+                Label label = fishFontBig.createLabel(typeName + formattedValues, 0.7F, color);
                 container.add(label).left().fillX().padTop(10).row();
             }
         });
@@ -401,6 +620,7 @@ public class LevelScreen extends FFBaseScreen {
      * Adds visual conditions (size and temperature) to the conditions table.
      * <p>
      * These conditions are displayed as icons with tooltips rather than text.
+     * The icons of a condition the last mistake failed are tinted.
      *
      * @param container The table to add the visual conditions to
      */
@@ -413,6 +633,9 @@ public class LevelScreen extends FFBaseScreen {
                 for (String value : values) {
                     Image image = new Image(this.monitorSkin.getDrawable("fish_size-" + value.toLowerCase()));
                     tooltipHandler.appendTooltip(value.toLowerCase() + " fish", image);
+                    if (type.isIn(mistakeMismatches)) {
+                        image.setColor(MISMATCH_COLOR);
+                    }
                     sizeTable.add(image).left().space(5);
                 }
 
@@ -420,6 +643,9 @@ public class LevelScreen extends FFBaseScreen {
             } else if (type == ConditionType.TEMPERATURE && !values.isEmpty()) {
                 Image image = new Image(this.monitorSkin.getDrawable("temperature-" + values.getFirst().toLowerCase()));
                 tooltipHandler.appendTooltip(values.getFirst().toLowerCase(), image);
+                if (type.isIn(mistakeMismatches)) {
+                    image.setColor(MISMATCH_COLOR);
+                }
                 container.add(image).left().padTop(10).row();
             }
         });
@@ -432,18 +658,45 @@ public class LevelScreen extends FFBaseScreen {
      */
     public void checkForLevelFail() {
         if (this.currentLevel.getMistakes() >= 3) {
-            log.info("Failed Level: {}", this.currentLevel.getId());
+            log.info("Failed Level: {} after {} fish", this.currentLevel.getId(), fishIndex);
+            this.currentLevel.setFailed(true);
+            // The failing fish is decided, but fishIndex hasn't moved past it
+            recordRun(fishIndex + 1 - this.currentLevel.getMistakes(), false);
             levelManager.markLevelFailed(this.currentLevel.getId(), this.currentLevel.getMistakes());
             game.setScreen(new LevelSelectionScreen(game));
         }
     }
 
+    /**
+     * Records the finished run in the leaderboard.
+     *
+     * @param score The number of correct decisions
+     * @param completed Whether the level was completed
+     */
+    private void recordRun(int score, boolean completed) {
+        leaderboard.record(currentLevel.getId(), score, currentLevel.getMistakes(), completed, getPlayTimeMillis());
+    }
+
+    /**
+     * @return The time played since the current fish was shown in milliseconds
+     */
+    private long getReactionMillis() {
+        return Math.round((playedSeconds - fishShownSeconds) * 1000);
+    }
+
+    /**
+     * @return The time played in the level in milliseconds, including saved sessions
+     */
+    private long getPlayTimeMillis() {
+        return currentLevel.getPlayTimeMillis() + Math.round(playedSeconds * 1000);
+    }
+
     /**
      * Displays the exit dialog with options to resume, save progress, or exit.
      * <p>
      * The dialog appears when ESC is pressed during gameplay.
      */
-    private void showExitDialog() {
+    protected void showExitDialog() {
         exitDialog.showButtons(
             new DialogButton("Resume") {
                 @Override
@@ -454,7 +707,7 @@ public class LevelScreen extends FFBaseScreen {
             new DialogButton("Save") {
                 @Override
                 public void run() {
-                    levelManager.safeLevelProgress(currentLevel.getId(), currentLevel.getMistakes(), fishIndex);
+                    levelManager.safeLevelProgress(currentLevel.getId(), currentLevel.getMistakes(), fishIndex, getPlayTimeMillis());
                     showExitDialog();
                 }
             },
@@ -470,37 +723,61 @@ public class LevelScreen extends FFBaseScreen {
     /**
      * Renders the screen and handles input.
      * <p>
-     * Checks for the ESC key to show/hide the exit dialog.
+     * Checks for the ESC key to close the best runs or show/hide the exit dialog and for
+     * {@link #STRESS_TEST_KEY} to toggle the fish cam stress test.
+     * Counts the play time while a fish is shown and no overlay is open.
      *
      * @param delta Time elapsed since the last frame
      */
     @Override
     public void render(float delta) {
+        if ((levelStarted || currentLevel.isInProgress()) && fishIndex < fishAmount && !isOverlayVisible()) {
+            playedSeconds += delta;
+        }
+
         super.render(delta);
 
         // If back key pressed, show dialog instead of immediate exit. If pressed again close dialog window again
         if (Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE)) {
-            if (!exitDialog.isVisible() && !journal.isVisible()) {
+            if (leaderboardOverlay.isVisible()) {
+                leaderboardOverlay.hide();
+            } else if (!exitDialog.isVisible() && !journal.isVisible()) {
                 showExitDialog();
             } else if (!journal.isVisible()) {
                 exitDialog.hide();
             }
         }
+
+        if (Gdx.input.isKeyJustPressed(STRESS_TEST_KEY)) {
+            fishCam.toggleStressTest();
+        }
+    }
+
+    /**
+     * Keeps rendering while the fish cam is on screen and still moving, which it stops doing
+     * a while after a fish was shown.
+     *
+     * @return true if the fish cam or the base screen needs further frames
+     */
+    @Override
+    protected boolean isAnimating() {
+        return super.isAnimating() || (fishCam.getStage() != null && fishCam.isAnimating());
     }
 
     /**
      * Disposes of resources when the screen is no longer needed.
      * <p>
-     * Cleans up all assets to prevent memory leaks.
+     * Cleans up all assets to prevent memory leaks, and has the decisions counted so far saved.
      */
     @Override
     public void dispose() {
         super.dispose();
-        exitDialog.dispose();
-        basicTextFont.dispose();
-        fishFontBig.dispose();
-        levelManager.setActiveLevel(null);
+        decisionAnalytics.save();
+        // A following level screen may already have loaded its own level
+        if (levelManager.getActiveLevel() == currentLevel) {
+            levelManager.setActiveLevel(null);
+        }
         journal.dispose();
-        tooltipHandler.dispose();
+        resourceHandler.release(fishCamOwner);
     }
 }
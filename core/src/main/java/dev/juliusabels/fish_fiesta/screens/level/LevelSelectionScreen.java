@@ -11,10 +11,18 @@ import dev.juliusabels.fish_fiesta.FishFiestaGame;
 import dev.juliusabels.fish_fiesta.screens.FFBaseScreen;
 import dev.juliusabels.fish_fiesta.screens.MainMenuScreen;
 import dev.juliusabels.fish_fiesta.screens.overlay.DialogButton;
+import dev.juliusabels.fish_fiesta.game.level.EndlessLevel;
+import dev.juliusabels.fish_fiesta.game.level.Level;
 import dev.juliusabels.fish_fiesta.screens.overlay.DialogOverlay;
+import dev.juliusabels.fish_fiesta.screens.overlay.LeaderboardOverlay;
+import dev.juliusabels.fish_fiesta.screens.overlay.StatsOverlay;
+import dev.juliusabels.fish_fiesta.util.AssetStage;
+import dev.juliusabels.fish_fiesta.util.FishFontBig;
+import dev.juliusabels.fish_fiesta.util.FishManager;
 import dev.juliusabels.fish_fiesta.util.LevelManager;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -30,20 +38,34 @@ import java.util.List;
  * </ul>
  * <p>
  * Players can click on folders to play levels. For completed levels, a confirmation
- * dialog is shown before replaying. The user can return to the main menu by pressing
- * the escape key, which shows a confirmation dialog.
+ * dialog is shown before replaying. Below the grid, the daily challenge is played, an
+ * endless run is started or continued, and the best runs of all levels and the statistics
+ * of all decisions are shown. The user
+ * can return to the main menu by pressing the escape key, which shows a confirmation dialog.
  */
 @Slf4j
 public class LevelSelectionScreen extends FFBaseScreen {
     /** Dialog shown when the user attempts to exit the screen */
     private final DialogOverlay exitDialog;
 
+    /** Overlay showing the statistics of all decisions */
+    private final StatsOverlay statsOverlay;
+
+    /** Overlay showing the best runs of all levels */
+    private final LeaderboardOverlay leaderboardOverlay;
+
     /** Manager for accessing level data and persistence */
     private final LevelManager levelManager;
 
-    /** Font used for level numbers and labels */
+    /** Shared font used for level numbers and labels */
     private final BitmapFont font;
 
+    /** Manager for the fish the daily challenge and endless runs draw from */
+    private final FishManager fishManager;
+
+    /** Custom fish font for the daily challenge and endless buttons */
+    private final FishFontBig fishFontBig;
+
     /** Width of each level folder in pixels */
     private static final float FOLDER_WIDTH = 40;
 
@@ -65,10 +87,14 @@ public class LevelSelectionScreen extends FFBaseScreen {
      * @param game The main game instance
      */
     public LevelSelectionScreen(FishFiestaGame game) {
-        super(game);
+        super(game, AssetStage.LEVEL_SELECTION);
         exitDialog = new DialogOverlay(game, stage, contentTable);
+        statsOverlay = new StatsOverlay(game, stage, contentTable);
+        leaderboardOverlay = new LeaderboardOverlay(game, stage, contentTable);
         levelManager = game.getResourceHandler().getLevelManager();
-        font = new BitmapFont();
+        font = game.getResourceHandler().getBodyFont();
+        fishManager = game.getResourceHandler().getFishManager();
+        fishFontBig = new FishFontBig(game);
     }
 
     /**
@@ -97,6 +123,8 @@ public class LevelSelectionScreen extends FFBaseScreen {
 
         // Create and configure scroll pane
         addScrollPane(levelsTable, availableHeight);
+
+        addModeButtons();
     }
 
     /**
@@ -230,6 +258,7 @@ public class LevelSelectionScreen extends FFBaseScreen {
         );
 
         Button button = new Button(style);
+        button.setName(levelId);
         button.addListener(createFolderClickListener(levelId));
         levelCell.add(button).row();
     }
@@ -345,6 +374,71 @@ public class LevelSelectionScreen extends FFBaseScreen {
         contentTable.add(scrollPane).expand().top().fill().maxHeight(availableHeight);
     }
 
+    /**
+     * Adds the buttons of the daily challenge, of the endless mode, of the best runs and of the statistics below the grid.
+     * <p>
+     * The game modes and the views of past runs get a row each, as four buttons don't fit next to each other.
+     * <p>
+     * The daily challenge of today is generated right here, which is fast enough not to delay the screen.
+     */
+    private void addModeButtons() {
+        Table modes = new Table();
+
+        long startNanos = System.nanoTime();
+        Level daily = levelManager.createDailyLevel(fishManager, LocalDate.now());
+        if (daily != null) {
+            log.debug("Generated daily challenge {} in {} us", daily.getId(), (System.nanoTime() - startNanos) / 1000);
+
+            String dailyText = levelManager.isLevelCompleted(daily.getId()) ? "Daily (done)"
+                : levelManager.isLevelFailed(daily.getId()) ? "Daily (failed)" : "Daily";
+            modes.add(createModeButton(dailyText, "daily", () -> {
+                levelManager.setActiveLevel(daily);
+                game.setScreen(new LevelScreen(game, daily));
+            })).padRight(20);
+        }
+
+        String endlessText = levelManager.isLevelInProgress(EndlessLevel.ID) ? "Continue Endless" : "Endless";
+        modes.add(createModeButton(endlessText, EndlessLevel.ID, () -> {
+            if (levelManager.loadEndlessLevel(fishManager) && levelManager.getActiveLevel() != null) {
+                game.setScreen(new LevelScreen(game, levelManager.getActiveLevel()));
+            } else {
+                log.error("Unable to start an endless run");
+            }
+        }));
+        modes.row().padTop(10);
+
+        modes.add(createModeButton("Best", "leaderboard", () -> leaderboardOverlay.show(null))).padRight(20);
+        modes.add(createModeButton("Stats", "stats", statsOverlay::show));
+
+        contentTable.row();
+        contentTable.add(modes).center().padBottom(10);
+    }
+
+    /**
+     * Creates a button starting a game mode.
+     *
+     * @param text The text of the button
+     * @param name The name of the button
+     * @param action Starts the game mode when the button is clicked
+     * @return The configured button
+     */
+    private TextButton createModeButton(String text, String name, Runnable action) {
+        TextButton button = fishFontBig.createButton(text, fishFontBig.createButtonStyle(
+            monitorSkin.getDrawable("menu_button"),
+            monitorSkin.getDrawable("menu_button-pressed"),
+            monitorSkin.getDrawable("menu_button-hovered"),
+            1.2F
+        ));
+        button.setName(name);
+        button.addListener(new ClickListener() {
+            @Override
+            public void clicked(InputEvent event, float x, float y) {
+                action.run();
+            }
+        });
+        return button;
+    }
+
     /**
      * Loads and transitions to the selected level screen.
      *
@@ -381,7 +475,7 @@ public class LevelSelectionScreen extends FFBaseScreen {
     /**
      * Renders the level selection screen and handles input.
      * <p>
-     * Checks for escape key presses to show/hide the exit dialog.
+     * Checks for escape key presses to show/hide the exit dialog, or to close the best runs or the statistics.
      *
      * @param delta Time in seconds since the last frame
      */
@@ -391,21 +485,15 @@ public class LevelSelectionScreen extends FFBaseScreen {
 
         // Handle escape key for showing/hiding the exit dialog
         if (Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE)) {
-            if (!exitDialog.isVisible()) {
+            if (statsOverlay.isVisible()) {
+                statsOverlay.hide();
+            } else if (leaderboardOverlay.isVisible()) {
+                leaderboardOverlay.hide();
+            } else if (!exitDialog.isVisible()) {
                 showExitDialog();
             } else {
                 exitDialog.hide();
             }
         }
     }
-
-    /**
-     * Disposes of resources when the screen is no longer needed.
-     */
-    @Override
-    public void dispose() {
-        super.dispose();
-        exitDialog.dispose();
-        font.dispose();
-    }
 }
@@ -0,0 +1,351 @@
+package dev.juliusabels.fish_fiesta.screens.level;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.scenes.scene2d.InputEvent;
+import com.badlogic.gdx.scenes.scene2d.ui.Button;
+import com.badlogic.gdx.scenes.scene2d.ui.Image;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.scenes.scene2d.ui.Table;
+import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
+import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
+import com.badlogic.gdx.utils.Array;
+import dev.juliusabels.fish_fiesta.FishFiestaGame;
+import dev.juliusabels.fish_fiesta.game.level.Level;
+import dev.juliusabels.fish_fiesta.game.level.RushConveyor;
+import dev.juliusabels.fish_fiesta.screens.overlay.DialogButton;
+import dev.juliusabels.fish_fiesta.util.FishManager;
+import dev.juliusabels.fish_fiesta.util.FixedTimestep;
+import dev.juliusabels.fish_fiesta.util.ResourceHandler;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Timed rush mode of a level, where the fish arrive on a conveyor and have to be decided before they leave.
+ * <p>
+ * The fish of the level are put on the conveyor one after another, and the player decides
+ * about the one at the front with the buttons or the decision keys of {@link LevelScreen}.
+ * Fish leaving the conveyor undecided count as mistakes. The conveyor is driven by a
+ * {@link FixedTimestep} clock, so it runs at the same speed at any frame rate, and it pauses
+ * while the exit dialog or the journal is open.
+ * <p>
+ * For every decision the reaction time from the first frame showing the fish to the input
+ * event is measured. Key presses are timed by the backend when they arrive, clicks count
+ * when the button is released. The results are shown once the rush ends. Decisions are
+ * counted in the {@link dev.juliusabels.fish_fiesta.util.DecisionAnalytics} like those of
+ * the level, fish leaving undecided aren't decisions.
+ * <p>
+ * Everything the rush needs is set up when the screen is created, so putting fish on the
+ * conveyor, deciding about them and removing them doesn't allocate while playing.
+ * A rush doesn't change the saved progress of the level.
+ */
+@Slf4j
+public class RushLevelScreen extends LevelScreen {
+    /** Length of a step of the logic clock in seconds */
+    private static final float STEP = 1F / 60F;
+
+    /** Seconds between two fish arriving */
+    private static final float SPAWN_INTERVAL = 1.5F;
+
+    /** Seconds a fish stays on the conveyor */
+    private static final float TRAVEL_TIME = 4.5F;
+
+    /** Clock stepping the conveyor */
+    private final FixedTimestep clock = new FixedTimestep(STEP);
+
+    /** Logic of the conveyor */
+    private final RushConveyor conveyor;
+
+    /** Conditions each fish of the level fails, by position in the level, -1 for fish that can't be loaded */
+    private final int[] fishMismatches;
+
+    /** View drawing the conveyor */
+    private final ConveyorView conveyorView;
+
+    /** One icon per possible mistake, shown as mistakes are made */
+    private final Array<Image> mistakeIcons = new Array<>(RushConveyor.MAX_MISTAKES);
+
+    /** Whether the player has started the rush */
+    private boolean started;
+
+    /** Value of {@link System#nanoTime()} when the conveyor was paused, 0 while running */
+    private long pausedAtNanos;
+
+    /**
+     * Creates a new rush for the specified level.
+     * <p>
+     * Checks every fish against the conditions and resolves its animation frames up front.
+     *
+     * @param game The main game instance
+     * @param currentLevel The level whose fish arrive on the conveyor
+     */
+    public RushLevelScreen(FishFiestaGame game, Level currentLevel) {
+        super(game, currentLevel);
+        ResourceHandler resourceHandler = game.getResourceHandler();
+        FishManager fishManager = resourceHandler.getFishManager();
+
+        List<String> fishIds = currentLevel.getFishIDs();
+        boolean[] matches = new boolean[fishIds.size()];
+        fishMismatches = new int[fishIds.size()];
+        TextureRegion[][] fishFrames = new TextureRegion[fishIds.size()][];
+        Map<String, TextureRegion[]> framesById = new HashMap<>();
+        for (int i = 0; i < fishIds.size(); i++) {
+            String fishId = fishIds.get(i);
+            boolean loaded = fishManager.loadFishForId(fishId);
+            fishMismatches[i] = loaded ? currentLevel.evaluate(fishManager.getCurrentFish()) : -1;
+            matches[i] = fishMismatches[i] == 0;
+            fishFrames[i] = framesById.computeIfAbsent(fishId,
+                id -> resourceHandler.getFishFrames(assetOwner, id).toArray(TextureRegion.class));
+        }
+
+        conveyor = new RushConveyor(matches, clock.toSteps(SPAWN_INTERVAL), clock.toSteps(TRAVEL_TIME));
+        conveyorView = new ConveyorView(conveyor, clock, fishFrames, monitorSkin.getRegion("white"));
+        for (int i = 0; i < RushConveyor.MAX_MISTAKES; i++) {
+            Image icon = new Image(monitorSkin.getDrawable("mistake-icon"));
+            icon.setVisible(false);
+            mistakeIcons.add(icon);
+        }
+    }
+
+    /**
+     * Builds the UI with the mistakes display, the conveyor and the conditions,
+     * or the results once the rush has ended.
+     */
+    @Override
+    public void show() {
+        contentTable.clear();
+        activateInput();
+
+        if (conveyor.isFinished()) {
+            contentTable.add(createResultsWindow()).expand().center();
+            return;
+        }
+
+        contentTable.add(createMistakesDisplay()).row();
+        contentTable.add(createConveyorWindow()).expand().left().padLeft(30).padBottom(160);
+        contentTable.add(createConditionsWindow()).expand().right().padRight(20).padBottom(100);
+    }
+
+    /**
+     * Steps the conveyor with the time of this frame before drawing it.
+     * <p>
+     * While the exit dialog or the journal is open, the conveyor stands still and the time
+     * isn't counted as reaction time. The frame ending a pause doesn't step the conveyor, so
+     * it continues exactly where it stopped.
+     *
+     * @param delta Time elapsed since the last frame
+     */
+    @Override
+    public void render(float delta) {
+        if (started && !conveyor.isFinished()) {
+            if (isOverlayVisible()) {
+                if (pausedAtNanos == 0) {
+                    pausedAtNanos = System.nanoTime();
+                }
+            } else if (pausedAtNanos != 0) {
+                conveyor.delayShownTimes(System.nanoTime() - pausedAtNanos);
+                pausedAtNanos = 0;
+            } else {
+                for (int steps = clock.advance(delta); steps > 0; steps--) {
+                    conveyor.step();
+                }
+                conveyorChanged();
+            }
+        }
+        super.render(delta);
+    }
+
+    /**
+     * Decides about the fish at the front of the conveyor.
+     * <p>
+     * The reaction time ends with the input event, as timed by the backend.
+     *
+     * @param accept Whether the fish is accepted
+     * @return true if there was a fish to decide about
+     */
+    @Override
+    protected boolean decide(boolean accept) {
+        if (!started || conveyor.isFinished() || conveyor.getCount() == 0 || isOverlayVisible()) return false;
+
+        long eventNanos = Gdx.input.getCurrentEventTime();
+        int position = conveyor.getFish(0);
+        conveyor.decide(accept, eventNanos != 0 ? eventNanos : System.nanoTime());
+        if (fishMismatches[position] >= 0) {
+            long reactionNanos = conveyor.getLastReactionNanos();
+            decisionAnalytics.record(currentLevel.getId(), currentLevel.getFishIDs().get(position), accept,
+                fishMismatches[position], reactionNanos < 0 ? -1 : reactionNanos / 1_000_000);
+        }
+        conveyorChanged();
+        return true;
+    }
+
+    /**
+     * Shows the mistakes made so far and the results once the rush has ended.
+     */
+    private void conveyorChanged() {
+        for (int i = 0; i < mistakeIcons.size; i++) {
+            mistakeIcons.get(i).setVisible(i < conveyor.getMistakes());
+        }
+
+        if (conveyor.isFinished()) {
+            log.info("{} rush {}: {} of {} correct, {} missed, reaction {} ms on average, {} ms at the 95th percentile",
+                conveyor.isFailed() ? "Failed" : "Finished", currentLevel.getId(), conveyor.getCorrect(),
+                conveyor.getFishAmount(), conveyor.getMissed(), conveyor.getAverageReactionNanos() / 1_000_000,
+                conveyor.getReactionPercentileNanos(95) / 1_000_000);
+            show();
+        }
+    }
+
+    /**
+     * Shows only the option to resume or to leave, as a rush can't be saved.
+     */
+    @Override
+    protected void showExitDialog() {
+        exitDialog.showButtons(
+            new DialogButton("Resume") {
+                @Override
+                public void run() {
+                    // Do nothing & resume the rush
+                }
+            },
+            new DialogButton("Exit") {
+                @Override
+                public void run() {
+                    game.setScreen(new LevelSelectionScreen(game));
+                }
+            }
+        );
+    }
+
+    /**
+     * Keeps rendering while the conveyor is moving.
+     *
+     * @return true if the conveyor or the base screen needs further frames
+     */
+    @Override
+    protected boolean isAnimating() {
+        return super.isAnimating() || (started && !conveyor.isFinished() && !isOverlayVisible());
+    }
+
+    /**
+     * Creates the mistakes display with an icon for every possible mistake, hidden until it is made.
+     *
+     * @return A table containing the mistakes display
+     */
+    private Table createMistakesDisplay() {
+        Table mistakes = new Table();
+        mistakes.background(monitorSkin.getDrawable("mistake-bg"));
+        mistakes.add(fishFontBig.createLabel("Mistakes: ", 1.0F)).space(5).padBottom(3);
+        for (Image icon : mistakeIcons) {
+            mistakes.add(icon).space(5).padBottom(3);
+        }
+        return mistakes;
+    }
+
+    /**
+     * Creates the window showing either the start button or the conveyor with the decision buttons.
+     *
+     * @return A table containing the conveyor window
+     */
+    private Table createConveyorWindow() {
+        Table window = new Table();
+        window.background(monitorSkin.getDrawable("fishcam-window"));
+        window.add(fishFontBig.createLabel("Rush", 1.1F)).top().padTop(5).padLeft(4).left().row();
+
+        if (!started) {
+            Button startButton = new Button(
+                monitorSkin.getDrawable("start_button"),
+                monitorSkin.getDrawable("start_button-down")
+            );
+            startButton.setName("start");
+            startButton.addListener(new ClickListener() {
+                @Override
+                public void clicked(InputEvent event, float x, float y) {
+                    started = true;
+                    show();
+                }
+            });
+            window.add(startButton).expand().center();
+            return window;
+        }
+
+        window.add(conveyorView).expand().fill().padTop(20).row();
+
+        Table buttons = new Table();
+        buttons.add(createDecisionButton("accept", true)).padRight(20);
+        buttons.add(createDecisionButton("deny", false)).padLeft(20);
+        window.add(buttons).center().padBottom(7).row();
+        return window;
+    }
+
+    /**
+     * Creates a button deciding about the fish at the front of the conveyor.
+     *
+     * @param name The name of the button and the suffix of its drawables
+     * @param accept Whether the button accepts the fish
+     * @return The decision button
+     */
+    private Button createDecisionButton(String name, boolean accept) {
+        Button button = new Button(
+            monitorSkin.getDrawable("fishcam-" + name),
+            monitorSkin.getDrawable("fishcam-" + name + "-down")
+        );
+        button.setName(name);
+        button.addListener(new ClickListener() {
+            @Override
+            public void clicked(InputEvent event, float x, float y) {
+                decide(accept);
+            }
+        });
+        return button;
+    }
+
+    /**
+     * Creates the window with the results of the rush and a button back to the level selection.
+     *
+     * @return A table containing the results
+     */
+    private Table createResultsWindow() {
+        Table window = new Table();
+        window.background(monitorSkin.getDrawable("fishcam-window"));
+        window.add(fishFontBig.createLabel(conveyor.isFailed() ? "Rush failed" : "Rush complete", 1.1F))
+            .top().padTop(5).padLeft(4).left().row();
+
+        Table results = new Table();
+        addResult(results, "Correct: " + conveyor.getCorrect() + " / " + conveyor.getFishAmount());
+        addResult(results, "Missed: " + conveyor.getMissed());
+        addResult(results, "Average reaction: " + conveyor.getAverageReactionNanos() / 1_000_000 + " ms");
+        addResult(results, "Fastest reaction: " + conveyor.getReactionPercentileNanos(0) / 1_000_000 + " ms");
+        window.add(results).expand().fill().pad(10).row();
+
+        TextButton backButton = fishFontBig.createButton("Back", fishFontBig.createButtonStyle(
+            monitorSkin.getDrawable("menu_button"),
+            monitorSkin.getDrawable("menu_button-pressed"),
+            monitorSkin.getDrawable("menu_button-hovered"),
+            1.2F
+        ));
+        backButton.setName("back");
+        backButton.addListener(new ClickListener() {
+            @Override
+            public void clicked(InputEvent event, float x, float y) {
+                game.setScreen(new LevelSelectionScreen(game));
+            }
+        });
+        window.add(backButton).center().padBottom(10);
+        return window;
+    }
+
+    /**
+     * Adds a line to the results.
+     *
+     * @param results The table of results
+     * @param text The line to add
+     */
+    private void addResult(Table results, String text) {
+        Label label = fishFontBig.createLabel(text, 0.8F);
+        results.add(label).left().padTop(5).row();
+    }
+}
@@ -86,6 +86,7 @@ public class DialogOverlay {
 
         for (DialogButton button : buttons) {
             TextButton textButton = font.createButton(button.getName(), buttonStyle);
+            textButton.setName(button.getName());
             textButton.addListener(new ClickListener() {
                 @Override
                 public void clicked(InputEvent event, float x, float y) {
@@ -120,14 +121,4 @@ public class DialogOverlay {
     public boolean isVisible() {
         return overlayTable.isVisible();
     }
-
-    /**
-     * Disposes of resources when the overlay is no longer needed.
-     * <p>
-     * This method should be called when the screen containing this overlay
-     * is disposed to prevent memory leaks.
-     */
-    public void dispose() {
-        font.dispose();
-    }
 }
@@ -0,0 +1,177 @@
+package dev.juliusabels.fish_fiesta.screens.overlay;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.scenes.scene2d.InputEvent;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.scenes.scene2d.Touchable;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.scenes.scene2d.ui.Table;
+import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
+import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
+import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.Null;
+import dev.juliusabels.fish_fiesta.FishFiestaGame;
+import dev.juliusabels.fish_fiesta.game.level.DailyChallenge;
+import dev.juliusabels.fish_fiesta.game.level.EndlessLevel;
+import dev.juliusabels.fish_fiesta.util.FishFontBig;
+import dev.juliusabels.fish_fiesta.util.Leaderboard;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Overlay showing the best runs of a level or of all levels.
+ * <p>
+ * Like the {@link StatsOverlay}, it darkens the screen and disables interaction with it while
+ * visible. The runs are read off the front of the rankings of the {@link Leaderboard} when the
+ * overlay is shown, so it opens right away. If the leaderboard file hasn't been read yet, the
+ * overlay says so instead of waiting for it.
+ */
+public class LeaderboardOverlay {
+    /** Number of runs listed */
+    private static final int LISTED_RUNS = 10;
+
+    /** Scale of the text lines */
+    private static final float TEXT_SCALE = 0.6F;
+
+    /** Color of the panel behind the runs */
+    private static final Color PANEL_COLOR = new Color(0.93F, 0.93F, 0.88F, 1F);
+
+    /** Source of the runs */
+    private final Leaderboard leaderboard;
+
+    /** Custom font for all text */
+    private final FishFontBig font;
+
+    /** Skin the drawables are taken from */
+    private final Skin monitorSkin;
+
+    /** The root table for the overlay that covers the entire screen */
+    private final Table overlayTable;
+
+    /** Reference to the active screen's content table to manage interaction state */
+    private final Table activeScreenTable;
+
+    /**
+     * Creates a new, hidden leaderboard overlay.
+     *
+     * @param game The main game instance
+     * @param stage The stage to which the overlay will be added
+     * @param activeScreenTable The content table of the active screen
+     */
+    public LeaderboardOverlay(FishFiestaGame game, Stage stage, Table activeScreenTable) {
+        this.leaderboard = game.getResourceHandler().getLeaderboard();
+        this.font = new FishFontBig(game);
+        this.monitorSkin = game.getResourceHandler().getMonitorSkin();
+        this.activeScreenTable = activeScreenTable;
+
+        overlayTable = new Table();
+        overlayTable.setFillParent(true);
+        overlayTable.align(Align.center);
+        overlayTable.setVisible(false);
+        overlayTable.setBackground(monitorSkin.newDrawable("white", new Color(0, 0, 0, 0.2F)));
+
+        stage.addActor(overlayTable);
+    }
+
+    /**
+     * Reads the best runs and shows them.
+     *
+     * @param levelId The ID of the level to show the best runs of, or null for the best runs of all levels
+     */
+    public void show(@Null String levelId) {
+        activeScreenTable.setTouchable(Touchable.disabled);
+
+        Table panel = new Table();
+        panel.setBackground(monitorSkin.newDrawable("white", PANEL_COLOR));
+        panel.pad(12).top().left();
+        panel.defaults().left().padTop(3);
+        String title = levelId == null ? "Best Runs" : "Best Runs: " + getLevelName(levelId);
+        panel.add(font.createLabel(title, 1.1F, Color.BLACK)).padBottom(6).row();
+
+        if (!leaderboard.isLoaded()) {
+            addLine(panel, "The leaderboard is still loading");
+        } else {
+            addRuns(panel, levelId);
+        }
+
+        TextButton closeButton = font.createButton("Close", font.createButtonStyle(
+            monitorSkin.getDrawable("menu_button"),
+            monitorSkin.getDrawable("menu_button-pressed"),
+            monitorSkin.getDrawable("menu_button-hovered"),
+            1.2F
+        ));
+        closeButton.setName("leaderboard-close");
+        closeButton.addListener(new ClickListener() {
+            @Override
+            public void clicked(InputEvent event, float x, float y) {
+                hide();
+            }
+        });
+        panel.add(closeButton).expandY().bottom().center().padTop(10);
+
+        overlayTable.clear();
+        overlayTable.add(panel).width(400).height(380);
+        overlayTable.setVisible(true);
+    }
+
+    /**
+     * Adds one line per listed run, best first. The runs of all levels also name their level.
+     *
+     * @param panel The panel to add the lines to
+     * @param levelId The ID of the level to list the runs of, or null for all levels
+     */
+    private void addRuns(Table panel, @Null String levelId) {
+        List<Leaderboard.Run> runs = levelId == null
+            ? leaderboard.getGlobalTopRuns(LISTED_RUNS)
+            : leaderboard.getTopRuns(levelId, LISTED_RUNS);
+        if (runs.isEmpty()) {
+            addLine(panel, "No runs recorded yet");
+            return;
+        }
+
+        for (int i = 0; i < runs.size(); i++) {
+            Leaderboard.Run run = runs.get(i);
+            long seconds = run.getDurationMillis() / 1000;
+            String level = levelId == null ? getLevelName(run.getLevelId()) + ": " : "";
+            addLine(panel, String.format("%d. %s%d correct, %d mistakes, %d:%02d, %s%s",
+                i + 1, level, run.getScore(), run.getMistakes(), seconds / 60, seconds % 60,
+                Instant.ofEpochMilli(run.getEpochMillis()).atZone(ZoneId.systemDefault()).toLocalDate(),
+                run.isCompleted() ? "" : " (failed)"));
+        }
+    }
+
+    /**
+     * @param levelId The ID of a level
+     * @return The name of the level as shown to the player
+     */
+    private static String getLevelName(String levelId) {
+        if (DailyChallenge.isDailyId(levelId)) return "Daily " + levelId.substring(DailyChallenge.ID_PREFIX.length());
+        if (levelId.equals(EndlessLevel.ID)) return "Endless";
+        return "Level " + levelId.replace("level", "");
+    }
+
+    /**
+     * @param panel The panel to add the line to
+     * @param text The text of the line
+     */
+    private void addLine(Table panel, String text) {
+        panel.add(font.createLabel(text, TEXT_SCALE, Color.BLACK)).row();
+    }
+
+    /**
+     * Hides the overlay and re-enables interaction with the main screen.
+     */
+    public void hide() {
+        overlayTable.setVisible(false);
+        activeScreenTable.setTouchable(Touchable.enabled);
+    }
+
+    /**
+     * @return true if the overlay is currently visible
+     */
+    public boolean isVisible() {
+        return overlayTable.isVisible();
+    }
+}
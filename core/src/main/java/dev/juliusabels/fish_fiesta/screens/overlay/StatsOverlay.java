@@ -0,0 +1,246 @@
+package dev.juliusabels.fish_fiesta.screens.overlay;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.scenes.scene2d.InputEvent;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.scenes.scene2d.Touchable;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.scenes.scene2d.ui.Table;
+import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
+import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
+import com.badlogic.gdx.utils.Align;
+import dev.juliusabels.fish_fiesta.FishFiestaGame;
+import dev.juliusabels.fish_fiesta.game.level.ConditionType;
+import dev.juliusabels.fish_fiesta.game.level.EndlessLevel;
+import dev.juliusabels.fish_fiesta.util.DecisionAnalytics;
+import dev.juliusabels.fish_fiesta.util.DecisionStats;
+import dev.juliusabels.fish_fiesta.util.FishFontBig;
+import dev.juliusabels.fish_fiesta.util.FishManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Overlay showing the aggregated statistics of all decisions.
+ * <p>
+ * Like a {@link DialogOverlay}, it darkens the screen and disables interaction with it while
+ * visible. It shows the accuracy and reaction times over all levels, the fish misjudged most,
+ * the conditions causing the most mistakes and the levels with the lowest accuracy.
+ * <p>
+ * Everything is read from the {@link DecisionAnalytics} when the overlay is shown, which only
+ * copies a few counters and looks at every fish once, so it opens right away.
+ */
+public class StatsOverlay {
+    /** Number of fish listed as misjudged most */
+    private static final int MISJUDGED_FISH = 5;
+
+    /** Number of levels listed with the lowest accuracy */
+    private static final int HARDEST_LEVELS = 4;
+
+    /** Scale of the text lines */
+    private static final float TEXT_SCALE = 0.6F;
+
+    /** Color of the panel behind the statistics */
+    private static final Color PANEL_COLOR = new Color(0.93F, 0.93F, 0.88F, 1F);
+
+    /** Source of the statistics */
+    private final DecisionAnalytics analytics;
+
+    /** Custom font for all text */
+    private final FishFontBig font;
+
+    /** Skin the drawables are taken from */
+    private final Skin monitorSkin;
+
+    /** The root table for the overlay that covers the entire screen */
+    private final Table overlayTable;
+
+    /** Reference to the active screen's content table to manage interaction state */
+    private final Table activeScreenTable;
+
+    /**
+     * Creates a new, hidden stats overlay.
+     *
+     * @param game The main game instance
+     * @param stage The stage to which the overlay will be added
+     * @param activeScreenTable The content table of the active screen
+     */
+    public StatsOverlay(FishFiestaGame game, Stage stage, Table activeScreenTable) {
+        this.analytics = game.getResourceHandler().getDecisionAnalytics();
+        this.font = new FishFontBig(game);
+        this.monitorSkin = game.getResourceHandler().getMonitorSkin();
+        this.activeScreenTable = activeScreenTable;
+
+        overlayTable = new Table();
+        overlayTable.setFillParent(true);
+        overlayTable.align(Align.center);
+        overlayTable.setVisible(false);
+        overlayTable.setBackground(monitorSkin.newDrawable("white", new Color(0, 0, 0, 0.2F)));
+
+        stage.addActor(overlayTable);
+    }
+
+    /**
+     * Reads the current statistics and shows them.
+     */
+    public void show() {
+        activeScreenTable.setTouchable(Touchable.disabled);
+
+        Table panel = new Table();
+        panel.setBackground(monitorSkin.newDrawable("white", PANEL_COLOR));
+        panel.pad(12).top().left();
+        panel.defaults().left().padTop(3);
+        panel.add(font.createLabel("Decision Stats", 1.1F, Color.BLACK)).padBottom(6).row();
+
+        DecisionStats.LevelStats total = analytics.getTotalStats();
+        if (total == null || total.getDecisions() == 0) {
+            addLine(panel, "No decisions made yet");
+        } else {
+            addTotals(panel, total);
+            addMisjudgedFish(panel);
+            addHotspots(panel, total);
+            addHardestLevels(panel);
+        }
+
+        TextButton closeButton = font.createButton("Close", font.createButtonStyle(
+            monitorSkin.getDrawable("menu_button"),
+            monitorSkin.getDrawable("menu_button-pressed"),
+            monitorSkin.getDrawable("menu_button-hovered"),
+            1.2F
+        ));
+        closeButton.setName("stats-close");
+        closeButton.addListener(new ClickListener() {
+            @Override
+            public void clicked(InputEvent event, float x, float y) {
+                hide();
+            }
+        });
+        panel.add(closeButton).expandY().bottom().center().padTop(10);
+
+        overlayTable.clear();
+        overlayTable.add(panel).width(400).height(380);
+        overlayTable.setVisible(true);
+    }
+
+    /**
+     * Adds the decisions, accuracy and reaction times over all levels.
+     *
+     * @param panel The panel to add the lines to
+     * @param total The statistics of all levels
+     */
+    private void addTotals(Table panel, DecisionStats.LevelStats total) {
+        addLine(panel, String.format("%d decisions, %d%% correct", total.getDecisions(), percent(total.getAccuracy())));
+        addLine(panel, String.format("Reaction: %.2fs median, %.2fs for 90%%",
+            total.getReactionPercentileMillis(50) / 1000F, total.getReactionPercentileMillis(90) / 1000F));
+    }
+
+    /**
+     * Adds the fish with the most mistakes.
+     *
+     * @param panel The panel to add the lines to
+     */
+    private void addMisjudgedFish(Table panel) {
+        List<DecisionStats.FishStats> misjudged = analytics.getMostMisjudged(MISJUDGED_FISH);
+        if (misjudged.isEmpty()) return;
+
+        addHeading(panel, "Misjudged most");
+        for (DecisionStats.FishStats fish : misjudged) {
+            addLine(panel, String.format("%s: %d of %d wrong, %d accepted",
+                FishManager.formatIdToName(fish.getFishId()), fish.getMistakes(), fish.getDecisions(), fish.getWrongAccepts()));
+        }
+    }
+
+    /**
+     * Adds the conditions wrongly accepted fish failed, most mistakes first, and the wrongly denied fish.
+     *
+     * @param panel The panel to add the lines to
+     * @param total The statistics of all levels
+     */
+    private void addHotspots(Table panel, DecisionStats.LevelStats total) {
+        if (total.getMistakes() == 0) return;
+
+        List<ConditionType> types = new ArrayList<>(List.of(ConditionType.values()));
+        types.sort((a, b) -> Integer.compare(total.getConditionMistakes(b), total.getConditionMistakes(a)));
+
+        StringBuilder builder = new StringBuilder();
+        for (ConditionType type : types) {
+            if (total.getConditionMistakes(type) == 0) continue;
+            if (!builder.isEmpty()) {
+                builder.append(", ");
+            }
+            builder.append(FishManager.formatIdToName(type.name().toLowerCase())).append(' ').append(total.getConditionMistakes(type));
+        }
+
+        addHeading(panel, "Mistakes by condition");
+        if (!builder.isEmpty()) {
+            addLine(panel, builder.toString());
+        }
+        addLine(panel, "Denied although fine: " + total.getWrongDenies());
+    }
+
+    /**
+     * Adds the played levels with the lowest accuracy.
+     *
+     * @param panel The panel to add the lines to
+     */
+    private void addHardestLevels(Table panel) {
+        List<DecisionStats.LevelStats> levels = new ArrayList<>(analytics.getPlayedLevelStats());
+        levels.sort((a, b) -> Float.compare(a.getAccuracy(), b.getAccuracy()));
+
+        addHeading(panel, "Hardest levels");
+        for (int i = 0; i < Math.min(HARDEST_LEVELS, levels.size()); i++) {
+            DecisionStats.LevelStats level = levels.get(i);
+            addLine(panel, String.format("%s: %d%% of %d correct",
+                getLevelName(level.getLevelKey()), percent(level.getAccuracy()), level.getDecisions()));
+        }
+    }
+
+    /**
+     * @param levelKey The key the level is counted under
+     * @return The name of the level as shown to the player
+     */
+    private static String getLevelName(String levelKey) {
+        if (levelKey.equals(DecisionStats.DAILY_KEY)) return "Daily";
+        if (levelKey.equals(EndlessLevel.ID)) return "Endless";
+        return "Level " + levelKey.replace("level", "");
+    }
+
+    /**
+     * @param share A share between 0 and 1
+     * @return The share in whole percent
+     */
+    private static int percent(float share) {
+        return Math.round(share * 100);
+    }
+
+    /**
+     * @param panel The panel to add the heading to
+     * @param text The text of the heading
+     */
+    private void addHeading(Table panel, String text) {
+        panel.add(font.createLabel(text, 0.8F, Color.BLACK)).padTop(8).row();
+    }
+
+    /**
+     * @param panel The panel to add the line to
+     * @param text The text of the line
+     */
+    private void addLine(Table panel, String text) {
+        panel.add(font.createLabel(text, TEXT_SCALE, Color.BLACK)).row();
+    }
+
+    /**
+     * Hides the overlay and re-enables interaction with the main screen.
+     */
+    public void hide() {
+        overlayTable.setVisible(false);
+        activeScreenTable.setTouchable(Touchable.enabled);
+    }
+
+    /**
+     * @return true if the overlay is currently visible
+     */
+    public boolean isVisible() {
+        return overlayTable.isVisible();
+    }
+}
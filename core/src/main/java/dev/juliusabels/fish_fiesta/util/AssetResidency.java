@@ -0,0 +1,268 @@
+package dev.juliusabels.fish_fiesta.util;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.utils.ObjectSet;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Decides which assets stay loaded in the {@link AssetManager}.
+ * <p>
+ * Screens and overlays retain the assets they use and release them when they are disposed.
+ * Each asset counts the owners retaining it and remembers when it was used last. As soon as
+ * the estimated memory of all loaded assets exceeds the budget, assets without owners are
+ * unloaded, least recently used first. An evicted asset is loaded again the next time it
+ * is needed.
+ * <p>
+ * Memory is estimated per asset from its textures (GPU) and its regions and glyphs (CPU).
+ * The budget in megabytes can be set with the system property {@value #BUDGET_PROPERTY}.
+ */
+@Slf4j
+public class AssetResidency {
+    /** System property setting the memory budget in megabytes */
+    public static final String BUDGET_PROPERTY = "fishfiesta.assetBudgetMb";
+
+    /** Budget in megabytes if the property is not set */
+    private static final long DEFAULT_BUDGET_MB = 256;
+
+    /** Estimated CPU memory of one atlas region or glyph, including its object overhead */
+    private static final long BYTES_PER_REGION = 96;
+
+    /** The asset manager the assets are loaded with */
+    private final AssetManager assetManager;
+
+    /** Tracked assets by path, in least recently used order */
+    private final Map<String, Residency> residencies = new LinkedHashMap<>(16, 0.75F, true);
+
+    /** Maximum estimated memory of all loaded assets in bytes */
+    @Getter
+    private final long budgetBytes;
+
+    /** Estimated memory of all currently loaded assets in bytes */
+    @Getter
+    private long residentBytes;
+
+    /**
+     * Creates a new residency manager with the configured budget.
+     *
+     * @param assetManager The asset manager the assets are loaded with
+     */
+    public AssetResidency(AssetManager assetManager) {
+        this.assetManager = assetManager;
+        this.budgetBytes = Long.getLong(BUDGET_PROPERTY, DEFAULT_BUDGET_MB) * 1024 * 1024;
+    }
+
+    /**
+     * Starts tracking an asset, unless it is tracked already.
+     * <p>
+     * The asset doesn't have to be queued in the asset manager yet, it is loaded on first use.
+     *
+     * @param descriptor The descriptor the asset is loaded with, also after eviction
+     */
+    public void register(AssetDescriptor<?> descriptor) {
+        residencies.putIfAbsent(descriptor.fileName, new Residency(descriptor));
+    }
+
+    /**
+     * Returns a tracked asset and marks it as used, loading it first if needed.
+     * <p>
+     * Blocks until the asset is loaded. Assets evicted before are queued again.
+     *
+     * @param path The path of the asset
+     * @return The loaded asset
+     */
+    public <T> T use(String path) {
+        Residency residency = residencies.get(path);
+        if (residency == null) {
+            throw new IllegalArgumentException("Asset " + path + " is not tracked");
+        }
+
+        if (!assetManager.isLoaded(path)) {
+            if (!assetManager.contains(path)) {
+                log.info("Loading asset {}, which was evicted or never queued", path);
+                assetManager.load(residency.descriptor);
+            }
+            long start = System.nanoTime();
+            assetManager.finishLoadingAsset(path);
+            log.info("Waited {} ms for {}", (System.nanoTime() - start) / 1_000_000, path);
+        }
+
+        estimateLoadedAssets();
+        T asset = assetManager.get(path);
+        enforceBudget(path);
+        return asset;
+    }
+
+    /**
+     * Marks an asset as needed by an owner, so it won't be evicted until the owner releases it.
+     *
+     * @param owner The screen or overlay using the asset
+     * @param path The path of the asset
+     * @return The loaded asset
+     */
+    public <T> T retain(Object owner, String path) {
+        T asset = use(path);
+        residencies.get(path).owners.add(owner);
+        return asset;
+    }
+
+    /**
+     * Releases all assets retained by an owner and evicts assets if the budget is exceeded.
+     *
+     * @param owner The screen or overlay that no longer uses its assets
+     */
+    public void release(Object owner) {
+        for (Residency residency : residencies.values()) {
+            residency.owners.remove(owner);
+        }
+        enforceBudget(null);
+    }
+
+    /**
+     * Estimates the memory of assets that finished loading since the last call.
+     * <p>
+     * Called after every loading step, so the resident bytes are always up to date.
+     */
+    public void updateEstimates() {
+        estimateLoadedAssets();
+        enforceBudget(null);
+    }
+
+    /**
+     * Estimates the memory of all loaded assets that haven't been estimated yet.
+     */
+    private void estimateLoadedAssets() {
+        for (Map.Entry<String, Residency> entry : residencies.entrySet()) {
+            Residency residency = entry.getValue();
+            if (residency.bytes == 0 && assetManager.isLoaded(entry.getKey())) {
+                residency.bytes = estimateBytes(entry.getKey(), assetManager.get(entry.getKey()));
+                residentBytes += residency.bytes;
+            }
+        }
+    }
+
+    /**
+     * Unloads least recently used assets without owners until the resident memory fits the budget again.
+     *
+     * @param exempt The path of an asset that is about to be used and must not be evicted, or null
+     */
+    private void enforceBudget(String exempt) {
+        Iterator<Map.Entry<String, Residency>> iterator = residencies.entrySet().iterator();
+        while (residentBytes > budgetBytes && iterator.hasNext()) {
+            Map.Entry<String, Residency> entry = iterator.next();
+            Residency residency = entry.getValue();
+            if (!residency.owners.isEmpty() || residency.bytes == 0 || entry.getKey().equals(exempt)) continue;
+
+            assetManager.unload(entry.getKey());
+            residentBytes -= residency.bytes;
+            log.info("Evicted {} ({} KB), {} of {} KB resident", entry.getKey(), residency.bytes / 1024,
+                residentBytes / 1024, budgetBytes / 1024);
+            residency.bytes = 0;
+        }
+    }
+
+    /**
+     * Estimates the memory used by a loaded asset.
+     *
+     * @param path The path of the asset, used for logging
+     * @param asset The asset
+     * @return The estimated CPU and GPU memory in bytes
+     */
+    private static long estimateBytes(String path, Object asset) {
+        ObjectSet<Texture> textures = new ObjectSet<>();
+        long cpuBytes = 0;
+
+        if (asset instanceof Texture texture) {
+            textures.add(texture);
+        } else if (asset instanceof TextureAtlas atlas) {
+            textures.addAll(atlas.getTextures());
+            cpuBytes += atlas.getRegions().size * BYTES_PER_REGION;
+        } else if (asset instanceof Skin skin && skin.getAtlas() != null) {
+            textures.addAll(skin.getAtlas().getTextures());
+            cpuBytes += skin.getAtlas().getRegions().size * BYTES_PER_REGION;
+        } else if (asset instanceof BitmapFont font) {
+            for (TextureRegion region : font.getRegions()) {
+                textures.add(region.getTexture());
+            }
+            for (BitmapFont.Glyph[] page : font.getData().glyphs) {
+                if (page == null) continue;
+                for (BitmapFont.Glyph glyph : page) {
+                    if (glyph != null) cpuBytes += BYTES_PER_REGION;
+                }
+            }
+        }
+
+        long gpuBytes = 0;
+        for (Texture texture : textures) {
+            gpuBytes += estimateGpuBytes(texture);
+        }
+        log.debug("Estimated {}: {} KB GPU, {} KB CPU", path, gpuBytes / 1024, cpuBytes / 1024);
+        return cpuBytes + gpuBytes;
+    }
+
+    /**
+     * Estimates the video memory of a texture.
+     * <p>
+     * Compressed textures (KTX) are counted with one byte per pixel, which fits BC3 and
+     * ETC2 RGBA. Mipmaps add a third.
+     *
+     * @param texture The texture
+     * @return The estimated video memory in bytes
+     */
+    private static long estimateGpuBytes(Texture texture) {
+        TextureData data = texture.getTextureData();
+        long pixels = (long) texture.getWidth() * texture.getHeight();
+
+        long bytes;
+        if (data.getType() == TextureData.TextureDataType.Custom) {
+            bytes = pixels;
+        } else {
+            bytes = switch (data.getFormat()) {
+                case Alpha, Intensity -> pixels;
+                case LuminanceAlpha, RGB565, RGBA4444 -> pixels * 2;
+                case RGB888 -> pixels * 3;
+                case RGBA8888 -> pixels * 4;
+            };
+        }
+
+        if (texture.getMinFilter().isMipMap()) {
+            bytes += bytes / 3;
+        }
+        return bytes;
+    }
+
+    /**
+     * Residency state of a single asset.
+     */
+    private static class Residency {
+        /** The descriptor the asset was queued with */
+        private final AssetDescriptor<?> descriptor;
+
+        /** Screens and overlays currently retaining the asset */
+        private final Set<Object> owners = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        /** Estimated memory of the asset while loaded, 0 while not loaded */
+        private long bytes;
+
+        /**
+         * @param descriptor The descriptor the asset was queued with
+         */
+        private Residency(AssetDescriptor<?> descriptor) {
+            this.descriptor = descriptor;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package dev.juliusabels.fish_fiesta.util;
+
+import lombok.Getter;
+
+/**
+ * Stages of the startup loading, each named after the first screen that needs its resources.
+ * <p>
+ * The assets of all stages are queued in declaration order, so earlier stages finish first.
+ * The loading screen only waits for {@link #MAIN_MENU}, everything else keeps streaming in
+ * the background while the player is in the menu. A screen needing a later stage waits
+ * for it with {@link ResourceHandler#finishLoading(AssetStage)}, which returns immediately
+ * if the stage has already been loaded in the meantime.
+ */
+@Getter
+public enum AssetStage {
+    /** Background, monitor skin and title font, shared by every monitor screen */
+    MAIN_MENU(false, false),
+
+    /** No own assets, but the level IDs listed in the level selection and the fish IDs its daily and endless modes draw from */
+    LEVEL_SELECTION(true, true),
+
+    /** Fish sprites, journal skin and the fish IDs listed in the journal */
+    LEVEL(true, true);
+
+    /** Whether screens of this stage need all level IDs to be discovered */
+    private final boolean levelIdsNeeded;
+
+    /** Whether screens of this stage need all fish IDs to be discovered */
+    private final boolean fishIdsNeeded;
+
+    /**
+     * Creates a new asset stage.
+     *
+     * @param levelIdsNeeded Whether screens of this stage need all level IDs to be discovered
+     * @param fishIdsNeeded Whether screens of this stage need all fish IDs to be discovered
+     */
+    AssetStage(boolean levelIdsNeeded, boolean fishIdsNeeded) {
+        this.levelIdsNeeded = levelIdsNeeded;
+        this.fishIdsNeeded = fishIdsNeeded;
+    }
+}
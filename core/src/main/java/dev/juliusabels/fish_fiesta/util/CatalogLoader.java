@@ -0,0 +1,242 @@
+package dev.juliusabels.fish_fiesta.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Discovers and parses the whole fish and level catalog on worker threads.
+ * <p>
+ * Loading runs on virtual threads in parallel to the {@link com.badlogic.gdx.assets.AssetManager},
+ * which streams the textures on the rendering thread:
+ * <ol>
+ *   <li>One task per catalog lists its directory and the content packs ({@link FishManager#getPreloadFishIds()}, {@link LevelManager#getPreloadLevelIds()})</li>
+ *   <li>Each discovered file is then parsed in its own task into the cache of its manager, except the ones of content packs</li>
+ *   <li>Once all fishes are parsed, the {@link FishSearchIndex} is built from them</li>
+ * </ol>
+ * A file that fails to parse is logged and skipped, it will be parsed again on first use.
+ * <p>
+ * The ID lists of the managers are only safe to read once their directory listing is done.
+ * Screens needing them wait with {@link #awaitFishIds()} and {@link #awaitLevelIds()},
+ * which don't wait for the parsing.
+ * <p>
+ * The progress counts one unit for each directory listing, one for each file and one for
+ * the search index, so it grows as files are discovered. {@link #getProgress()} never decreases, though.
+ */
+@Slf4j
+public class CatalogLoader {
+    /** Number of catalogs loaded, one directory listing each */
+    private static final int CATALOGS = 2;
+
+    /** Number of indexes built from the parsed catalogs */
+    private static final int INDEXES = 1;
+
+    /** Runs the loading tasks, one virtual thread per task */
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /** Number of units known so far, directory listings plus discovered files */
+    private final AtomicInteger totalUnits = new AtomicInteger(CATALOGS + INDEXES);
+
+    /** Number of units that are done */
+    private final AtomicInteger completedUnits = new AtomicInteger();
+
+    /** Released once all fish IDs have been discovered */
+    private final CountDownLatch fishIdsFound = new CountDownLatch(1);
+
+    /** Released once all level IDs have been discovered */
+    private final CountDownLatch levelIdsFound = new CountDownLatch(1);
+
+    /** Highest progress reported so far */
+    private float progress;
+
+    /** Value of {@link System#nanoTime()} when loading started */
+    private long startNanos;
+
+    /** Whether {@link #start(FishManager, LevelManager)} has been called */
+    private boolean started;
+
+    /**
+     * Starts loading the catalogs in the background and returns immediately.
+     *
+     * @param fishManager The manager to discover and preload all fishes with
+     * @param levelManager The manager to discover and preload all levels with
+     */
+    public void start(FishManager fishManager, LevelManager levelManager) {
+        startNanos = System.nanoTime();
+        started = true;
+        executor.execute(() -> loadCatalog("fishes", fishManager::getPreloadFishIds, fishManager::preloadFish, fishIdsFound,
+            () -> buildSearchIndex(fishManager)));
+        executor.execute(() -> loadCatalog("levels", levelManager::getPreloadLevelIds, levelManager::preloadLevel, levelIdsFound,
+            () -> {}));
+    }
+
+    /**
+     * Lists a catalog and queues one parsing task per entry.
+     * <p>
+     * Runs on a worker thread. The units of the entries are added to the total before the
+     * listing itself counts as completed, so loading can't appear finished in between.
+     * The task parsing the last entry runs the follow-up, right away if there are no entries.
+     *
+     * @param name The name of the catalog, used for logging
+     * @param discovery Lists the IDs of all entries of the catalog to parse
+     * @param parser Parses a single entry into the cache
+     * @param listed Released once the listing is done
+     * @param parsed Run once every entry has been parsed
+     */
+    private void loadCatalog(String name, Supplier<List<String>> discovery, Consumer<String> parser,
+                             CountDownLatch listed, Runnable parsed) {
+        int entries = 0;
+        try {
+            List<String> ids = discovery.get();
+            entries = ids.size();
+            totalUnits.addAndGet(entries);
+            AtomicInteger unparsed = new AtomicInteger(entries);
+            for (String id : ids) {
+                executor.execute(() -> {
+                    parse(name, id, parser);
+                    if (unparsed.decrementAndGet() == 0) {
+                        parsed.run();
+                    }
+                });
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not list the {}", name, e);
+        } finally {
+            listed.countDown();
+            if (entries == 0) {
+                parsed.run();
+            }
+            complete();
+        }
+    }
+
+    /**
+     * Builds the search index of the parsed fishes.
+     * <p>
+     * Runs on a worker thread.
+     *
+     * @param fishManager The manager holding the parsed fishes
+     */
+    private void buildSearchIndex(FishManager fishManager) {
+        try {
+            long start = System.nanoTime();
+            fishManager.buildSearchIndex();
+            log.info("Built the fish search index in {} ms", (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Could not build the fish search index", e);
+        } finally {
+            complete();
+        }
+    }
+
+    /**
+     * Parses a single catalog entry.
+     * <p>
+     * Runs on a worker thread.
+     *
+     * @param name The name of the catalog, used for logging
+     * @param id The ID of the entry
+     * @param parser Parses the entry into the cache
+     */
+    private void parse(String name, String id, Consumer<String> parser) {
+        try {
+            parser.accept(id);
+        } catch (RuntimeException e) {
+            log.error("Could not parse {} of the {}", id, name, e);
+        } finally {
+            complete();
+        }
+    }
+
+    /**
+     * Marks one unit as done and logs once everything is loaded.
+     */
+    private void complete() {
+        if (completedUnits.incrementAndGet() == totalUnits.get()) {
+            log.info("Loaded {} catalog entries in {} ms", totalUnits.get() - CATALOGS - INDEXES,
+                (System.nanoTime() - startNanos) / 1_000_000);
+        }
+    }
+
+    /**
+     * Must only be called on the rendering thread.
+     *
+     * @return The loading progress as a value between 0 and 1
+     */
+    public float getProgress() {
+        progress = Math.max(progress, completedUnits.get() / (float) totalUnits.get());
+        return progress;
+    }
+
+    /**
+     * Once this returns true, all results of the worker threads are visible to the caller.
+     *
+     * @return true if both catalogs have been listed, every entry was parsed and the search index was built
+     */
+    public boolean isFinished() {
+        return completedUnits.get() == totalUnits.get();
+    }
+
+    /**
+     * @return true if all fish IDs have been discovered
+     */
+    public boolean areFishIdsFound() {
+        return fishIdsFound.getCount() == 0;
+    }
+
+    /**
+     * @return true if all level IDs have been discovered
+     */
+    public boolean areLevelIdsFound() {
+        return levelIdsFound.getCount() == 0;
+    }
+
+    /**
+     * Blocks until all fish IDs have been discovered.
+     * <p>
+     * Returns immediately if loading was never started.
+     */
+    public void awaitFishIds() {
+        await(fishIdsFound, "fish IDs");
+    }
+
+    /**
+     * Blocks until all level IDs have been discovered.
+     * <p>
+     * Returns immediately if loading was never started.
+     */
+    public void awaitLevelIds() {
+        await(levelIdsFound, "level IDs");
+    }
+
+    /**
+     * Waits for a latch and logs how long it took, if it had to wait at all.
+     *
+     * @param latch The latch to wait for
+     * @param name The name of what is awaited, used for logging
+     */
+    private void await(CountDownLatch latch, String name) {
+        if (!started || latch.getCount() == 0) return;
+
+        long start = System.nanoTime();
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Waited {} ms for the {}", (System.nanoTime() - start) / 1_000_000, name);
+    }
+
+    /**
+     * Stops all tasks that are still running, e.g. when the game is closed while loading.
+     */
+    public void dispose() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,117 @@
+package dev.juliusabels.fish_fiesta.util;
+
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * The fish and level catalog parsed while building a GraalVM native image.
+ * <p>
+ * The native image build initializes this class at build time with the system property
+ * {@value #DIRECTORY_PROPERTY} pointing to the resource directory containing {@code fishes/}
+ * and {@code levels/}. All JSON files found there are parsed into {@link JsonValue} trees,
+ * which end up in the image heap. At runtime the managers then neither list directories
+ * (which isn't possible for resources inside a native image) nor read or parse any files.
+ * <p>
+ * Only the JSON trees are stored, not the game objects: those reference enums with
+ * loggers, which must not be initialized before the logging backend is configured at runtime.
+ * <p>
+ * On a regular JVM the property is not set and the snapshot is empty, so the managers
+ * load everything from the asset files as usual.
+ */
+public final class CatalogSnapshot {
+    /** System property naming the resource directory to take the snapshot from */
+    public static final String DIRECTORY_PROPERTY = "fishfiesta.catalog.snapshotDir";
+
+    /** Parsed fish files by fish ID, sorted by ID */
+    private static final Map<String, JsonValue> FISHES;
+
+    /** Parsed level files by level ID, sorted by ID */
+    private static final Map<String, JsonValue> LEVELS;
+
+    static {
+        String directory = System.getProperty(DIRECTORY_PROPERTY);
+        if (directory == null || directory.isBlank()) {
+            FISHES = Collections.emptyMap();
+            LEVELS = Collections.emptyMap();
+        } else {
+            FISHES = parseDirectory(Path.of(directory, "fishes"));
+            LEVELS = parseDirectory(Path.of(directory, "levels"));
+        }
+    }
+
+    private CatalogSnapshot() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Parses all JSON files in a directory.
+     *
+     * @param directory The directory to parse
+     * @return The parsed files by file name without extension
+     */
+    private static Map<String, JsonValue> parseDirectory(Path directory) {
+        Map<String, JsonValue> values = new TreeMap<>();
+        JsonReader reader = new JsonReader();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String fileName = file.getFileName().toString();
+                if (!fileName.endsWith(".json")) continue;
+
+                String id = fileName.substring(0, fileName.length() - ".json".length());
+                values.put(id, reader.parse(Files.readString(file, StandardCharsets.UTF_8)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not take the catalog snapshot of " + directory, e);
+        }
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * @return true if the catalog was parsed at build time
+     */
+    public static boolean isAvailable() {
+        return !FISHES.isEmpty() || !LEVELS.isEmpty();
+    }
+
+    /**
+     * @return The IDs of all fishes in the snapshot, sorted
+     */
+    public static List<String> getFishIds() {
+        return List.copyOf(FISHES.keySet());
+    }
+
+    /**
+     * @return The IDs of all levels in the snapshot, sorted
+     */
+    public static List<String> getLevelIds() {
+        return List.copyOf(LEVELS.keySet());
+    }
+
+    /**
+     * @param fishId The ID of the fish
+     * @return The parsed fish file, or null if it isn't part of the snapshot
+     */
+    public static JsonValue getFishJson(String fishId) {
+        return FISHES.get(fishId);
+    }
+
+    /**
+     * @param levelId The ID of the level
+     * @return The parsed level file, or null if it isn't part of the snapshot
+     */
+    public static JsonValue getLevelJson(String levelId) {
+        return LEVELS.get(levelId);
+    }
+}
@@ -0,0 +1,186 @@
+package dev.juliusabels.fish_fiesta.util;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * A content pack, a zip archive adding fishes, levels and fish sprites to the game.
+ * <p>
+ * The archive has the layout of the shipped content:
+ * <ul>
+ *   <li>{@code fishes/<id>.json} for every fish</li>
+ *   <li>{@code levels/<id>.json} for every level</li>
+ *   <li>{@code sprites/<fish id>.png} for the sprite of a fish</li>
+ * </ul>
+ * Opening a pack only reads the central directory at the end of the archive, which lists
+ * the names of all entries. The entries themselves are inflated when they are read, so a
+ * pack costs next to nothing until its content is used.
+ * <p>
+ * The archive stays open until {@link #close()}. Reading entries is thread-safe.
+ */
+@Slf4j
+public class ContentPack {
+    /** Directory of the fish files inside the archive */
+    static final String FISH_DIRECTORY = "fishes/";
+
+    /** Directory of the level files inside the archive */
+    static final String LEVEL_DIRECTORY = "levels/";
+
+    /** Directory of the fish sprites inside the archive */
+    static final String SPRITE_DIRECTORY = "sprites/";
+
+    /** Name of the archive file */
+    @Getter
+    private final String name;
+
+    /** The opened archive */
+    private final ZipFile zip;
+
+    /** IDs of the fishes in the pack, sorted */
+    @Getter
+    private final List<String> fishIds;
+
+    /** IDs of the levels in the pack, sorted */
+    @Getter
+    private final List<String> levelIds;
+
+    /** IDs of the fishes the pack has a sprite for, sorted */
+    @Getter
+    private final List<String> spriteIds;
+
+    /**
+     * Opens an archive and lists its content.
+     *
+     * @param file The zip archive
+     * @throws IOException If the file can't be opened or isn't a zip archive
+     */
+    public ContentPack(File file) throws IOException {
+        this.name = file.getName();
+        this.zip = new ZipFile(file, StandardCharsets.UTF_8);
+
+        List<String> fishes = new ArrayList<>();
+        List<String> levels = new ArrayList<>();
+        List<String> sprites = new ArrayList<>();
+        Enumeration<? extends ZipEntry> entries = zip.entries();
+        while (entries.hasMoreElements()) {
+            ZipEntry entry = entries.nextElement();
+            if (entry.isDirectory()) continue;
+
+            String entryName = entry.getName();
+            addId(fishes, entryName, FISH_DIRECTORY, ".json");
+            addId(levels, entryName, LEVEL_DIRECTORY, ".json");
+            addId(sprites, entryName, SPRITE_DIRECTORY, ".png");
+        }
+
+        fishes.sort(null);
+        levels.sort(null);
+        sprites.sort(null);
+        this.fishIds = Collections.unmodifiableList(fishes);
+        this.levelIds = Collections.unmodifiableList(levels);
+        this.spriteIds = Collections.unmodifiableList(sprites);
+    }
+
+    /**
+     * Adds the ID of an entry if it is a file of the given directory and extension.
+     * <p>
+     * Files in subdirectories of the directory are ignored.
+     *
+     * @param ids The IDs to add to
+     * @param entryName The name of the entry
+     * @param directory The directory, including the trailing slash
+     * @param extension The extension, including the dot
+     */
+    private static void addId(List<String> ids, String entryName, String directory, String extension) {
+        if (!entryName.startsWith(directory) || !entryName.endsWith(extension)) return;
+
+        String id = entryName.substring(directory.length(), entryName.length() - extension.length());
+        if (!id.isEmpty() && id.indexOf('/') < 0) {
+            ids.add(id);
+        }
+    }
+
+    /**
+     * @param fishId The ID of a fish
+     * @return true if the pack has a sprite for the fish
+     */
+    public boolean hasSprite(String fishId) {
+        return Collections.binarySearch(spriteIds, fishId) >= 0;
+    }
+
+    /**
+     * Inflates the file of a fish.
+     *
+     * @param fishId The ID of the fish
+     * @return The content of the file
+     * @throws IOException If the entry is missing or can't be read
+     */
+    public String readFish(String fishId) throws IOException {
+        return new String(read(FISH_DIRECTORY + fishId + ".json"), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Inflates the file of a level.
+     *
+     * @param levelId The ID of the level
+     * @return The content of the file
+     * @throws IOException If the entry is missing or can't be read
+     */
+    public String readLevel(String levelId) throws IOException {
+        return new String(read(LEVEL_DIRECTORY + levelId + ".json"), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Inflates the sprite of a fish.
+     *
+     * @param fishId The ID of the fish
+     * @return The encoded PNG image
+     * @throws IOException If the entry is missing or can't be read
+     */
+    public byte[] readSprite(String fishId) throws IOException {
+        return read(SPRITE_DIRECTORY + fishId + ".png");
+    }
+
+    /**
+     * Inflates a single entry of the archive.
+     *
+     * @param entryName The name of the entry
+     * @return The content of the entry
+     * @throws IOException If the entry is missing or can't be read
+     */
+    private byte[] read(String entryName) throws IOException {
+        ZipEntry entry = zip.getEntry(entryName);
+        if (entry == null) {
+            throw new IOException("No entry " + entryName + " in the content pack " + name);
+        }
+        try (InputStream in = zip.getInputStream(entry)) {
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * Closes the archive. Entries can't be read anymore afterwards.
+     */
+    public void close() {
+        try {
+            zip.close();
+        } catch (IOException e) {
+            log.warn("Could not close the content pack {}", name, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
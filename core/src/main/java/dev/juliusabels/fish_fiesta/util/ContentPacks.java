@@ -0,0 +1,97 @@
+package dev.juliusabels.fish_fiesta.util;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Null;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * All {@link ContentPack}s the player put into the pack directory.
+ * <p>
+ * The directory is listed and every {@code .zip} file in it is opened on first use, which
+ * happens on the worker threads of the {@link CatalogLoader}. Packs are ordered by file
+ * name, so if several packs define the same ID, the first one wins. A pack that can't be
+ * opened is logged and skipped.
+ * <p>
+ * The packs stay open for the lifetime of the game, so their entries can be inflated
+ * whenever they are first needed. This class is thread-safe.
+ */
+@Slf4j
+public class ContentPacks {
+    /** Name of the directory the packs are put into, relative to the local storage */
+    public static final String DIRECTORY_NAME = "packs";
+
+    /** The directory containing the packs, or null if there are none */
+    @Null
+    private final FileHandle directory;
+
+    /** The opened packs ordered by file name, or null until they are opened */
+    @Null
+    private List<ContentPack> packs;
+
+    /**
+     * @param directory The directory containing the packs, or null for no packs at all
+     */
+    public ContentPacks(@Null FileHandle directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns all packs, opening them if that hasn't happened yet.
+     * <p>
+     * Opening a pack only reads its list of entries, not the entries themselves.
+     *
+     * @return The opened packs ordered by file name, empty if there is no pack directory
+     */
+    public synchronized List<ContentPack> getPacks() {
+        if (packs == null) {
+            packs = open();
+        }
+        return packs;
+    }
+
+    /**
+     * Opens every zip archive in the directory.
+     *
+     * @return The opened packs ordered by file name
+     */
+    private List<ContentPack> open() {
+        if (directory == null || !directory.isDirectory()) {
+            return List.of();
+        }
+
+        long start = System.nanoTime();
+        FileHandle[] files = directory.list(".zip");
+        Arrays.sort(files, Comparator.comparing(FileHandle::name));
+
+        List<ContentPack> opened = new ArrayList<>(files.length);
+        for (FileHandle file : files) {
+            try {
+                opened.add(new ContentPack(file.file()));
+            } catch (IOException e) {
+                log.error("Could not open the content pack {}", file, e);
+            }
+        }
+
+        log.info("Opened {} content packs in {} ms", opened.size(), (System.nanoTime() - start) / 1_000_000);
+        return Collections.unmodifiableList(opened);
+    }
+
+    /**
+     * Closes all opened packs. Their entries can't be read anymore afterwards.
+     */
+    public synchronized void dispose() {
+        if (packs == null) return;
+
+        for (ContentPack pack : packs) {
+            pack.close();
+        }
+        packs = List.of();
+    }
+}
@@ -0,0 +1,340 @@
+package dev.juliusabels.fish_fiesta.util;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.Null;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Local analytics of every decision, aggregated into {@link DecisionStats} on a worker thread.
+ * <p>
+ * Recording a decision on the rendering thread only writes it into a ring buffer of fixed
+ * size and wakes the worker, it neither allocates nor waits for a lock. The worker moves the
+ * decisions from the ring buffer into the statistics. It is the only consumer, so the ring
+ * buffer needs no lock either. Should the ring buffer ever be full, further decisions are
+ * dropped and counted.
+ * <p>
+ * The file starts with {@value #MAGIC} and the version of its layout, followed by the statistics
+ * as written by {@link DecisionStats#write}. It is rewritten as a whole by {@link #save()},
+ * through a temporary file, so a crash never leaves a torn file behind. An unreadable file
+ * is logged and replaced by fresh statistics on the next save.
+ * <p>
+ * The file is read on the worker thread, once the catalog is known, before any decision is
+ * counted. Until then the queries return empty statistics. All queries are thread-safe and
+ * copy the counters they return, the stats views read them on the rendering thread.
+ */
+@Slf4j
+public class DecisionAnalytics {
+    /** Name of the analytics file in the user storage */
+    public static final String FILE_NAME = "fish_fiesta_analytics.bin";
+
+    /** First bytes of the analytics file, "FFDA" */
+    private static final int MAGIC = 0x46464441;
+
+    /** Version of the layout of the analytics file */
+    private static final byte VERSION = 1;
+
+    /** Number of decisions the ring buffer holds, a power of two */
+    private static final int RING_CAPACITY = 256;
+
+    /** The file the statistics are stored in */
+    private final FileHandle file;
+
+    /** Level ID of each decision in the ring buffer */
+    private final String[] ringLevelIds = new String[RING_CAPACITY];
+
+    /** Fish ID of each decision in the ring buffer */
+    private final String[] ringFishIds = new String[RING_CAPACITY];
+
+    /** Whether each decision in the ring buffer accepted its fish */
+    private final boolean[] ringAccepted = new boolean[RING_CAPACITY];
+
+    /** Conditions the fish of each decision in the ring buffer failed */
+    private final int[] ringMismatches = new int[RING_CAPACITY];
+
+    /** Reaction time of each decision in the ring buffer in milliseconds, negative if unknown */
+    private final long[] ringReactionMillis = new long[RING_CAPACITY];
+
+    /** Number of decisions written into the ring buffer, only written by the rendering thread */
+    private volatile long published;
+
+    /** Number of decisions taken out of the ring buffer, only written by the worker */
+    private volatile long consumed;
+
+    /** Number of decisions dropped because the ring buffer was full */
+    private volatile int dropped;
+
+    /** Whether the statistics should be written to the file as soon as the worker is idle */
+    private volatile boolean saveRequested;
+
+    /** Whether the worker should save one last time and stop */
+    private volatile boolean disposed;
+
+    /** The statistics, null until the file has been read */
+    @Null
+    private DecisionStats stats;
+
+    /** Whether decisions were counted since the statistics were last written */
+    private boolean dirty;
+
+    /** Thread moving the decisions into the statistics, null until started */
+    @Null
+    private Thread worker;
+
+    /**
+     * Creates analytics stored in the specified file, without reading it yet.
+     *
+     * @param file The file the statistics are stored in, created on the first save
+     */
+    public DecisionAnalytics(FileHandle file) {
+        this.file = file;
+    }
+
+    /**
+     * Starts the worker, which reads the file and then counts the recorded decisions.
+     * <p>
+     * The suppliers are called on the worker and may block until the catalog is discovered.
+     *
+     * @param fishIds Supplies the IDs of all fish
+     * @param levelIds Supplies the IDs of all levels
+     */
+    public void loadInBackground(Supplier<List<String>> fishIds, Supplier<List<String>> levelIds) {
+        // A platform thread, as waking a virtual one would allocate on the rendering thread
+        worker = Thread.ofPlatform().daemon().name("decision-analytics").start(() -> run(fishIds, levelIds));
+    }
+
+    /**
+     * Records a decision to be counted by the worker.
+     * <p>
+     * Must only be called on the rendering thread.
+     *
+     * @param levelId The ID of the level played
+     * @param fishId The ID of the decided fish
+     * @param accepted Whether the fish was accepted
+     * @param mismatches The conditions the fish failed, see {@link dev.juliusabels.fish_fiesta.game.level.ConditionType#findMismatches}
+     * @param reactionMillis The time from showing the fish to the decision in milliseconds, negative if unknown
+     */
+    public void record(String levelId, String fishId, boolean accepted, int mismatches, long reactionMillis) {
+        long position = published;
+        if (position - consumed == RING_CAPACITY) {
+            dropped++;
+            return;
+        }
+
+        int slot = (int) position & (RING_CAPACITY - 1);
+        ringLevelIds[slot] = levelId;
+        ringFishIds[slot] = fishId;
+        ringAccepted[slot] = accepted;
+        ringMismatches[slot] = mismatches;
+        ringReactionMillis[slot] = reactionMillis;
+        // The volatile write publishes the slot to the worker
+        published = position + 1;
+        wakeWorker();
+    }
+
+    /**
+     * Asks the worker to write the statistics to the file once it counted all recorded decisions.
+     * <p>
+     * Returns immediately, nothing is written if no decision was counted since the last save.
+     */
+    public void save() {
+        saveRequested = true;
+        wakeWorker();
+    }
+
+    /**
+     * Wakes the worker up if it is waiting for decisions.
+     */
+    private void wakeWorker() {
+        Thread thread = worker;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * @param fishId The ID of the fish
+     * @return The statistics of the fish, or null if it isn't part of the catalog or the file isn't read yet
+     */
+    @Null
+    public synchronized DecisionStats.FishStats getFishStats(String fishId) {
+        return stats == null ? null : stats.getFishStats(fishId);
+    }
+
+    /**
+     * @param count The maximum number of fish to return
+     * @return The fish with at least one mistake, most mistakes first
+     */
+    public synchronized List<DecisionStats.FishStats> getMostMisjudged(int count) {
+        return stats == null ? List.of() : stats.getMostMisjudged(count);
+    }
+
+    /**
+     * @param levelId The ID of the level
+     * @return The statistics the level is counted in, or null if it isn't part of the catalog or the file isn't read yet
+     */
+    @Null
+    public synchronized DecisionStats.LevelStats getLevelStats(String levelId) {
+        return stats == null ? null : stats.getLevelStats(levelId);
+    }
+
+    /**
+     * @return The statistics of every level with at least one decision, in the order of the catalog
+     */
+    public synchronized List<DecisionStats.LevelStats> getPlayedLevelStats() {
+        return stats == null ? List.of() : stats.getPlayedLevelStats();
+    }
+
+    /**
+     * @return The statistics of all levels together, or null if the file isn't read yet
+     */
+    @Null
+    public synchronized DecisionStats.LevelStats getTotalStats() {
+        return stats == null ? null : stats.getTotalStats();
+    }
+
+    /**
+     * Blocks until the worker counted every decision recorded so far.
+     * <p>
+     * Meant for tools checking the statistics, the game itself never has to wait.
+     */
+    public void awaitCounted() {
+        while (worker != null && worker.isAlive() && (consumed < published || stats == null)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Runs the worker: reads the file, then counts decisions and saves until disposed.
+     *
+     * @param fishIds Supplies the IDs of all fish
+     * @param levelIds Supplies the IDs of all levels
+     */
+    private void run(Supplier<List<String>> fishIds, Supplier<List<String>> levelIds) {
+        try {
+            DecisionStats loaded = load(fishIds.get(), levelIds.get());
+            synchronized (this) {
+                stats = loaded;
+            }
+
+            while (true) {
+                // Read before counting, so a request made while counting is handled in the next round
+                boolean stopping = disposed;
+                countPublished();
+                if (saveRequested || stopping) {
+                    saveRequested = false;
+                    writeIfDirty();
+                }
+                if (stopping) return;
+                if (consumed == published && !saveRequested && !disposed) {
+                    LockSupport.park(this);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Decision analytics stopped", e);
+        }
+    }
+
+    /**
+     * Moves all published decisions from the ring buffer into the statistics.
+     */
+    private void countPublished() {
+        long end = published;
+        if (consumed == end) return;
+
+        synchronized (this) {
+            for (long position = consumed; position < end; position++) {
+                int slot = (int) position & (RING_CAPACITY - 1);
+                stats.record(ringLevelIds[slot], ringFishIds[slot], ringAccepted[slot], ringMismatches[slot],
+                    ringReactionMillis[slot]);
+            }
+            dirty = true;
+        }
+        // The volatile write hands the slots back to the rendering thread
+        consumed = end;
+    }
+
+    /**
+     * Creates the statistics of the catalog and adds those of the file.
+     *
+     * @param fishIds IDs of all fish
+     * @param levelIds IDs of all levels
+     * @return The statistics of the file, or empty statistics if there is no readable file
+     */
+    private DecisionStats load(List<String> fishIds, List<String> levelIds) {
+        DecisionStats fresh = new DecisionStats(fishIds, levelIds);
+        if (!file.exists()) return fresh;
+
+        long startNanos = System.nanoTime();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(file.readBytes()))) {
+            if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+                throw new IOException("Not an analytics file of version " + VERSION);
+            }
+            int skipped = fresh.read(in);
+            if (skipped > 0) {
+                log.info("Skipped the statistics of {} fish and levels no longer in the catalog", skipped);
+            }
+            log.info("Loaded the decision analytics in {} ms", (System.nanoTime() - startNanos) / 1_000_000);
+            return fresh;
+        } catch (IOException | GdxRuntimeException e) {
+            log.error("Failed to read the decision analytics {}, starting over", file, e);
+            return new DecisionStats(fishIds, levelIds);
+        }
+    }
+
+    /**
+     * Writes the statistics to the file if decisions were counted since they were last written.
+     */
+    private void writeIfDirty() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        synchronized (this) {
+            if (!dirty || stats == null) return;
+
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeInt(MAGIC);
+                out.writeByte(VERSION);
+                stats.write(out);
+            } catch (IOException e) {
+                // Only thrown by the underlying stream, which writes to memory
+                throw new GdxRuntimeException(e);
+            }
+            dirty = false;
+        }
+
+        FileHandle temporary = file.sibling(file.name() + ".tmp");
+        try {
+            temporary.writeBytes(bytes.toByteArray(), false);
+            temporary.moveTo(file);
+        } catch (GdxRuntimeException e) {
+            log.error("Failed to write the decision analytics {}", file, e);
+        }
+        if (dropped > 0) {
+            log.warn("Dropped {} decisions, the analytics couldn't keep up", dropped);
+        }
+    }
+
+    /**
+     * Saves the statistics one last time and stops the worker, waiting a moment for it to finish.
+     */
+    public void dispose() {
+        Thread thread = worker;
+        if (thread == null) return;
+
+        disposed = true;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
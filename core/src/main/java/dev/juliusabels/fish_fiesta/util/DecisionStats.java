@@ -0,0 +1,531 @@
+package dev.juliusabels.fish_fiesta.util;
+
+import com.badlogic.gdx.utils.Null;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import dev.juliusabels.fish_fiesta.game.level.ConditionType;
+import dev.juliusabels.fish_fiesta.game.level.DailyChallenge;
+import dev.juliusabels.fish_fiesta.game.level.EndlessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Aggregated statistics of all decisions, in counters of a fixed size.
+ * <p>
+ * Fish and levels are keyed by their ordinal, the position of their ID in the catalog the
+ * statistics were created for. Every fish has counters of its decisions, mistakes and summed
+ * reaction time. Every level has the same, plus the mistakes per {@link ConditionType} a
+ * wrongly accepted fish failed, which are the hotspots of the level, and a histogram of the
+ * reaction times in buckets of {@value #REACTION_BUCKET_MILLIS} ms. All daily challenges are
+ * counted as one level, just like all endless runs.
+ * <p>
+ * Recording a decision looks up two ordinals and increments a few counters, so it takes the
+ * same time no matter how large the catalog is, and it doesn't allocate. Decisions about fish
+ * or levels outside of the catalog are only counted where they are known.
+ * <p>
+ * The statistics are stored by ID rather than ordinal, leaving out everything never decided,
+ * so they survive fish and levels being added to the catalog. This class isn't thread-safe,
+ * see {@link DecisionAnalytics} for recording decisions off the rendering thread.
+ */
+public class DecisionStats {
+    /** Key all daily challenges are counted under */
+    public static final String DAILY_KEY = "daily";
+
+    /** Width of a bucket of the reaction time histograms in milliseconds */
+    public static final int REACTION_BUCKET_MILLIS = 250;
+
+    /** Number of buckets of the reaction time histograms, the last one holds all slower reactions */
+    public static final int REACTION_BUCKETS = 40;
+
+    /** Number of condition types, the number of hotspot counters per level */
+    private static final int TYPES = ConditionType.values().length;
+
+    /** IDs of all fish, by ordinal */
+    private final String[] fishIds;
+
+    /** Ordinals of the fish IDs */
+    private final ObjectIntMap<String> fishOrdinals;
+
+    /** Keys of all levels, by ordinal */
+    private final String[] levelKeys;
+
+    /** Ordinals of the level keys */
+    private final ObjectIntMap<String> levelOrdinals;
+
+    /** Number of decisions about each fish */
+    private final int[] fishDecisions;
+
+    /** Number of wrong decisions about each fish */
+    private final int[] fishMistakes;
+
+    /** Number of times each fish was accepted although it failed a condition */
+    private final int[] fishWrongAccepts;
+
+    /** Summed reaction times of the timed decisions about each fish in milliseconds */
+    private final long[] fishReactionMillis;
+
+    /** Number of timed decisions about each fish */
+    private final int[] fishReactions;
+
+    /** Number of decisions in each level */
+    private final int[] levelDecisions;
+
+    /** Number of wrong decisions in each level */
+    private final int[] levelMistakes;
+
+    /** Number of fish denied although they met all conditions, in each level */
+    private final int[] levelWrongDenies;
+
+    /** Mistakes per failed condition type, by level ordinal times {@link #TYPES} plus the type ordinal */
+    private final int[] levelConditionMistakes;
+
+    /** Reaction time histograms, by level ordinal times {@link #REACTION_BUCKETS} plus the bucket */
+    private final int[] levelReactions;
+
+    /** Summed reaction times of the timed decisions in each level in milliseconds */
+    private final long[] levelReactionMillis;
+
+    /**
+     * Creates empty statistics for a catalog.
+     * <p>
+     * Besides the given levels, the daily challenges and the endless mode get a level ordinal each.
+     *
+     * @param fishIds IDs of all fish
+     * @param levelIds IDs of all levels
+     */
+    public DecisionStats(List<String> fishIds, List<String> levelIds) {
+        this.fishIds = fishIds.toArray(new String[0]);
+        this.fishOrdinals = ordinals(this.fishIds);
+
+        this.levelKeys = new String[levelIds.size() + 2];
+        for (int i = 0; i < levelIds.size(); i++) {
+            levelKeys[i] = levelIds.get(i);
+        }
+        levelKeys[levelIds.size()] = DAILY_KEY;
+        levelKeys[levelIds.size() + 1] = EndlessLevel.ID;
+        this.levelOrdinals = ordinals(levelKeys);
+
+        fishDecisions = new int[this.fishIds.length];
+        fishMistakes = new int[this.fishIds.length];
+        fishWrongAccepts = new int[this.fishIds.length];
+        fishReactionMillis = new long[this.fishIds.length];
+        fishReactions = new int[this.fishIds.length];
+
+        levelDecisions = new int[levelKeys.length];
+        levelMistakes = new int[levelKeys.length];
+        levelWrongDenies = new int[levelKeys.length];
+        levelConditionMistakes = new int[levelKeys.length * TYPES];
+        levelReactions = new int[levelKeys.length * REACTION_BUCKETS];
+        levelReactionMillis = new long[levelKeys.length];
+    }
+
+    /**
+     * @param keys The keys by ordinal
+     * @return The ordinals of the keys
+     */
+    private static ObjectIntMap<String> ordinals(String[] keys) {
+        ObjectIntMap<String> ordinals = new ObjectIntMap<>(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            ordinals.put(keys[i], i);
+        }
+        return ordinals;
+    }
+
+    /**
+     * @param levelId The ID of a level
+     * @return The key the level is counted under, the same for all daily challenges
+     */
+    public static String levelKey(String levelId) {
+        return DailyChallenge.isDailyId(levelId) ? DAILY_KEY : levelId;
+    }
+
+    /**
+     * Records a decision.
+     *
+     * @param levelId The ID of the level played
+     * @param fishId The ID of the decided fish
+     * @param accepted Whether the fish was accepted
+     * @param mismatches The conditions the fish failed, see {@link ConditionType#findMismatches}
+     * @param reactionMillis The time from showing the fish to the decision in milliseconds, negative if unknown
+     */
+    public void record(String levelId, String fishId, boolean accepted, int mismatches, long reactionMillis) {
+        boolean mistake = accepted != (mismatches == 0);
+
+        int fish = fishOrdinals.get(fishId, -1);
+        if (fish >= 0) {
+            fishDecisions[fish]++;
+            if (mistake) {
+                fishMistakes[fish]++;
+                if (accepted) {
+                    fishWrongAccepts[fish]++;
+                }
+            }
+            if (reactionMillis >= 0) {
+                fishReactionMillis[fish] += reactionMillis;
+                fishReactions[fish]++;
+            }
+        }
+
+        int level = levelOrdinals.get(levelKey(levelId), -1);
+        if (level >= 0) {
+            levelDecisions[level]++;
+            if (mistake && accepted) {
+                levelMistakes[level]++;
+                for (int type = 0; type < TYPES; type++) {
+                    if ((mismatches & (1 << type)) != 0) {
+                        levelConditionMistakes[level * TYPES + type]++;
+                    }
+                }
+            } else if (mistake) {
+                levelMistakes[level]++;
+                levelWrongDenies[level]++;
+            }
+            if (reactionMillis >= 0) {
+                int bucket = (int) Math.min(reactionMillis / REACTION_BUCKET_MILLIS, REACTION_BUCKETS - 1);
+                levelReactions[level * REACTION_BUCKETS + bucket]++;
+                levelReactionMillis[level] += reactionMillis;
+            }
+        }
+    }
+
+    /**
+     * @param fishId The ID of the fish
+     * @return The statistics of the fish, or null if it isn't part of the catalog
+     */
+    @Null
+    public FishStats getFishStats(String fishId) {
+        int fish = fishOrdinals.get(fishId, -1);
+        return fish < 0 ? null : toFishStats(fish);
+    }
+
+    /**
+     * Finds the fish with the most mistakes, in a single pass over all fish.
+     * <p>
+     * Fish with the same number of mistakes rank by their share of wrong decisions.
+     *
+     * @param count The maximum number of fish to return
+     * @return The fish with at least one mistake, most mistakes first
+     */
+    public List<FishStats> getMostMisjudged(int count) {
+        int[] top = new int[count];
+        int size = 0;
+        for (int fish = 0; fish < fishIds.length; fish++) {
+            if (fishMistakes[fish] == 0) continue;
+
+            int position = size;
+            while (position > 0 && isMisjudgedMore(fish, top[position - 1])) {
+                position--;
+            }
+            if (position >= count) continue;
+
+            int moved = Math.min(size, count - 1) - position;
+            System.arraycopy(top, position, top, position + 1, moved);
+            top[position] = fish;
+            size = Math.min(size + 1, count);
+        }
+
+        List<FishStats> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(toFishStats(top[i]));
+        }
+        return result;
+    }
+
+    /**
+     * @param first The ordinal of the first fish
+     * @param second The ordinal of the second fish
+     * @return true if the first fish was misjudged more than the second one
+     */
+    private boolean isMisjudgedMore(int first, int second) {
+        if (fishMistakes[first] != fishMistakes[second]) {
+            return fishMistakes[first] > fishMistakes[second];
+        }
+        // Compares the mistake shares without dividing
+        return (long) fishMistakes[first] * fishDecisions[second] > (long) fishMistakes[second] * fishDecisions[first];
+    }
+
+    /**
+     * @param levelId The ID of the level
+     * @return The statistics the level is counted in, or null if it isn't part of the catalog
+     */
+    @Null
+    public LevelStats getLevelStats(String levelId) {
+        int level = levelOrdinals.get(levelKey(levelId), -1);
+        return level < 0 ? null : toLevelStats(level);
+    }
+
+    /**
+     * @return The statistics of every level with at least one decision, in the order of the catalog
+     */
+    public List<LevelStats> getPlayedLevelStats() {
+        List<LevelStats> result = new ArrayList<>();
+        for (int level = 0; level < levelKeys.length; level++) {
+            if (levelDecisions[level] > 0) {
+                result.add(toLevelStats(level));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return The statistics of all levels together, under a null key
+     */
+    public LevelStats getTotalStats() {
+        int decisions = 0;
+        int mistakes = 0;
+        int wrongDenies = 0;
+        long reactionMillis = 0;
+        int[] conditionMistakes = new int[TYPES];
+        int[] reactions = new int[REACTION_BUCKETS];
+        for (int level = 0; level < levelKeys.length; level++) {
+            decisions += levelDecisions[level];
+            mistakes += levelMistakes[level];
+            wrongDenies += levelWrongDenies[level];
+            reactionMillis += levelReactionMillis[level];
+            for (int type = 0; type < TYPES; type++) {
+                conditionMistakes[type] += levelConditionMistakes[level * TYPES + type];
+            }
+            for (int bucket = 0; bucket < REACTION_BUCKETS; bucket++) {
+                reactions[bucket] += levelReactions[level * REACTION_BUCKETS + bucket];
+            }
+        }
+        return new LevelStats(null, decisions, mistakes, wrongDenies, conditionMistakes, reactions, reactionMillis);
+    }
+
+    /**
+     * @param fish The ordinal of the fish
+     * @return A copy of the statistics of the fish
+     */
+    private FishStats toFishStats(int fish) {
+        long meanReaction = fishReactions[fish] == 0 ? 0 : fishReactionMillis[fish] / fishReactions[fish];
+        return new FishStats(fishIds[fish], fishDecisions[fish], fishMistakes[fish], fishWrongAccepts[fish], meanReaction);
+    }
+
+    /**
+     * @param level The ordinal of the level
+     * @return A copy of the statistics of the level
+     */
+    private LevelStats toLevelStats(int level) {
+        int[] conditionMistakes = new int[TYPES];
+        System.arraycopy(levelConditionMistakes, level * TYPES, conditionMistakes, 0, TYPES);
+        int[] reactions = new int[REACTION_BUCKETS];
+        System.arraycopy(levelReactions, level * REACTION_BUCKETS, reactions, 0, REACTION_BUCKETS);
+        return new LevelStats(levelKeys[level], levelDecisions[level], levelMistakes[level], levelWrongDenies[level],
+            conditionMistakes, reactions, levelReactionMillis[level]);
+    }
+
+    /**
+     * Writes all fish and levels with at least one decision.
+     * <p>
+     * The layout is the number of fish entries, each with its ID and counters, followed by the
+     * number of level entries, each with its key, counters, hotspots and reaction histogram.
+     *
+     * @param out The output to write to
+     * @throws IOException If writing fails
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeByte(TYPES);
+        out.writeByte(REACTION_BUCKETS);
+
+        out.writeInt(countDecided(fishDecisions));
+        for (int fish = 0; fish < fishIds.length; fish++) {
+            if (fishDecisions[fish] == 0) continue;
+
+            out.writeUTF(fishIds[fish]);
+            out.writeInt(fishDecisions[fish]);
+            out.writeInt(fishMistakes[fish]);
+            out.writeInt(fishWrongAccepts[fish]);
+            out.writeInt(fishReactions[fish]);
+            out.writeLong(fishReactionMillis[fish]);
+        }
+
+        out.writeInt(countDecided(levelDecisions));
+        for (int level = 0; level < levelKeys.length; level++) {
+            if (levelDecisions[level] == 0) continue;
+
+            out.writeUTF(levelKeys[level]);
+            out.writeInt(levelDecisions[level]);
+            out.writeInt(levelMistakes[level]);
+            out.writeInt(levelWrongDenies[level]);
+            out.writeLong(levelReactionMillis[level]);
+            for (int type = 0; type < TYPES; type++) {
+                out.writeInt(levelConditionMistakes[level * TYPES + type]);
+            }
+            for (int bucket = 0; bucket < REACTION_BUCKETS; bucket++) {
+                out.writeInt(levelReactions[level * REACTION_BUCKETS + bucket]);
+            }
+        }
+    }
+
+    /**
+     * @param decisions The numbers of decisions by ordinal
+     * @return The number of ordinals with at least one decision
+     */
+    private static int countDecided(int[] decisions) {
+        int count = 0;
+        for (int decided : decisions) {
+            if (decided > 0) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Adds statistics written by {@link #write(DataOutput)} to these statistics.
+     * <p>
+     * Fish and levels that are no longer part of the catalog are skipped.
+     *
+     * @param in The input to read from
+     * @return The number of skipped fish and levels
+     * @throws IOException If reading fails, or the statistics were written with other condition types or buckets
+     */
+    public int read(DataInput in) throws IOException {
+        if (in.readByte() != TYPES || in.readByte() != REACTION_BUCKETS) {
+            throw new IOException("Statistics of other condition types or reaction buckets");
+        }
+
+        int skipped = 0;
+        int fishEntries = in.readInt();
+        for (int i = 0; i < fishEntries; i++) {
+            int fish = fishOrdinals.get(in.readUTF(), -1);
+            int decisions = in.readInt();
+            int mistakes = in.readInt();
+            int wrongAccepts = in.readInt();
+            int reactions = in.readInt();
+            long reactionMillis = in.readLong();
+            if (fish < 0) {
+                skipped++;
+                continue;
+            }
+            fishDecisions[fish] += decisions;
+            fishMistakes[fish] += mistakes;
+            fishWrongAccepts[fish] += wrongAccepts;
+            fishReactions[fish] += reactions;
+            fishReactionMillis[fish] += reactionMillis;
+        }
+
+        int levelEntries = in.readInt();
+        for (int i = 0; i < levelEntries; i++) {
+            int level = levelOrdinals.get(in.readUTF(), -1);
+            if (level < 0) {
+                skipped++;
+                in.skipBytes(4 * 3 + 8 + 4 * TYPES + 4 * REACTION_BUCKETS);
+                continue;
+            }
+            levelDecisions[level] += in.readInt();
+            levelMistakes[level] += in.readInt();
+            levelWrongDenies[level] += in.readInt();
+            levelReactionMillis[level] += in.readLong();
+            for (int type = 0; type < TYPES; type++) {
+                levelConditionMistakes[level * TYPES + type] += in.readInt();
+            }
+            for (int bucket = 0; bucket < REACTION_BUCKETS; bucket++) {
+                levelReactions[level * REACTION_BUCKETS + bucket] += in.readInt();
+            }
+        }
+        return skipped;
+    }
+
+    /**
+     * Statistics of a fish, as returned by the queries.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class FishStats {
+        /** The ID of the fish */
+        private final String fishId;
+
+        /** The number of decisions about the fish */
+        private final int decisions;
+
+        /** The number of wrong decisions about the fish */
+        private final int mistakes;
+
+        /** The number of times the fish was accepted although it failed a condition */
+        private final int wrongAccepts;
+
+        /** The mean reaction time in milliseconds, 0 without timed decisions */
+        private final long meanReactionMillis;
+
+        /**
+         * @return The share of correct decisions between 0 and 1, 1 without decisions
+         */
+        public float getAccuracy() {
+            return decisions == 0 ? 1F : 1F - mistakes / (float) decisions;
+        }
+    }
+
+    /**
+     * Statistics of a level, or of all levels together, as returned by the queries.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class LevelStats {
+        /** The key the level is counted under, see {@link #levelKey(String)}, or null for all levels */
+        @Null
+        private final String levelKey;
+
+        /** The number of decisions */
+        private final int decisions;
+
+        /** The number of wrong decisions */
+        private final int mistakes;
+
+        /** The number of fish denied although they met all conditions */
+        private final int wrongDenies;
+
+        /** Mistakes of wrongly accepted fish per failed condition type, by type ordinal */
+        private final int[] conditionMistakes;
+
+        /** Number of reactions per bucket of {@value DecisionStats#REACTION_BUCKET_MILLIS} ms */
+        private final int[] reactionHistogram;
+
+        /** Summed reaction times in milliseconds */
+        private final long reactionMillis;
+
+        /**
+         * @return The share of correct decisions between 0 and 1, 1 without decisions
+         */
+        public float getAccuracy() {
+            return decisions == 0 ? 1F : 1F - mistakes / (float) decisions;
+        }
+
+        /**
+         * @param type The condition type
+         * @return The mistakes of wrongly accepted fish failing the condition type
+         */
+        public int getConditionMistakes(ConditionType type) {
+            return conditionMistakes[type.ordinal()];
+        }
+
+        /**
+         * Estimates a percentile of the reaction times.
+         * <p>
+         * The result is the upper bound of the bucket containing the percentile.
+         *
+         * @param percentile The percentile between 0 and 100
+         * @return The estimated reaction time in milliseconds, or 0 without timed decisions
+         */
+        public long getReactionPercentileMillis(double percentile) {
+            long total = 0;
+            for (int reactions : reactionHistogram) {
+                total += reactions;
+            }
+            if (total == 0) return 0;
+
+            long rank = Math.max(1, (long) Math.ceil(total * percentile / 100D));
+            long seen = 0;
+            for (int bucket = 0; bucket < reactionHistogram.length; bucket++) {
+                seen += reactionHistogram[bucket];
+                if (seen >= rank) {
+                    return (bucket + 1L) * REACTION_BUCKET_MILLIS;
+                }
+            }
+            return (long) reactionHistogram.length * REACTION_BUCKET_MILLIS;
+        }
+    }
+}
@@ -1,9 +1,7 @@
 package dev.juliusabels.fish_fiesta.util;
 
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
 import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
@@ -11,11 +9,15 @@ import dev.juliusabels.fish_fiesta.FishFiestaGame;
 
 /**
  * A utility class for drawing the big fish font
+ * <p>
+ * All labels and buttons share the single font instance loaded by the {@link ResourceHandler}.
+ * Instead of copying the font for every scale, the scale is applied per label with
+ * {@link Label#setFontScale(float)}, so every scale used in the UI is served by one font texture.
  */
 public class FishFontBig {
 
     /**
-     * The underlying bitmap font instance.
+     * The shared bitmap font instance.
      */
     private final BitmapFont font;
 
@@ -37,13 +39,9 @@ public class FishFontBig {
      * @return The created Label
      */
     public Label createLabel(String text, float scale, Color color) {
-        Label.LabelStyle labelStyle = new Label.LabelStyle();
-
-        BitmapFont fontCopy = new BitmapFont(font.getData().getFontFile());
-        fontCopy.getData().setScale(scale);
-        labelStyle.font = fontCopy;
-        labelStyle.fontColor = color;
-        return new Label(text.toUpperCase(), labelStyle);
+        Label label = new Label(text.toUpperCase(), new Label.LabelStyle(font, color));
+        label.setFontScale(scale);
+        return label;
     }
 
     /**
@@ -58,7 +56,7 @@ public class FishFontBig {
     }
 
     /**
-     * Creates and returns a TextButton.TextButtonStyle with this font properly scaled.
+     * Creates and returns a TextButton.TextButtonStyle using this font at the given scale.
      *
      * @param upDrawable The drawable for the button's up state
      * @param downDrawable The drawable for the button's down state
@@ -67,18 +65,17 @@ public class FishFontBig {
      * @param fontColor The color for normal state (optional)
      * @param overFontColor The color when hovered (optional)
      * @param downFontColor The color when pressed (optional)
-     * @return A TextButton.TextButtonStyle with the properly scaled font
+     * @return A TextButton.TextButtonStyle with the scale stored for {@link #createButton(String, TextButton.TextButtonStyle)}
      */
     public TextButton.TextButtonStyle createButtonStyle(Drawable upDrawable, Drawable downDrawable, Drawable overDrawable, float scale, Color fontColor, Color overFontColor, Color downFontColor) {
 
-        TextButton.TextButtonStyle style = new TextButton.TextButtonStyle();
+        ScaledTextButtonStyle style = new ScaledTextButtonStyle();
         style.up = upDrawable;
         style.down = downDrawable;
         style.over = overDrawable;
 
-        BitmapFont buttonFont = new BitmapFont(font.getData().getFontFile());
-        buttonFont.getData().setScale(scale);
-        style.font = buttonFont;
+        style.font = font;
+        style.fontScale = scale;
 
         style.fontColor = fontColor;
         style.overFontColor = overFontColor;
@@ -99,15 +96,18 @@ public class FishFontBig {
      * @return A TextButton with uppercase text
      */
     public TextButton createButton(String text, TextButton.TextButtonStyle style) {
-        return new TextButton(text.toUpperCase(), style);
+        TextButton button = new TextButton(text.toUpperCase(), style);
+        if (style instanceof ScaledTextButtonStyle scaledStyle) {
+            button.getLabel().setFontScale(scaledStyle.fontScale);
+        }
+        return button;
     }
 
     /**
-     * Releases all resources held by this font.
-     * <p>
-     * Must be called when the font is no longer needed to prevent memory leaks.
+     * Button style that remembers the font scale its buttons' labels are drawn with.
      */
-    public void dispose() {
-        this.font.dispose();
+    public static class ScaledTextButtonStyle extends TextButton.TextButtonStyle {
+        /** Scale applied to the label of buttons created with this style */
+        public float fontScale = 1F;
     }
 }
@@ -5,6 +5,7 @@ import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.utils.JsonReader;
 import com.badlogic.gdx.utils.JsonValue;
 import com.badlogic.gdx.utils.Null;
+import com.badlogic.gdx.utils.SerializationException;
 import dev.juliusabels.fish_fiesta.game.CreatureSize;
 import dev.juliusabels.fish_fiesta.game.WaterCreature;
 import dev.juliusabels.fish_fiesta.game.features.WaterSubtype;
@@ -13,7 +14,11 @@ import dev.juliusabels.fish_fiesta.game.features.WaterType;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.regex.Pattern;
 
 /**
  * Manages fish data loading and storage for the Fish Fiesta game.
@@ -21,33 +26,92 @@ import java.util.*;
  * This class is responsible for discovering available fish IDs, loading fish data from JSON files,
  * and providing access to the currently active fish. It uses JsonHelper to parse fish attributes
  * from JSON files located in the "fishes" directory.
+ * <p>
+ * Parsed fish are cached. {@link CatalogLoader} fills the cache on worker threads while the game
+ * is loading, so later lookups don't have to touch the file system. Once all fish are parsed,
+ * it also builds the {@link FishSearchIndex} of the journal.
+ * <p>
+ * Fish of {@link ContentPacks} are merged with the shipped ones. They are neither parsed
+ * while loading nor indexed with their texts, they are only inflated from their pack
+ * when first needed. Their traits are added to the search index from then on.
  */
 @Slf4j
 public class FishManager {
+    /** Pattern of the fish IDs {@link #formatIdToName(String)} can turn into names, lowercase words joined by underscores */
+    private static final Pattern FISH_ID_PATTERN = Pattern.compile("[a-z0-9]+(_[a-z0-9]+)*");
+
     /** List of all discovered fish IDs */
     private final List<String> fishIds = new ArrayList<>();
 
-    /** Flag to track whether fish discovery has been completed */
-    private boolean allFishesFound = false;
+    /** The same IDs as {@link #fishIds}, to check whether a fish exists in constant time */
+    private final Set<String> knownFishIds = new HashSet<>();
+
+    /** IDs of the shipped fish, without the ones of content packs, sorted */
+    private final List<String> shippedFishIds = new ArrayList<>();
+
+    /** Flag to track whether fish discovery has been completed, the ID lists are only read once it is set */
+    private volatile boolean allFishesFound = false;
+
+    /** The content packs adding fish to the shipped ones */
+    private final ContentPacks contentPacks;
+
+    /** The pack of every fish coming from a content pack, by fish ID */
+    private final Map<String, ContentPack> packFishes = new HashMap<>();
+
+    /** Already parsed fish by ID, filled concurrently by {@link #preloadFish(String)} */
+    private final Map<String, WaterCreature> fishCache = new ConcurrentHashMap<>();
+
+    /** IDs of the fish of content packs whose file is broken, so it isn't inflated and parsed again */
+    private final Set<String> brokenPackFishIds = ConcurrentHashMap.newKeySet();
+
+    /** Index for searching the catalog, or null until it is built */
+    @Null
+    private volatile FishSearchIndex searchIndex;
+
+    /** Fish of content packs parsed since the traits were last added to the search index, with their IDs */
+    private final Queue<Map.Entry<String, WaterCreature>> parsedPackFishes = new ConcurrentLinkedQueue<>();
 
     /** The currently loaded fish, or null if none is loaded */
     @Getter
     @Null
     private WaterCreature currentFish;
 
+    /**
+     * Creates a fish manager for the shipped fish only.
+     */
+    public FishManager() {
+        this(new ContentPacks(null));
+    }
+
+    /**
+     * Creates a fish manager for the shipped fish and the fish of content packs.
+     *
+     * @param contentPacks The content packs adding fish
+     */
+    public FishManager(ContentPacks contentPacks) {
+        this.contentPacks = contentPacks;
+    }
+
     /**
      * Scans the "fishes" directory to discover all available fish IDs.
      * <p>
      * This method reads all JSON files in the "fishes" directory and adds their names (without extension)
-     * to the fishIds list. It only runs once; subsequent calls have no effect if fish discovery is already complete.
+     * to the fishIds list, sorted by name.
+     * It only runs once; subsequent calls have no effect if fish discovery is already complete.
+     * The {@link CatalogLoader} runs it on a worker thread, while a screen may trigger it on the
+     * rendering thread, so calls are synchronized and a second caller waits for the first scan.
+     * In a native image, the IDs are taken from the {@link CatalogSnapshot} instead.
+     * The fish of the content packs are added afterwards.
      * <p>
      * This is all done so we don't have to load all fish objects on startup to safe time and memory.
      */
-    public void findFishes() {
+    public synchronized void findFishes() {
         if (allFishesFound) return;
 
         FileHandle dir = Gdx.files.internal("fishes");
-        if (!dir.exists()) {
+        if (CatalogSnapshot.isAvailable()) {
+            fishIds.addAll(CatalogSnapshot.getFishIds());
+        } else if (!dir.exists()) {
             log.error("The directory {} does not exist", dir);
             return;
         } else if (!dir.isDirectory()) {
@@ -60,10 +124,38 @@ public class FishManager {
             }
         }
 
+        knownFishIds.addAll(fishIds);
+        shippedFishIds.addAll(fishIds);
+        shippedFishIds.sort(null);
+        addPackFishes();
+
+        // Sorted, so the order doesn't depend on the file system, which the daily challenge relies on
+        fishIds.sort(null);
         allFishesFound = true;
         log.info("Found all fishes");
     }
 
+    /**
+     * Adds the fish of all content packs that aren't defined already.
+     * <p>
+     * Shipped fish can't be replaced by a pack, and of several packs defining the same fish,
+     * the first one wins. Fish whose ID isn't in snake_case are skipped, as they have no name.
+     */
+    private void addPackFishes() {
+        for (ContentPack pack : contentPacks.getPacks()) {
+            for (String fishId : pack.getFishIds()) {
+                if (!FISH_ID_PATTERN.matcher(fishId).matches()) {
+                    log.warn("Fish {} of the content pack {} isn't named in snake_case, skipping it", fishId, pack);
+                } else if (knownFishIds.add(fishId)) {
+                    fishIds.add(fishId);
+                    packFishes.put(fishId, pack);
+                } else {
+                    log.warn("Fish {} of the content pack {} is already defined, skipping it", fishId, pack);
+                }
+            }
+        }
+    }
+
     /**
      * Returns an unmodifiable list of all discovered fish IDs.
      * <p>
@@ -80,23 +172,142 @@ public class FishManager {
     }
 
     /**
-     * Loads a fish's data from its JSON file and sets it as the current fish.
+     * Returns the IDs of the fish worth parsing while the game is loading.
+     * <p>
+     * These are all fish except the ones of content packs, which are only inflated when first needed.
+     * The daily challenge is drawn from them too, so it doesn't depend on the installed packs.
+     *
+     * @return An unmodifiable list containing the IDs of all shipped fish, sorted
+     */
+    public List<String> getPreloadFishIds() {
+        if (!allFishesFound) {
+            findFishes();
+        }
+        return Collections.unmodifiableList(shippedFishIds);
+    }
+
+    /**
+     * @param fishId The ID of a fish
+     * @return The content pack the fish comes from, or null if it is a shipped fish or doesn't exist
+     */
+    @Null
+    public ContentPack getContentPack(String fishId) {
+        return packFishes.get(fishId);
+    }
+
+    /**
+     * Loads a fish's data and sets it as the current fish.
      * <p>
-     * This method parses the fish data including its description, size, and water preferences
-     * from the corresponding JSON file. It creates a new WaterCreature instance and sets it
-     * as the current fish.
+     * The fish is taken from the cache if it was preloaded, otherwise it is parsed from its
+     * JSON file and cached. If the fish can't be loaded, the current fish stays unchanged.
      *
      * @param fishId The ID of the fish to load
      * @return true if the fish was successfully loaded, false otherwise
      */
     public boolean loadFishForId(String fishId) {
-        if (!fishIds.contains(fishId)) {
+        if (!knownFishIds.contains(fishId)) {
             log.error("Fish {{}} not found", fishId);
             return false;
         }
 
-        FileHandle file = ResourceHandler.fishFileHandle(fishId + ".json");
-        JsonValue fishJson = new JsonReader().parse(file);
+        WaterCreature fish = getFish(fishId);
+        if (fish == null) {
+            return false;
+        }
+
+        this.currentFish = fish;
+        return true;
+    }
+
+    /**
+     * Looks up a fish without changing the current fish.
+     * <p>
+     * Like {@link #loadFishForId(String)}, the fish is parsed and cached if it wasn't preloaded.
+     * A fish of a content pack whose file is broken is only tried once.
+     *
+     * @param fishId The ID of the fish to look up
+     * @return The fish, or null if there is no fish with this ID or its file in its content pack is broken
+     */
+    @Null
+    public WaterCreature getFish(String fishId) {
+        WaterCreature cached = fishCache.get(fishId);
+        if (cached != null) {
+            return cached;
+        }
+        if (!knownFishIds.contains(fishId) || brokenPackFishIds.contains(fishId)) {
+            return null;
+        }
+        return fishCache.computeIfAbsent(fishId, this::parseFish);
+    }
+
+    /**
+     * Parses a fish and stores it in the cache without changing the current fish.
+     * <p>
+     * This method is thread-safe and meant to be called from worker threads while loading.
+     *
+     * @param fishId The ID of the fish to parse
+     */
+    public void preloadFish(String fishId) {
+        fishCache.computeIfAbsent(fishId, this::parseFish);
+    }
+
+    /**
+     * Builds the search index over all discovered fish and publishes it.
+     * <p>
+     * Only already parsed fish are indexed with their texts and traits. Fish that failed to parse
+     * are only found by their name. So are the fish of content packs that haven't been needed yet,
+     * as they aren't inflated for the index, but their traits are added once they are parsed.
+     * <p>
+     * This method is meant to be called from a worker thread once all fish have been preloaded.
+     */
+    public void buildSearchIndex() {
+        searchIndex = FishSearchIndex.build(getAllFishIds(), fishCache::get);
+    }
+
+    /**
+     * Returns the search index, after adding the traits of the fish of content packs parsed since the last call.
+     * <p>
+     * Like searching the index, this must only happen on the rendering thread.
+     *
+     * @return The index, or null until it is built
+     */
+    @Null
+    public FishSearchIndex getSearchIndex() {
+        FishSearchIndex index = searchIndex;
+        if (index == null) return null;
+
+        Map.Entry<String, WaterCreature> parsed;
+        while ((parsed = parsedPackFishes.poll()) != null) {
+            index.addTraits(Collections.binarySearch(fishIds, parsed.getKey()), parsed.getValue());
+        }
+        return index;
+    }
+
+    /**
+     * Parses a fish's data from its JSON file, or from the {@link CatalogSnapshot} if it contains the fish.
+     * The file of a fish coming from a content pack is inflated from the pack.
+     * <p>
+     * This includes its description, size, and water preferences.
+     *
+     * @param fishId The ID of the fish to parse
+     * @return A new WaterCreature instance with the parsed data, or null if the file in its content pack is broken,
+     * in which case the fish is remembered as broken
+     */
+    @Null
+    private WaterCreature parseFish(String fishId) {
+        JsonValue fishJson = CatalogSnapshot.getFishJson(fishId);
+        ContentPack pack = packFishes.get(fishId);
+        if (fishJson == null && pack != null) {
+            try {
+                fishJson = new JsonReader().parse(pack.readFish(fishId));
+            } catch (IOException | SerializationException e) {
+                log.error("Could not read fish {} from the content pack {}", fishId, pack, e);
+                brokenPackFishIds.add(fishId);
+                return null;
+            }
+        } else if (fishJson == null) {
+            fishJson = new JsonReader().parse(ResourceHandler.fishFileHandle(fishId + ".json"));
+        }
 
         String name = formatIdToName(fishId);
 
@@ -108,9 +319,11 @@ public class FishManager {
         List<WaterSubtype> waterSubtypes = WaterSubtype.mapFromStrings(JsonHelper.getList(fishJson, "waterSubtypes"));
         List<WaterTemperature> waterTemperatures = WaterTemperature.mapFromStrings(JsonHelper.getList(fishJson, "waterTemperatures"));
 
-        this.currentFish = new WaterCreature(name, description, notableFeatures, size, waterTypes, waterSubtypes, waterTemperatures);
-
-        return true;
+        WaterCreature fish = new WaterCreature(name, description, notableFeatures, size, waterTypes, waterSubtypes, waterTemperatures);
+        if (pack != null) {
+            parsedPackFishes.add(Map.entry(fishId, fish));
+        }
+        return fish;
     }
 
     /**
@@ -0,0 +1,361 @@
+package dev.juliusabels.fish_fiesta.util;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.Null;
+import dev.juliusabels.fish_fiesta.game.WaterCreature;
+import dev.juliusabels.fish_fiesta.game.level.ConditionType;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Inverted token index over the names, descriptions and notable features of all fish, and
+ * the traits of all fish as bit sets.
+ * <p>
+ * Texts are split into lowercase tokens of letters and digits. Every distinct token maps to
+ * the positions of the fish containing it, in the order of {@link FishManager#getAllFishIds()}.
+ * The tokens are sorted, so all tokens starting with a prefix are a range found with a binary
+ * search. Postings of tokens found in at least every {@value #DENSE_RATIO}th fish are stored as
+ * a {@link BitSet}, the others as sorted positions, so neither form takes more memory than the other.
+ * <p>
+ * A query matches the fish containing a token starting with each of its words, so results
+ * narrow down as the player types. The results are written into a {@link BitSet} of the caller,
+ * and searching doesn't allocate, apart from growing the bit sets on the first query.
+ * <p>
+ * For every {@link ConditionType} and each of its {@link ConditionType#getPossibleValues()},
+ * a bit set holds the fish having that value, e.g. all warm water fish. Trait filters select
+ * values per condition type like the conditions of a room: a fish has to have one of the
+ * selected values of every filtered condition type. Applying them takes a few bit set
+ * operations, no matter how many fish there are. Fish whose traits aren't known, because they
+ * couldn't be looked up while building, pass all trait filters rather than vanishing from the
+ * results. Their traits can be added later with {@link #addTraits(int, WaterCreature)}.
+ * <p>
+ * The tokens are immutable and safe to share once built. Building the index parses the texts of
+ * the whole catalog, which is why {@link CatalogLoader} does it on a worker thread. Searching uses
+ * scratch bit sets and, like adding traits, must only happen on one thread, the rendering thread.
+ */
+public class FishSearchIndex {
+    /** Postings of a token found in at least one of this many fish are stored as a bit set */
+    private static final int DENSE_RATIO = 32;
+
+    /** Number of indexed fish */
+    @Getter
+    private final int fishCount;
+
+    /** All distinct tokens, sorted */
+    private final String[] tokens;
+
+    /** Positions of the fish containing each token as int[], or a BitSet for frequent tokens */
+    private final Object[] postings;
+
+    /** Fish having each value, by condition type ordinal and position in its possible values */
+    private final BitSet[][] traits;
+
+    /** Fish whose traits aren't known, which pass all trait filters */
+    private final BitSet unknownTraits;
+
+    /** Fish matching the current word of a query */
+    private final BitSet wordMatches;
+
+    /** Fish having one of the selected values of the current condition type */
+    private final BitSet traitMatches;
+
+    /**
+     * Creates an index from its tokens and postings.
+     *
+     * @param fishCount Number of indexed fish
+     * @param tokens All distinct tokens, sorted
+     * @param postings Postings of each token
+     * @param traits Fish having each value of each condition type
+     * @param unknownTraits Fish whose traits aren't known
+     */
+    private FishSearchIndex(int fishCount, String[] tokens, Object[] postings, BitSet[][] traits, BitSet unknownTraits) {
+        this.fishCount = fishCount;
+        this.tokens = tokens;
+        this.postings = postings;
+        this.traits = traits;
+        this.unknownTraits = unknownTraits;
+        this.wordMatches = new BitSet(fishCount);
+        this.traitMatches = new BitSet(fishCount);
+    }
+
+    /**
+     * Creates empty trait filters, filtering no condition type.
+     *
+     * @return The filters, a bitmask of the selected {@link ConditionType#getPossibleValues()} by condition type ordinal
+     */
+    public static int[] createTraitFilters() {
+        return new int[ConditionType.values().length];
+    }
+
+    /**
+     * Builds the index of a catalog.
+     * <p>
+     * Fish that can't be looked up are only indexed by their name, and their traits are unknown.
+     *
+     * @param fishIds IDs of all fish, in the order of the positions
+     * @param fishLookup Looks up a fish by ID, returning null for fish that can't be loaded
+     * @return The index of the catalog
+     */
+    public static FishSearchIndex build(List<String> fishIds, Function<String, WaterCreature> fishLookup) {
+        ConditionType[] types = ConditionType.values();
+        BitSet[][] traits = new BitSet[types.length][];
+        for (ConditionType type : types) {
+            traits[type.ordinal()] = new BitSet[type.getPossibleValues().size()];
+            for (int i = 0; i < traits[type.ordinal()].length; i++) {
+                traits[type.ordinal()][i] = new BitSet(fishIds.size());
+            }
+        }
+
+        BitSet unknownTraits = new BitSet(fishIds.size());
+        Map<String, IntArray> tokenPositions = new HashMap<>();
+        for (int position = 0; position < fishIds.size(); position++) {
+            String fishId = fishIds.get(position);
+            WaterCreature fish = fishLookup.apply(fishId);
+            addTokens(tokenPositions, FishManager.formatIdToName(fishId), position);
+            if (fish != null) {
+                addTokens(tokenPositions, fish.getDescription(), position);
+                addTokens(tokenPositions, fish.getNotableFeatures(), position);
+                setTraits(traits, position, fish);
+            } else {
+                unknownTraits.set(position);
+            }
+        }
+
+        String[] tokens = tokenPositions.keySet().toArray(new String[0]);
+        Arrays.sort(tokens);
+        Object[] postings = new Object[tokens.length];
+        for (int i = 0; i < tokens.length; i++) {
+            IntArray positions = tokenPositions.get(tokens[i]);
+            if (positions.size * DENSE_RATIO >= fishIds.size()) {
+                BitSet dense = new BitSet(fishIds.size());
+                for (int j = 0; j < positions.size; j++) {
+                    dense.set(positions.get(j));
+                }
+                postings[i] = dense;
+            } else {
+                postings[i] = positions.toArray();
+            }
+        }
+        return new FishSearchIndex(fishIds.size(), tokens, postings, traits, unknownTraits);
+    }
+
+    /**
+     * Marks a fish in the bit sets of all values it has.
+     *
+     * @param traits Fish having each value of each condition type
+     * @param position The position of the fish
+     * @param fish The fish
+     */
+    private static void setTraits(BitSet[][] traits, int position, WaterCreature fish) {
+        for (ConditionType type : ConditionType.values()) {
+            for (Enum<?> value : type.getCreatureValues(fish)) {
+                int valueIndex = type.getPossibleValues().indexOf(value);
+                if (valueIndex >= 0) {
+                    traits[type.ordinal()][valueIndex].set(position);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the traits of a fish whose traits weren't known, so trait filters apply to it from now on.
+     * <p>
+     * Its texts stay unindexed, it is still only found by its name. Nothing changes if its
+     * traits are known already.
+     *
+     * @param position The position of the fish
+     * @param fish The parsed fish
+     */
+    public void addTraits(int position, WaterCreature fish) {
+        if (!unknownTraits.get(position)) return;
+
+        unknownTraits.clear(position);
+        setTraits(traits, position, fish);
+    }
+
+    /**
+     * Adds the tokens of a text to the postings of a fish.
+     * <p>
+     * Fish are added in the order of their positions, so a position already added for a token
+     * is always the last one.
+     *
+     * @param tokenPositions Positions of the fish containing each token
+     * @param text The text to split into tokens
+     * @param position The position of the fish
+     */
+    private static void addTokens(Map<String, IntArray> tokenPositions, @Null String text, int position) {
+        if (text == null) return;
+
+        String lowerCase = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lowerCase.length(); i++) {
+            boolean tokenChar = i < lowerCase.length() && Character.isLetterOrDigit(lowerCase.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                String token = lowerCase.substring(start, i);
+                IntArray positions = tokenPositions.computeIfAbsent(token, t -> new IntArray());
+                if (positions.isEmpty() || positions.peek() != position) {
+                    positions.add(position);
+                }
+                start = -1;
+            }
+        }
+    }
+
+    /**
+     * Finds the fish matching a query.
+     * <p>
+     * Every word of the query has to be the start of a token of the fish. A query without
+     * any words matches all fish.
+     *
+     * @param query The query as typed by the player
+     * @param matches Set to the positions of the matching fish
+     * @return The number of matching fish
+     */
+    public int search(CharSequence query, BitSet matches) {
+        matches.clear();
+        matches.set(0, fishCount);
+        return searchWithin(query, matches);
+    }
+
+    /**
+     * Finds the fish matching a query and trait filters.
+     * <p>
+     * The trait filters are applied first, as they are cheap and usually narrow the fish down most.
+     * Fish whose traits aren't known pass them.
+     *
+     * @param query The query as typed by the player
+     * @param traitFilters The selected values of each condition type, see {@link #createTraitFilters()}
+     * @param matches Set to the positions of the matching fish
+     * @return The number of matching fish
+     */
+    public int search(CharSequence query, int[] traitFilters, BitSet matches) {
+        matches.clear();
+        matches.set(0, fishCount);
+        for (int type = 0; type < traits.length; type++) {
+            int selected = traitFilters[type];
+            if (selected == 0) continue;
+
+            traitMatches.clear();
+            for (int value = 0; value < traits[type].length; value++) {
+                if ((selected & (1 << value)) != 0) {
+                    traitMatches.or(traits[type][value]);
+                }
+            }
+            traitMatches.or(unknownTraits);
+            matches.and(traitMatches);
+        }
+        return searchWithin(query, matches);
+    }
+
+    /**
+     * Removes the fish not matching a query from the matches.
+     *
+     * @param query The query as typed by the player
+     * @param matches The fish to search, reduced to the matching ones
+     * @return The number of matching fish
+     */
+    private int searchWithin(CharSequence query, BitSet matches) {
+        if (matches.isEmpty()) return 0;
+
+        int start = -1;
+        for (int i = 0; i <= query.length(); i++) {
+            boolean tokenChar = i < query.length() && Character.isLetterOrDigit(query.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                findPrefix(query, start, i, wordMatches);
+                matches.and(wordMatches);
+                if (matches.isEmpty()) return 0;
+                start = -1;
+            }
+        }
+        return matches.cardinality();
+    }
+
+    /**
+     * Finds the fish containing a token starting with a word of a query.
+     *
+     * @param query The query
+     * @param start The start of the word in the query
+     * @param end The end of the word in the query, exclusive
+     * @param result Set to the positions of the fish containing a matching token
+     */
+    private void findPrefix(CharSequence query, int start, int end, BitSet result) {
+        result.clear();
+        for (int i = lowerBound(query, start, end); i < tokens.length && startsWith(tokens[i], query, start, end); i++) {
+            if (postings[i] instanceof BitSet dense) {
+                result.or(dense);
+            } else {
+                for (int position : (int[]) postings[i]) {
+                    result.set(position);
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the first token not sorted before a word of a query, which is the first token
+     * starting with the word if there is any.
+     *
+     * @param query The query
+     * @param start The start of the word in the query
+     * @param end The end of the word in the query, exclusive
+     * @return The index of the first token not before the word
+     */
+    private int lowerBound(CharSequence query, int start, int end) {
+        int low = 0;
+        int high = tokens.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compare(tokens[middle], query, start, end) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Compares a token with a word of a query like {@link String#compareTo(String)}, ignoring
+     * the case of the query.
+     *
+     * @param token The token
+     * @param query The query
+     * @param start The start of the word in the query
+     * @param end The end of the word in the query, exclusive
+     * @return A negative number, zero or a positive number if the token is before, equal to or after the word
+     */
+    private static int compare(String token, CharSequence query, int start, int end) {
+        int length = Math.min(token.length(), end - start);
+        for (int i = 0; i < length; i++) {
+            int difference = token.charAt(i) - Character.toLowerCase(query.charAt(start + i));
+            if (difference != 0) return difference;
+        }
+        return token.length() - (end - start);
+    }
+
+    /**
+     * @param token The token
+     * @param query The query
+     * @param start The start of the word in the query
+     * @param end The end of the word in the query, exclusive
+     * @return true if the token starts with the word, ignoring the case of the query
+     */
+    private static boolean startsWith(String token, CharSequence query, int start, int end) {
+        if (token.length() < end - start) return false;
+        for (int i = start; i < end; i++) {
+            if (token.charAt(i - start) != Character.toLowerCase(query.charAt(i))) return false;
+        }
+        return true;
+    }
+}
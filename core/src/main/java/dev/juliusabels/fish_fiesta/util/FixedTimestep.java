@@ -0,0 +1,71 @@
+package dev.juliusabels.fish_fiesta.util;
+
+import lombok.Getter;
+
+/**
+ * Clock advancing game logic in fixed steps, independent of the frame rate.
+ * <p>
+ * Every frame adds its delta time to an accumulator, which is consumed in whole steps of
+ * {@link #getStep()} seconds. Logic running once per step behaves the same at 30, 60 or 240
+ * frames per second, and the remainder of the accumulator is available as {@link #getAlpha()}
+ * to interpolate drawing between two steps.
+ * <p>
+ * A single frame never advances the clock by more than {@link #MAX_STEPS_PER_FRAME} steps.
+ * After a long hitch, e.g. while the window is dragged, the logic falls behind instead of
+ * catching up in one burst the player couldn't react to.
+ */
+public class FixedTimestep {
+    /** Maximum number of steps a single frame advances the clock */
+    public static final int MAX_STEPS_PER_FRAME = 8;
+
+    /** Length of a step in seconds */
+    @Getter
+    private final float step;
+
+    /** Time in seconds that hasn't been consumed by a step yet */
+    private float accumulator;
+
+    /** Number of steps since the clock was created */
+    @Getter
+    private long steps;
+
+    /**
+     * Creates a new clock at step zero.
+     *
+     * @param step Length of a step in seconds
+     */
+    public FixedTimestep(float step) {
+        this.step = step;
+    }
+
+    /**
+     * Converts a duration into steps of this clock.
+     *
+     * @param seconds The duration in seconds
+     * @return The number of steps closest to the duration, at least one
+     */
+    public int toSteps(float seconds) {
+        return Math.max(1, Math.round(seconds / step));
+    }
+
+    /**
+     * Adds the time of a frame to the clock.
+     *
+     * @param delta Time in seconds since the last frame
+     * @return The number of steps the logic has to run for this frame
+     */
+    public int advance(float delta) {
+        accumulator += Math.min(delta, step * MAX_STEPS_PER_FRAME);
+        int due = (int) (accumulator / step);
+        accumulator -= due * step;
+        steps += due;
+        return due;
+    }
+
+    /**
+     * @return How far the clock is into the next step, between 0 (inclusive) and 1 (exclusive)
+     */
+    public float getAlpha() {
+        return accumulator / step;
+    }
+}
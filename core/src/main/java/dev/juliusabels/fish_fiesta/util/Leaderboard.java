@@ -0,0 +1,737 @@
+package dev.juliusabels.fish_fiesta.util;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ByteArray;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.LongArray;
+import com.badlogic.gdx.utils.Null;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Local leaderboard of the best level runs, stored in a compact append-only file.
+ * <p>
+ * The file is a sequence of records, each starting with a tag byte:
+ * <ul>
+ *   <li>A name record (tag, length as short, UTF-8 bytes) assigns the next code to a level ID or player name</li>
+ *   <li>A run record (tag, level code, player code, score, mistakes, flags, duration in ms, date in epoch ms)
+ *       takes {@value #RUN_RECORD_SIZE} bytes</li>
+ * </ul>
+ * Recording a run appends its record, and the name records of a new level or player before it.
+ * <p>
+ * Only the {@value #RANKING_SIZE} best runs of every level and of all levels together are kept,
+ * plus the personal best of every player on every level. Runs that fall out of all of them are
+ * dropped, so memory grows with the number of levels and players, not with the runs played.
+ * Once the file holds {@value #COMPACTION_SLACK} more run records than twice the kept runs, it is
+ * rewritten with the kept runs only, through a temporary file. The same happens after loading a
+ * file with dropped runs or a record torn by a crash.
+ * <p>
+ * In memory the runs are kept in parallel primitive arrays, whose slots are reused once their
+ * run is dropped. Every level has a ranking of its runs, best first, and so do all levels
+ * together. A new run is placed into a ranking by binary search and the entries behind it move
+ * back by one, at most {@value #RANKING_SIZE} of them, so the top runs are read off the front of
+ * a ranking without looking at the others. The personal best of every player on every level is
+ * kept in a map and updated as runs are recorded. Runs rank by score, then by fewer mistakes,
+ * then by a shorter duration, then by being recorded first.
+ * <p>
+ * The file is only touched by a background thread, which reads it once it is started by
+ * {@link #loadInBackground()} or the first query, and then appends the recorded runs one after
+ * the other. So the rendering thread never waits for the file: until it is read, the queries
+ * return {@link #NOT_LOADED}, no runs or no count instead. All methods are thread-safe.
+ */
+@Slf4j
+public class Leaderboard {
+    /** Name of the leaderboard file in the user storage */
+    public static final String FILE_NAME = "fish_fiesta_leaderboard.bin";
+
+    /** Number of runs kept in the ranking of every level and in the ranking of all levels */
+    public static final int RANKING_SIZE = 50;
+
+    /** Personal best returned while the file hasn't been read yet, compared by identity */
+    public static final Run NOT_LOADED = new Run("", "", 0, 0, false, 0, 0);
+
+    /** Run records the file may hold beyond twice the kept runs before it is compacted */
+    private static final int COMPACTION_SLACK = 1000;
+
+    /** Tag of a record assigning the next code to a name */
+    private static final byte NAME_RECORD = 1;
+
+    /** Tag of a record storing a run */
+    private static final byte RUN_RECORD = 2;
+
+    /** Size of a run record in bytes, including its tag */
+    private static final int RUN_RECORD_SIZE = 1 + 4 + 4 + 4 + 1 + 1 + 4 + 8;
+
+    /** Flag of a run that completed its level */
+    private static final byte COMPLETED_FLAG = 1;
+
+    /** Level code of the ranking of all runs and of the personal bests across all levels */
+    private static final int ALL_LEVELS = -1;
+
+    /** The file the runs are stored in */
+    private final FileHandle file;
+
+    /** Thread reading the file and appending the recorded runs, one task after the other */
+    private final ExecutorService fileThread;
+
+    /** The player new runs are recorded for */
+    @Getter
+    private final String player;
+
+    /** Level IDs and player names by their code */
+    private final Array<String> names = new Array<>();
+
+    /** Codes of level IDs and player names */
+    private final ObjectIntMap<String> nameCodes = new ObjectIntMap<>();
+
+    /** Level code of every run */
+    private final IntArray runLevels = new IntArray();
+
+    /** Player code of every run */
+    private final IntArray runPlayers = new IntArray();
+
+    /** Score of every run */
+    private final IntArray runScores = new IntArray();
+
+    /** Mistakes of every run */
+    private final ByteArray runMistakes = new ByteArray();
+
+    /** Flags of every run */
+    private final ByteArray runFlags = new ByteArray();
+
+    /** Duration of every run in milliseconds */
+    private final IntArray runDurations = new IntArray();
+
+    /** Date of every run in milliseconds since the epoch */
+    private final LongArray runDates = new LongArray();
+
+    /** Position of every run in the order the runs were recorded */
+    private final IntArray runSequences = new IntArray();
+
+    /** Number of rankings and personal bests every run is part of, free slots have none */
+    private final IntArray runReferences = new IntArray();
+
+    /** Slots of dropped runs, to be reused by the next runs */
+    private final IntArray freeRuns = new IntArray();
+
+    /** Sequence number of the next recorded run */
+    private int nextSequence;
+
+    /** Number of run records in the file, including those of dropped runs, only used by the file thread */
+    private int fileRuns;
+
+    /** Whether the file misses records, because appending to it failed, only used by the file thread */
+    private boolean fileIncomplete;
+
+    /** Run indices ordered best first, by level code, or {@link #ALL_LEVELS} for all levels */
+    private final IntMap<IntArray> rankings = new IntMap<>();
+
+    /** Index of the best run, by player code and level code, or {@link #ALL_LEVELS} across all levels */
+    private final IntMap<IntIntMap> personalBests = new IntMap<>();
+
+    /** Whether reading the file has been handed to the file thread */
+    private final AtomicBoolean loadStarted = new AtomicBoolean();
+
+    /** Whether the file has been read, set once by the file thread */
+    private volatile boolean loaded;
+
+    /**
+     * Creates a leaderboard stored in the specified file, without reading it yet.
+     *
+     * @param file The file the runs are stored in, created on the first recorded run
+     * @param player The player new runs are recorded for
+     */
+    public Leaderboard(FileHandle file, String player) {
+        this.file = file;
+        this.player = player;
+        this.fileThread = Executors.newSingleThreadExecutor(Thread.ofPlatform().daemon().name("leaderboard").factory());
+    }
+
+    /**
+     * Starts reading the file on the file thread, unless that already happened.
+     */
+    public void loadInBackground() {
+        if (loadStarted.compareAndSet(false, true)) {
+            fileThread.execute(this::load);
+        }
+    }
+
+    /**
+     * Records a run of the current player. The file thread ranks it once the file is read and
+     * appends it to the file, or compacts the file if it grew too large.
+     *
+     * @param levelId The ID of the level played
+     * @param score The score of the run
+     * @param mistakes The number of mistakes made
+     * @param completed Whether the level was completed
+     * @param durationMillis The time played in milliseconds
+     */
+    public void record(String levelId, int score, int mistakes, boolean completed, long durationMillis) {
+        int duration = (int) Math.min(Integer.MAX_VALUE, Math.max(0, durationMillis));
+        long date = System.currentTimeMillis();
+        byte flags = completed ? COMPLETED_FLAG : 0;
+
+        loadInBackground();
+        fileThread.execute(() -> append(levelId, score, (byte) mistakes, flags, duration, date));
+    }
+
+    /**
+     * Ranks a recorded run and appends it to the file, or compacts the file if it grew too large.
+     * Runs on the file thread.
+     * <p>
+     * The run is ranked even if it couldn't be written, so it shows up until the game is closed.
+     *
+     * @param levelId The ID of the level played
+     * @param score The score of the run
+     * @param mistakes The number of mistakes made
+     * @param flags The flags of the run
+     * @param duration The time played in milliseconds
+     * @param date The date of the run in milliseconds since the epoch
+     */
+    private void append(String levelId, int score, byte mistakes, byte flags, int duration, long date) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        synchronized (this) {
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                int levelCode = codeFor(levelId, out);
+                int playerCode = codeFor(player, out);
+                int run = addRun(levelCode, playerCode, score, mistakes, flags, duration, date);
+                writeRun(run, out);
+                rank(run);
+            } catch (IOException e) {
+                // Only thrown by the underlying stream, which writes to memory
+                throw new GdxRuntimeException(e);
+            }
+        }
+
+        fileRuns++;
+        if (fileIncomplete || fileRuns > 2 * getKeptRuns() + COMPACTION_SLACK) {
+            compact();
+            return;
+        }
+        try {
+            file.writeBytes(bytes.toByteArray(), true);
+        } catch (GdxRuntimeException e) {
+            log.error("Failed to write a run of level {} to the leaderboard", levelId, e);
+            fileIncomplete = true;
+        }
+    }
+
+    /**
+     * @param levelId The ID of the level
+     * @param count The maximum number of runs to return
+     * @return The best runs of the level, best first, none while the file hasn't been read yet
+     */
+    public synchronized List<Run> getTopRuns(String levelId, int count) {
+        if (!isLoaded()) return List.of();
+        return nameCodes.containsKey(levelId) ? topRuns(nameCodes.get(levelId, 0), count) : List.of();
+    }
+
+    /**
+     * @param count The maximum number of runs to return
+     * @return The best runs of all levels, best first, none while the file hasn't been read yet
+     */
+    public synchronized List<Run> getGlobalTopRuns(int count) {
+        if (!isLoaded()) return List.of();
+        return topRuns(ALL_LEVELS, count);
+    }
+
+    /**
+     * @param levelId The ID of the level
+     * @return The best run of the current player on the level, null if there is none, or
+     *     {@link #NOT_LOADED} while the file hasn't been read yet
+     */
+    @Null
+    public Run getPersonalBest(String levelId) {
+        return getPersonalBest(levelId, player);
+    }
+
+    /**
+     * @param levelId The ID of the level
+     * @param playerName The name of the player
+     * @return The best run of the player on the level, null if there is none, or
+     *     {@link #NOT_LOADED} while the file hasn't been read yet
+     */
+    @Null
+    public synchronized Run getPersonalBest(String levelId, String playerName) {
+        if (!isLoaded()) return NOT_LOADED;
+        if (!nameCodes.containsKey(levelId) || !nameCodes.containsKey(playerName)) return null;
+
+        IntIntMap bests = personalBests.get(nameCodes.get(playerName, 0));
+        int run = bests == null ? -1 : bests.get(nameCodes.get(levelId, 0), -1);
+        return run < 0 ? null : toRun(run);
+    }
+
+    /**
+     * @return The number of runs kept in the rankings and personal bests, 0 while the file hasn't been read yet
+     */
+    public synchronized int getRunCount() {
+        if (!isLoaded()) return 0;
+        return getKeptRuns();
+    }
+
+    /**
+     * Returns whether the runs can be queried, starting to read the file if that hasn't happened yet.
+     *
+     * @return true if the file has been read
+     */
+    public boolean isLoaded() {
+        if (!loaded) {
+            loadInBackground();
+        }
+        return loaded;
+    }
+
+    /**
+     * Blocks until the file has been read and every run recorded so far is written.
+     * <p>
+     * The game never waits for the file, this is meant for tools checking the leaderboard.
+     */
+    public void awaitWritten() {
+        loadInBackground();
+        try {
+            fileThread.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new GdxRuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * Lets the file thread write the runs recorded so far and stops it, waiting a moment for it to finish.
+     */
+    public void dispose() {
+        fileThread.shutdown();
+        try {
+            fileThread.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return The number of slots holding a kept run
+     */
+    private int getKeptRuns() {
+        return runScores.size - freeRuns.size;
+    }
+
+    /**
+     * Reads the file and publishes its runs to the queries, then compacts the file if it holds
+     * dropped runs or a torn record. Runs on the file thread.
+     * <p>
+     * No query looks at the runs before they are published, so they are parsed without holding the lock.
+     */
+    private void load() {
+        if (!file.exists()) {
+            loaded = true;
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+        byte[] bytes;
+        try {
+            bytes = file.readBytes();
+        } catch (GdxRuntimeException e) {
+            log.error("Failed to read the leaderboard {}", file, e);
+            loaded = true;
+            return;
+        }
+
+        int validLength = parse(ByteBuffer.wrap(bytes));
+        // The volatile write publishes the parsed runs to the queries
+        loaded = true;
+        log.info("Loaded {} runs from the leaderboard and kept {} in {} ms", fileRuns, getKeptRuns(),
+            (System.nanoTime() - startNanos) / 1_000_000);
+        if (validLength < bytes.length) {
+            log.warn("Cutting off {} unreadable bytes at the end of the leaderboard {}", bytes.length - validLength, file);
+            compact();
+        } else if (fileRuns > getKeptRuns()) {
+            compact();
+        }
+    }
+
+    /**
+     * Reads all complete records of the file and ranks their runs.
+     *
+     * @param buffer The content of the file
+     * @return The number of bytes belonging to complete records
+     */
+    private int parse(ByteBuffer buffer) {
+        while (buffer.hasRemaining()) {
+            int start = buffer.position();
+            byte tag = buffer.get();
+
+            if (tag == NAME_RECORD && buffer.remaining() >= 2) {
+                int length = buffer.getShort() & 0xFFFF;
+                if (buffer.remaining() < length) return start;
+
+                byte[] name = new byte[length];
+                buffer.get(name);
+                addName(new String(name, StandardCharsets.UTF_8));
+            } else if (tag == RUN_RECORD && buffer.remaining() >= RUN_RECORD_SIZE - 1) {
+                int levelCode = buffer.getInt();
+                int playerCode = buffer.getInt();
+                int score = buffer.getInt();
+                byte mistakes = buffer.get();
+                byte flags = buffer.get();
+                int duration = buffer.getInt();
+                long date = buffer.getLong();
+                if (levelCode < 0 || levelCode >= names.size || playerCode < 0 || playerCode >= names.size) {
+                    return start;
+                }
+                rank(addRun(levelCode, playerCode, score, mistakes, flags, duration, date));
+                fileRuns++;
+            } else {
+                return start;
+            }
+        }
+        return buffer.position();
+    }
+
+    /**
+     * Rewrites the file with the names and the kept runs only, in the order they were recorded.
+     * <p>
+     * The file is written to a temporary file first, so a crash never leaves a torn file behind.
+     * Runs on the file thread, the only one changing the runs, so it reads them without the lock.
+     */
+    private void compact() {
+        int keptRuns = getKeptRuns();
+        // Sequence and slot of every kept run, so sorting them orders the slots by sequence without boxing
+        long[] order = new long[keptRuns];
+        int kept = 0;
+        for (int run = 0; run < runScores.size; run++) {
+            if (runReferences.get(run) > 0) {
+                order[kept++] = (long) runSequences.get(run) << 32 | run;
+            }
+        }
+        Arrays.sort(order);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(names.size * 16 + keptRuns * RUN_RECORD_SIZE);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            for (String name : names) {
+                writeName(name, out);
+            }
+            for (long entry : order) {
+                writeRun((int) entry, out);
+            }
+        } catch (IOException e) {
+            // Only thrown by the underlying stream, which writes to memory
+            throw new GdxRuntimeException(e);
+        }
+
+        FileHandle temporary = file.sibling(file.name() + ".tmp");
+        try {
+            temporary.writeBytes(bytes.toByteArray(), false);
+            temporary.moveTo(file);
+            log.info("Compacted the leaderboard from {} to {} runs", fileRuns, keptRuns);
+            fileRuns = keptRuns;
+            fileIncomplete = false;
+        } catch (GdxRuntimeException e) {
+            log.error("Failed to compact the leaderboard {}", file, e);
+        }
+    }
+
+    /**
+     * Returns the code of a name, appending a name record for it to the output if it is new.
+     *
+     * @param name The level ID or player name
+     * @param out The output of the records to append
+     * @return The code of the name
+     * @throws IOException If writing to the output fails
+     */
+    private int codeFor(String name, DataOutputStream out) throws IOException {
+        int code = nameCodes.get(name, -1);
+        if (code >= 0) return code;
+
+        writeName(name, out);
+        return addName(name);
+    }
+
+    /**
+     * Writes the name record of a level ID or player name.
+     *
+     * @param name The level ID or player name
+     * @param out The output of the records
+     * @throws IOException If writing to the output fails
+     */
+    private static void writeName(String name, DataOutputStream out) throws IOException {
+        byte[] encoded = name.getBytes(StandardCharsets.UTF_8);
+        out.writeByte(NAME_RECORD);
+        out.writeShort(encoded.length);
+        out.write(encoded);
+    }
+
+    /**
+     * Writes the record of a kept run.
+     *
+     * @param run The index of the run
+     * @param out The output of the records
+     * @throws IOException If writing to the output fails
+     */
+    private void writeRun(int run, DataOutputStream out) throws IOException {
+        out.writeByte(RUN_RECORD);
+        out.writeInt(runLevels.get(run));
+        out.writeInt(runPlayers.get(run));
+        out.writeInt(runScores.get(run));
+        out.writeByte(runMistakes.get(run));
+        out.writeByte(runFlags.get(run));
+        out.writeInt(runDurations.get(run));
+        out.writeLong(runDates.get(run));
+    }
+
+    /**
+     * @param name The level ID or player name
+     * @return The code assigned to the name
+     */
+    private int addName(String name) {
+        names.add(name);
+        nameCodes.put(name, names.size - 1);
+        return names.size - 1;
+    }
+
+    /**
+     * Stores a run in a free slot of the parallel arrays, or appends it, without ranking it.
+     *
+     * @param levelCode The code of the level played
+     * @param playerCode The code of the player
+     * @param score The score of the run
+     * @param mistakes The number of mistakes made
+     * @param flags The flags of the run
+     * @param duration The time played in milliseconds
+     * @param date The date of the run in milliseconds since the epoch
+     * @return The index of the run
+     */
+    private int addRun(int levelCode, int playerCode, int score, byte mistakes, byte flags, int duration, long date) {
+        if (freeRuns.isEmpty()) {
+            runLevels.add(levelCode);
+            runPlayers.add(playerCode);
+            runScores.add(score);
+            runMistakes.add(mistakes);
+            runFlags.add(flags);
+            runDurations.add(duration);
+            runDates.add(date);
+            runSequences.add(nextSequence++);
+            runReferences.add(0);
+            return runScores.size - 1;
+        }
+
+        int run = freeRuns.pop();
+        runLevels.set(run, levelCode);
+        runPlayers.set(run, playerCode);
+        runScores.set(run, score);
+        runMistakes.set(run, mistakes);
+        runFlags.set(run, flags);
+        runDurations.set(run, duration);
+        runDates.set(run, date);
+        runSequences.set(run, nextSequence++);
+        return run;
+    }
+
+    /**
+     * Puts a new run into the rankings and personal bests it belongs to, or drops it if it belongs to none.
+     *
+     * @param run The index of the run
+     */
+    private void rank(int run) {
+        insert(ranking(runLevels.get(run)), run);
+        insert(ranking(ALL_LEVELS), run);
+        updatePersonalBests(run);
+        if (runReferences.get(run) == 0) {
+            freeRuns.add(run);
+        }
+    }
+
+    /**
+     * Counts a ranking or personal best a run became part of.
+     *
+     * @param run The index of the run
+     */
+    private void reference(int run) {
+        runReferences.incr(run, 1);
+    }
+
+    /**
+     * Counts a ranking or personal best a run is no longer part of, dropping the run if it was the last one.
+     *
+     * @param run The index of the run
+     */
+    private void release(int run) {
+        runReferences.incr(run, -1);
+        if (runReferences.get(run) == 0) {
+            freeRuns.add(run);
+        }
+    }
+
+    /**
+     * @param levelCode The level code, or {@link #ALL_LEVELS}
+     * @return The ranking of the level, created empty if it doesn't exist yet
+     */
+    private IntArray ranking(int levelCode) {
+        IntArray ranking = rankings.get(levelCode);
+        if (ranking == null) {
+            ranking = new IntArray();
+            rankings.put(levelCode, ranking);
+        }
+        return ranking;
+    }
+
+    /**
+     * Inserts a run into a ranking behind all runs that are at least as good, found by binary search.
+     * <p>
+     * A full ranking drops its last run to make room, and a run worse than all runs of a full ranking isn't inserted.
+     *
+     * @param ranking The ranking to insert into
+     * @param run The index of the run
+     */
+    private void insert(IntArray ranking, int run) {
+        if (ranking.size == RANKING_SIZE && compare(ranking.peek(), run) <= 0) return;
+
+        int low = 0;
+        int high = ranking.size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compare(ranking.get(middle), run) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        ranking.insert(low, run);
+        reference(run);
+        if (ranking.size > RANKING_SIZE) {
+            release(ranking.pop());
+        }
+    }
+
+    /**
+     * Makes a run the personal best of its player on its level and across all levels, where it is better.
+     *
+     * @param run The index of the run
+     */
+    private void updatePersonalBests(int run) {
+        int playerCode = runPlayers.get(run);
+        IntIntMap bests = personalBests.get(playerCode);
+        if (bests == null) {
+            bests = new IntIntMap();
+            personalBests.put(playerCode, bests);
+        }
+
+        updatePersonalBest(bests, runLevels.get(run), run);
+        updatePersonalBest(bests, ALL_LEVELS, run);
+    }
+
+    /**
+     * Makes a run the best of a player on a level if it is better than the current best.
+     *
+     * @param bests The best runs of the player by level code
+     * @param levelCode The level code, or {@link #ALL_LEVELS}
+     * @param run The index of the run
+     */
+    private void updatePersonalBest(IntIntMap bests, int levelCode, int run) {
+        int best = bests.get(levelCode, -1);
+        if (best < 0 || compare(run, best) < 0) {
+            bests.put(levelCode, run);
+            reference(run);
+            if (best >= 0) {
+                release(best);
+            }
+        }
+    }
+
+    /**
+     * @param levelCode The level code, or {@link #ALL_LEVELS}
+     * @param count The maximum number of runs to return
+     * @return The first runs of the ranking
+     */
+    private List<Run> topRuns(int levelCode, int count) {
+        IntArray ranking = rankings.get(levelCode);
+        if (ranking == null) return List.of();
+
+        int size = Math.min(count, ranking.size);
+        List<Run> runs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            runs.add(toRun(ranking.get(i)));
+        }
+        return runs;
+    }
+
+    /**
+     * @param run The index of the run
+     * @return A copy of the run
+     */
+    private Run toRun(int run) {
+        return new Run(
+            names.get(runLevels.get(run)),
+            names.get(runPlayers.get(run)),
+            runScores.get(run),
+            runMistakes.get(run),
+            (runFlags.get(run) & COMPLETED_FLAG) != 0,
+            runDurations.get(run),
+            runDates.get(run)
+        );
+    }
+
+    /**
+     * Compares two runs by their rank.
+     *
+     * @param first The index of the first run
+     * @param second The index of the second run
+     * @return A negative number if the first run ranks before the second one, a positive number if after
+     */
+    private int compare(int first, int second) {
+        int result = Integer.compare(runScores.get(second), runScores.get(first));
+        if (result == 0) result = Byte.compare(runMistakes.get(first), runMistakes.get(second));
+        if (result == 0) result = Integer.compare(runDurations.get(first), runDurations.get(second));
+        if (result == 0) result = Integer.compare(runSequences.get(first), runSequences.get(second));
+        return result;
+    }
+
+    /**
+     * A recorded run, as returned by the queries.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Run {
+        /** The ID of the level played */
+        private final String levelId;
+
+        /** The name of the player */
+        private final String player;
+
+        /** The score of the run */
+        private final int score;
+
+        /** The number of mistakes made */
+        private final int mistakes;
+
+        /** Whether the level was completed */
+        private final boolean completed;
+
+        /** The time played in milliseconds */
+        private final long durationMillis;
+
+        /** The date of the run in milliseconds since the epoch */
+        private final long epochMillis;
+    }
+}
@@ -3,16 +3,26 @@ package dev.juliusabels.fish_fiesta.util;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Preferences;
 import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.utils.JsonReader;
 import com.badlogic.gdx.utils.JsonValue;
 import com.badlogic.gdx.utils.Null;
+import com.badlogic.gdx.utils.SerializationException;
 import dev.juliusabels.fish_fiesta.game.level.ConditionType;
+import dev.juliusabels.fish_fiesta.game.level.DailyChallenge;
+import dev.juliusabels.fish_fiesta.game.level.EndlessFishStream;
+import dev.juliusabels.fish_fiesta.game.level.EndlessLevel;
 import dev.juliusabels.fish_fiesta.game.level.Level;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
 
 /**
  * Manages game level data and persistence for the Fish Fiesta game.
@@ -20,12 +30,21 @@ import java.util.*;
  * This class is responsible for discovering available level IDs, loading level data
  * from JSON files, tracking level progress, and managing level completion states.
  * It persists level progress information using LibGDX's Preferences system.
+ * <p>
+ * The parsed definitions of levels are cached. {@link CatalogLoader} fills the cache on
+ * worker threads while the game is loading, so starting a level doesn't touch the file system.
+ * <p>
+ * Levels of {@link ContentPacks} are merged with the shipped ones. They aren't parsed while
+ * loading, but inflated from their pack when first started.
  */
 @Slf4j
 public class LevelManager {
     /** Name of the preferences file used to store level progress data */
     private static final String PREFERENCES_NAME = "fish_fiesta_level_data";
 
+    /** Pattern of the level IDs the level selection can order, "level" followed by the number of the level */
+    private static final Pattern LEVEL_ID_PATTERN = Pattern.compile("level\\d+");
+
     /** Preferences instance for persisting level progress */
     private final Preferences preferences;
 
@@ -35,6 +54,15 @@ public class LevelManager {
     /** Flag to track whether level discovery has been completed */
     private boolean allLevelsFound = false;
 
+    /** The content packs adding levels to the shipped ones */
+    private final ContentPacks contentPacks;
+
+    /** The pack of every level coming from a content pack, by level ID */
+    private final Map<String, ContentPack> packLevels = new HashMap<>();
+
+    /** Already parsed level definitions by ID, filled concurrently by {@link #preloadLevel(String)} */
+    private final Map<String, LevelDefinition> levelCache = new ConcurrentHashMap<>();
+
     /** The currently active level, or null if none is loaded */
     @Setter
     @Getter
@@ -42,10 +70,21 @@ public class LevelManager {
     private Level activeLevel;
 
     /**
-     * Creates a new level manager and initializes the preferences system.
+     * Creates a new level manager for the shipped levels only and initializes the preferences system.
      */
     public LevelManager() {
+        this(new ContentPacks(null));
+    }
+
+    /**
+     * Creates a new level manager for the shipped levels and the levels of content packs,
+     * and initializes the preferences system.
+     *
+     * @param contentPacks The content packs adding levels
+     */
+    public LevelManager(ContentPacks contentPacks) {
         this.preferences = Gdx.app.getPreferences(PREFERENCES_NAME);
+        this.contentPacks = contentPacks;
     }
 
     /**
@@ -53,6 +92,8 @@ public class LevelManager {
      * <p>
      * This method reads all JSON files in the "levels" directory and adds their names (without extension)
      * to the levelIds list. It only runs once; subsequent calls have no effect if level discovery is already complete.
+     * In a native image, the IDs are taken from the {@link CatalogSnapshot} instead.
+     * The levels of the content packs are added afterwards.
      * <p>
      * This is all done so we don't have to load all fish objects on startup to safe time and memory.
      */
@@ -60,7 +101,9 @@ public class LevelManager {
         if (allLevelsFound) return;
 
         FileHandle dir = Gdx.files.internal("levels");
-        if (!dir.exists()) {
+        if (CatalogSnapshot.isAvailable()) {
+            levelIds.addAll(CatalogSnapshot.getLevelIds());
+        } else if (!dir.exists()) {
             log.error("The directory {} does not exist", dir);
             return;
         } else if (!dir.isDirectory()) {
@@ -73,10 +116,35 @@ public class LevelManager {
             }
         }
 
+        addPackLevels();
+
         allLevelsFound = true;
         log.info("Found all levels");
     }
 
+    /**
+     * Adds the levels of all content packs that aren't defined already.
+     * <p>
+     * Shipped levels can't be replaced by a pack, and of several packs defining the same level,
+     * the first one wins. Levels whose ID isn't "level" followed by a number are skipped,
+     * as the level selection orders the levels by that number.
+     */
+    private void addPackLevels() {
+        Set<String> knownIds = new HashSet<>(levelIds);
+        for (ContentPack pack : contentPacks.getPacks()) {
+            for (String levelId : pack.getLevelIds()) {
+                if (!LEVEL_ID_PATTERN.matcher(levelId).matches()) {
+                    log.warn("Level {} of the content pack {} isn't named level<number>, skipping it", levelId, pack);
+                } else if (knownIds.add(levelId)) {
+                    levelIds.add(levelId);
+                    packLevels.put(levelId, pack);
+                } else {
+                    log.warn("Level {} of the content pack {} is already defined, skipping it", levelId, pack);
+                }
+            }
+        }
+    }
+
     /**
      * Returns an unmodifiable list of all discovered level IDs.
      * <p>
@@ -93,10 +161,26 @@ public class LevelManager {
     }
 
     /**
-     * Loads a level's data from its JSON file and sets it as the active level.
+     * Returns the IDs of the levels worth parsing while the game is loading.
+     * <p>
+     * These are all levels except the ones of content packs, which are only inflated when first started.
+     *
+     * @return An unmodifiable list containing the IDs of all shipped levels
+     */
+    public List<String> getPreloadLevelIds() {
+        List<String> allLevelIds = getAllLevelIds();
+        if (packLevels.isEmpty()) {
+            return allLevelIds;
+        }
+        return allLevelIds.stream().filter(levelId -> !packLevels.containsKey(levelId)).toList();
+    }
+
+    /**
+     * Loads a level's data and sets it as the active level.
      * <p>
-     * This method parses the level data including its conditions and fish IDs from the
-     * corresponding JSON file. It creates a new Level instance and sets it as the active level.
+     * The conditions and fish IDs are taken from the cache if the level was preloaded,
+     * otherwise they are parsed from its JSON file and cached. The progress of the level
+     * is always restored from the preferences.
      *
      * @param levelId The ID of the level to load
      * @return true if the level was successfully loaded, false otherwise
@@ -107,32 +191,142 @@ public class LevelManager {
             return false;
         }
 
-        FileHandle file = ResourceHandler.levelFileHandle(levelId + ".json");
-        JsonValue levelJson = new JsonReader().parse(file);
-
-        Map<ConditionType, List<String>> conditions = JsonHelper.getConditions(levelJson, "conditions");
-        if (conditions.isEmpty()) {
-            log.error("No conditions were loaded for level {}", levelId);
+        LevelDefinition definition = levelCache.computeIfAbsent(levelId, this::parseLevel);
+        if (definition == null) {
             return false;
         }
 
-        List<String> fishIDs = JsonHelper.getList(levelJson, "fishIDs");
-        if (fishIDs.isEmpty()) {
-            log.error("No fishes were loaded for level {}", levelId);
-            return false;
+        Level level = new Level(levelId, definition.conditions, definition.fishIDs);
+        restoreProgress(level);
+        this.setActiveLevel(level);
+
+        return true;
+    }
+
+    /**
+     * Generates the daily challenge of a date, without changing the active level.
+     * <p>
+     * The challenge is drawn from the shipped fish only. So every player gets the same challenge
+     * whatever packs they installed, and no pack fish is inflated on the rendering thread.
+     *
+     * @param fishManager The fish manager providing the catalog the challenge is drawn from
+     * @param date The date of the challenge
+     * @return The challenge with its progress restored, or null if there are no fishes
+     */
+    @Null
+    public Level createDailyLevel(FishManager fishManager, LocalDate date) {
+        List<String> catalog = fishManager.getPreloadFishIds();
+        if (catalog.isEmpty()) {
+            log.error("No fishes were found for the daily challenge");
+            return null;
         }
 
-        Level level = new Level(levelId, conditions, fishIDs);
+        Level level = DailyChallenge.generate(date, catalog, fishManager::getFish);
+        restoreProgress(level);
+        return level;
+    }
+
+    /**
+     * Restores the stored progress of a level.
+     *
+     * @param level The freshly created level
+     */
+    private void restoreProgress(Level level) {
+        String levelId = level.getId();
         level.setCompleted(false);
         level.setMistakes(isLevelInProgress(levelId) ? getMistakes(levelId) : 0);
         level.setFishIndex(getFishIndex(levelId));
+        level.setPlayTimeMillis(getPlayTimeMillis(levelId));
         level.setFailed(false);
         level.setInProgress(isLevelInProgress(levelId));
+    }
+
+    /**
+     * Loads the endless run and sets it as the active level.
+     * <p>
+     * A saved run is resumed from its seed and fish index, which is all that is stored about it.
+     * Otherwise a new run with a fresh seed is started.
+     *
+     * @param fishManager The fish manager providing the catalog the run draws from
+     * @return true if the run was successfully loaded, false if there are no fishes
+     */
+    public boolean loadEndlessLevel(FishManager fishManager) {
+        List<String> catalog = fishManager.getAllFishIds();
+        if (catalog.isEmpty()) {
+            log.error("No fishes were found for an endless run");
+            return false;
+        }
+
+        String levelId = EndlessLevel.ID;
+        boolean inProgress = isLevelInProgress(levelId);
+        long seed;
+        if (inProgress) {
+            seed = preferences.getLong(getLevelSeedKey(levelId));
+        } else {
+            seed = MathUtils.random.nextLong();
+            preferences.putLong(getLevelSeedKey(levelId), seed);
+            preferences.flush();
+        }
+
+        EndlessLevel level = new EndlessLevel(new EndlessFishStream(seed, catalog, fishManager::getFish));
+        level.setMistakes(inProgress ? getMistakes(levelId) : 0);
+        level.setFishIndex(inProgress ? getFishIndex(levelId) : 0);
+        level.setPlayTimeMillis(inProgress ? getPlayTimeMillis(levelId) : 0);
+        level.setInProgress(inProgress);
         this.setActiveLevel(level);
 
         return true;
     }
 
+    /**
+     * Parses a level and stores its definition in the cache without changing the active level.
+     * <p>
+     * This method is thread-safe and meant to be called from worker threads while loading.
+     *
+     * @param levelId The ID of the level to parse
+     */
+    public void preloadLevel(String levelId) {
+        levelCache.computeIfAbsent(levelId, this::parseLevel);
+    }
+
+    /**
+     * Parses the conditions and fish IDs of a level from its JSON file, or from the
+     * {@link CatalogSnapshot} if it contains the level. The file of a level coming from
+     * a content pack is inflated from the pack.
+     *
+     * @param levelId The ID of the level to parse
+     * @return The parsed definition, or null if the level has no conditions, no fishes or a broken file in its content pack
+     */
+    @Null
+    private LevelDefinition parseLevel(String levelId) {
+        JsonValue levelJson = CatalogSnapshot.getLevelJson(levelId);
+        ContentPack pack = packLevels.get(levelId);
+        if (levelJson == null && pack != null) {
+            try {
+                levelJson = new JsonReader().parse(pack.readLevel(levelId));
+            } catch (IOException | SerializationException e) {
+                log.error("Could not read level {} from the content pack {}", levelId, pack, e);
+                return null;
+            }
+        } else if (levelJson == null) {
+            levelJson = new JsonReader().parse(ResourceHandler.levelFileHandle(levelId + ".json"));
+        }
+
+        Map<ConditionType, List<String>> conditions = JsonHelper.getConditions(levelJson, "conditions");
+        if (conditions.isEmpty()) {
+            log.error("No conditions were loaded for level {}", levelId);
+            return null;
+        }
+
+        List<String> fishIDs = JsonHelper.getList(levelJson, "fishIDs");
+        if (fishIDs.isEmpty()) {
+            log.error("No fishes were loaded for level {}", levelId);
+            return null;
+        }
+
+        return new LevelDefinition(conditions, fishIDs);
+    }
+
     /**
      * Checks if a level has been completed.
      *
@@ -172,12 +366,14 @@ public class LevelManager {
      * @param levelId The ID of the level
      * @param mistakes The current number of mistakes made
      * @param fishIndex The current index in the fish list
+     * @param playTimeMillis The time played so far in milliseconds
      */
-    public void safeLevelProgress(String levelId, int mistakes, int fishIndex) {
+    public void safeLevelProgress(String levelId, int mistakes, int fishIndex, long playTimeMillis) {
         clearPreferences(levelId);
         preferences.putBoolean(getLevelInProgressKey(levelId), true);
         preferences.putInteger(getLevelFishIndexKey(levelId), fishIndex);
         preferences.putInteger(getLevelMistakesKey(levelId), mistakes);
+        preferences.putLong(getLevelPlayTimeKey(levelId), playTimeMillis);
         preferences.flush();
     }
 
@@ -212,6 +408,7 @@ public class LevelManager {
     public void clearPreferences(String levelId) {
         preferences.putInteger(getLevelMistakesKey(levelId), 0);
         preferences.putInteger(getLevelFishIndexKey(levelId), 0);
+        preferences.putLong(getLevelPlayTimeKey(levelId), 0);
         preferences.putBoolean(getLevelFailedKey(levelId), false);
         preferences.putBoolean(getLevelInProgressKey(levelId), false);
         preferences.putBoolean(getLevelCompletionKey(levelId), false);
@@ -238,6 +435,16 @@ public class LevelManager {
         return preferences.getInteger(getLevelFishIndexKey(levelId), 0);
     }
 
+    /**
+     * Gets the time played in a level in progress.
+     *
+     * @param levelId The ID of the level
+     * @return The time played in milliseconds
+     */
+    public long getPlayTimeMillis(String levelId) {
+        return preferences.getLong(getLevelPlayTimeKey(levelId), 0);
+    }
+
     /**
      * Generates the preference key for level completion status.
      *
@@ -287,4 +494,40 @@ public class LevelManager {
     private String getLevelFishIndexKey(String levelId) {
         return levelId + ".fish_index";
     }
+
+    /**
+     * Generates the preference key for the time played in a level.
+     *
+     * @param levelId The ID of the level
+     * @return The preference key for the level's play time
+     */
+    private String getLevelPlayTimeKey(String levelId) {
+        return levelId + ".play_time";
+    }
+
+    /**
+     * Generates the preference key for the seed of an endless run.
+     * <p>
+     * The seed survives {@link #clearPreferences(String)}, so saving the progress keeps it.
+     *
+     * @param levelId The ID of the level
+     * @return The preference key for the level's seed
+     */
+    private String getLevelSeedKey(String levelId) {
+        return levelId + ".seed";
+    }
+
+    /**
+     * The static content of a level as defined in its JSON file.
+     * <p>
+     * Shared by all {@link Level} instances created for the same level, which never modify it.
+     */
+    @AllArgsConstructor
+    private static class LevelDefinition {
+        /** Map of condition types to lists of valid values for each condition */
+        private final Map<ConditionType, List<String>> conditions;
+
+        /** Ordered list of fish IDs that appear in the level */
+        private final List<String> fishIDs;
+    }
 }
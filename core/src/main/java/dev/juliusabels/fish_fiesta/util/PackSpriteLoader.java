@@ -0,0 +1,80 @@
+package dev.juliusabels.fish_fiesta.util;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.IOException;
+
+/**
+ * Loads the sprite of a fish of a {@link ContentPack} as a texture of the {@link AssetManager}, so
+ * the {@link AssetResidency} counts it against the memory budget and evicts it like the shipped assets.
+ * <p>
+ * The path of a sprite is the fish ID followed by {@value #SUFFIX}, see {@link #pathOf(String)}.
+ * The sprite is inflated and decoded on the loading thread of the asset manager, only the texture
+ * is created on the rendering thread.
+ */
+public class PackSpriteLoader extends AsynchronousAssetLoader<Texture, AssetLoaderParameters<Texture>> {
+    /** Suffix of the paths of pack sprites, which selects this loader */
+    public static final String SUFFIX = ".packsprite";
+
+    /** Finds the content pack of a fish */
+    private final FishManager fishManager;
+
+    /** The sprite decoded by {@link #loadAsync}, until {@link #loadSync} turns it into a texture */
+    private Pixmap pixmap;
+
+    /**
+     * @param resolver The resolver of the asset manager, the paths of pack sprites don't point to files though
+     * @param fishManager Finds the content pack of a fish
+     */
+    public PackSpriteLoader(FileHandleResolver resolver, FishManager fishManager) {
+        super(resolver);
+        this.fishManager = fishManager;
+    }
+
+    /**
+     * @param fishId The ID of a fish of a content pack
+     * @return The path its sprite is loaded under
+     */
+    public static String pathOf(String fishId) {
+        return fishId + SUFFIX;
+    }
+
+    @Override
+    public void loadAsync(AssetManager manager, String fileName, FileHandle file, AssetLoaderParameters<Texture> parameter) {
+        String fishId = fileName.substring(0, fileName.length() - SUFFIX.length());
+        ContentPack pack = fishManager.getContentPack(fishId);
+        if (pack == null) {
+            throw new GdxRuntimeException("Fish " + fishId + " doesn't come from a content pack");
+        }
+
+        try {
+            byte[] png = pack.readSprite(fishId);
+            pixmap = new Pixmap(png, 0, png.length);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not read the sprite of fish " + fishId + " from the content pack " + pack, e);
+        }
+    }
+
+    @Override
+    public Texture loadSync(AssetManager manager, String fileName, FileHandle file, AssetLoaderParameters<Texture> parameter) {
+        Texture texture = new Texture(pixmap);
+        pixmap.dispose();
+        pixmap = null;
+        return texture;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes") // Raw in the signature of AssetLoader
+    public Array<AssetDescriptor> getDependencies(String fileName, FileHandle file, AssetLoaderParameters<Texture> parameter) {
+        return null;
+    }
+}
@@ -0,0 +1,105 @@
+package dev.juliusabels.fish_fiesta.util;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Timer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decides when the game needs to render a new frame.
+ * <p>
+ * All screens are mostly static, so by default the game renders on demand instead of
+ * continuously. A new frame is rendered when:
+ * <ul>
+ *   <li>Input arrives (requested by the backend)</li>
+ *   <li>A scene2d action is running, e.g. a tooltip fading in (requested by the stage)</li>
+ *   <li>A screen reports that it is animating, e.g. while assets are loading</li>
+ *   <li>{@link #requestFrame()} is called, e.g. after switching screens</li>
+ * </ul>
+ * While the window is unfocused or minimized, animating screens are throttled to
+ * {@link #UNFOCUSED_FPS} frames per second, even if continuous rendering is enabled.
+ * <p>
+ * Continuous rendering can be forced by setting the system property {@value #CONTINUOUS_PROPERTY} to true.
+ */
+@Slf4j
+public class RenderScheduler {
+    /** System property forcing continuous rendering while the window is focused */
+    public static final String CONTINUOUS_PROPERTY = "fishfiesta.continuousRendering";
+
+    /** Frames per second rendered for animating screens while the window is unfocused */
+    public static final int UNFOCUSED_FPS = 4;
+
+    /** Whether frames are only rendered on demand while focused */
+    @Getter
+    private final boolean onDemand;
+
+    /** Whether the game window currently has focus */
+    @Getter
+    private boolean focused = true;
+
+    /** Reusable task requesting a throttled frame while unfocused */
+    private final Timer.Task throttledFrame = new Timer.Task() {
+        @Override
+        public void run() {
+            Gdx.graphics.requestRendering();
+        }
+    };
+
+    /**
+     * Creates a new render scheduler and applies the rendering mode.
+     * <p>
+     * Must be called on the rendering thread after the application was created.
+     */
+    public RenderScheduler() {
+        this.onDemand = !Boolean.getBoolean(CONTINUOUS_PROPERTY);
+        Gdx.graphics.setContinuousRendering(!onDemand);
+        log.info("Rendering {}", onDemand ? "on demand" : "continuously");
+    }
+
+    /**
+     * Requests that the next frame is rendered, e.g. because the content of the screen changed.
+     */
+    public void requestFrame() {
+        Gdx.graphics.requestRendering();
+    }
+
+    /**
+     * Informs the scheduler that a frame has been rendered.
+     * <p>
+     * If the screen is still animating, another frame is requested: immediately while
+     * the window is focused, or after a delay while it is unfocused.
+     *
+     * @param animating Whether the screen needs further frames without any input
+     */
+    public void frameRendered(boolean animating) {
+        if (!animating || Gdx.graphics.isContinuousRendering()) return;
+
+        if (focused) {
+            Gdx.graphics.requestRendering();
+        } else if (!throttledFrame.isScheduled()) {
+            Timer.schedule(throttledFrame, 1F / UNFOCUSED_FPS);
+        }
+    }
+
+    /**
+     * Updates the focus state of the game window.
+     * <p>
+     * Losing focus always switches to throttled on-demand rendering. Regaining focus
+     * restores the configured mode and renders a frame right away.
+     *
+     * @param focused Whether the window has focus and is not minimized
+     */
+    public void setFocused(boolean focused) {
+        if (this.focused == focused) return;
+
+        this.focused = focused;
+        if (focused) {
+            throttledFrame.cancel();
+            Gdx.graphics.setContinuousRendering(!onDemand);
+            Gdx.graphics.requestRendering();
+        } else {
+            Gdx.graphics.setContinuousRendering(false);
+        }
+        log.debug("Window focus changed: {}", focused);
+    }
+}
@@ -1,36 +1,92 @@
 package dev.juliusabels.fish_fiesta.util;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
 import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.assets.loaders.SkinLoader;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.DistanceFieldFont;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Manages all game resources like textures, fonts and level & fish data.
  * <p>
  * This class serves as a central resource management system for the game,
  * handling the loading, access, and disposal of assets using LibGDX's AssetManager.
  * It also manages level and fish data through dedicated manager classes.
+ * <p>
+ * The {@link ContentPacks} in the pack directory add fishes, levels and sprites. They are
+ * opened while the catalog is loading, but their files are only inflated when first needed.
+ * <p>
+ * The leaderboard and the analytics are stored in the user's home directory next to the
+ * preferences, unless {@value #STORAGE_DIRECTORY_PROPERTY} points to another directory.
  */
 @Getter
 @Slf4j
 public class ResourceHandler {
+    /** System property pointing to the directory of the files written by the game, instead of the user storage */
+    public static final String STORAGE_DIRECTORY_PROPERTY = "fishfiesta.storageDirectory";
+
+    /** Directory of the files written by the game in the external storage, where the desktop backends keep the preferences */
+    private static final String STORAGE_DIRECTORY = ".prefs/";
+
     /** The LibGDX asset manager that handles the actual loading and caching of resources */
     private final AssetManager assetManager;
 
+    /** The content packs adding to the shipped content */
+    private final ContentPacks contentPacks;
+
     /** Manager for game levels */
     private final LevelManager levelManager;
 
     /** Manager for fish data */
     private final FishManager fishManager;
 
+    /** Local leaderboard of all level runs */
+    private final Leaderboard leaderboard;
+
+    /** Local analytics of every decision */
+    private final DecisionAnalytics decisionAnalytics;
+
+    /** Parses the fish and level catalog on worker threads while the assets are loading */
+    @Getter(AccessLevel.NONE)
+    private final CatalogLoader catalogLoader;
+
+    /** Share of a stage's loading progress taken up by its assets, the rest is the catalog */
+    private static final float ASSET_PROGRESS_WEIGHT = 0.7F;
+
+    /** Decides which assets stay loaded, based on their owners and a memory budget */
+    private final AssetResidency residency;
+
+    /** Paths of the queued assets by the stage that needs them first */
+    @Getter(AccessLevel.NONE)
+    private final Map<AssetStage, List<String>> stageAssets = new EnumMap<>(AssetStage.class);
+
+    /** The first stage whose completion hasn't been logged yet */
+    @Getter(AccessLevel.NONE)
+    private int nextStageToReport;
+
+    /** Value of {@link System#nanoTime()} when loading started */
+    @Getter(AccessLevel.NONE)
+    private long loadingStartNanos;
+
     /** Path to the background texture */
     private static final String BACKGROUND_TEXTURE = assetFile("background.png");
 
@@ -43,81 +99,308 @@ public class ResourceHandler {
     /** Path to the large fish font */
     private static final String FISH_FONT_BIG = assetFile("font/fish_font_big.fnt");
 
+    /** Path to the distance-field font for regular text */
+    private static final String BODY_FONT = assetFile("font/body_font.fnt");
+
+    /** Scale of the body font at its regular size, its atlas is rendered at 32px */
+    private static final float BODY_FONT_SCALE = 15F / 32F;
+
+    /** Distance in pixels of the body font atlas at which its distance field is clamped */
+    private static final float BODY_FONT_SPREAD = 4F;
+
     /** Path to the fish sprite atlas */
     private static final String FISH_SPRITES = assetFile("fishes/fishes.atlas");
 
+    /** Path the background texture was queued under, either a compressed variant or the PNG */
+    @Getter(AccessLevel.NONE)
+    private String backgroundTexturePath = BACKGROUND_TEXTURE;
+
+    /** Path the fish atlas was queued under, either a compressed variant or the PNG based one */
+    @Getter(AccessLevel.NONE)
+    private String fishSpritesPath = FISH_SPRITES;
+
+    /** Shared font for regular text, created on first use */
+    private DistanceFieldFont bodyFont;
+
+    /** Shader of all screen batches, drawing the body font and falling back to plain sprites, created on first use */
+    private ShaderProgram distanceFieldShader;
+
+    /** Frames of the fish of content packs by fish ID, empty if a fish has no usable sprite */
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Array<TextureAtlas.AtlasRegion>> packFishFrames = new HashMap<>();
+
     /**
      * Creates a new resource handler and initializes the managers.
      * Note: This constructor doesn't load any assets yet. Call {@link #loadResources()} to begin loading.
      */
     public ResourceHandler() {
         assetManager = new AssetManager();
-        levelManager = new LevelManager();
-        fishManager = new FishManager();
+        contentPacks = new ContentPacks(Gdx.files.local(ContentPacks.DIRECTORY_NAME));
+        levelManager = new LevelManager(contentPacks);
+        fishManager = new FishManager(contentPacks);
+        leaderboard = new Leaderboard(storageFile(Leaderboard.FILE_NAME), System.getProperty("user.name", "player"));
+        decisionAnalytics = new DecisionAnalytics(storageFile(DecisionAnalytics.FILE_NAME));
+        catalogLoader = new CatalogLoader();
+        residency = new AssetResidency(assetManager);
+        assetManager.setLoader(Texture.class, PackSpriteLoader.SUFFIX, new PackSpriteLoader(assetManager.getFileHandleResolver(), fishManager));
+        for (AssetStage stage : AssetStage.values()) {
+            stageAssets.put(stage, new ArrayList<>());
+        }
     }
 
     /**
      * Begins asynchronous loading of all game resources.
-     * This method queues assets for loading but doesn't wait for completion.
-     * Use {@link #updateLoading()} to check and progress the loading state.
+     * This method queues assets for loading and starts parsing the fish and level
+     * catalog on worker threads, but doesn't wait for completion.
+     * Use {@link #updateLoading()} to progress the loading and {@link #isLoaded(AssetStage)} to check it.
+     * <p>
+     * Assets are queued ordered by the {@link AssetStage} that needs them first, so the
+     * main menu assets are loaded before everything else.
+     * <p>
+     * If the GL context supports a {@link TextureVariant} and the build shipped it,
+     * the compressed KTX textures are loaded instead of the PNGs.
      */
     public void loadResources() {
         log.info("Start loading assets");
-        assetManager.load(BACKGROUND_TEXTURE, Texture.class);
-        assetManager.load(MONITOR_SKIN, Skin.class, new SkinLoader.SkinParameter());
-        assetManager.load(JOURNAL_SKIN, Skin.class, new SkinLoader.SkinParameter());
-        assetManager.load(FISH_FONT_BIG, BitmapFont.class);
-        assetManager.load(FISH_SPRITES, TextureAtlas.class);
+        loadingStartNanos = System.nanoTime();
+        TextureVariant variant = TextureVariant.detect();
+        backgroundTexturePath = compressedVariant(variant, BACKGROUND_TEXTURE.replace(".png", ".ktx"), BACKGROUND_TEXTURE);
+        fishSpritesPath = compressedVariant(variant, FISH_SPRITES, FISH_SPRITES);
 
-        //Load fish ids on startup, to safe time later
-        fishManager.findFishes();
+        queue(AssetStage.MAIN_MENU, backgroundTexturePath, Texture.class, null);
+        queue(AssetStage.MAIN_MENU, MONITOR_SKIN, Skin.class, skinParameter(variant, MONITOR_SKIN));
+        queue(AssetStage.MAIN_MENU, FISH_FONT_BIG, BitmapFont.class, null);
+        queue(AssetStage.LEVEL, fishSpritesPath, TextureAtlas.class, null);
+        queue(AssetStage.LEVEL, JOURNAL_SKIN, Skin.class, skinParameter(variant, JOURNAL_SKIN));
 
-        //Load level ids on startup, to safe time later
-        levelManager.findLevels();
+        //Load all fishes and levels on startup in the background, to safe time later
+        catalogLoader.start(fishManager, levelManager);
+        leaderboard.loadInBackground();
+        decisionAnalytics.loadInBackground(
+            () -> {
+                catalogLoader.awaitFishIds();
+                return fishManager.getAllFishIds();
+            },
+            () -> {
+                catalogLoader.awaitLevelIds();
+                return levelManager.getAllLevelIds();
+            }
+        );
+    }
+
+    /**
+     * Queues an asset for loading and tags it with the stage that needs it first.
+     *
+     * @param stage The stage of the first screen needing the asset
+     * @param path The path of the asset
+     * @param type The type of the asset
+     * @param parameter The loader parameters, or null for the defaults
+     */
+    private <T> void queue(AssetStage stage, String path, Class<T> type, AssetLoaderParameters<T> parameter) {
+        AssetDescriptor<T> descriptor = new AssetDescriptor<>(path, type, parameter);
+        assetManager.load(descriptor);
+        residency.register(descriptor);
+        stageAssets.get(stage).add(path);
+    }
+
+    /**
+     * Resolves the path of a compressed variant of an asset.
+     *
+     * @param variant The supported texture variant, or null if none is supported
+     * @param compressedPath The path of the asset inside a variant directory, relative to the assets folder root
+     * @param fallbackPath The path of the uncompressed asset
+     * @return The path of the compressed asset if it exists, otherwise the fallback path
+     */
+    private static String compressedVariant(TextureVariant variant, String compressedPath, String fallbackPath) {
+        if (variant == null) {
+            return fallbackPath;
+        }
+
+        String path = assetFile("compressed/" + variant.getDirectory() + "/" + compressedPath.substring("assets/".length()));
+        if (!Gdx.files.internal(path).exists()) {
+            log.debug("No {} variant of {} found", variant, fallbackPath);
+            return fallbackPath;
+        }
+        return path;
+    }
+
+    /**
+     * Creates the loader parameters for a skin, pointing it at the compressed atlas if available.
+     *
+     * @param variant The supported texture variant, or null if none is supported
+     * @param skinPath The path of the skin JSON file
+     * @return Parameters for loading the skin
+     */
+    private static SkinLoader.SkinParameter skinParameter(TextureVariant variant, String skinPath) {
+        String atlasPath = skinPath.replace(".json", ".atlas");
+        return new SkinLoader.SkinParameter(compressedVariant(variant, atlasPath, atlasPath));
     }
 
     /**
      * @return The background texture for the game
      */
     public Texture getBackgroundTexture() {
-        return assetManager.get(BACKGROUND_TEXTURE);
+        return require(backgroundTexturePath);
     }
 
     /**
      * @return The skin used for monitor UI elements
      */
     public Skin getMonitorSkin() {
-        return assetManager.get(MONITOR_SKIN);
+        return require(MONITOR_SKIN);
     }
 
     /**
      * @return The skin used for journal UI elements
      */
     public Skin getJournalSkin() {
-        return assetManager.get(JOURNAL_SKIN);
+        return require(JOURNAL_SKIN);
     }
 
     /**
      * @return The fish font used for titles and everything that should be uppercase only
      */
     public BitmapFont getFishFontBig() {
-        return assetManager.get(FISH_FONT_BIG);
+        return require(FISH_FONT_BIG);
+    }
+
+    /**
+     * Returns the font used for regular text like descriptions, tooltips and level numbers.
+     * <p>
+     * All screens share this one instance and apply their scale per label, relative to the
+     * font's own scale. Its glyphs are distance fields, so one atlas stays sharp at every
+     * scale, but it has to be drawn with the {@link #getDistanceFieldShader() distance-field shader}.
+     *
+     * @return The distance-field font, scaled to its regular size
+     */
+    public DistanceFieldFont getBodyFont() {
+        if (bodyFont == null) {
+            bodyFont = new DistanceFieldFont(Gdx.files.internal(BODY_FONT));
+            bodyFont.getData().setScale(BODY_FONT_SCALE);
+            bodyFont.setDistanceFieldSmoothing(BODY_FONT_SPREAD);
+        }
+        return bodyFont;
+    }
+
+    /**
+     * Adapts the edge smoothing of the body font to the size of a screen pixel, so its
+     * edges are antialiased over one pixel on every display.
+     *
+     * @param pixelsPerUnit Screen pixels per world unit of the viewport the font is drawn in
+     */
+    public void setBodyFontPixelScale(float pixelsPerUnit) {
+        getBodyFont().setDistanceFieldSmoothing(BODY_FONT_SPREAD * pixelsPerUnit);
+    }
+
+    /**
+     * Returns the shader every batch drawing the body font has to use.
+     * <p>
+     * Outside of distance-field text the shader draws like the default one, so a batch can
+     * use it for all of its sprites.
+     *
+     * @return The shared distance-field shader
+     */
+    public ShaderProgram getDistanceFieldShader() {
+        if (distanceFieldShader == null) {
+            distanceFieldShader = DistanceFieldFont.createDistanceFieldShader();
+        }
+        return distanceFieldShader;
     }
 
     /**
      * @return The texture atlas containing all fish sprites
      */
     public TextureAtlas getFishSprites() {
-        return assetManager.get(FISH_SPRITES);
+        return require(fishSpritesPath);
     }
 
     /**
-     * @return the fish texture for the corresponding fishId
+     * @param owner The screen or overlay showing the fish, see {@link #getFishFrames(Object, String)}
+     * @param fishId The ID of the fish
+     * @return the fish texture for the corresponding fishId, or null if there is none
      */
-    public TextureRegion getFishTexture(String fishId) {
+    public TextureRegion getFishTexture(Object owner, String fishId) {
+        if (fishManager.getContentPack(fishId) != null) {
+            Array<TextureAtlas.AtlasRegion> frames = getFishFrames(owner, fishId);
+            return frames.isEmpty() ? null : frames.first();
+        }
         return this.getFishSprites().findRegion(fishId);
     }
 
+    /**
+     * Finds all animation frames of a fish.
+     * <p>
+     * Frames are the regions packed with the fish id as name and an index each. Fish
+     * without an animation have a single frame. Fish of content packs have their sprite
+     * as single frame, which is loaded by the {@link PackSpriteLoader} the first time it is needed.
+     * <p>
+     * The sprite of a pack fish is retained by the owner, like the assets of a stage, and can be
+     * evicted once all of its owners released it. It is loaded again when it is needed after that.
+     *
+     * @param owner The screen or overlay showing the fish, which has to call {@link #release(Object)} once it is disposed
+     * @param fishId The ID of the fish
+     * @return the frames for the corresponding fishId, ordered by index, empty if there are none
+     */
+    public Array<TextureAtlas.AtlasRegion> getFishFrames(Object owner, String fishId) {
+        ContentPack pack = fishManager.getContentPack(fishId);
+        if (pack != null) {
+            return getPackFishFrames(owner, pack, fishId);
+        }
+        return this.getFishSprites().findRegions(fishId);
+    }
+
+    /**
+     * Retains the sprite of a fish of a content pack and returns it as single frame.
+     * <p>
+     * The frames of a fish are the same array on every call. Its region is replaced once
+     * the sprite was evicted and loaded again, as the old one points to a disposed texture.
+     *
+     * @param owner The screen or overlay showing the fish
+     * @param pack The content pack the fish comes from
+     * @param fishId The ID of the fish
+     * @return The single frame of the fish, or no frames if the pack has no usable sprite for it
+     */
+    private Array<TextureAtlas.AtlasRegion> getPackFishFrames(Object owner, ContentPack pack, String fishId) {
+        Array<TextureAtlas.AtlasRegion> frames = packFishFrames.get(fishId);
+        String path = PackSpriteLoader.pathOf(fishId);
+        if (frames == null) {
+            frames = new Array<>(1);
+            packFishFrames.put(fishId, frames);
+            if (!pack.hasSprite(fishId)) {
+                log.warn("The content pack {} has no sprite for fish {}", pack, fishId);
+                return frames;
+            }
+            residency.register(new AssetDescriptor<>(path, Texture.class));
+        } else if (frames.isEmpty()) {
+            // The pack has no usable sprite for the fish
+            return frames;
+        }
+
+        try {
+            Texture texture = residency.retain(owner, path);
+            if (frames.isEmpty() || frames.first().getTexture() != texture) {
+                TextureAtlas.AtlasRegion frame = new TextureAtlas.AtlasRegion(texture, 0, 0, texture.getWidth(), texture.getHeight());
+                frame.name = fishId;
+                frames.clear();
+                frames.add(frame);
+            }
+        } catch (GdxRuntimeException e) {
+            log.error("Could not load the sprite of fish {} from the content pack {}", fishId, pack, e);
+            frames.clear();
+        }
+        return frames;
+    }
+
+    /**
+     * @param name The name of a file written by the game
+     * @return The file in the directory of {@value #STORAGE_DIRECTORY_PROPERTY} if it is set,
+     *     otherwise in the user storage next to the preferences
+     */
+    private static FileHandle storageFile(String name) {
+        String directory = System.getProperty(STORAGE_DIRECTORY_PROPERTY);
+        return directory != null ? Gdx.files.absolute(directory).child(name) : Gdx.files.external(STORAGE_DIRECTORY).child(name);
+    }
+
     /**
      * Utility method to construct an asset file path
      *
@@ -149,19 +432,130 @@ public class ResourceHandler {
     }
 
     /**
+     * Returns a loaded asset, waiting for it if it's still in flight or loading it again if it was evicted.
+     * <p>
+     * Only the asset itself and the ones queued before it are finished, the rest keeps loading in the background.
+     *
+     * @param path The path of the asset
+     * @return The loaded asset
+     */
+    private <T> T require(String path) {
+        return residency.use(path);
+    }
+
+    /**
+     * Marks all assets of a stage and the stages before it as used by an owner, waiting for them if needed.
+     * <p>
+     * Retained assets are never evicted. Owners have to call {@link #release(Object)} once they are disposed.
+     *
+     * @param owner The screen or overlay using the assets
+     * @param stage The stage whose assets the owner uses
+     */
+    public void retain(Object owner, AssetStage stage) {
+        finishLoading(stage);
+        for (AssetStage required : AssetStage.values()) {
+            if (required.ordinal() > stage.ordinal()) break;
+            for (String path : stageAssets.get(required)) {
+                residency.retain(owner, path);
+            }
+        }
+    }
+
+    /**
+     * Releases all assets retained by an owner, so they can be evicted if the memory budget is exceeded.
+     *
+     * @param owner The screen or overlay that was disposed
+     */
+    public void release(Object owner) {
+        residency.release(owner);
+    }
+
+    /**
+     * Calculates the loading progress of a stage, including the stages before it.
+     * <p>
+     * If the stage needs parts of the catalog, the progress of the assets and the catalog are
+     * weighted by their typical share of the loading time.
+     *
+     * @param stage The stage to get the progress for
      * @return The current loading progress as a value between 0 and 1
      */
-    public float getLoadingProgress() {
-        return assetManager.getProgress();
+    public float getLoadingProgress(AssetStage stage) {
+        int total = 0;
+        int loaded = 0;
+        for (AssetStage required : AssetStage.values()) {
+            if (required.ordinal() > stage.ordinal()) break;
+            for (String path : stageAssets.get(required)) {
+                total++;
+                if (assetManager.isLoaded(path)) loaded++;
+            }
+        }
+
+        float assetProgress = total == 0 ? 1F : loaded / (float) total;
+        if (!stage.isLevelIdsNeeded() && !stage.isFishIdsNeeded()) {
+            return assetProgress;
+        }
+        return assetProgress * ASSET_PROGRESS_WEIGHT + catalogLoader.getProgress() * (1F - ASSET_PROGRESS_WEIGHT);
+    }
+
+    /**
+     * Checks whether a stage and all stages before it have been loaded, without blocking.
+     *
+     * @param stage The stage to check
+     * @return true if all assets and catalog IDs needed by the stage are available
+     */
+    public boolean isLoaded(AssetStage stage) {
+        for (AssetStage required : AssetStage.values()) {
+            if (required.ordinal() > stage.ordinal()) break;
+            for (String path : stageAssets.get(required)) {
+                if (!assetManager.isLoaded(path)) return false;
+            }
+        }
+        return (!stage.isLevelIdsNeeded() || catalogLoader.areLevelIdsFound())
+            && (!stage.isFishIdsNeeded() || catalogLoader.areFishIdsFound());
+    }
+
+    /**
+     * Blocks until everything a stage needs is available, e.g. when a screen of that stage is opened.
+     * <p>
+     * Only the assets of the stage and the ones queued before them are finished, later stages keep
+     * loading in the background. For the catalog, only the discovery of the needed IDs is awaited.
+     *
+     * @param stage The stage to wait for
+     */
+    public void finishLoading(AssetStage stage) {
+        for (AssetStage required : AssetStage.values()) {
+            if (required.ordinal() > stage.ordinal()) break;
+            for (String path : stageAssets.get(required)) {
+                require(path);
+            }
+        }
+        if (stage.isLevelIdsNeeded()) {
+            catalogLoader.awaitLevelIds();
+        }
+        if (stage.isFishIdsNeeded()) {
+            catalogLoader.awaitFishIds();
+        }
     }
 
     /**
-     * Continues the asset loading process
+     * Continues streaming the queued assets.
+     * <p>
+     * Called once per frame by the game for as long as anything is left to load, no matter which screen is shown.
      *
-     * @return true if all assets have finished loading, false otherwise
+     * @return true if all assets and the catalog have finished loading, false otherwise
      */
     public boolean updateLoading() {
-        return assetManager.update();
+        boolean assetsLoaded = assetManager.update();
+        residency.updateEstimates();
+
+        AssetStage[] stages = AssetStage.values();
+        while (nextStageToReport < stages.length && isLoaded(stages[nextStageToReport])) {
+            log.info("Loaded stage {} after {} ms", stages[nextStageToReport],
+                (System.nanoTime() - loadingStartNanos) / 1_000_000);
+            nextStageToReport++;
+        }
+
+        return assetsLoaded && catalogLoader.isFinished();
     }
 
     /**
@@ -169,6 +563,16 @@ public class ResourceHandler {
      * Should be called when the game is closing or resource handler is no longer needed.
      */
     public void dispose() {
+        catalogLoader.dispose();
+        decisionAnalytics.dispose();
+        leaderboard.dispose();
         assetManager.dispose();
+        contentPacks.dispose();
+        if (bodyFont != null) {
+            bodyFont.dispose();
+        }
+        if (distanceFieldShader != null) {
+            distanceFieldShader.dispose();
+        }
     }
 }
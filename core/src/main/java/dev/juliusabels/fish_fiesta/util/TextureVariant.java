@@ -0,0 +1,82 @@
+package dev.juliusabels.fish_fiesta.util;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.glutils.GLVersion;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * GPU-compressed texture formats the game can ship textures in.
+ * <p>
+ * The variants are generated at build time by the {@code compressTextures} task of the core
+ * module and stored as KTX files (with mipmaps) in {@code assets/compressed/<directory>/}.
+ * Atlases of a variant reference the KTX pages instead of the PNG ones, so no PNG has
+ * to be decoded when a variant is used.
+ */
+@Slf4j
+public enum TextureVariant {
+    /**
+     * BC3/DXT5, supported by practically every desktop GPU.
+     */
+    BC3("bc3") {
+        @Override
+        boolean isSupported() {
+            return Gdx.graphics.supportsExtension("GL_EXT_texture_compression_s3tc");
+        }
+    },
+
+    /**
+     * ETC2 RGBA, part of OpenGL ES 3.0 and OpenGL 4.3.
+     * <p>
+     * Many desktop drivers only emulate it, so BC3 is preferred where both are available.
+     */
+    ETC2("etc2") {
+        @Override
+        boolean isSupported() {
+            GLVersion version = Gdx.graphics.getGLVersion();
+            if (version.getType() == GLVersion.Type.GLES) {
+                return version.isVersionEqualToOrHigher(3, 0);
+            }
+            return version.isVersionEqualToOrHigher(4, 3)
+                || Gdx.graphics.supportsExtension("GL_ARB_ES3_compatibility");
+        }
+    };
+
+    /** Name of the directory below {@code assets/compressed/} holding this variant */
+    @Getter
+    private final String directory;
+
+    /**
+     * Creates a new texture variant.
+     *
+     * @param directory Name of the directory below {@code assets/compressed/} holding this variant
+     */
+    TextureVariant(String directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Checks if the current GL context can sample this format natively.
+     *
+     * @return true if textures in this format can be uploaded without decompression
+     */
+    abstract boolean isSupported();
+
+    /**
+     * Finds the preferred compressed format for the current GL context.
+     * <p>
+     * Must be called on the rendering thread.
+     *
+     * @return The best supported variant, or null if textures should be loaded as PNG
+     */
+    public static TextureVariant detect() {
+        for (TextureVariant variant : values()) {
+            if (variant.isSupported()) {
+                log.info("Using {} compressed textures where available", variant);
+                return variant;
+            }
+        }
+        log.info("No supported texture compression found, using PNG textures");
+        return null;
+    }
+}
@@ -15,9 +15,6 @@ import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
  * allowing simple attachment of tooltips to any Actor instance.
  */
 public class TooltipHandler {
-    /** The font used for tooltip text */
-    private final BitmapFont font;
-
     /** Style configuration for tooltips */
     private final TextTooltip.TextTooltipStyle style;
 
@@ -28,9 +25,10 @@ public class TooltipHandler {
      * Creates a new tooltip handler with default settings.
      * <p>
      * Tooltips will appear instantly with default positioning and black text.
+     *
+     * @param font The shared font used for tooltip text
      */
-    public TooltipHandler() {
-        font = new BitmapFont();
+    public TooltipHandler(BitmapFont font) {
         style = new TextTooltip.TextTooltipStyle(new Label.LabelStyle(font, Color.BLACK), null);
         manager = new TooltipManager();
         manager.instant();
@@ -48,13 +46,4 @@ public class TooltipHandler {
         TextTooltip tooltip = new TextTooltip(tooltipText, manager, style);
         actor.addListener(tooltip);
     }
-
-    /**
-     * Releases all resources held by this tooltip handler.
-     * <p>
-     * Must be called when the handler is no longer needed to prevent memory leaks.
-     */
-    public void dispose() {
-        font.dispose();
-    }
 }
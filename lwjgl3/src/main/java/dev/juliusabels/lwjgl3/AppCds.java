@@ -0,0 +1,61 @@
+package dev.juliusabels.lwjgl3;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.net.URISyntaxException;
+import java.util.List;
+
+/**
+ * Locates the Application Class Data Sharing (AppCDS) archive of the game.
+ * <p>
+ * The archive is created by the {@code cdsArchive} Gradle task: a training run that exits
+ * on the main menu and dumps every class loaded up to then into {@value #ARCHIVE_NAME}
+ * next to the game JAR. JVMs started with {@code -XX:SharedArchiveFile} pointing to it
+ * map those classes from the archive instead of loading and verifying them again.
+ * <p>
+ * The archive only matches the exact JAR it was created from, so it has to be recreated
+ * after every build. A stale archive is rejected by the JVM, which then starts without it.
+ */
+public class AppCds {
+    /** File name of the archive, stored in the same directory as the game JAR */
+    public static final String ARCHIVE_NAME = "fish_fiesta.jsa";
+
+    private AppCds() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * @return The archive next to the game JAR, or null if the game doesn't run from a JAR
+     */
+    public static File getArchiveFile() {
+        try {
+            File codeSource = new File(AppCds.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+            if (!codeSource.isFile()) return null;
+            return new File(codeSource.getParentFile(), ARCHIVE_NAME);
+        } catch (URISyntaxException | SecurityException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Creates the JVM arguments for a new JVM of the game, e.g. when {@link StartupHelper} relaunches it.
+     * <p>
+     * The archive is only added if it exists and the current JVM wasn't already started with
+     * a shared archive or as a training run.
+     *
+     * @return The arguments to use the archive, or an empty list
+     */
+    public static List<String> relaunchArguments() {
+        for (String argument : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            if (argument.startsWith("-XX:SharedArchiveFile") || argument.startsWith("-XX:ArchiveClassesAtExit")) {
+                return List.of();
+            }
+        }
+
+        File archive = getArchiveFile();
+        if (archive == null || !archive.isFile()) {
+            return List.of();
+        }
+        return List.of("-XX:SharedArchiveFile=" + archive.getAbsolutePath());
+    }
+}
@@ -2,6 +2,7 @@ package dev.juliusabels.lwjgl3;
 
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
+import com.badlogic.gdx.backends.lwjgl3.Lwjgl3WindowAdapter;
 import dev.juliusabels.fish_fiesta.FishFiestaGame;
 
 /** Launches the desktop (LWJGL3) application. */
@@ -12,10 +13,11 @@ public class Lwjgl3Launcher {
     }
 
     private static Lwjgl3Application createApplication() {
-        return new Lwjgl3Application(new FishFiestaGame(), getDefaultConfiguration());
+        FishFiestaGame game = new FishFiestaGame();
+        return new Lwjgl3Application(game, getDefaultConfiguration(game));
     }
 
-    private static Lwjgl3ApplicationConfiguration getDefaultConfiguration() {
+    private static Lwjgl3ApplicationConfiguration getDefaultConfiguration(FishFiestaGame game) {
         Lwjgl3ApplicationConfiguration configuration = new Lwjgl3ApplicationConfiguration();
         configuration.setTitle("Fish Fiesta");
         //// Vsync limits the frames per second to what your hardware can display, and helps eliminate
@@ -28,6 +30,27 @@ public class Lwjgl3Launcher {
         //// useful for testing performance, but can also be very stressful to some hardware.
         //// You may also need to configure GPU drivers to fully disable Vsync; this can cause screen tearing.
 
+        //// The game renders on demand (see RenderScheduler). While no frame is requested, the window
+        //// only polls for input at this rate, so CPU and GPU usage drop to almost nothing.
+        configuration.setIdleFPS(60);
+        //// Lets the game throttle rendering while the window is in the background or minimized.
+        configuration.setWindowListener(new Lwjgl3WindowAdapter() {
+            @Override
+            public void focusLost() {
+                game.setWindowFocused(false);
+            }
+
+            @Override
+            public void focusGained() {
+                game.setWindowFocused(true);
+            }
+
+            @Override
+            public void iconified(boolean isIconified) {
+                game.setWindowFocused(!isIconified);
+            }
+        });
+
         //configuration.setWindowedMode(800, 800);
         configuration.setMaximized(true);
 
@@ -141,6 +141,8 @@ public class StartupHelper {
         jvmArgs.add("-XstartOnFirstThread");
         jvmArgs.add("-D" + JVM_RESTARTED_ARG + "=true");
         jvmArgs.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        // Use the AppCDS archive in the new JVM, if one was created for this build
+        jvmArgs.addAll(AppCds.relaunchArguments());
         jvmArgs.add("-cp");
         jvmArgs.add(System.getProperty("java.class.path"));
         String mainClass = System.getenv("JAVA_MAIN_CLASS_" + pid);